@@ -0,0 +1,131 @@
+package com.ashishbagdane.lib.core.benchmark;
+
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.ashishbagdane.lib.core.dtos.json.AuditBinaryCodec;
+import com.ashishbagdane.lib.core.dtos.json.AuditJsonModule;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import com.ashishbagdane.lib.core.model.UserContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping, copying and serialization of {@link BaseAuditDTO}. Serialization is compared between the annotation-driven bean serializer and {@link AuditJsonModule}, for JSON and CBOR
+ * single values and for a bulk CBOR stream.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuditDtoBenchmark {
+
+    private BenchmarkAuditEntity entity;
+
+    private BaseAuditDTO dto;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper fastObjectMapper;
+
+    private ObjectMapper cborMapper;
+
+    private ObjectMapper fastCborMapper;
+
+    private AuditBinaryCodec binaryCodec;
+
+    private List<BaseAuditDTO> batch;
+
+    private long version;
+
+    @Setup
+    public void setUp() {
+        entity = new BenchmarkAuditEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setVersion(3L);
+        entity.setEndpointPath("/api/v1/orders/42");
+        entity.setUserContext(UserContext.createUserContext("john.doe", "192.168.10.24",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36"));
+        entity.setOperationType(OperationType.UPDATE);
+        entity.setHttpMethod(HttpMethod.PUT);
+        entity.setOperationTimestamp(ZonedDateTime.now());
+        dto = BaseAuditDTO.fromEntity(entity);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        fastObjectMapper = new ObjectMapper().registerModule(new JavaTimeModule()).registerModule(new AuditJsonModule());
+        cborMapper = new CBORMapper().registerModule(new JavaTimeModule());
+        fastCborMapper = new CBORMapper().registerModule(new JavaTimeModule()).registerModule(new AuditJsonModule());
+        binaryCodec = new AuditBinaryCodec();
+        batch = Collections.nCopies(1_000, dto);
+    }
+
+    @Benchmark
+    public BaseAuditDTO fromEntity() {
+        return BaseAuditDTO.fromEntity(entity);
+    }
+
+    @Benchmark
+    public BaseAuditDTO withVersion() {
+        return dto.withVersion(++version);
+    }
+
+    @Benchmark
+    public BaseAuditDTO withOperationType() {
+        return dto.withOperationType(OperationType.DELETE);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] serializeFastPath() throws JsonProcessingException {
+        return fastObjectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] serializeCborFastPath() throws JsonProcessingException {
+        return fastCborMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1_000)
+    public byte[] serializeBatchJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1_000)
+    public byte[] serializeBatchCbor() {
+        return binaryCodec.encode(batch);
+    }
+
+    static class BenchmarkAuditEntity extends BaseAuditEntity {
+    }
+}
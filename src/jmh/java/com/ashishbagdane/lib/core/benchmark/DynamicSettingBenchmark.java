@@ -0,0 +1,89 @@
+package com.ashishbagdane.lib.core.benchmark;
+
+import com.ashishbagdane.lib.core.config.dynamic.BooleanSetting;
+import com.ashishbagdane.lib.core.config.dynamic.DynamicConfiguration;
+import com.ashishbagdane.lib.core.config.dynamic.DynamicSettings;
+import com.ashishbagdane.lib.core.config.dynamic.TypedSetting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading dynamic flags through {@link StandardEnvironment#getProperty(String, Class)} with the precompiled accessors of
+ * {@link DynamicSettings}. The environment carries several property sources, as a typical Spring Boot application does, with the keys in the last one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DynamicSettingBenchmark {
+
+    private static final int FILLER_SOURCES = 8;
+
+    private StandardEnvironment environment;
+
+    private BooleanSetting flag;
+
+    private TypedSetting<Duration> timeout;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> values = Map.of("payments.retries.enabled", "true", "payments.timeout", "2s");
+
+        environment = new StandardEnvironment();
+        environment.setConversionService(new ApplicationConversionService());
+        for (int i = 0; i < FILLER_SOURCES; i++) {
+            Map<String, Object> filler = new HashMap<>();
+            for (int j = 0; j < 50; j++) {
+                filler.put("filler" + i + ".key" + j, "value" + j);
+            }
+            environment.getPropertySources().addLast(new MapPropertySource("filler" + i, filler));
+        }
+        environment.getPropertySources().addLast(new MapPropertySource("dynamic", values));
+
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        Map<String, String> snapshot = new HashMap<>();
+        values.forEach((key, value) -> snapshot.put(key, value.toString()));
+        configuration.publish(snapshot);
+        DynamicSettings settings = new DynamicSettings(configuration);
+        flag = settings.booleanSetting("payments.retries.enabled", false);
+        timeout = settings.durationSetting("payments.timeout", Duration.ZERO);
+    }
+
+    @Benchmark
+    public Boolean environmentBoolean() {
+        return environment.getProperty("payments.retries.enabled", Boolean.class);
+    }
+
+    @Benchmark
+    public boolean settingBoolean() {
+        return flag.getAsBoolean();
+    }
+
+    @Benchmark
+    public Duration environmentDuration() {
+        return environment.getProperty("payments.timeout", Duration.class);
+    }
+
+    @Benchmark
+    public Duration settingDuration() {
+        return timeout.get();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ashishbagdane.lib.core.benchmark;
+
+import com.ashishbagdane.lib.core.dtos.EnumDTO;
+import com.ashishbagdane.lib.core.dtos.example.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EnumDTO#fromEnum(Enum)} for an {@link com.ashishbagdane.lib.core.dtos.EnumMappable} enum.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnumDtoBenchmark {
+
+    private final Status[] statuses = Status.values();
+
+    private int index;
+
+    @Benchmark
+    public EnumDTO fromEnum() {
+        return EnumDTO.fromEnum(statuses[index++ % statuses.length]);
+    }
+}
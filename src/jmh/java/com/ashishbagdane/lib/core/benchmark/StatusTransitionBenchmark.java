@@ -0,0 +1,47 @@
+package com.ashishbagdane.lib.core.benchmark;
+
+import com.ashishbagdane.lib.core.db.entity.approval.ApprovalStatus;
+import com.ashishbagdane.lib.core.db.entity.status.EntityStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures transition checks of {@link EntityStatus} and {@link ApprovalStatus}. Each invocation checks the next (from, to) pair so every branch of the transition rules is exercised.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatusTransitionBenchmark {
+
+    private final EntityStatus[] entityStatuses = EntityStatus.values();
+
+    private final ApprovalStatus[] approvalStatuses = ApprovalStatus.values();
+
+    private int entityPair;
+
+    private int approvalPair;
+
+    @Benchmark
+    public boolean entityStatusCanTransitionTo() {
+        int pair = entityPair++ % (entityStatuses.length * entityStatuses.length);
+        return entityStatuses[pair / entityStatuses.length].canTransitionTo(entityStatuses[pair % entityStatuses.length]);
+    }
+
+    @Benchmark
+    public boolean approvalStatusCanTransitionTo() {
+        int pair = approvalPair++ % (approvalStatuses.length * approvalStatuses.length);
+        return approvalStatuses[pair / approvalStatuses.length].canTransitionTo(approvalStatuses[pair % approvalStatuses.length]);
+    }
+}
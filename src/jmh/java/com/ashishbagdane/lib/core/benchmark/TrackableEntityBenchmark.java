@@ -0,0 +1,45 @@
+package com.ashishbagdane.lib.core.benchmark;
+
+import com.ashishbagdane.lib.core.db.entity.status.AbstractTrackableEntity;
+import com.ashishbagdane.lib.core.db.entity.status.EntityStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AbstractTrackableEntity#updateStatus(EntityStatus, String)}. The entity alternates between {@code DRAFT} and {@code PENDING}, both legal transitions, so the benchmark never throws.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrackableEntityBenchmark {
+
+    private BenchmarkEntity entity;
+
+    @Setup
+    public void setUp() {
+        entity = new BenchmarkEntity();
+    }
+
+    @Benchmark
+    public EntityStatus updateStatus() {
+        EntityStatus next = entity.getStatus() == EntityStatus.DRAFT ? EntityStatus.PENDING : EntityStatus.DRAFT;
+        entity.updateStatus(next, "benchmark");
+        return entity.getStatus();
+    }
+
+    static class BenchmarkEntity extends AbstractTrackableEntity {
+    }
+}
@@ -0,0 +1,86 @@
+package com.ashishbagdane.lib.core.cache;
+
+import com.ashishbagdane.lib.core.config.SecondLevelCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the bounded in-process caches behind the second-level cache regions and {@link CachedCatalog} methods. Every region is a Caffeine cache, i.e. size-bounded with W-TinyLFU eviction, with
+ * the maximum size and time-to-live configured for its name.
+ *
+ * <p>A region name denotes exactly one cache: building a name again, for example a {@link CachedCatalog} region that shares its name with an entity region, returns the cache built first, so
+ * both share its bounds and entries are told apart by their key types.</p>
+ *
+ * <p>When a {@link MeterRegistry} is given, every region reports its hits, misses, evictions and size through Micrometer's {@code cache.*} meters, tagged {@code cache=<region>}. Each region is
+ * registered once, since Micrometer would otherwise keep reporting the meters of the first cache under a shared name.</p>
+ *
+ * @see SecondLevelCacheProperties
+ */
+public class CacheRegions {
+
+  private final SecondLevelCacheProperties properties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new region builder.
+   *
+   * @param properties    region settings
+   * @param meterRegistry registry for cache statistics, or {@code null} to disable them
+   */
+  public CacheRegions(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Builds the cache of a region with its configured size and time-to-live.
+   *
+   * @param regionName the region name
+   * @param <K>        the key type
+   * @param <V>        the value type
+   * @return the cache of the region, built on the first call for its name
+   */
+  @SuppressWarnings("unchecked")
+  public <K, V> Cache<K, V> build(String regionName) {
+    return (Cache<K, V>) caches.computeIfAbsent(regionName, this::bounded);
+  }
+
+  /**
+   * Builds a cache that never evicts or expires entries, unless the region is explicitly configured. Used for Hibernate's update timestamps region, whose entries must outlive every cached query.
+   *
+   * @param regionName the region name
+   * @param <K>        the key type
+   * @param <V>        the value type
+   * @return the cache of the region, built on the first call for its name
+   */
+  @SuppressWarnings("unchecked")
+  public <K, V> Cache<K, V> buildUnbounded(String regionName) {
+    return (Cache<K, V>) caches.computeIfAbsent(regionName, name -> properties.getRegions().containsKey(name)
+        ? bounded(name)
+        : monitor(Caffeine.newBuilder().recordStats().build(), name));
+  }
+
+  private Cache<Object, Object> bounded(String regionName) {
+    final SecondLevelCacheProperties.RegionSettings settings = properties.settingsFor(regionName);
+    final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+        .maximumSize(settings.getMaximumSize())
+        .recordStats();
+    final Duration timeToLive = settings.getTimeToLive();
+    if (timeToLive != null && !timeToLive.isZero()) {
+      builder.expireAfterWrite(timeToLive);
+    }
+    return monitor(builder.build(), regionName);
+  }
+
+  private <K, V> Cache<K, V> monitor(Cache<K, V> cache, String regionName) {
+    return meterRegistry == null ? cache : CaffeineCacheMetrics.monitor(meterRegistry, cache, regionName);
+  }
+}
@@ -0,0 +1,42 @@
+package com.ashishbagdane.lib.core.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the result of a method building a lookup list, typically a {@code List<EnumDTO>} assembled with {@code EnumDTO.fromEnum} or from reference entities, per method and argument values.
+ *
+ * <p>Example usage:
+ * <pre>
+ * {@code
+ * @CachedCatalog
+ * public List<EnumDTO> selectableStatuses(boolean includeArchived) {
+ *     return Arrays.stream(EntityStatus.values())
+ *         .filter(status -> includeArchived || !status.isFinalState())
+ *         .map(EnumDTO::fromEnum)
+ *         .toList();
+ * }
+ * }
+ * </pre>
+ *
+ * <p>The cached value is shared between callers. Lists, sets and maps are cached and returned as unmodifiable copies; any other result type must be immutable itself. {@code null} results are
+ * not cached. Unfiltered enum catalogs need no annotation; use
+ * {@link com.ashishbagdane.lib.core.dtos.EnumRegistry#catalog(Class)}.</p>
+ *
+ * @see CachedCatalogInterceptor
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedCatalog {
+
+  /**
+   * Name of the cache region holding the results.
+   *
+   * @return the region name
+   */
+  String region() default "ash.catalogs";
+}
@@ -0,0 +1,108 @@
+package com.ashishbagdane.lib.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Method interceptor implementing {@link CachedCatalog}. Each region is a cache built by {@link CacheRegions}, so catalogs share the size bounds, time-to-live and statistics of the second-level
+ * cache regions.
+ *
+ * <p>Results that are lists, sets or maps are cached as unmodifiable copies, and the copy is returned to every caller including the first, so no caller can change what the others see. Sorted sets
+ * and maps keep their ordering. Other results are cached as they are.</p>
+ *
+ * @see CachedCatalogPostProcessor
+ */
+public class CachedCatalogInterceptor implements MethodInterceptor {
+
+  private final Supplier<CacheRegions> regions;
+
+  private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+  private final Map<Method, String> regionNames = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new interceptor.
+   *
+   * @param regions supplier of the region builder, resolved on first use
+   */
+  public CachedCatalogInterceptor(Supplier<CacheRegions> regions) {
+    this.regions = regions;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    final Method method = invocation.getMethod();
+    final Cache<Object, Object> cache = caches.computeIfAbsent(regionName(invocation), name -> regions.get().build(name));
+    final CatalogKey key = new CatalogKey(method, invocation.getThis(), Arrays.asList(invocation.getArguments()));
+    final Object cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final Object result = unmodifiableCopy(invocation.proceed());
+    if (result != null) {
+      cache.put(key, result);
+    }
+    return result;
+  }
+
+  private static Object unmodifiableCopy(Object result) {
+    if (result instanceof List<?> list) {
+      return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+    if (result instanceof SortedSet<?> set) {
+      return Collections.unmodifiableSortedSet(new TreeSet<>(set));
+    }
+    if (result instanceof Set<?> set) {
+      return Collections.unmodifiableSet(new LinkedHashSet<>(set));
+    }
+    if (result instanceof SortedMap<?, ?> map) {
+      return Collections.unmodifiableSortedMap(new TreeMap<>(map));
+    }
+    if (result instanceof Map<?, ?> map) {
+      return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+    return result;
+  }
+
+  private String regionName(MethodInvocation invocation) {
+    return regionNames.computeIfAbsent(invocation.getMethod(), method -> {
+      final Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+      final CachedCatalog annotation = AnnotatedElementUtils.findMergedAnnotation(AopUtils.getMostSpecificMethod(method, targetClass), CachedCatalog.class);
+      return annotation == null ? "ash.catalogs" : annotation.region();
+    });
+  }
+
+  /**
+   * Cache key of one invocation. The target is compared by identity, so two beans of the same class keep separate entries.
+   */
+  private record CatalogKey(Method method, Object target, List<Object> arguments) {
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof CatalogKey key && method.equals(key.method) && target == key.target && arguments.equals(key.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * method.hashCode() + System.identityHashCode(target) * 17 + arguments.hashCode();
+    }
+  }
+}
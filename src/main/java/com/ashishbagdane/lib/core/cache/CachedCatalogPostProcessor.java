@@ -0,0 +1,25 @@
+package com.ashishbagdane.lib.core.cache;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+/**
+ * Bean post processor that applies the {@link CachedCatalogInterceptor} to methods annotated with {@link CachedCatalog}.
+ *
+ * <p>The advisor is placed in front of existing advisors, so a cache hit neither opens a transaction nor borrows a connection.</p>
+ *
+ * @see CachedCatalogInterceptor
+ */
+public class CachedCatalogPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+  /**
+   * Creates a new post processor.
+   *
+   * @param interceptor the catalog cache interceptor
+   */
+  public CachedCatalogPostProcessor(CachedCatalogInterceptor interceptor) {
+    setBeforeExistingAdvisors(true);
+    this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, CachedCatalog.class, true), interceptor);
+  }
+}
@@ -0,0 +1,58 @@
+package com.ashishbagdane.lib.core.cache;
+
+import java.util.Map;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Hibernate second-level cache region factory storing every region in its own bounded Caffeine cache built by {@link CacheRegions}. Entity, collection, natural-id and query result regions use
+ * the configured size and time-to-live of their region name; the update timestamps region is unbounded so cached queries are never validated against a missing timestamp.
+ *
+ * <p>Registered with Hibernate as an instance through {@code hibernate.cache.region.factory_class}, so no additional cache provider is needed.</p>
+ *
+ * @see CacheRegions
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+  private final transient CacheRegions regions;
+
+  /**
+   * Creates a new region factory.
+   *
+   * @param regions the builder of region caches
+   */
+  public CaffeineRegionFactory(CacheRegions regions) {
+    this.regions = regions;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+    // Region caches are created on demand
+  }
+
+  @Override
+  protected void releaseFromUse() {
+    // Region caches are released by their storage access
+  }
+
+  @Override
+  protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+    return new CaffeineStorageAccess(regions.build(regionConfig.getRegionName()));
+  }
+
+  @Override
+  protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+    return new CaffeineStorageAccess(regions.build(regionName));
+  }
+
+  @Override
+  protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+    return new CaffeineStorageAccess(regions.buildUnbounded(regionName));
+  }
+}
@@ -0,0 +1,69 @@
+package com.ashishbagdane.lib.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Hibernate region storage backed by a Caffeine cache. Concurrency control is left to Hibernate's access strategies; this class only stores entries.
+ *
+ * @see CaffeineRegionFactory
+ */
+public class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+  private final Cache<Object, Object> cache;
+
+  /**
+   * Creates storage over a cache.
+   *
+   * @param cache the cache holding the region's entries
+   */
+  public CaffeineStorageAccess(Cache<Object, Object> cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+    return cache.getIfPresent(key);
+  }
+
+  @Override
+  public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+    if (value == null) {
+      cache.invalidate(key);
+    } else {
+      cache.put(key, value);
+    }
+  }
+
+  @Override
+  public boolean contains(Object key) {
+    return cache.asMap().containsKey(key);
+  }
+
+  @Override
+  public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+    cache.invalidate(key);
+  }
+
+  @Override
+  public void evictData(Object key) {
+    cache.invalidate(key);
+  }
+
+  @Override
+  public void clearCache(SharedSessionContractImplementor session) {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void evictData() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void release() {
+    cache.invalidateAll();
+    cache.cleanUp();
+  }
+}
@@ -0,0 +1,47 @@
+package com.ashishbagdane.lib.core.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Marks a read-mostly entity, such as reference or lookup data, for the second-level cache. Entities loaded by id are then served from the in-process region instead of the database.
+ *
+ * <p>Example usage:
+ * <pre>
+ * {@code
+ * @Entity
+ * @ReadMostly(region = "reference")
+ * public class Country {
+ *     ...
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Equivalent to Hibernate's {@code @Cache} annotation, but applied by the library at bootstrap so the caching policy stays in one place. Region sizes and time-to-live are set under
+ * {@code ash.core.cache.regions}.</p>
+ *
+ * @see CaffeineRegionFactory
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ReadMostly {
+
+  /**
+   * Name of the cache region holding the entity.
+   *
+   * @return the region name
+   */
+  String region() default "reference";
+
+  /**
+   * Concurrency strategy of the cached entity. Use {@link CacheConcurrencyStrategy#READ_ONLY} for data that is never updated through Hibernate.
+   *
+   * @return the concurrency strategy
+   */
+  CacheConcurrencyStrategy usage() default CacheConcurrencyStrategy.READ_WRITE;
+}
@@ -0,0 +1,47 @@
+package com.ashishbagdane.lib.core.concurrent;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * {@link JpaTransactionManager} that takes a {@link TransactionPermits} permit for every physical transaction it begins and returns it when the transaction completes. Participating transactions
+ * do not take a permit; a {@code REQUIRES_NEW} transaction takes a second one, since it also needs a second connection.
+ *
+ * @see TransactionPermits
+ */
+public class BoundedJpaTransactionManager extends JpaTransactionManager {
+
+  private final transient TransactionPermits permits;
+
+  /**
+   * Creates a new transaction manager.
+   *
+   * @param emf     the entity manager factory
+   * @param permits the permit pool bounding concurrent transactions
+   */
+  public BoundedJpaTransactionManager(EntityManagerFactory emf, TransactionPermits permits) {
+    super(emf);
+    this.permits = permits;
+  }
+
+  @Override
+  protected void doBegin(Object transaction, TransactionDefinition definition) {
+    permits.acquire();
+    try {
+      super.doBegin(transaction, definition);
+    } catch (RuntimeException | Error e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  protected void doCleanupAfterCompletion(Object transaction) {
+    try {
+      super.doCleanupAfterCompletion(transaction);
+    } finally {
+      permits.release();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.ashishbagdane.lib.core.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Detects virtual threads pinned to their carrier thread by streaming the JFR {@code jdk.VirtualThreadPinned} event in-process. Pinning typically comes from blocking inside a
+ * {@code synchronized} block or a native frame, for example in older JDBC drivers, and silently caps virtual-thread concurrency at the number of carrier threads.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Pinning events longer than the configured threshold are counted and their duration recorded</li>
+ *     <li>The first occurrence of each distinct pinning site is logged at WARN with its stack; repeats are logged at DEBUG</li>
+ *     <li>Started and stopped with the application context through {@link SmartLifecycle}</li>
+ * </ul>
+ *
+ * @see com.ashishbagdane.lib.core.config.VirtualThreadProperties
+ */
+@Slf4j
+public class PinningMonitor implements SmartLifecycle {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final int LOGGED_FRAMES = 8;
+
+  private final Duration threshold;
+
+  private final AtomicLong pinned = new AtomicLong();
+
+  private final Map<String, Boolean> reportedSites = new ConcurrentHashMap<>();
+
+  private final Counter pinnedCounter;
+
+  private final Timer pinnedTimer;
+
+  private volatile RecordingStream stream;
+
+  /**
+   * Creates a new monitor.
+   *
+   * @param threshold     minimum pinning duration reported
+   * @param meterRegistry registry for metrics, or {@code null} to disable them
+   */
+  public PinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+    this.threshold = threshold;
+    if (meterRegistry != null) {
+      this.pinnedCounter = Counter.builder("ash.virtual-threads.pinned")
+          .description("Virtual thread pinning events above the threshold")
+          .register(meterRegistry);
+      this.pinnedTimer = Timer.builder("ash.virtual-threads.pinned.duration")
+          .description("Duration of virtual thread pinning events")
+          .register(meterRegistry);
+    } else {
+      this.pinnedCounter = null;
+      this.pinnedTimer = null;
+    }
+  }
+
+  /**
+   * Total number of pinning events seen since startup.
+   *
+   * @return the pinning event count
+   */
+  public long getPinnedCount() {
+    return pinned.get();
+  }
+
+  @Override
+  public void start() {
+    final RecordingStream recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::onPinned);
+    recording.startAsync();
+    stream = recording;
+  }
+
+  @Override
+  public void stop() {
+    final RecordingStream recording = stream;
+    stream = null;
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  private void onPinned(RecordedEvent event) {
+    pinned.incrementAndGet();
+    if (pinnedCounter != null) {
+      pinnedCounter.increment();
+      pinnedTimer.record(event.getDuration().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    final String stack = describe(event.getStackTrace());
+    if (reportedSites.putIfAbsent(stack, Boolean.TRUE) == null) {
+      log.warn("Virtual thread pinned to its carrier for {} ms (further occurrences of this site are logged at DEBUG):{}", event.getDuration().toMillis(), stack);
+    } else {
+      log.debug("Virtual thread pinned to its carrier for {} ms:{}", event.getDuration().toMillis(), stack);
+    }
+  }
+
+  private static String describe(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return " <no stack trace>";
+    }
+    return stackTrace.getFrames().stream()
+        .limit(LOGGED_FRAMES)
+        .map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+        .collect(Collectors.joining());
+  }
+}
@@ -0,0 +1,102 @@
+package com.ashishbagdane.lib.core.concurrent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Fair semaphore bounding the number of concurrently open transactions, normally sized to the connection pool. With virtual threads a service can easily have thousands of callers; queueing them
+ * here, in FIFO order and with a clear timeout, is cheaper and more predictable than letting all of them contend inside the connection pool.
+ *
+ * @see BoundedJpaTransactionManager
+ */
+public class TransactionPermits {
+
+  private final Semaphore semaphore;
+
+  private final int permits;
+
+  private final Duration acquireTimeout;
+
+  private final Timer waitTimer;
+
+  /**
+   * Creates a new permit pool.
+   *
+   * @param permits        maximum number of concurrent transactions
+   * @param acquireTimeout how long a caller waits for a permit
+   * @param meterRegistry  registry for metrics, or {@code null} to disable them
+   */
+  public TransactionPermits(int permits, Duration acquireTimeout, MeterRegistry meterRegistry) {
+    if (permits <= 0) {
+      throw new IllegalArgumentException("permits must be positive");
+    }
+    this.semaphore = new Semaphore(permits, true);
+    this.permits = permits;
+    this.acquireTimeout = acquireTimeout;
+
+    if (meterRegistry != null) {
+      Gauge.builder("ash.transaction.permits.available", semaphore, Semaphore::availablePermits)
+          .description("Free transaction permits")
+          .register(meterRegistry);
+      Gauge.builder("ash.transaction.permits.waiting", semaphore, Semaphore::getQueueLength)
+          .description("Callers waiting for a transaction permit")
+          .register(meterRegistry);
+      this.waitTimer = Timer.builder("ash.transaction.permits.wait")
+          .description("Time spent waiting for a transaction permit")
+          .register(meterRegistry);
+    } else {
+      this.waitTimer = null;
+    }
+  }
+
+  /**
+   * Acquires a permit, waiting up to the configured timeout.
+   *
+   * @throws CannotCreateTransactionException if no permit became available in time or the thread was interrupted
+   */
+  public void acquire() {
+    final long started = System.nanoTime();
+    try {
+      if (!semaphore.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new CannotCreateTransactionException("No transaction permit available within " + acquireTimeout + " (" + permits + " permits)");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CannotCreateTransactionException("Interrupted while waiting for a transaction permit", e);
+    } finally {
+      if (waitTimer != null) {
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  /**
+   * Releases a permit previously obtained with {@link #acquire()}.
+   */
+  public void release() {
+    semaphore.release();
+  }
+
+  /**
+   * Gets the total number of permits.
+   *
+   * @return the permit count
+   */
+  public int getPermits() {
+    return permits;
+  }
+
+  /**
+   * Gets the number of free permits.
+   *
+   * @return the free permit count
+   */
+  public int getAvailablePermits() {
+    return semaphore.availablePermits();
+  }
+}
@@ -0,0 +1,76 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.entity.approval.ApprovalCountListener;
+import com.ashishbagdane.lib.core.db.entity.approval.ApprovalInboxFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Configuration class for approval inbox queries. Active only when {@code ash.core.approval.inbox.enabled=true}; the inbox tables need the index from
+ * {@code db/changelog/ash-core/approval-inbox-index-template.xml}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see ApprovalInboxFactory
+ * @see ApprovalInboxProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.approval.inbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ApprovalInboxProperties.class)
+public class ApprovalInboxConfig {
+
+  /**
+   * Creates the Hibernate listener that keeps inbox counts current.
+   *
+   * @return configured ApprovalCountListener instance
+   */
+  @Bean
+  public ApprovalCountListener approvalCountListener() {
+    return new ApprovalCountListener();
+  }
+
+  /**
+   * Creates the factory of approval inboxes.
+   *
+   * @param jdbcTemplate          the JDBC template used by the inboxes
+   * @param approvalCountListener the listener keeping counts current
+   * @param properties            the inbox configuration
+   * @return configured ApprovalInboxFactory instance
+   */
+  @Bean
+  public ApprovalInboxFactory approvalInboxFactory(final NamedParameterJdbcTemplate jdbcTemplate, final ApprovalCountListener approvalCountListener,
+      final ApprovalInboxProperties properties) {
+    return new ApprovalInboxFactory(jdbcTemplate, approvalCountListener, properties.getCountTimeToLive());
+  }
+
+  /**
+   * Appends the count listener to Hibernate's post-commit events once all singletons exist.
+   *
+   * @param approvalCountListener the listener keeping counts current
+   * @param entityManagerFactory  optional entity manager factory
+   * @return the installer
+   */
+  @Bean
+  public SmartInitializingSingleton approvalCountListenerInstaller(final ApprovalCountListener approvalCountListener,
+      final ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+    return () -> {
+      final EntityManagerFactory emf = entityManagerFactory.getIfUnique();
+      if (emf != null) {
+        final EventListenerRegistry listeners = emf.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, approvalCountListener);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, approvalCountListener);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, approvalCountListener);
+      }
+    };
+  }
+}
@@ -0,0 +1,38 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for approval inbox queries, bound from {@code ash.core.approval.inbox.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     approval:
+ *       inbox:
+ *         enabled: true
+ *         count-time-to-live: 10m
+ * </pre>
+ *
+ * @see ApprovalInboxConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.approval.inbox")
+public class ApprovalInboxProperties {
+
+  /**
+   * Whether the approval inbox factory and count listener are registered.
+   */
+  private boolean enabled;
+
+  /**
+   * Maximum age of cached per-status counts. Changes committed through Hibernate by this instance are applied immediately; the reload picks up bulk statements and the changes committed by
+   * other instances, which therefore stay invisible for up to this long.
+   */
+  private Duration countTimeToLive = Duration.ofMinutes(5);
+}
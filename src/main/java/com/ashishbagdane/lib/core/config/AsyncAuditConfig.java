@@ -0,0 +1,61 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.audit.AsyncAuditSink;
+import com.ashishbagdane.lib.core.db.audit.AuditFailureHandler;
+import com.ashishbagdane.lib.core.db.audit.AuditRowBinder;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration class for the opt-in asynchronous audit sink. Active only when {@code ash.core.audit.async.enabled=true}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see AsyncAuditSink
+ * @see AsyncAuditProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.audit.async", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AsyncAuditProperties.class)
+public class AsyncAuditConfig {
+
+  /**
+   * Creates the asynchronous audit sink.
+   *
+   * @param jdbcTemplate       the JDBC template used for batch inserts
+   * @param transactionManager the transaction manager wrapping each flush
+   * @param binders            all registered audit row binders
+   * @param properties         the sink configuration
+   * @param failureHandler     optional handler for records that cannot be written
+   * @param meterRegistry      optional meter registry for sink metrics
+   * @param dictionaryMapping  whether audit tables store the user context in dictionary form ({@code ash.core.audit.user-context.dictionary.map-audit-entities})
+   * @return configured AsyncAuditSink instance
+   * @throws IllegalStateException if audit tables use the dictionary form and a binder writes plain user context columns
+   */
+  @Bean
+  public AsyncAuditSink asyncAuditSink(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager,
+      final ObjectProvider<AuditRowBinder<?>> binders, final AsyncAuditProperties properties, final ObjectProvider<AuditFailureHandler> failureHandler,
+      final ObjectProvider<MeterRegistry> meterRegistry, @Value("${ash.core.audit.user-context.dictionary.map-audit-entities:false}") final boolean dictionaryMapping) {
+    final List<AuditRowBinder<?>> registered = binders.orderedStream().toList();
+    if (dictionaryMapping) {
+      for (AuditRowBinder<?> binder : registered) {
+        if (!binder.bindsEncodedUserContext()) {
+          throw new IllegalStateException("Audit tables store the user context in dictionary form, but the binder of " + binder.entityType().getName()
+              + " writes plain columns; bind the encoded values and override bindsEncodedUserContext()");
+        }
+      }
+    }
+    return new AsyncAuditSink(jdbcTemplate, new TransactionTemplate(transactionManager), registered, properties, failureHandler.getIfAvailable(),
+        meterRegistry.getIfAvailable());
+  }
+}
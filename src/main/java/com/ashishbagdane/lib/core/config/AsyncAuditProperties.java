@@ -0,0 +1,76 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.audit.OverflowPolicy;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the asynchronous audit sink, bound from {@code ash.core.audit.async.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     audit:
+ *       async:
+ *         enabled: true
+ *         capacity: 20000
+ *         flush-size: 500
+ *         flush-interval: 200ms
+ * </pre>
+ *
+ * @see AsyncAuditConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.audit.async")
+public class AsyncAuditProperties {
+
+  /**
+   * Whether the asynchronous audit sink is enabled.
+   */
+  private boolean enabled;
+
+  /**
+   * Maximum number of records held in the buffer before backpressure applies.
+   */
+  private int capacity = 10_000;
+
+  /**
+   * Number of records written per JDBC batch. A flush is triggered as soon as this many records are buffered.
+   */
+  private int flushSize = 500;
+
+  /**
+   * Maximum time a record waits in the buffer before being flushed. Together with the capacity this bounds how many records a crash can lose.
+   */
+  private Duration flushInterval = Duration.ofMillis(200);
+
+  /**
+   * How long a producer waits for free buffer space before the overflow policy applies.
+   */
+  private Duration offerTimeout = Duration.ofMillis(50);
+
+  /**
+   * What to do with a record that cannot be buffered within the offer timeout.
+   */
+  private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+  /**
+   * Number of times a flush that failed with a retryable error is retried before its records are handed to the failure handler. Retries also stop once the next one would end more than one
+   * {@code flush-interval} after the flush started, so retries never hold up the buffer for longer than a flush window.
+   */
+  private int flushRetries = 3;
+
+  /**
+   * Wait before the first retry of a failed flush; doubled for each further retry. With the default flush interval, all three default retries fit into the retry budget.
+   */
+  private Duration retryBackoff = Duration.ofMillis(20);
+
+  /**
+   * Maximum time to wait for the buffer to drain on shutdown.
+   */
+  private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,52 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.audit.archive.AuditArchive;
+import com.ashishbagdane.lib.core.db.audit.archive.AuditArchiver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration class for cold-tier audit archival. Active only when {@code ash.core.audit.archive.enabled=true}; the {@code AuditQueries} bean, when enabled, then reads through into the archive.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see AuditArchiver
+ * @see AuditArchiveProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.audit.archive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditArchiveProperties.class)
+public class AuditArchiveConfig {
+
+  /**
+   * Creates the archive segment store.
+   *
+   * @param jdbcTemplate the JDBC template used for segment reads and writes
+   * @return configured AuditArchive instance
+   */
+  @Bean
+  public AuditArchive auditArchive(final JdbcTemplate jdbcTemplate) {
+    return new AuditArchive(jdbcTemplate);
+  }
+
+  /**
+   * Creates the scheduled archiver.
+   *
+   * @param jdbcTemplate       the JDBC template used to read and delete hot rows
+   * @param transactionManager the transaction manager wrapping each segment move
+   * @param auditArchive       the archive segment store
+   * @param properties         the archival configuration
+   * @return configured AuditArchiver instance
+   */
+  @Bean
+  public AuditArchiver auditArchiver(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager, final AuditArchive auditArchive,
+      final AuditArchiveProperties properties) {
+    return new AuditArchiver(jdbcTemplate, new TransactionTemplate(transactionManager), auditArchive, properties);
+  }
+}
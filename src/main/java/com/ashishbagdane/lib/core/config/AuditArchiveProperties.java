@@ -0,0 +1,66 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for cold-tier audit archival, bound from {@code ash.core.audit.archive.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     audit:
+ *       archive:
+ *         enabled: true
+ *         tables: payment_audit, order_audit
+ *         retention: 90d
+ *         segment-size: 10000
+ * </pre>
+ *
+ * @see AuditArchiveConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.audit.archive")
+public class AuditArchiveProperties {
+
+  /**
+   * Whether archival and archive read-through are enabled.
+   */
+  private boolean enabled;
+
+  /**
+   * Hot audit tables to archive. Names must match the table names Hibernate maps the audit entities to.
+   */
+  private List<String> tables = new ArrayList<>();
+
+  /**
+   * Rows older than this are moved to the archive.
+   */
+  private Duration retention = Duration.ofDays(90);
+
+  /**
+   * Maximum number of rows per archive segment.
+   */
+  private int segmentSize = 10_000;
+
+  /**
+   * Maximum number of ids per {@code DELETE} statement on the hot table.
+   */
+  private int deleteBatchSize = 1_000;
+
+  /**
+   * Maximum number of segments written, and examined by compaction, per table and run, bounding the work of a single run.
+   */
+  private int maxSegmentsPerRun = 100;
+
+  /**
+   * How often archival runs.
+   */
+  private Duration checkInterval = Duration.ofHours(1);
+}
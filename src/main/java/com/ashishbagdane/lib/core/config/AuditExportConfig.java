@@ -0,0 +1,40 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.audit.export.AuditExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration class for the streaming audit exporter. Active only when {@code ash.core.audit.export.enabled=true}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see AuditExporter
+ * @see AuditExportProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.audit.export", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditExportProperties.class)
+public class AuditExportConfig {
+
+  /**
+   * Creates the audit exporter. Its cursor runs in a read-only transaction, so a routing data source sends exports to a replica.
+   *
+   * @param jdbcTemplate       the JDBC template whose data source is exported
+   * @param transactionManager the transaction manager holding the cursor open
+   * @param properties         the exporter configuration
+   * @return configured AuditExporter instance
+   */
+  @Bean
+  public AuditExporter auditExporter(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager, final AuditExportProperties properties) {
+    final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    return new AuditExporter(jdbcTemplate, transactionTemplate, properties);
+  }
+}
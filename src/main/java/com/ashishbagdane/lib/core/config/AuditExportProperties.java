@@ -0,0 +1,64 @@
+package com.ashishbagdane.lib.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the streaming audit exporter, bound from {@code ash.core.audit.export.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     audit:
+ *       export:
+ *         enabled: true
+ *         block-size: 20000
+ *         encoder-threads: 4
+ *         max-blocks-in-flight: 8
+ * </pre>
+ *
+ * @see AuditExportConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.audit.export")
+public class AuditExportProperties {
+
+  /**
+   * Whether the audit exporter is enabled.
+   */
+  private boolean enabled;
+
+  /**
+   * Number of rows fetched per database round trip from the server-side cursor.
+   */
+  private int fetchSize = 5_000;
+
+  /**
+   * Number of rows encoded together. Each block is self-contained, so it is also the unit of resumption.
+   */
+  private int blockSize = 10_000;
+
+  /**
+   * Number of threads encoding blocks in parallel.
+   */
+  private int encoderThreads = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Maximum number of blocks submitted but not yet written. Bounds memory and makes the reader wait for a slow disk.
+   */
+  private int maxBlocksInFlight = 8;
+
+  /**
+   * Number of written blocks between checkpoints. Each checkpoint forces the file to disk.
+   */
+  private int checkpointEvery = 16;
+
+  /**
+   * Size of the direct buffer used for file writes.
+   */
+  private DataSize writeBufferSize = DataSize.ofMegabytes(1);
+}
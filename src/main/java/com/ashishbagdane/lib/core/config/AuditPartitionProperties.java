@@ -0,0 +1,90 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.partition.PartitionInterval;
+import java.time.Duration;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for audit table partition maintenance, bound from {@code ash.core.audit.partitioning.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     audit:
+ *       partitioning:
+ *         enabled: true
+ *         tables: payment_audit, order_audit
+ *         interval: MONTHLY
+ *         premake: 3
+ *         retention: P13M
+ *         retention-action: DETACH
+ * </pre>
+ *
+ * @see AuditPartitioningConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.audit.partitioning")
+public class AuditPartitionProperties {
+
+  /**
+   * Whether scheduled partition maintenance is enabled.
+   */
+  private boolean enabled;
+
+  /**
+   * Partitioned audit tables to maintain.
+   */
+  private List<String> tables = new ArrayList<>();
+
+  /**
+   * Width of each partition.
+   */
+  private PartitionInterval interval = PartitionInterval.MONTHLY;
+
+  /**
+   * Number of future periods to keep pre-created.
+   */
+  private int premake = 3;
+
+  /**
+   * Whether to keep a default partition catching rows outside every range partition. Without it such inserts fail, but on PostgreSQL 14 and later retired partitions are detached
+   * {@code CONCURRENTLY}, without blocking queries on the table; PostgreSQL refuses a concurrent detach while a default partition exists.
+   */
+  private boolean defaultPartition = true;
+
+  /**
+   * Partitions whose whole range is older than this are retired.
+   */
+  private Period retention = Period.ofMonths(12);
+
+  /**
+   * What to do with retired partitions.
+   */
+  private RetentionAction retentionAction = RetentionAction.DETACH;
+
+  /**
+   * Delay between maintenance runs.
+   */
+  private Duration checkInterval = Duration.ofHours(1);
+
+  /**
+   * Handling of partitions past the retention window.
+   */
+  public enum RetentionAction {
+    /**
+     * Detach the partition and keep it as a standalone table, e.g. for archiving.
+     */
+    DETACH,
+    /**
+     * Detach and drop the partition.
+     */
+    DROP
+  }
+}
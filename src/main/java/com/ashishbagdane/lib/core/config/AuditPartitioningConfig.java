@@ -0,0 +1,34 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.partition.AuditPartitionMaintainer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Configuration class for scheduled maintenance of PostgreSQL-partitioned audit tables. Active only when {@code ash.core.audit.partitioning.enabled=true}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see AuditPartitionMaintainer
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.audit.partitioning", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditPartitionProperties.class)
+public class AuditPartitioningConfig {
+
+  /**
+   * Creates the partition maintainer.
+   *
+   * @param jdbcTemplate the JDBC template used for DDL statements
+   * @param properties   the partitioning configuration
+   * @return configured AuditPartitionMaintainer instance
+   */
+  @Bean
+  public AuditPartitionMaintainer auditPartitionMaintainer(final JdbcTemplate jdbcTemplate, final AuditPartitionProperties properties) {
+    return new AuditPartitionMaintainer(jdbcTemplate, properties);
+  }
+}
@@ -0,0 +1,55 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.dtos.json.AuditBinaryCodec;
+import com.ashishbagdane.lib.core.dtos.json.AuditJsonModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for fast-path {@code BaseAuditDTO} serialization. Active only when {@code ash.core.audit.serialization.enabled=true} and Jackson is on the classpath; the CBOR codec is added
+ * when {@code jackson-dataformat-cbor} is present.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see AuditSerializationProperties
+ */
+@Configuration
+@ConditionalOnClass(name = "com.fasterxml.jackson.databind.ObjectMapper")
+@ConditionalOnProperty(prefix = "ash.core.audit.serialization", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditSerializationProperties.class)
+public class AuditSerializationConfig {
+
+  /**
+   * Creates the Jackson module that Spring Boot registers with the application's {@code ObjectMapper}.
+   *
+   * @param properties the serialization configuration
+   * @return configured AuditJsonModule instance
+   */
+  @Bean
+  public AuditJsonModule auditJsonModule(final AuditSerializationProperties properties) {
+    return new AuditJsonModule(properties.isBinaryIds());
+  }
+
+  /**
+   * Provides the CBOR bulk codec.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper")
+  static class BinaryCodecConfig {
+
+    /**
+     * Creates the CBOR bulk codec.
+     *
+     * @param properties the serialization configuration
+     * @return configured AuditBinaryCodec instance
+     */
+    @Bean
+    public AuditBinaryCodec auditBinaryCodec(final AuditSerializationProperties properties) {
+      return new AuditBinaryCodec(properties.isBinaryIds());
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.ashishbagdane.lib.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the hand-written {@code BaseAuditDTO} serializer and the CBOR bulk codec, bound from {@code ash.core.audit.serialization.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     audit:
+ *       serialization:
+ *         enabled: true
+ *         binary-ids: true
+ * </pre>
+ *
+ * @see AuditSerializationConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.audit.serialization")
+public class AuditSerializationProperties {
+
+  /**
+   * Whether the fast-path serializer is registered with the application's {@code ObjectMapper}.
+   */
+  private boolean enabled;
+
+  /**
+   * Whether ids are written as 16 raw bytes to binary formats such as CBOR. JSON output always uses the canonical string.
+   */
+  private boolean binaryIds = true;
+}
@@ -0,0 +1,136 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the data access guards (named bulkheads plus adaptive concurrency limiters), bound from {@code ash.core.resilience.data-access.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     resilience:
+ *       data-access:
+ *         enabled: true
+ *         default-data-source: primary
+ *         data-sources:
+ *           primary:
+ *             bulkhead:
+ *               max-concurrent-calls: 40
+ *               max-wait: 20ms
+ *             limiter:
+ *               initial-limit: 20
+ *               max-limit: 40
+ *           reporting:
+ *             limiter:
+ *               enabled: false
+ * </pre>
+ *
+ * <p>Data sources without a {@code bulkhead.max-concurrent-calls} setting take their bulkhead from the resilience4j registry, so
+ * {@code resilience4j.bulkhead.instances.<name>.*} applies to them.</p>
+ *
+ * @see ResilienceConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.resilience.data-access")
+public class DataAccessGuardProperties {
+
+  /**
+   * Whether repository and transactional calls are guarded.
+   */
+  private boolean enabled;
+
+  /**
+   * Guard applied to beans without a {@code @DataSourceGuard} annotation.
+   */
+  private String defaultDataSource = "primary";
+
+  /**
+   * Per data source settings, keyed by guard name.
+   */
+  private Map<String, DataSourceSettings> dataSources = new LinkedHashMap<>();
+
+  /**
+   * Gets the settings for a data source, falling back to defaults for unconfigured names.
+   *
+   * @param name the guard name
+   * @return the settings
+   */
+  public DataSourceSettings settingsFor(String name) {
+    return dataSources.getOrDefault(name, new DataSourceSettings());
+  }
+
+  /**
+   * Settings of a single data source guard.
+   */
+  @Getter
+  @Setter
+  public static class DataSourceSettings {
+
+    private BulkheadSettings bulkhead = new BulkheadSettings();
+
+    private LimiterSettings limiter = new LimiterSettings();
+  }
+
+  /**
+   * Bulkhead settings. Leave {@code maxConcurrentCalls} unset to use the resilience4j instance configuration.
+   */
+  @Getter
+  @Setter
+  public static class BulkheadSettings {
+
+    /**
+     * Hard cap on concurrent calls.
+     */
+    private Integer maxConcurrentCalls;
+
+    /**
+     * How long a call waits for a free slot before it is rejected.
+     */
+    private Duration maxWait = Duration.ZERO;
+  }
+
+  /**
+   * Adaptive concurrency limiter settings.
+   */
+  @Getter
+  @Setter
+  public static class LimiterSettings {
+
+    /**
+     * Whether the adaptive limiter is applied in addition to the bulkhead.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit used until latency samples are available.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Lower bound of the limit.
+     */
+    private int minLimit = 2;
+
+    /**
+     * Upper bound of the limit; usually the connection pool size.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Weight of each new limit estimate, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Latency increase over the long-term baseline tolerated before the limit shrinks.
+     */
+    private double tolerance = 1.5;
+  }
+}
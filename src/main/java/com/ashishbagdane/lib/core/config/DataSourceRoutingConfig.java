@@ -0,0 +1,88 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.routing.ReadWriteRoutingDataSource;
+import com.ashishbagdane.lib.core.db.routing.Replica;
+import com.ashishbagdane.lib.core.db.routing.ReplicaPool;
+import com.ashishbagdane.lib.core.db.routing.ReplicationLagProbe;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration class for read/write routing. Active only when {@code ash.core.datasource.routing.enabled=true}; replaces the auto-configured data source with a
+ * {@link LazyConnectionDataSourceProxy} over a {@link ReadWriteRoutingDataSource}, so {@code @Transactional(readOnly = true)} work is served by replicas.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see DataSourceRoutingProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceRoutingProperties.class, DataSourceProperties.class})
+public class DataSourceRoutingConfig {
+
+  /**
+   * Creates the routing data source over the primary and the configured replicas. Pools are closed with this bean.
+   *
+   * @param dataSourceProperties the primary data source configuration ({@code spring.datasource.*})
+   * @param properties           the routing configuration
+   * @param environment          the environment used to bind {@code spring.datasource.hikari.*} onto the primary pool
+   * @return configured ReadWriteRoutingDataSource instance
+   */
+  @Bean
+  public ReadWriteRoutingDataSource readWriteRoutingDataSource(final DataSourceProperties dataSourceProperties, final DataSourceRoutingProperties properties,
+      final Environment environment) {
+    final DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+    final List<Replica> replicas = new ArrayList<>();
+    properties.getReplicas().forEach((name, settings) -> {
+      final DataSource replica = DataSourceBuilder.create()
+          .url(settings.getUrl())
+          .username(settings.getUsername())
+          .password(settings.getPassword())
+          .driverClassName(settings.getDriverClassName())
+          .build();
+      new Binder(new MapConfigurationPropertySource(settings.getPool())).bind("", Bindable.ofInstance(replica));
+      replicas.add(new Replica(name, replica));
+    });
+    return new ReadWriteRoutingDataSource(primary, new ReplicaPool(replicas, properties.getMaxLag()));
+  }
+
+  /**
+   * Creates the application data source. The lazy proxy defers fetching a physical connection until the first statement, after the transaction's read-only flag is known.
+   *
+   * @param routingDataSource the routing data source
+   * @return configured DataSource instance
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(final ReadWriteRoutingDataSource routingDataSource) {
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+
+  /**
+   * Creates the replication lag probe.
+   *
+   * @param routingDataSource the routing data source whose replicas are probed
+   * @param properties        the routing configuration
+   * @return configured ReplicationLagProbe instance
+   */
+  @Bean
+  public ReplicationLagProbe replicationLagProbe(final ReadWriteRoutingDataSource routingDataSource, final DataSourceRoutingProperties properties) {
+    return new ReplicationLagProbe(routingDataSource.getReplicas(), properties.getLagQuery(), properties.getProbeInterval());
+  }
+}
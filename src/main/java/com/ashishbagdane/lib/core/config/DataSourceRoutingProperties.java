@@ -0,0 +1,83 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for read/write routing, bound from {@code ash.core.datasource.routing.*}. The primary is configured through the regular {@code spring.datasource.*} properties.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     datasource:
+ *       routing:
+ *         enabled: true
+ *         max-lag: 2s
+ *         lag-query: SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+ *         replicas:
+ *           replica-a:
+ *             url: jdbc:postgresql://replica-a:5432/app
+ *             username: app
+ *             password: secret
+ *             pool:
+ *               maximum-pool-size: 20
+ * </pre>
+ *
+ * @see DataSourceRoutingConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.datasource.routing")
+public class DataSourceRoutingProperties {
+
+  /**
+   * Whether read-only transactions are routed to replicas.
+   */
+  private boolean enabled;
+
+  /**
+   * Replicas lagging further behind the primary are skipped.
+   */
+  private Duration maxLag = Duration.ofSeconds(5);
+
+  /**
+   * Query returning a replica's replication lag in milliseconds. Without it replicas are only checked for reachability.
+   */
+  private String lagQuery;
+
+  /**
+   * Time between replica probes.
+   */
+  private Duration probeInterval = Duration.ofSeconds(1);
+
+  /**
+   * Replicas, keyed by name.
+   */
+  private Map<String, ReplicaSettings> replicas = new LinkedHashMap<>();
+
+  /**
+   * Connection settings of a single replica.
+   */
+  @Getter
+  @Setter
+  public static class ReplicaSettings {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    /**
+     * Pool-specific settings bound onto the created data source, e.g. {@code maximum-pool-size} for HikariCP.
+     */
+    private Map<String, String> pool = new LinkedHashMap<>();
+  }
+}
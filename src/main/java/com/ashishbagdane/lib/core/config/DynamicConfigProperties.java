@@ -0,0 +1,105 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for hot-reloadable configuration snapshots, bound from {@code ash.core.config.dynamic.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     config:
+ *       dynamic:
+ *         enabled: true
+ *         file: /etc/app/dynamic.properties
+ * </pre>
+ *
+ * <p>or, with Consul as the source:
+ * <pre>
+ * ash:
+ *   core:
+ *     config:
+ *       dynamic:
+ *         enabled: true
+ *         consul:
+ *           enabled: true
+ *           url: http://consul.service:8500
+ *           prefixes:
+ *             - config/application/
+ *             - config/payments/
+ * </pre>
+ *
+ * <p>Each source publishes complete snapshots, so configure either a file or Consul.</p>
+ *
+ * @see DynamicConfigurationConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.config.dynamic")
+public class DynamicConfigProperties {
+
+  /**
+   * Whether the dynamic configuration holder is created.
+   */
+  private boolean enabled;
+
+  /**
+   * Properties file loaded at startup and reloaded whenever it changes.
+   */
+  private Path file;
+
+  /**
+   * Consul KV source settings.
+   */
+  private Consul consul = new Consul();
+
+  /**
+   * Settings of the Consul KV watcher.
+   */
+  @Getter
+  @Setter
+  public static class Consul {
+
+    /**
+     * Whether the configuration is loaded from Consul KV.
+     */
+    private boolean enabled;
+
+    /**
+     * Consul agent URL.
+     */
+    private String url = "http://localhost:8500";
+
+    /**
+     * ACL token sent with every request.
+     */
+    private String aclToken;
+
+    /**
+     * Watched key prefixes, in increasing precedence.
+     */
+    private List<String> prefixes = new ArrayList<>(List.of("config/application/"));
+
+    /**
+     * Maximum duration of one blocking query. Consul caps this at 10 minutes.
+     */
+    private Duration wait = Duration.ofSeconds(55);
+
+    /**
+     * Changes arriving within this period are coalesced into one snapshot.
+     */
+    private Duration quietPeriod = Duration.ofMillis(250);
+
+    /**
+     * Upper bound of the retry delay after errors.
+     */
+    private Duration maxBackoff = Duration.ofSeconds(30);
+  }
+}
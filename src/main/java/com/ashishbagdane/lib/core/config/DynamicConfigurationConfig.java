@@ -0,0 +1,127 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.config.dynamic.CommonsConfigurationSource;
+import com.ashishbagdane.lib.core.config.dynamic.ConfigReloader;
+import com.ashishbagdane.lib.core.config.dynamic.ConsulKvWatcher;
+import com.ashishbagdane.lib.core.config.dynamic.DynamicConfiguration;
+import com.ashishbagdane.lib.core.config.dynamic.DynamicSettings;
+import com.ashishbagdane.lib.core.config.dynamic.FileWatchReloadTrigger;
+import com.orbitz.consul.Consul;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for hot-reloadable configuration snapshots. Active only when {@code ash.core.config.dynamic.enabled=true}; a file source and watcher are added when
+ * {@code ash.core.config.dynamic.file} is set, and a Consul KV watcher when {@code ash.core.config.dynamic.consul.enabled=true}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see DynamicConfiguration
+ * @see DynamicConfigProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.config.dynamic", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DynamicConfigProperties.class)
+public class DynamicConfigurationConfig {
+
+  /**
+   * Creates the configuration snapshot holder.
+   *
+   * @return configured DynamicConfiguration instance
+   */
+  @Bean
+  public DynamicConfiguration dynamicConfiguration() {
+    return new DynamicConfiguration();
+  }
+
+  /**
+   * Creates the factory of typed settings over the configuration snapshots.
+   *
+   * @param configuration the snapshot holder
+   * @return configured DynamicSettings instance
+   */
+  @Bean
+  public DynamicSettings dynamicSettings(final DynamicConfiguration configuration) {
+    return new DynamicSettings(configuration);
+  }
+
+  /**
+   * Creates the reloader for the configured file and performs the initial load.
+   *
+   * @param configuration the snapshot holder
+   * @param properties    the dynamic configuration properties
+   * @return configured ConfigReloader instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "ash.core.config.dynamic", name = "file")
+  public ConfigReloader fileConfigReloader(final DynamicConfiguration configuration, final DynamicConfigProperties properties) {
+    final ConfigReloader reloader = new ConfigReloader(CommonsConfigurationSource.properties(properties.getFile()), configuration);
+    reloader.reloadNow();
+    return reloader;
+  }
+
+  /**
+   * Creates the file watcher that triggers reloads.
+   *
+   * @param fileConfigReloader the reloader for the configured file
+   * @param properties         the dynamic configuration properties
+   * @return configured FileWatchReloadTrigger instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "ash.core.config.dynamic", name = "file")
+  public FileWatchReloadTrigger fileWatchReloadTrigger(final ConfigReloader fileConfigReloader, final DynamicConfigProperties properties) {
+    return new FileWatchReloadTrigger(properties.getFile(), fileConfigReloader);
+  }
+
+  /**
+   * Watches Consul KV prefixes and publishes them as configuration snapshots.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "com.orbitz.consul.Consul")
+  @ConditionalOnProperty(prefix = "ash.core.config.dynamic.consul", name = "enabled", havingValue = "true")
+  static class ConsulWatchConfig {
+
+    /**
+     * Time added to the blocking query wait to obtain the HTTP read timeout.
+     */
+    private static final long READ_TIMEOUT_MARGIN_MILLIS = 10_000;
+
+    /**
+     * Creates the Consul client used by the watcher. Its read timeout exceeds the blocking query wait.
+     *
+     * @param properties the dynamic configuration properties
+     * @return configured Consul instance
+     */
+    @Bean(destroyMethod = "destroy")
+    public Consul dynamicConfigConsulClient(final DynamicConfigProperties properties) {
+      final DynamicConfigProperties.Consul consul = properties.getConsul();
+      final Consul.Builder builder = Consul.builder()
+          .withUrl(consul.getUrl())
+          .withPing(false)
+          .withReadTimeoutMillis(consul.getWait().toMillis() + READ_TIMEOUT_MARGIN_MILLIS);
+      if (consul.getAclToken() != null) {
+        builder.withAclToken(consul.getAclToken());
+      }
+      return builder.build();
+    }
+
+    /**
+     * Creates the Consul KV watcher.
+     *
+     * @param dynamicConfigConsulClient the Consul client
+     * @param configuration             the snapshot holder
+     * @param properties                the dynamic configuration properties
+     * @return configured ConsulKvWatcher instance
+     */
+    @Bean
+    public ConsulKvWatcher consulKvWatcher(final Consul dynamicConfigConsulClient, final DynamicConfiguration configuration, final DynamicConfigProperties properties) {
+      final DynamicConfigProperties.Consul consul = properties.getConsul();
+      return new ConsulKvWatcher(dynamicConfigConsulClient.keyValueClient(), consul.getPrefixes(), configuration, consul.getWait(), consul.getQuietPeriod(),
+          consul.getMaxBackoff());
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObservers;
+import com.ashishbagdane.lib.core.metrics.AuditInsertMetrics;
+import com.ashishbagdane.lib.core.metrics.TransactionMetricsListener;
+import com.ashishbagdane.lib.core.metrics.TransitionMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the library's Micrometer meters. Meters are only registered when a {@link MeterRegistry} bean exists; otherwise the instrumentation points cost a field read.
+ *
+ * <h2>Meters:</h2>
+ * <ul>
+ *     <li>{@code ash.transaction.duration} - physical transaction duration, tagged {@code outcome} and {@code read-only}</li>
+ *     <li>{@code ash.lifecycle.transitions} - accepted and rejected state transitions, tagged {@code type}, {@code from}, {@code to} and {@code outcome}</li>
+ *     <li>{@code ash.audit.insert} - audit row persistence latency, tagged {@code entity}</li>
+ * </ul>
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see TransactionConfig
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class MetricsConfig {
+
+  /**
+   * Creates the transaction duration listener. The meter registry is resolved on the first transaction.
+   *
+   * @param meterRegistry optional meter registry
+   * @return configured TransactionMetricsListener instance
+   */
+  @Bean
+  public TransactionMetricsListener transactionMetricsListener(final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new TransactionMetricsListener(meterRegistry::getIfAvailable);
+  }
+
+  /**
+   * Installs the transition counters and the audit insert listener once all singletons exist, if a meter registry is available.
+   *
+   * @param meterRegistry        optional meter registry
+   * @param entityManagerFactory optional entity manager factory whose insert events are timed
+   * @return the installer, which also removes the transition counters on shutdown
+   */
+  @Bean
+  public LibraryMetricsInstaller libraryMetricsInstaller(final ObjectProvider<MeterRegistry> meterRegistry,
+      final ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+    return new LibraryMetricsInstaller(meterRegistry, entityManagerFactory);
+  }
+
+  /**
+   * Registers the meters that hook into static or Hibernate-managed extension points.
+   */
+  static class LibraryMetricsInstaller implements SmartInitializingSingleton, DisposableBean {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private TransitionMetrics transitionMetrics;
+
+    LibraryMetricsInstaller(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+      this.meterRegistry = meterRegistry;
+      this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+      final MeterRegistry registry = meterRegistry.getIfAvailable();
+      if (registry == null) {
+        return;
+      }
+      transitionMetrics = new TransitionMetrics(registry);
+      TransitionObservers.register(transitionMetrics);
+
+      final EntityManagerFactory emf = entityManagerFactory.getIfUnique();
+      if (emf != null) {
+        final AuditInsertMetrics auditInsertMetrics = new AuditInsertMetrics(registry);
+        final EventListenerRegistry listeners = emf.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.PRE_INSERT, auditInsertMetrics);
+        listeners.appendListeners(EventType.POST_INSERT, auditInsertMetrics);
+      }
+    }
+
+    @Override
+    public void destroy() {
+      if (transitionMetrics != null) {
+        TransitionObservers.unregister(transitionMetrics);
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for {@code @RetryOnOptimisticLock}, bound from {@code ash.core.resilience.optimistic-lock.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     resilience:
+ *       optimistic-lock:
+ *         max-attempts: 6
+ *         base-delay: 5ms
+ *         max-delay: 500ms
+ *         escalation:
+ *           threshold: 10
+ *           half-life: 30s
+ *           lock-timeout: 250ms
+ * </pre>
+ *
+ * @see ResilienceConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.resilience.optimistic-lock")
+public class OptimisticLockRetryProperties {
+
+  /**
+   * Whether {@code @RetryOnOptimisticLock} annotations are applied. Disabled by default.
+   */
+  private boolean enabled;
+
+  /**
+   * Attempts, including the first one, for annotations that do not set their own.
+   */
+  private int maxAttempts = 5;
+
+  /**
+   * Minimum wait between attempts.
+   */
+  private Duration baseDelay = Duration.ofMillis(10);
+
+  /**
+   * Maximum wait between attempts.
+   */
+  private Duration maxDelay = Duration.ofSeconds(1);
+
+  /**
+   * Escalation of persistently conflicting entity types to pessimistic locking.
+   */
+  private Escalation escalation = new Escalation();
+
+  /**
+   * Settings of the escalation to pessimistic locking.
+   */
+  @Getter
+  @Setter
+  public static class Escalation {
+
+    /**
+     * Whether contended entity types are loaded with a pessimistic lock during retried calls. Disabled by default.
+     */
+    private boolean enabled;
+
+    /**
+     * Decayed conflict score at which an entity type is escalated. Every conflict adds one.
+     */
+    private double threshold = 5;
+
+    /**
+     * Time in which the conflict score halves, i.e. how long an entity type stays escalated once conflicts stop.
+     */
+    private Duration halfLife = Duration.ofSeconds(10);
+
+    /**
+     * How long an escalated load waits for the row lock, where the dialect supports lock timeouts.
+     */
+    private Duration lockTimeout = Duration.ofMillis(500);
+  }
+}
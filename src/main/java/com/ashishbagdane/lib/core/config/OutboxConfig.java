@@ -0,0 +1,73 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.entity.EntityIdResolver;
+import com.ashishbagdane.lib.core.db.outbox.OutboxRelay;
+import com.ashishbagdane.lib.core.db.outbox.OutboxSink;
+import com.ashishbagdane.lib.core.db.outbox.OutboxTransitionObserver;
+import com.ashishbagdane.lib.core.db.outbox.OutboxWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration class for the transactional outbox of lifecycle events. Active only when {@code ash.core.outbox.enabled=true}; requires the tables from
+ * {@code db/changelog/ash-core/outbox.xml}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see OutboxTransitionObserver
+ * @see OutboxRelay
+ * @see OutboxProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+  /**
+   * Creates the outbox writer.
+   *
+   * @param jdbcTemplate the JDBC template used for the inserts
+   * @param properties   the outbox configuration
+   * @return configured OutboxWriter instance
+   */
+  @Bean
+  public OutboxWriter outboxWriter(final JdbcTemplate jdbcTemplate, final OutboxProperties properties) {
+    return new OutboxWriter(jdbcTemplate, properties.getShards());
+  }
+
+  /**
+   * Creates the observer that records lifecycle transitions in the outbox.
+   *
+   * @param outboxWriter         the outbox writer
+   * @param entityManagerFactory optional persistence unit used to resolve aggregate ids of entities that are not {@code Identifiable}
+   * @return configured OutboxTransitionObserver instance
+   */
+  @Bean
+  public OutboxTransitionObserver outboxTransitionObserver(final OutboxWriter outboxWriter, final ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+    return new OutboxTransitionObserver(outboxWriter, new EntityIdResolver(entityManagerFactory.getIfUnique()));
+  }
+
+  /**
+   * Creates the relay that publishes outbox events to the application's {@link OutboxSink}.
+   *
+   * @param jdbcTemplate       the JDBC template used to read and delete events
+   * @param transactionManager the transaction manager wrapping each batch
+   * @param sink               the destination of the events
+   * @param properties         the outbox configuration
+   * @return configured OutboxRelay instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "ash.core.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+  public OutboxRelay outboxRelay(final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager, final ObjectProvider<OutboxSink> sink,
+      final OutboxProperties properties) {
+    return new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), sink.getIfUnique(), properties);
+  }
+}
@@ -0,0 +1,74 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the transactional outbox of lifecycle events, bound from {@code ash.core.outbox.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     outbox:
+ *       enabled: true
+ *       shards: 16
+ *       relay:
+ *         workers: 4
+ *         batch-size: 200
+ *         poll-interval: 250ms
+ * </pre>
+ *
+ * @see OutboxConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.outbox")
+public class OutboxProperties {
+
+  /**
+   * Whether lifecycle transitions are written to the outbox.
+   */
+  private boolean enabled;
+
+  /**
+   * Number of shards events are spread over. Events of one aggregate always share a shard and are relayed in order; more shards allow more parallel relay workers. Changing the value while events are
+   * pending may reorder events of the same aggregate.
+   */
+  private int shards = 16;
+
+  /**
+   * Relay settings.
+   */
+  private Relay relay = new Relay();
+
+  /**
+   * Settings of the relay that publishes outbox events to the {@code OutboxSink}.
+   */
+  @Getter
+  @Setter
+  public static class Relay {
+
+    /**
+     * Whether this instance runs relay workers. Disable on instances that should only write events.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of relay worker threads on this instance.
+     */
+    private int workers = 2;
+
+    /**
+     * Maximum number of events published per sink call.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Time a worker sleeps after a pass over all shards found no events.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+  }
+}
@@ -0,0 +1,56 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.audit.AuditQueries;
+import com.ashishbagdane.lib.core.db.audit.archive.AuditArchive;
+import com.ashishbagdane.lib.core.db.entity.status.BulkStatusTransitioner;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+/**
+ * Configuration class for set-based persistence helpers that operate on rows directly rather than through the JPA persistence context. Each helper is opt-in:
+ * <ul>
+ *     <li>{@link BulkStatusTransitioner} with {@code ash.core.status.bulk.enabled=true}; requires a {@link NamedParameterJdbcTemplate}</li>
+ *     <li>{@link AuditQueries} with {@code ash.core.audit.queries.enabled=true}; requires JPA</li>
+ * </ul>
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ */
+@Configuration
+public class PersistenceSupportConfig {
+
+  /**
+   * Creates the bulk status transitioner.
+   *
+   * @param jdbcTemplate    the named parameter JDBC template
+   * @param chunkSize       maximum number of ids per UPDATE statement ({@code ash.core.status.bulk.chunk-size})
+   * @param allowUnobserved whether to move rows while an observer such as the status history recorder cannot observe them ({@code ash.core.status.bulk.allow-unobserved})
+   * @return configured BulkStatusTransitioner instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "ash.core.status.bulk", name = "enabled", havingValue = "true")
+  public BulkStatusTransitioner bulkStatusTransitioner(final NamedParameterJdbcTemplate jdbcTemplate,
+      @Value("${ash.core.status.bulk.chunk-size:1000}") final int chunkSize,
+      @Value("${ash.core.status.bulk.allow-unobserved:false}") final boolean allowUnobserved) {
+    return new BulkStatusTransitioner(jdbcTemplate, chunkSize, allowUnobserved);
+  }
+
+  /**
+   * Creates the keyset-paginated audit query API. When audit archival is enabled, queries read through into the archive.
+   *
+   * @param em           the EntityManagerFactory used to create the shared EntityManager
+   * @param auditArchive optional archive segment store
+   * @return configured AuditQueries instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "ash.core.audit.queries", name = "enabled", havingValue = "true")
+  public AuditQueries auditQueries(final EntityManagerFactory em, final ObjectProvider<AuditArchive> auditArchive) {
+    return new AuditQueries(SharedEntityManagerCreator.createSharedEntityManager(em), auditArchive.getIfAvailable());
+  }
+}
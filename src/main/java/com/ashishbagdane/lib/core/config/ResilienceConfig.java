@@ -1,12 +1,32 @@
 package com.ashishbagdane.lib.core.config;
 
+import com.ashishbagdane.lib.core.resilience.ContentionTracker;
+import com.ashishbagdane.lib.core.resilience.DataAccessGuardPostProcessor;
+import com.ashishbagdane.lib.core.resilience.DataAccessGuardRegistry;
+import com.ashishbagdane.lib.core.resilience.OptimisticLockRetryInterceptor;
+import com.ashishbagdane.lib.core.resilience.OptimisticLockRetryPostProcessor;
+import com.ashishbagdane.lib.core.resilience.PessimisticEscalationListener;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.function.SingletonSupplier;
 
 import java.time.Duration;
 
 @Configuration
+@EnableConfigurationProperties({DataAccessGuardProperties.class, OptimisticLockRetryProperties.class})
 public class ResilienceConfig {
 
     @Bean
@@ -16,4 +36,84 @@ public class ResilienceConfig {
             .waitDuration(Duration.ofMillis(500))
             .build();
     }
+
+    /**
+     * Creates the registry of per data source bulkheads and adaptive limiters. Active only when {@code ash.core.resilience.data-access.enabled=true}.
+     *
+     * @param properties       the guard configuration
+     * @param bulkheadRegistry optional resilience4j bulkhead registry; defaults are used when absent
+     * @param meterRegistry    optional meter registry for guard metrics
+     * @return configured DataAccessGuardRegistry instance
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ash.core.resilience.data-access", name = "enabled", havingValue = "true")
+    public DataAccessGuardRegistry dataAccessGuardRegistry(final DataAccessGuardProperties properties,
+        final ObjectProvider<BulkheadRegistry> bulkheadRegistry, final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DataAccessGuardRegistry(properties, bulkheadRegistry.getIfAvailable(BulkheadRegistry::ofDefaults), meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Creates the post processor that guards repository and transactional beans. Declared static so it does not force early initialization of this configuration; the registry is resolved on
+     * the first guarded call.
+     *
+     * @param registry provider of the guard registry
+     * @return configured DataAccessGuardPostProcessor instance
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ash.core.resilience.data-access", name = "enabled", havingValue = "true")
+    public static DataAccessGuardPostProcessor dataAccessGuardPostProcessor(final ObjectProvider<DataAccessGuardRegistry> registry) {
+        return new DataAccessGuardPostProcessor(SingletonSupplier.of(registry::getObject));
+    }
+
+    /**
+     * Creates the tracker of optimistic locking conflicts per entity type. Active only when {@code ash.core.resilience.optimistic-lock.enabled=true}.
+     *
+     * @param properties    the optimistic lock retry configuration
+     * @param meterRegistry optional meter registry for conflict metrics
+     * @return configured ContentionTracker instance
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ash.core.resilience.optimistic-lock", name = "enabled", havingValue = "true")
+    public ContentionTracker contentionTracker(final OptimisticLockRetryProperties properties, final ObjectProvider<MeterRegistry> meterRegistry) {
+        final OptimisticLockRetryProperties.Escalation escalation = properties.getEscalation();
+        return new ContentionTracker(escalation.isEnabled() ? escalation.getThreshold() : 0, escalation.getHalfLife(), meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Creates the post processor that applies {@code @RetryOnOptimisticLock}. Declared static so it does not force early initialization of this configuration; the settings are bound directly
+     * from the environment and the tracker is resolved on the first retried call.
+     *
+     * @param tracker     provider of the contention tracker
+     * @param environment the environment holding the retry settings
+     * @return configured OptimisticLockRetryPostProcessor instance
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ash.core.resilience.optimistic-lock", name = "enabled", havingValue = "true")
+    public static OptimisticLockRetryPostProcessor optimisticLockRetryPostProcessor(final ObjectProvider<ContentionTracker> tracker, final Environment environment) {
+        final OptimisticLockRetryProperties properties = Binder.get(environment)
+            .bindOrCreate("ash.core.resilience.optimistic-lock", OptimisticLockRetryProperties.class);
+        return new OptimisticLockRetryPostProcessor(new OptimisticLockRetryInterceptor(SingletonSupplier.of(tracker::getObject), properties.getMaxAttempts(),
+            properties.getBaseDelay(), properties.getMaxDelay()));
+    }
+
+    /**
+     * Prepends the pessimistic escalation listener to Hibernate's load event once all singletons exist. Escalation additionally requires
+     * {@code ash.core.resilience.optimistic-lock.escalation.enabled=true}.
+     *
+     * @param properties           the optimistic lock retry configuration
+     * @param entityManagerFactory optional entity manager factory
+     * @return the installer
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ash.core.resilience.optimistic-lock", name = "enabled", havingValue = "true")
+    public SmartInitializingSingleton pessimisticEscalationInstaller(final OptimisticLockRetryProperties properties,
+        final ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return () -> {
+            final EntityManagerFactory emf = entityManagerFactory.getIfUnique();
+            if (emf != null && properties.getEscalation().isEnabled()) {
+                emf.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class)
+                    .prependListeners(EventType.LOAD, new PessimisticEscalationListener((int) properties.getEscalation().getLockTimeout().toMillis()));
+            }
+        };
+    }
 }
@@ -0,0 +1,97 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.cache.CacheRegions;
+import com.ashishbagdane.lib.core.cache.CachedCatalogInterceptor;
+import com.ashishbagdane.lib.core.cache.CachedCatalogPostProcessor;
+import com.ashishbagdane.lib.core.cache.CaffeineRegionFactory;
+import com.ashishbagdane.lib.core.cache.ReadMostly;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Configuration class for the bounded in-process second-level cache. Active only when {@code ash.core.cache.enabled=true} and Caffeine is on the classpath.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Hibernate second-level and query cache backed by {@link CaffeineRegionFactory}</li>
+ *     <li>Entities annotated with {@link ReadMostly} are cached in their region</li>
+ *     <li>Methods annotated with {@code @CachedCatalog} are cached per argument values</li>
+ *     <li>Per region hit, miss, eviction and size meters when a {@link MeterRegistry} is available</li>
+ * </ul>
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see SecondLevelCacheProperties
+ */
+@Configuration
+@ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+@ConditionalOnProperty(prefix = "ash.core.cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+  /**
+   * Creates the builder of region caches.
+   *
+   * @param properties    the cache configuration
+   * @param meterRegistry optional meter registry for region statistics
+   * @return configured CacheRegions instance
+   */
+  @Bean
+  public CacheRegions cacheRegions(final SecondLevelCacheProperties properties, final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new CacheRegions(properties, meterRegistry.getIfAvailable());
+  }
+
+  /**
+   * Enables Hibernate's second-level cache with the Caffeine region factory and registers every {@link ReadMostly} entity with its region.
+   *
+   * @param cacheRegions the builder of region caches
+   * @param properties   the cache configuration
+   * @param managedTypes optional managed types of the persistence unit
+   * @return the Hibernate properties customizer
+   */
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final CacheRegions cacheRegions, final SecondLevelCacheProperties properties,
+      final ObjectProvider<PersistenceManagedTypes> managedTypes) {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.isQueryCache());
+      hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new CaffeineRegionFactory(cacheRegions));
+      final PersistenceManagedTypes types = managedTypes.getIfAvailable();
+      if (types == null) {
+        return;
+      }
+      final ClassLoader classLoader = SecondLevelCacheConfig.class.getClassLoader();
+      for (String className : types.getManagedClassNames()) {
+        final ReadMostly readMostly = ClassUtils.resolveClassName(className, classLoader).getAnnotation(ReadMostly.class);
+        if (readMostly != null && readMostly.usage() != CacheConcurrencyStrategy.NONE) {
+          hibernateProperties.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + className,
+              readMostly.usage().toAccessType().getExternalName() + "," + readMostly.region());
+        }
+      }
+    };
+  }
+
+  /**
+   * Creates the post processor that applies {@code @CachedCatalog}. Declared static so it does not force early initialization of this configuration; the region builder is resolved on the first
+   * cached call.
+   *
+   * @param cacheRegions provider of the region builder
+   * @return configured CachedCatalogPostProcessor instance
+   */
+  @Bean
+  public static CachedCatalogPostProcessor cachedCatalogPostProcessor(final ObjectProvider<CacheRegions> cacheRegions) {
+    return new CachedCatalogPostProcessor(new CachedCatalogInterceptor(SingletonSupplier.of(cacheRegions::getObject)));
+  }
+}
@@ -0,0 +1,84 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-process second-level cache and cached catalogs, bound from {@code ash.core.cache.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     cache:
+ *       enabled: true
+ *       defaults:
+ *         maximum-size: 10000
+ *         time-to-live: 1h
+ *       regions:
+ *         reference:
+ *           maximum-size: 50000
+ *           time-to-live: 12h
+ *         "[ash.catalogs]":
+ *           maximum-size: 500
+ * </pre>
+ *
+ * @see SecondLevelCacheConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.cache")
+public class SecondLevelCacheProperties {
+
+  /**
+   * Whether Hibernate's second-level cache and {@code @CachedCatalog} are enabled.
+   */
+  private boolean enabled;
+
+  /**
+   * Whether Hibernate's query cache is enabled. Queries are only cached when they set the {@code org.hibernate.cacheable} hint.
+   */
+  private boolean queryCache = true;
+
+  /**
+   * Settings of regions without an entry in {@link #regions}.
+   */
+  private RegionSettings defaults = new RegionSettings();
+
+  /**
+   * Per region settings, keyed by region name.
+   */
+  private Map<String, RegionSettings> regions = new LinkedHashMap<>();
+
+  /**
+   * Gets the settings of a region, falling back to the defaults for unconfigured names.
+   *
+   * @param regionName the region name
+   * @return the settings
+   */
+  public RegionSettings settingsFor(String regionName) {
+    return regions.getOrDefault(regionName, defaults);
+  }
+
+  /**
+   * Bounds of a single cache region.
+   */
+  @Getter
+  @Setter
+  public static class RegionSettings {
+
+    /**
+     * Maximum number of entries; beyond it entries are evicted by W-TinyLFU.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which an entry expires. Zero disables expiry.
+     */
+    private Duration timeToLive = Duration.ofHours(1);
+  }
+}
@@ -0,0 +1,57 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.db.entity.EntityIdResolver;
+import com.ashishbagdane.lib.core.db.entity.status.StatusHistoryRecorder;
+import com.ashishbagdane.lib.core.db.entity.status.Trackable;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Configuration class for the append-only status history. Active only when {@code ash.core.status-history.enabled=true}; each configured table needs the layout from
+ * {@code db/changelog/ash-core/status-history-template.xml}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see StatusHistoryRecorder
+ * @see StatusHistoryProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.status-history", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(StatusHistoryProperties.class)
+public class StatusHistoryConfig {
+
+  /**
+   * Creates the status history recorder and tracks the configured entity types. Startup fails if a configured type is not both {@code Trackable} and {@code Identifiable}.
+   *
+   * @param jdbcTemplate         the JDBC template used for the inserts
+   * @param entityManagerFactory optional entity manager factory flushed before ids are resolved at commit
+   * @param properties           the status history configuration
+   * @return configured StatusHistoryRecorder instance
+   */
+  @Bean
+  public StatusHistoryRecorder statusHistoryRecorder(final JdbcTemplate jdbcTemplate, final ObjectProvider<EntityManagerFactory> entityManagerFactory,
+      final StatusHistoryProperties properties) {
+    final StatusHistoryRecorder recorder = new StatusHistoryRecorder(jdbcTemplate, new EntityIdResolver(entityManagerFactory.getIfUnique()));
+    final ClassLoader classLoader = StatusHistoryConfig.class.getClassLoader();
+    try {
+      properties.getEntities().forEach((type, table) -> {
+        final Class<?> entityType = ClassUtils.resolveClassName(type, classLoader);
+        if (!Trackable.class.isAssignableFrom(entityType)) {
+          throw new IllegalArgumentException(type + " does not implement Trackable");
+        }
+        recorder.track(entityType.asSubclass(Trackable.class), table);
+      });
+    } catch (RuntimeException e) {
+      recorder.close();
+      throw e;
+    }
+    return recorder;
+  }
+}
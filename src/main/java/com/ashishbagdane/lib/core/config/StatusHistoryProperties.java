@@ -0,0 +1,38 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the append-only status history, bound from {@code ash.core.status-history.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     status-history:
+ *       enabled: true
+ *       entities:
+ *         "[com.example.order.Order]": order_status_history
+ * </pre>
+ *
+ * @see StatusHistoryConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.status-history")
+public class StatusHistoryProperties {
+
+  /**
+   * Whether status changes of the configured entities are recorded.
+   */
+  private boolean enabled;
+
+  /**
+   * History table per trackable entity type, keyed by fully qualified class name.
+   */
+  private Map<String, String> entities = new LinkedHashMap<>();
+}
@@ -1,10 +1,14 @@
 package com.ashishbagdane.lib.core.config;
 
+import com.ashishbagdane.lib.core.concurrent.BoundedJpaTransactionManager;
+import com.ashishbagdane.lib.core.concurrent.TransactionPermits;
 import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionExecutionListener;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -25,15 +29,23 @@ public class TransactionConfig {
   }
 
   /**
-   * Creates and configures a JpaTransactionManager bean. This transaction manager handles the transaction lifecycle for JPA operations.
+   * Creates and configures a JpaTransactionManager bean. This transaction manager handles the transaction lifecycle for JPA operations. When virtual-thread mode provides
+   * {@link TransactionPermits}, a {@link BoundedJpaTransactionManager} is returned so that concurrent transactions never exceed the connection pool. All
+   * {@link TransactionExecutionListener} beans, such as the transaction metrics listener, are attached.
    *
-   * @param em the EntityManagerFactory to be used for creating EntityManager instances
+   * @param em                 the EntityManagerFactory to be used for creating EntityManager instances
+   * @param transactionPermits optional permit pool bounding concurrent transactions
+   * @param listeners          transaction execution listeners
    * @return configured JpaTransactionManager instance
    */
   @Bean
   @Primary
-  public JpaTransactionManager transactionManager(final EntityManagerFactory em) {
-    return new JpaTransactionManager(em);
+  public JpaTransactionManager transactionManager(final EntityManagerFactory em, final ObjectProvider<TransactionPermits> transactionPermits,
+      final ObjectProvider<TransactionExecutionListener> listeners) {
+    final TransactionPermits permits = transactionPermits.getIfAvailable();
+    final JpaTransactionManager transactionManager = permits == null ? new JpaTransactionManager(em) : new BoundedJpaTransactionManager(em, permits);
+    transactionManager.setTransactionExecutionListeners(listeners.orderedStream().toList());
+    return transactionManager;
   }
 
 }
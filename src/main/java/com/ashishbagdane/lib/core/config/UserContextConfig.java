@@ -0,0 +1,62 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.context.UserContextFilter;
+import com.ashishbagdane.lib.core.context.UserContextHolder;
+import com.ashishbagdane.lib.core.context.UserContextTaskDecorator;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Configuration class for request-scoped {@code UserContext} capture. Active only when {@code ash.core.audit.user-context.capture.enabled=true}.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>The user context is captured once per request and bound through {@link UserContextHolder}</li>
+ *     <li>{@code BaseAuditEntity} lifecycle callbacks record the bound context without per-entity lookups</li>
+ *     <li>Spring-managed executors, including the virtual-thread executor, propagate the context to their tasks</li>
+ * </ul>
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see UserContextProperties
+ * @see VirtualThreadConfig
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.audit.user-context.capture", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(UserContextProperties.class)
+public class UserContextConfig {
+
+  /**
+   * Creates the task decorator that propagates the user context to executor tasks.
+   *
+   * @return configured UserContextTaskDecorator instance
+   */
+  @Bean
+  @ConditionalOnMissingBean(TaskDecorator.class)
+  public UserContextTaskDecorator userContextTaskDecorator() {
+    return new UserContextTaskDecorator();
+  }
+
+  /**
+   * Registers the capture filter for request and async dispatches.
+   *
+   * @param properties the capture configuration
+   * @return configured FilterRegistrationBean instance
+   */
+  @Bean
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  public FilterRegistrationBean<UserContextFilter> userContextFilter(final UserContextProperties properties) {
+    final FilterRegistrationBean<UserContextFilter> registration = new FilterRegistrationBean<>(new UserContextFilter());
+    registration.setOrder(properties.getFilterOrder());
+    registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+    return registration;
+  }
+}
@@ -0,0 +1,58 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.model.dictionary.UserContextDictionary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Configuration class for dictionary-encoded {@code UserContext} storage. Active only when {@code ash.core.audit.user-context.dictionary.enabled=true}; audit tables are switched to the dictionary
+ * form together with {@code ash.core.audit.user-context.dictionary.map-audit-entities=true}.
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see UserContextDictionary
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ash.core.audit.user-context.dictionary", name = "enabled", havingValue = "true")
+public class UserContextDictionaryConfig {
+
+  /**
+   * Creates the user context dictionary.
+   *
+   * @param jdbcTemplate the JDBC template used for lookup tables, sharing the caller's transactional connection
+   * @param cacheSize    maximum cached entries per kind ({@code ash.core.audit.user-context.dictionary.cache-size})
+   * @return configured UserContextDictionary instance
+   */
+  @Bean
+  public UserContextDictionary userContextDictionary(final JdbcTemplate jdbcTemplate,
+      @Value("${ash.core.audit.user-context.dictionary.cache-size:10000}") final long cacheSize) {
+    return new UserContextDictionary(jdbcTemplate, cacheSize);
+  }
+
+  /**
+   * Adds {@value UserContextDictionary#AUDIT_ENTITY_MAPPING} to the mapping resources of the persistence unit, so the user context of every {@code BaseAuditEntity} table is stored as
+   * dictionary references and a binary IP address. Active only when {@code ash.core.audit.user-context.dictionary.map-audit-entities=true}.
+   *
+   * @return configured BeanPostProcessor instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "ash.core.audit.user-context.dictionary", name = "map-audit-entities", havingValue = "true")
+  public static BeanPostProcessor userContextDictionaryMapping() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+        // Runs after configuration properties binding, so spring.jpa.mapping-resources is kept
+        if (bean instanceof JpaProperties jpaProperties && !jpaProperties.getMappingResources().contains(UserContextDictionary.AUDIT_ENTITY_MAPPING)) {
+          jpaProperties.getMappingResources().add(UserContextDictionary.AUDIT_ENTITY_MAPPING);
+        }
+        return bean;
+      }
+    };
+  }
+}
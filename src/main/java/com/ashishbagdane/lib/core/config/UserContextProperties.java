@@ -0,0 +1,37 @@
+package com.ashishbagdane.lib.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for request-scoped {@code UserContext} capture, bound from {@code ash.core.audit.user-context.capture.*}.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     audit:
+ *       user-context:
+ *         capture:
+ *           enabled: true
+ *           filter-order: -90
+ * </pre>
+ *
+ * @see UserContextConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.audit.user-context.capture")
+public class UserContextProperties {
+
+  /**
+   * Whether the user context is captured per request and propagated to async work.
+   */
+  private boolean enabled;
+
+  /**
+   * Order of the capture filter. The default runs it just after Spring Security's filter chain (order -100), so the authenticated principal is visible.
+   */
+  private int filterOrder = -90;
+}
@@ -0,0 +1,123 @@
+package com.ashishbagdane.lib.core.config;
+
+import com.ashishbagdane.lib.core.concurrent.PinningMonitor;
+import com.ashishbagdane.lib.core.concurrent.TransactionPermits;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.metadata.CompositeDataSourcePoolMetadataProvider;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Configuration class for the opt-in virtual-thread mode. Active only when {@code ash.core.virtual-threads.enabled=true} and running on Java 21 or later.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>{@code @Async} work and the application task executor run on virtual threads</li>
+ *     <li>Embedded Tomcat handles requests on virtual threads</li>
+ *     <li>Concurrent transactions are bounded by {@link TransactionPermits}, sized to the connection pool, so thousands of virtual threads queue fairly instead of starving the pool</li>
+ *     <li>Carrier-thread pinning is detected through JFR and reported by {@link PinningMonitor}</li>
+ * </ul>
+ *
+ * <p>This configuration is automatically picked up by Spring Boot's
+ * auto-configuration mechanism when included in the component scan path.</p>
+ *
+ * @see VirtualThreadProperties
+ * @see TransactionConfig
+ */
+@Configuration
+@ConditionalOnJava(JavaVersion.TWENTY_ONE)
+@ConditionalOnProperty(prefix = "ash.core.virtual-threads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+
+  /**
+   * Default size of the permit pool when neither a property nor the connection pool provides one.
+   */
+  private static final int DEFAULT_PERMITS = 10;
+
+  /**
+   * Creates the virtual-thread task executor used for {@code @Async} methods and application tasks. A unique {@link TaskDecorator} bean, such as the user context decorator, is applied to every task.
+   *
+   * @param taskDecorator optional decorator applied to submitted tasks
+   * @return configured SimpleAsyncTaskExecutor instance
+   */
+  @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+  public SimpleAsyncTaskExecutor applicationTaskExecutor(final ObjectProvider<TaskDecorator> taskDecorator) {
+    final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ash-vt-");
+    executor.setVirtualThreads(true);
+    taskDecorator.ifUnique(executor::setTaskDecorator);
+    return executor;
+  }
+
+  /**
+   * Creates the permit pool bounding concurrent transactions.
+   *
+   * @param properties            the virtual-thread configuration
+   * @param dataSource            optional data source used to size the pool
+   * @param poolMetadataProviders providers exposing the connection pool size
+   * @param meterRegistry         optional meter registry for permit metrics
+   * @return configured TransactionPermits instance
+   */
+  @Bean
+  public TransactionPermits transactionPermits(final VirtualThreadProperties properties, final ObjectProvider<DataSource> dataSource,
+      final ObjectProvider<DataSourcePoolMetadataProvider> poolMetadataProviders, final ObjectProvider<MeterRegistry> meterRegistry) {
+    int permits = DEFAULT_PERMITS;
+    if (properties.getTransactionPermits() != null) {
+      permits = properties.getTransactionPermits();
+    } else if (dataSource.getIfUnique() != null) {
+      final DataSourcePoolMetadata metadata = new CompositeDataSourcePoolMetadataProvider(poolMetadataProviders.orderedStream().toList())
+          .getDataSourcePoolMetadata(dataSource.getIfUnique());
+      if (metadata != null && metadata.getMax() != null && metadata.getMax() > 0) {
+        permits = metadata.getMax();
+      }
+    }
+    return new TransactionPermits(permits, properties.getAcquireTimeout(), meterRegistry.getIfAvailable());
+  }
+
+  /**
+   * Creates the JFR-based pinning monitor.
+   *
+   * @param properties    the virtual-thread configuration
+   * @param meterRegistry optional meter registry for pinning metrics
+   * @return configured PinningMonitor instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "ash.core.virtual-threads", name = "pinning-detection", havingValue = "true", matchIfMissing = true)
+  public PinningMonitor pinningMonitor(final VirtualThreadProperties properties, final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new PinningMonitor(properties.getPinningThreshold(), meterRegistry.getIfAvailable());
+  }
+
+  /**
+   * Runs embedded Tomcat request processing on virtual threads.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  static class TomcatVirtualThreadConfig {
+
+    /**
+     * Replaces the Tomcat connector thread pool with a virtual-thread executor.
+     *
+     * @return configured TomcatProtocolHandlerCustomizer instance
+     */
+    @Bean
+    TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+      final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ash-tomcat-vt-");
+      executor.setVirtualThreads(true);
+      return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+  }
+}
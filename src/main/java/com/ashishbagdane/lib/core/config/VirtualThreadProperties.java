@@ -0,0 +1,53 @@
+package com.ashishbagdane.lib.core.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for virtual-thread mode, bound from {@code ash.core.virtual-threads.*}. Requires Java 21.
+ *
+ * <p>Example configuration:
+ * <pre>
+ * ash:
+ *   core:
+ *     virtual-threads:
+ *       enabled: true
+ *       transaction-permits: 20
+ *       acquire-timeout: 2s
+ *       pinning-threshold: 20ms
+ * </pre>
+ *
+ * @see VirtualThreadConfig
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ash.core.virtual-threads")
+public class VirtualThreadProperties {
+
+  /**
+   * Whether request handling and async work run on virtual threads.
+   */
+  private boolean enabled;
+
+  /**
+   * Maximum number of concurrent transactions. Defaults to the maximum size of the connection pool when it can be determined.
+   */
+  private Integer transactionPermits;
+
+  /**
+   * How long a caller waits for a transaction permit before the transaction fails to start.
+   */
+  private Duration acquireTimeout = Duration.ofSeconds(5);
+
+  /**
+   * Whether virtual thread pinning is detected and reported.
+   */
+  private boolean pinningDetection = true;
+
+  /**
+   * Minimum pinning duration reported.
+   */
+  private Duration pinningThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,39 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+/**
+ * Dynamic boolean setting, read with {@link #getAsBoolean()}. Accepts {@code true} and {@code false}, ignoring case.
+ */
+public final class BooleanSetting extends DynamicSetting {
+
+  private final boolean defaultValue;
+
+  private volatile boolean value;
+
+  BooleanSetting(String key, boolean defaultValue) {
+    super(key);
+    this.defaultValue = defaultValue;
+    this.value = defaultValue;
+  }
+
+  /**
+   * Gets the current value.
+   *
+   * @return the parsed value, or the default if the key is absent
+   */
+  public boolean getAsBoolean() {
+    return value;
+  }
+
+  @Override
+  protected void apply(String raw) {
+    if (raw == null) {
+      value = defaultValue;
+    } else if ("true".equalsIgnoreCase(raw)) {
+      value = true;
+    } else if ("false".equalsIgnoreCase(raw)) {
+      value = false;
+    } else {
+      throw new IllegalArgumentException("Not a boolean: " + raw);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import org.apache.commons.configuration2.ImmutableConfiguration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+
+/**
+ * {@link ConfigSource} backed by Apache Commons Configuration. Every load asks the supplied factory for a fresh configuration and flattens it; multi-valued keys are joined with commas, matching
+ * how Spring binds comma-separated lists.
+ *
+ * <p>Example usage:
+ * <pre>
+ * ConfigSource source = CommonsConfigurationSource.properties(Path.of("/etc/app/dynamic.properties"));
+ * </pre>
+ */
+public class CommonsConfigurationSource implements ConfigSource {
+
+  private final Callable<? extends ImmutableConfiguration> factory;
+
+  /**
+   * Creates a new source.
+   *
+   * @param factory creates a freshly read configuration on every call
+   */
+  public CommonsConfigurationSource(Callable<? extends ImmutableConfiguration> factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Creates a source reading a properties file.
+   *
+   * @param file the properties file
+   * @return the source
+   */
+  public static CommonsConfigurationSource properties(Path file) {
+    final Configurations configurations = new Configurations();
+    return new CommonsConfigurationSource(() -> configurations.properties(file.toFile()));
+  }
+
+  @Override
+  public Map<String, String> load() throws Exception {
+    final ImmutableConfiguration configuration = factory.call();
+    final Map<String, String> values = new HashMap<>();
+    final Iterator<String> keys = configuration.getKeys();
+    while (keys.hasNext()) {
+      final String key = keys.next();
+      final List<String> list = configuration.getList(String.class, key);
+      values.put(key, list.size() == 1 ? list.get(0) : String.join(",", list));
+    }
+    return values;
+  }
+}
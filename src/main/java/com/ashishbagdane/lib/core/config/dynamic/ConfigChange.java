@@ -0,0 +1,30 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.util.Set;
+
+/**
+ * Describes the transition from one {@link ConfigSnapshot} to the next.
+ *
+ * @param previous    the snapshot that was replaced
+ * @param current     the newly published snapshot
+ * @param changedKeys keys that were added, removed or modified
+ */
+public record ConfigChange(ConfigSnapshot previous, ConfigSnapshot current, Set<String> changedKeys) {
+
+  /**
+   * Creates a new change.
+   */
+  public ConfigChange {
+    changedKeys = Set.copyOf(changedKeys);
+  }
+
+  /**
+   * Checks whether a key changed.
+   *
+   * @param key the key
+   * @return true if the key was added, removed or modified
+   */
+  public boolean changed(String key) {
+    return changedKeys.contains(key);
+  }
+}
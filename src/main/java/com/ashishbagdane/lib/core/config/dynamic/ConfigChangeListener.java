@@ -0,0 +1,17 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+/**
+ * Callback notified when keys it subscribed to change. Listeners run on the reload thread, never on the thread reading configuration.
+ *
+ * @see DynamicConfiguration#subscribe(ConfigChangeListener, String...)
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+  /**
+   * Called after a snapshot with at least one relevant change was published.
+   *
+   * @param change the change
+   */
+  void onChange(ConfigChange change);
+}
@@ -0,0 +1,89 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a {@link ConfigSource} on a dedicated thread and publishes the result to a {@link DynamicConfiguration}. Reload requests arriving while a reload is pending are coalesced, so a burst of
+ * triggers (e.g. several file system events for one save) costs at most one extra load.
+ *
+ * @see FileWatchReloadTrigger
+ */
+@Slf4j
+public class ConfigReloader implements AutoCloseable {
+
+  private final ConfigSource source;
+
+  private final DynamicConfiguration configuration;
+
+  private final AtomicBoolean pending = new AtomicBoolean();
+
+  private final ExecutorService executor;
+
+  /**
+   * Creates a new reloader.
+   *
+   * @param source        the configuration source
+   * @param configuration the holder new snapshots are published to
+   */
+  public ConfigReloader(ConfigSource source, DynamicConfiguration configuration) {
+    this.source = source;
+    this.configuration = configuration;
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "ash-config-reload");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Loads and publishes the configuration on the calling thread. Used for the initial load, so the application starts with a populated snapshot.
+   *
+   * @return the published change
+   * @throws IllegalStateException if the source cannot be loaded
+   */
+  public ConfigChange reloadNow() {
+    try {
+      return configuration.publish(source.load());
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to load configuration", e);
+    }
+  }
+
+  /**
+   * Requests an asynchronous reload. Returns immediately; does nothing if a reload is already pending.
+   */
+  public void requestReload() {
+    if (!pending.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executor.execute(this::reload);
+    } catch (RejectedExecutionException e) {
+      pending.set(false);
+      log.debug("Reload requested after the reloader was closed");
+    }
+  }
+
+  private void reload() {
+    pending.set(false);
+    try {
+      final Map<String, String> values = source.load();
+      final ConfigChange change = configuration.publish(values);
+      if (!change.changedKeys().isEmpty()) {
+        log.info("Published configuration snapshot version {} ({} keys changed)", change.current().getVersion(), change.changedKeys().size());
+      }
+    } catch (Exception e) {
+      log.warn("Configuration reload failed; keeping snapshot version {}", configuration.snapshot().getVersion(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
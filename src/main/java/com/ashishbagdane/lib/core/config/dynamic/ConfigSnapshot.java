@@ -0,0 +1,105 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, versioned view of a flat key/value configuration. Snapshots are published through {@link DynamicConfiguration}; a reader that holds a snapshot sees a consistent set of values even
+ * while a reload is in progress.
+ *
+ * @see DynamicConfiguration
+ */
+public final class ConfigSnapshot {
+
+  /**
+   * The snapshot published before the first load.
+   */
+  public static final ConfigSnapshot EMPTY = new ConfigSnapshot(0, Map.of());
+
+  private final long version;
+
+  private final Map<String, String> values;
+
+  /**
+   * Creates a new snapshot.
+   *
+   * @param version monotonically increasing snapshot version
+   * @param values  the configuration values; copied
+   */
+  public ConfigSnapshot(long version, Map<String, String> values) {
+    this.version = version;
+    this.values = Map.copyOf(values);
+  }
+
+  /**
+   * Gets the snapshot version.
+   *
+   * @return the version, 0 for {@link #EMPTY}
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets a value.
+   *
+   * @param key the key
+   * @return the value, or {@code null} if absent
+   */
+  public String get(String key) {
+    return values.get(key);
+  }
+
+  /**
+   * Gets a value with a default.
+   *
+   * @param key          the key
+   * @param defaultValue value returned if the key is absent
+   * @return the value or the default
+   */
+  public String get(String key, String defaultValue) {
+    return values.getOrDefault(key, defaultValue);
+  }
+
+  /**
+   * Checks whether a key is present.
+   *
+   * @param key the key
+   * @return true if the key has a value
+   */
+  public boolean contains(String key) {
+    return values.containsKey(key);
+  }
+
+  /**
+   * Gets all values.
+   *
+   * @return an unmodifiable map of all values
+   */
+  public Map<String, String> asMap() {
+    return values;
+  }
+
+  /**
+   * Computes the keys whose value differs between this snapshot and another, including keys present in only one of them.
+   *
+   * @param other the snapshot to compare with
+   * @return the changed keys
+   */
+  public Set<String> diff(ConfigSnapshot other) {
+    final Set<String> changed = new HashSet<>();
+    values.forEach((key, value) -> {
+      if (!Objects.equals(value, other.values.get(key))) {
+        changed.add(key);
+      }
+    });
+    other.values.keySet().forEach(key -> {
+      if (!values.containsKey(key)) {
+        changed.add(key);
+      }
+    });
+    return changed;
+  }
+}
@@ -0,0 +1,20 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.util.Map;
+
+/**
+ * Source of a complete, flat configuration, loaded by {@link ConfigReloader} whenever a reload is requested.
+ *
+ * @see CommonsConfigurationSource
+ */
+@FunctionalInterface
+public interface ConfigSource {
+
+  /**
+   * Loads the current configuration.
+   *
+   * @return all keys and values
+   * @throws Exception if the configuration cannot be read; the previous snapshot is kept
+   */
+  Map<String, String> load() throws Exception;
+}
@@ -0,0 +1,264 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import com.orbitz.consul.KeyValueClient;
+import com.orbitz.consul.model.ConsulResponse;
+import com.orbitz.consul.model.kv.Value;
+import com.orbitz.consul.option.QueryOptions;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Watches Consul KV prefixes with blocking queries and publishes their content to a {@link DynamicConfiguration}.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>One long-poll per top-level path: prefixes sharing their first path segment, such as {@code config/application/} and {@code config/payments/}, are watched with a single blocking
+ *     query on their common path, {@code config/}, and keys are routed to the prefixes on the client</li>
+ *     <li>Index-based blocking queries: the request returns as soon as anything under the watched path changes, or after {@code wait}</li>
+ *     <li>Changes arriving within {@code quiet-period} of each other are coalesced into one snapshot</li>
+ *     <li>Errors back off exponentially with equal jitter, i.e. a random delay between half and all of the exponential delay, up to {@code max-backoff}, so a fleet does not hammer a
+ *     recovering agent in lockstep and never retries without delay</li>
+ * </ul>
+ *
+ * <h2>Key Mapping:</h2>
+ * <p>For each watched prefix, in order, keys below it are stripped of the prefix and {@code /} is replaced by {@code .}; a later prefix overrides an earlier one. With prefixes
+ * {@code config/application/} and {@code config/payments/}, the key {@code config/payments/client/timeout} becomes {@code client.timeout}.</p>
+ *
+ * <h2>Connections:</h2>
+ * <p>Each watched path holds one HTTP connection and one {@code ash-consul-watch-N} thread for the duration of a blocking query. Prefixes in unrelated trees, e.g. {@code a/} and {@code b/},
+ * are watched separately rather than through their empty common path, which would download the whole KV store on every change; keep watched prefixes under one top-level path to use a single
+ * connection. Keys under the common path that no prefix selects are downloaded but ignored.</p>
+ *
+ * <p>The first snapshot is published once every watched path has answered. A path Consul answers with 404 has no keys; its prefixes are emptied, so deleting the keys of a prefix removes them
+ * from the configuration.</p>
+ *
+ * <p>The watcher publishes complete snapshots, so it should be the only source of its {@link DynamicConfiguration}.</p>
+ */
+@Slf4j
+public class ConsulKvWatcher implements SmartLifecycle {
+
+  private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+  private final KeyValueClient kvClient;
+
+  private final List<String> prefixes;
+
+  private final Map<String, List<String>> watchedPaths;
+
+  private final DynamicConfiguration configuration;
+
+  private final Duration wait;
+
+  private final Duration quietPeriod;
+
+  private final Duration maxBackoff;
+
+  private final Map<String, Map<String, String>> snapshots = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean publishScheduled = new AtomicBoolean();
+
+  private volatile boolean running;
+
+  private final List<Thread> watchers = new ArrayList<>();
+
+  private ScheduledExecutorService publisher;
+
+  /**
+   * Creates a new watcher.
+   *
+   * @param kvClient      the Consul KV client; its read timeout must exceed {@code wait}
+   * @param prefixes      the watched key prefixes, in increasing precedence
+   * @param configuration the holder snapshots are published to
+   * @param wait          maximum duration of one blocking query
+   * @param quietPeriod   changes within this period are coalesced
+   * @param maxBackoff    upper bound of the retry delay after errors
+   */
+  public ConsulKvWatcher(KeyValueClient kvClient, List<String> prefixes, DynamicConfiguration configuration, Duration wait, Duration quietPeriod,
+      Duration maxBackoff) {
+    if (prefixes.isEmpty()) {
+      throw new IllegalArgumentException("At least one prefix must be watched");
+    }
+    this.kvClient = kvClient;
+    this.prefixes = List.copyOf(new LinkedHashSet<>(prefixes));
+    this.watchedPaths = watchedPaths(this.prefixes);
+    this.configuration = configuration;
+    this.wait = wait;
+    this.quietPeriod = quietPeriod;
+    this.maxBackoff = maxBackoff;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "ash-consul-publish");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (Map.Entry<String, List<String>> path : watchedPaths.entrySet()) {
+      final Thread thread = new Thread(() -> watchLoop(path.getKey(), path.getValue()), "ash-consul-watch-" + watchers.size());
+      thread.setDaemon(true);
+      watchers.add(thread);
+      thread.start();
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    watchers.forEach(Thread::interrupt);
+    watchers.clear();
+    if (publisher != null) {
+      publisher.shutdownNow();
+      publisher = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void watchLoop(String path, List<String> pathPrefixes) {
+    BigInteger index = BigInteger.ZERO;
+    int failures = 0;
+    while (running) {
+      try {
+        final QueryOptions options = QueryOptions.blockSeconds((int) Math.max(1, wait.toSeconds()), index).build();
+        final ConsulResponse<List<Value>> response = kvClient.getConsulResponseWithValues(path, options);
+        failures = 0;
+        if (response == null) {
+          // Nothing stored under the path; Consul answers 404 without blocking. Publish the removal of whatever was read before
+          update(pathPrefixes, null);
+          sleep(quietPeriod.toMillis() + wait.toMillis() / 10);
+          continue;
+        }
+        final BigInteger responseIndex = response.getIndex();
+        if (responseIndex == null || responseIndex.signum() <= 0 || responseIndex.compareTo(index) < 0) {
+          // The index went backwards (e.g. a snapshot restore); start over, as the Consul documentation recommends
+          index = BigInteger.ZERO;
+        } else if (!responseIndex.equals(index)) {
+          index = responseIndex;
+        } else {
+          continue;
+        }
+        update(pathPrefixes, response.getResponse());
+      } catch (RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        failures++;
+        final long delay = backoffMillis(failures);
+        log.warn("Consul watch of '{}' failed ({} consecutive failures); retrying in {} ms", path, failures, delay, e);
+        sleep(delay);
+      }
+    }
+  }
+
+  private void update(List<String> pathPrefixes, List<Value> values) {
+    boolean changed = false;
+    for (String prefix : pathPrefixes) {
+      final Map<String, String> properties = toProperties(values, prefix);
+      changed |= !properties.equals(snapshots.put(prefix, properties));
+    }
+    if (changed) {
+      schedulePublish();
+    }
+  }
+
+  private void schedulePublish() {
+    if (publishScheduled.compareAndSet(false, true)) {
+      publisher.schedule(this::publishLatest, quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void publishLatest() {
+    publishScheduled.set(false);
+    if (snapshots.size() < prefixes.size()) {
+      // Not every watched path has answered yet; its first answer schedules the publication again
+      return;
+    }
+    final Map<String, String> values = new HashMap<>();
+    for (String prefix : prefixes) {
+      values.putAll(snapshots.get(prefix));
+    }
+    final ConfigChange change = configuration.publish(values);
+    if (!change.changedKeys().isEmpty()) {
+      log.info("Published Consul snapshot version {} ({} keys changed)", change.current().getVersion(), change.changedKeys().size());
+    }
+  }
+
+  long backoffMillis(int failures) {
+    final long ceiling = Math.min(maxBackoff.toMillis(), INITIAL_BACKOFF_MILLIS << Math.min(failures, 20));
+    return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  static Map<String, String> toProperties(List<Value> values, String prefix) {
+    final Map<String, String> properties = new HashMap<>();
+    if (values == null) {
+      return properties;
+    }
+    for (Value value : values) {
+      final String key = value.getKey();
+      if (key.length() > prefix.length() && key.startsWith(prefix) && !key.endsWith("/")) {
+        value.getValueAsString().ifPresent(text -> properties.put(key.substring(prefix.length()).replace('/', '.'), text));
+      }
+    }
+    return properties;
+  }
+
+  /**
+   * Groups prefixes by their first path segment and maps the common path of each group to its prefixes, in precedence order.
+   */
+  static Map<String, List<String>> watchedPaths(List<String> prefixes) {
+    final Map<String, List<String>> groups = new LinkedHashMap<>();
+    for (String prefix : prefixes) {
+      final int slash = prefix.indexOf('/');
+      groups.computeIfAbsent(slash < 0 ? prefix : prefix.substring(0, slash + 1), segment -> new ArrayList<>()).add(prefix);
+    }
+    final Map<String, List<String>> paths = new LinkedHashMap<>();
+    for (List<String> group : groups.values()) {
+      paths.put(commonPath(group), List.copyOf(group));
+    }
+    return paths;
+  }
+
+  private static String commonPath(List<String> prefixes) {
+    if (prefixes.size() == 1) {
+      return prefixes.get(0);
+    }
+    String common = prefixes.get(0);
+    for (String prefix : prefixes) {
+      int length = 0;
+      while (length < common.length() && length < prefix.length() && common.charAt(length) == prefix.charAt(length)) {
+        length++;
+      }
+      common = common.substring(0, length);
+    }
+    // Only cut at path boundaries, so "config/app" and "config/api" share "config/" rather than "config/ap"
+    return common.substring(0, common.lastIndexOf('/') + 1);
+  }
+}
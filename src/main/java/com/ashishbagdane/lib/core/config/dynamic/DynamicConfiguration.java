@@ -0,0 +1,139 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holder of the current {@link ConfigSnapshot}, published through an atomic reference.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Wait-free reads: {@link #snapshot()} is a single volatile read, with no locking and no property-source traversal</li>
+ *     <li>Versioned snapshots: every publication that changes at least one key increments the version</li>
+ *     <li>Key-level change notification: listeners subscribe to keys or prefixes and are only called when one of them changed</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>
+ * DynamicConfiguration configuration = new DynamicConfiguration();
+ * configuration.subscribe(change -&gt; rebuildClient(change.current()), "payments.endpoint", "payments.timeout");
+ *
+ * // hot path
+ * String endpoint = configuration.snapshot().get("payments.endpoint");
+ * </pre>
+ *
+ * <p>Publications are serialized, and listeners run on the publishing thread (normally the {@link ConfigReloader} thread) in publication order.</p>
+ *
+ * @see ConfigReloader
+ */
+@Slf4j
+public class DynamicConfiguration {
+
+  private final AtomicReference<ConfigSnapshot> current = new AtomicReference<>(ConfigSnapshot.EMPTY);
+
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  /**
+   * Gets the current snapshot.
+   *
+   * @return the current snapshot
+   */
+  public ConfigSnapshot snapshot() {
+    return current.get();
+  }
+
+  /**
+   * Gets a value from the current snapshot.
+   *
+   * @param key the key
+   * @return the value, or {@code null} if absent
+   */
+  public String get(String key) {
+    return current.get().get(key);
+  }
+
+  /**
+   * Publishes a new configuration. If no key changed, the current snapshot is kept and no listener is called.
+   *
+   * @param values the complete new configuration
+   * @return the change that was published, with an empty key set if nothing changed
+   */
+  public synchronized ConfigChange publish(Map<String, String> values) {
+    final ConfigSnapshot previous = current.get();
+    final ConfigSnapshot next = new ConfigSnapshot(previous.getVersion() + 1, values);
+    final Set<String> changedKeys = next.diff(previous);
+    if (changedKeys.isEmpty()) {
+      return new ConfigChange(previous, previous, changedKeys);
+    }
+    current.set(next);
+
+    final ConfigChange change = new ConfigChange(previous, next, changedKeys);
+    for (Subscription subscription : subscriptions) {
+      if (changedKeys.stream().anyMatch(subscription.filter)) {
+        try {
+          subscription.listener.onChange(change);
+        } catch (RuntimeException e) {
+          log.error("Configuration listener failed for snapshot version {}", next.getVersion(), e);
+        }
+      }
+    }
+    return change;
+  }
+
+  /**
+   * Subscribes to changes of specific keys.
+   *
+   * @param listener the listener
+   * @param keys     the keys of interest
+   * @return the subscription
+   */
+  public Subscription subscribe(ConfigChangeListener listener, String... keys) {
+    final Set<String> watched = Set.copyOf(Arrays.asList(keys));
+    return add(watched::contains, listener);
+  }
+
+  /**
+   * Subscribes to changes of all keys starting with a prefix.
+   *
+   * @param prefix   the key prefix, e.g. {@code "payments."}
+   * @param listener the listener
+   * @return the subscription
+   */
+  public Subscription subscribePrefix(String prefix, ConfigChangeListener listener) {
+    return add(key -> key.startsWith(prefix), listener);
+  }
+
+  private Subscription add(Predicate<String> filter, ConfigChangeListener listener) {
+    final Subscription subscription = new Subscription(filter, listener);
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  /**
+   * Handle of a listener registration.
+   */
+  public final class Subscription {
+
+    private final Predicate<String> filter;
+
+    private final ConfigChangeListener listener;
+
+    private Subscription(Predicate<String> filter, ConfigChangeListener listener) {
+      this.filter = filter;
+      this.listener = listener;
+    }
+
+    /**
+     * Stops delivering changes to the listener.
+     */
+    public void cancel() {
+      subscriptions.remove(this);
+    }
+  }
+}
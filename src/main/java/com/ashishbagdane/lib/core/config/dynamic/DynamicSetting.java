@@ -0,0 +1,82 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Base class of typed accessors for a single configuration key. The raw value is parsed once when a snapshot changing the key is published; reading the setting is a single field load.
+ *
+ * <p>A value that fails to parse is logged and the previous value is kept. A key that is removed falls back to the default.</p>
+ *
+ * <p>A declared setting stays subscribed to its configuration, which keeps it reachable. Settings of components that live shorter than the configuration must be closed; a closed setting keeps
+ * its last value.</p>
+ *
+ * @see DynamicSettings
+ */
+@Slf4j
+public abstract class DynamicSetting implements AutoCloseable {
+
+  private final String key;
+
+  private long version = -1;
+
+  private volatile DynamicConfiguration.Subscription subscription;
+
+  protected DynamicSetting(String key) {
+    this.key = key;
+  }
+
+  /**
+   * Gets the configuration key.
+   *
+   * @return the key
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Stops following the configuration. Closing a setting twice has no effect.
+   */
+  @Override
+  public void close() {
+    final DynamicConfiguration.Subscription current = subscription;
+    if (current != null) {
+      current.cancel();
+      subscription = null;
+    }
+  }
+
+  /**
+   * Records the subscription delivering changes of this setting's key, cancelled by {@link #close()}.
+   *
+   * @param subscription the subscription
+   */
+  final void bind(DynamicConfiguration.Subscription subscription) {
+    this.subscription = subscription;
+  }
+
+  /**
+   * Applies the value of this setting's key from a snapshot, ignoring snapshots older than the one already applied.
+   *
+   * @param snapshot the snapshot
+   */
+  final synchronized void refresh(ConfigSnapshot snapshot) {
+    if (snapshot.getVersion() < version) {
+      return;
+    }
+    version = snapshot.getVersion();
+    final String raw = snapshot.get(key);
+    try {
+      apply(raw == null ? null : raw.trim());
+    } catch (RuntimeException e) {
+      log.warn("Invalid value '{}' for '{}' in snapshot version {}; keeping the previous value", raw, key, snapshot.getVersion(), e);
+    }
+  }
+
+  /**
+   * Parses and stores a raw value.
+   *
+   * @param raw the trimmed raw value, or {@code null} if the key is absent
+   */
+  protected abstract void apply(String raw);
+}
@@ -0,0 +1,117 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Factory of typed accessors for keys of a {@link DynamicConfiguration}. Declare settings once, typically as fields of the component that reads them, and read them on hot paths instead of calling
+ * {@code Environment.getProperty}: the value is parsed when a snapshot changing the key is published, and every read is a single field load with no lookup and no string parsing.
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>
+ * public PaymentClient(DynamicSettings settings) {
+ *     this.retriesEnabled = settings.booleanSetting("payments.retries.enabled", true);
+ *     this.timeout = settings.durationSetting("payments.timeout", Duration.ofSeconds(2));
+ * }
+ *
+ * public void pay(Payment payment) {
+ *     if (retriesEnabled.getAsBoolean()) {
+ *         ...
+ *     }
+ *     call(payment, timeout.get());
+ * }
+ * </pre>
+ *
+ * <p>Settings follow the configuration until they are closed. Components that are created and discarded repeatedly, such as prototype beans, close their settings when they are discarded, so
+ * the configuration does not keep every instance reachable.</p>
+ *
+ * @see DynamicSetting
+ */
+public class DynamicSettings {
+
+  private final DynamicConfiguration configuration;
+
+  /**
+   * Creates a new factory.
+   *
+   * @param configuration the configuration the settings follow
+   */
+  public DynamicSettings(DynamicConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Declares a boolean setting.
+   *
+   * @param key          the configuration key
+   * @param defaultValue value used while the key is absent
+   * @return the setting
+   */
+  public BooleanSetting booleanSetting(String key, boolean defaultValue) {
+    return register(new BooleanSetting(key, defaultValue));
+  }
+
+  /**
+   * Declares an int setting.
+   *
+   * @param key          the configuration key
+   * @param defaultValue value used while the key is absent
+   * @return the setting
+   */
+  public IntSetting intSetting(String key, int defaultValue) {
+    return register(new IntSetting(key, defaultValue));
+  }
+
+  /**
+   * Declares a long setting.
+   *
+   * @param key          the configuration key
+   * @param defaultValue value used while the key is absent
+   * @return the setting
+   */
+  public LongSetting longSetting(String key, long defaultValue) {
+    return register(new LongSetting(key, defaultValue));
+  }
+
+  /**
+   * Declares a string setting.
+   *
+   * @param key          the configuration key
+   * @param defaultValue value used while the key is absent
+   * @return the setting
+   */
+  public TypedSetting<String> stringSetting(String key, String defaultValue) {
+    return setting(key, Function.identity(), defaultValue);
+  }
+
+  /**
+   * Declares a duration setting. Values use Spring Boot's duration format, e.g. {@code 500ms}, {@code 5s} or {@code PT1M}.
+   *
+   * @param key          the configuration key
+   * @param defaultValue value used while the key is absent
+   * @return the setting
+   */
+  public TypedSetting<Duration> durationSetting(String key, Duration defaultValue) {
+    return setting(key, DurationStyle::detectAndParse, defaultValue);
+  }
+
+  /**
+   * Declares a setting parsed with a custom function.
+   *
+   * @param key          the configuration key
+   * @param parser       converts the raw value; may throw to reject it
+   * @param defaultValue value used while the key is absent
+   * @param <T>          the value type
+   * @return the setting
+   */
+  public <T> TypedSetting<T> setting(String key, Function<String, ? extends T> parser, T defaultValue) {
+    return register(new TypedSetting<>(key, parser, defaultValue));
+  }
+
+  private <S extends DynamicSetting> S register(S setting) {
+    setting.bind(configuration.subscribe(change -> setting.refresh(change.current()), setting.getKey()));
+    setting.refresh(configuration.snapshot());
+    return setting;
+  }
+}
@@ -0,0 +1,96 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Requests a reload from a {@link ConfigReloader} whenever a local file is created or modified. Watches the file's parent directory with a {@link WatchService}, so editors that replace the file
+ * instead of writing it in place are handled too.
+ *
+ * @see ConfigReloader
+ */
+@Slf4j
+public class FileWatchReloadTrigger implements SmartLifecycle {
+
+  private final Path file;
+
+  private final ConfigReloader reloader;
+
+  private volatile WatchService watchService;
+
+  /**
+   * Creates a new trigger.
+   *
+   * @param file     the file to watch
+   * @param reloader the reloader to notify
+   */
+  public FileWatchReloadTrigger(Path file, ConfigReloader reloader) {
+    this.file = file.toAbsolutePath();
+    this.reloader = reloader;
+  }
+
+  @Override
+  public void start() {
+    try {
+      final WatchService service = file.getFileSystem().newWatchService();
+      file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+      watchService = service;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot watch " + file, e);
+    }
+    final Thread thread = new Thread(this::watchLoop, "ash-config-watch");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void stop() {
+    final WatchService service = watchService;
+    watchService = null;
+    if (service != null) {
+      try {
+        service.close();
+      } catch (IOException e) {
+        log.debug("Failed to close watch service for {}", file, e);
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return watchService != null;
+  }
+
+  private void watchLoop() {
+    final Path fileName = file.getFileName();
+    try {
+      while (true) {
+        final WatchService service = watchService;
+        if (service == null) {
+          return;
+        }
+        final WatchKey key = service.take();
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          relevant |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+        }
+        key.reset();
+        if (relevant) {
+          reloader.requestReload();
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      log.debug("Stopped watching {}", file);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
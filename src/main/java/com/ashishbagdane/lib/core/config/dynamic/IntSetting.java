@@ -0,0 +1,31 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+/**
+ * Dynamic int setting, read with {@link #getAsInt()} without boxing.
+ */
+public final class IntSetting extends DynamicSetting {
+
+  private final int defaultValue;
+
+  private volatile int value;
+
+  IntSetting(String key, int defaultValue) {
+    super(key);
+    this.defaultValue = defaultValue;
+    this.value = defaultValue;
+  }
+
+  /**
+   * Gets the current value.
+   *
+   * @return the parsed value, or the default if the key is absent
+   */
+  public int getAsInt() {
+    return value;
+  }
+
+  @Override
+  protected void apply(String raw) {
+    value = raw == null ? defaultValue : Integer.parseInt(raw);
+  }
+}
@@ -0,0 +1,31 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+/**
+ * Dynamic long setting, read with {@link #getAsLong()} without boxing.
+ */
+public final class LongSetting extends DynamicSetting {
+
+  private final long defaultValue;
+
+  private volatile long value;
+
+  LongSetting(String key, long defaultValue) {
+    super(key);
+    this.defaultValue = defaultValue;
+    this.value = defaultValue;
+  }
+
+  /**
+   * Gets the current value.
+   *
+   * @return the parsed value, or the default if the key is absent
+   */
+  public long getAsLong() {
+    return value;
+  }
+
+  @Override
+  protected void apply(String raw) {
+    value = raw == null ? defaultValue : Long.parseLong(raw);
+  }
+}
@@ -0,0 +1,38 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import java.util.function.Function;
+
+/**
+ * Dynamic setting of an arbitrary type, parsed with the supplied function. Used for strings, durations and application-specific types.
+ *
+ * @param <T> the value type
+ */
+public final class TypedSetting<T> extends DynamicSetting {
+
+  private final Function<String, ? extends T> parser;
+
+  private final T defaultValue;
+
+  private volatile T value;
+
+  TypedSetting(String key, Function<String, ? extends T> parser, T defaultValue) {
+    super(key);
+    this.parser = parser;
+    this.defaultValue = defaultValue;
+    this.value = defaultValue;
+  }
+
+  /**
+   * Gets the current value.
+   *
+   * @return the parsed value, or the default if the key is absent
+   */
+  public T get() {
+    return value;
+  }
+
+  @Override
+  protected void apply(String raw) {
+    value = raw == null ? defaultValue : parser.apply(raw);
+  }
+}
@@ -0,0 +1,68 @@
+package com.ashishbagdane.lib.core.context;
+
+import com.ashishbagdane.lib.core.model.UserContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Captures the {@link UserContext} once per request and binds it through {@link UserContextHolder} for the rest of the filter chain. The principal comes from
+ * {@link HttpServletRequest#getUserPrincipal()}, so the filter must run after the security filter chain; the client address comes from {@link HttpServletRequest#getRemoteAddr()}, which reflects
+ * {@code X-Forwarded-For} when {@code server.forward-headers-strategy} is configured.
+ *
+ * <p>Values are truncated to the lengths of the {@code UserContext} columns so an oversized header cannot fail the
+ * audit insert. Async dispatches are filtered as well, rebinding the context on the thread that completes the request.
+ *
+ * @see UserContextHolder
+ * @see com.ashishbagdane.lib.core.config.UserContextConfig
+ */
+public class UserContextFilter extends OncePerRequestFilter {
+
+  private static final int PRINCIPAL_LENGTH = 50;
+
+  private static final int IP_ADDRESS_LENGTH = 45;
+
+  private static final int USER_AGENT_LENGTH = 255;
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+    final UserContext context = capture(request);
+    try {
+      UserContextHolder.<Void, Exception>call(context, () -> {
+        filterChain.doFilter(request, response);
+        return null;
+      });
+    } catch (IOException | ServletException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ServletException(e);
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  /**
+   * Builds the user context for a request.
+   *
+   * @param request the current request
+   * @return the captured context
+   */
+  protected UserContext capture(HttpServletRequest request) {
+    final Principal principal = request.getUserPrincipal();
+    return UserContext.createUserContext(
+        truncate(principal != null ? principal.getName() : null, PRINCIPAL_LENGTH),
+        truncate(request.getRemoteAddr(), IP_ADDRESS_LENGTH),
+        truncate(request.getHeader("User-Agent"), USER_AGENT_LENGTH));
+  }
+
+  private static String truncate(String value, int length) {
+    return value != null && value.length() > length ? value.substring(0, length) : value;
+  }
+}
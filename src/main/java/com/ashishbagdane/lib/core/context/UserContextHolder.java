@@ -0,0 +1,242 @@
+package com.ashishbagdane.lib.core.context;
+
+import com.ashishbagdane.lib.core.model.UserContext;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binds the {@link UserContext} of the current unit of work, typically an HTTP request, for the duration of a call. Audit entities, services and async tasks read it through {@link #current()} instead
+ * of looking it up from the request or security context each time.
+ *
+ * <p>On a JDK that provides {@code java.lang.ScopedValue} the binding is a scoped value, which is cheap to read and to
+ * inherit into virtual threads forked by structured concurrency. Otherwise a {@link ThreadLocal} is used with the same semantics: a binding is visible only inside the call that established it and the
+ * previous binding is restored when the call returns. The library is compiled for Java 17, so the scoped value API is resolved reflectively once at class initialisation.
+ *
+ * <p>Neither binding is inherited by pooled or independently started threads. Tasks submitted to executors capture the
+ * caller's context through {@link UserContextPropagation} or {@link UserContextTaskDecorator}.
+ *
+ * <p>Example usage:
+ * <pre>
+ * UserContextHolder.run(UserContext.createSystemContext(), () -&gt; reportService.rebuild());
+ *
+ * UserContext context = UserContextHolder.current();
+ * </pre>
+ *
+ * @see UserContextFilter
+ * @see UserContextPropagation
+ */
+@Slf4j
+public final class UserContextHolder {
+
+  private static final Binding BINDING = Binding.create();
+
+  private UserContextHolder() {
+  }
+
+  /**
+   * Gets the context bound to the current call.
+   *
+   * @return the bound context, or null if none is bound
+   */
+  public static UserContext current() {
+    return BINDING.get();
+  }
+
+  /**
+   * Gets the context bound to the current call, falling back to a system context.
+   *
+   * @return the bound context, or a new system context if none is bound
+   */
+  public static UserContext currentOrSystem() {
+    final UserContext context = BINDING.get();
+    return context != null ? context : UserContext.createSystemContext();
+  }
+
+  /**
+   * Runs an action with the given context bound.
+   *
+   * @param context the context to bind
+   * @param action  the action to run
+   */
+  public static void run(UserContext context, Runnable action) {
+    Objects.requireNonNull(context, "context cannot be null");
+    Objects.requireNonNull(action, "action cannot be null");
+    BINDING.run(context, action);
+  }
+
+  /**
+   * Runs an action with a system context bound, for scheduled jobs and other work outside a request.
+   *
+   * @param action the action to run
+   */
+  public static void runAsSystem(Runnable action) {
+    run(UserContext.createSystemContext(), action);
+  }
+
+  /**
+   * Calls an action with the given context bound and returns its result. Checked exceptions thrown by the action are rethrown unchanged.
+   *
+   * @param context the context to bind
+   * @param action  the action to call
+   * @param <T>     the result type
+   * @param <X>     the checked exception type thrown by the action
+   * @return the action's result
+   * @throws X if the action throws
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, X extends Throwable> T call(UserContext context, ContextualCall<T, X> action) throws X {
+    Objects.requireNonNull(action, "action cannot be null");
+    final Object[] result = new Object[1];
+    final Throwable[] failure = new Throwable[1];
+    run(context, () -> {
+      try {
+        result[0] = action.call();
+      } catch (Throwable e) {
+        failure[0] = e;
+      }
+    });
+    if (failure[0] != null) {
+      throw (X) failure[0];
+    }
+    return (T) result[0];
+  }
+
+  /**
+   * Checks whether bindings are held in a {@code java.lang.ScopedValue} rather than the thread-local fallback.
+   *
+   * @return true if scoped values are in use
+   */
+  public static boolean isScopedValueBinding() {
+    return BINDING instanceof ScopedValueBinding;
+  }
+
+  /**
+   * An action called with a context bound.
+   *
+   * @param <T> the result type
+   * @param <X> the checked exception type
+   */
+  @FunctionalInterface
+  public interface ContextualCall<T, X extends Throwable> {
+
+    /**
+     * Performs the action.
+     *
+     * @return the result
+     * @throws X if the action fails
+     */
+    T call() throws X;
+  }
+
+  /**
+   * Storage for the bound context.
+   */
+  private interface Binding {
+
+    UserContext get();
+
+    void run(UserContext context, Runnable action);
+
+    static Binding create() {
+      try {
+        final Binding binding = new ScopedValueBinding();
+        final UserContext probe = UserContext.createSystemContext();
+        final boolean[] visible = new boolean[1];
+        binding.run(probe, () -> visible[0] = binding.get() == probe);
+        if (visible[0] && binding.get() == null) {
+          return binding;
+        }
+      } catch (Throwable e) {
+        log.debug("java.lang.ScopedValue is unavailable, binding user contexts to a ThreadLocal: {}", e.toString());
+      }
+      return new ThreadLocalBinding();
+    }
+  }
+
+  /**
+   * Binding backed by {@code java.lang.ScopedValue}. Only {@code newInstance}, {@code where}, {@code isBound}, {@code get} and {@code Carrier.run}, whose signatures are identical in every release that
+   * ships the API, are used.
+   */
+  private static final class ScopedValueBinding implements Binding {
+
+    private final Object key;
+
+    private final MethodHandle where;
+
+    private final MethodHandle run;
+
+    private final MethodHandle isBound;
+
+    private final MethodHandle get;
+
+    ScopedValueBinding() throws Throwable {
+      final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      final Class<?> scopedValue = Class.forName("java.lang.ScopedValue");
+      final Class<?> carrier = Class.forName("java.lang.ScopedValue$Carrier");
+      this.key = lookup.findStatic(scopedValue, "newInstance", MethodType.methodType(scopedValue)).invoke();
+      this.where = lookup.findStatic(scopedValue, "where", MethodType.methodType(carrier, scopedValue, Object.class))
+          .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+      this.run = lookup.findVirtual(carrier, "run", MethodType.methodType(void.class, Runnable.class))
+          .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+      this.isBound = lookup.findVirtual(scopedValue, "isBound", MethodType.methodType(boolean.class))
+          .asType(MethodType.methodType(boolean.class, Object.class));
+      this.get = lookup.findVirtual(scopedValue, "get", MethodType.methodType(Object.class))
+          .asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    @Override
+    public UserContext get() {
+      try {
+        return (boolean) isBound.invokeExact(key) ? (UserContext) (Object) get.invokeExact(key) : null;
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new UndeclaredThrowableException(e);
+      }
+    }
+
+    @Override
+    public void run(UserContext context, Runnable action) {
+      try {
+        final Object bound = (Object) where.invokeExact(key, (Object) context);
+        run.invokeExact(bound, action);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new UndeclaredThrowableException(e);
+      }
+    }
+  }
+
+  /**
+   * Binding backed by a {@link ThreadLocal}, restoring the previous value when the call returns so nested bindings behave like scoped values.
+   */
+  private static final class ThreadLocalBinding implements Binding {
+
+    private final ThreadLocal<UserContext> current = new ThreadLocal<>();
+
+    @Override
+    public UserContext get() {
+      return current.get();
+    }
+
+    @Override
+    public void run(UserContext context, Runnable action) {
+      final UserContext previous = current.get();
+      current.set(context);
+      try {
+        action.run();
+      } finally {
+        if (previous == null) {
+          current.remove();
+        } else {
+          current.set(previous);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.ashishbagdane.lib.core.context;
+
+import com.ashishbagdane.lib.core.model.UserContext;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Carries the caller's {@link UserContext} into work that runs on another thread. Each wrapper captures the context bound when it is created and binds it around the task, so the task sees the same
+ * context whether it runs on a virtual thread, a pooled thread or the common fork-join pool.
+ *
+ * <p>Example usage:
+ * <pre>
+ * Executor executor = UserContextPropagation.wrap(Executors.newVirtualThreadPerTaskExecutor());
+ * CompletableFuture.supplyAsync(() -&gt; orderService.place(order), executor);
+ *
+ * CompletableFuture.runAsync(UserContextPropagation.wrap(() -&gt; auditService.record(event)));
+ * </pre>
+ *
+ * @see UserContextHolder
+ * @see UserContextTaskDecorator
+ */
+public final class UserContextPropagation {
+
+  private UserContextPropagation() {
+  }
+
+  /**
+   * Wraps a task so it runs with the context bound at the time of this call. Returns the task unchanged if no context is bound.
+   *
+   * @param task the task to wrap
+   * @return the wrapped task
+   */
+  public static Runnable wrap(Runnable task) {
+    Objects.requireNonNull(task, "task cannot be null");
+    final UserContext context = UserContextHolder.current();
+    if (context == null) {
+      return task;
+    }
+    return () -> UserContextHolder.run(context, task);
+  }
+
+  /**
+   * Wraps a callable so it runs with the context bound at the time of this call. Returns the callable unchanged if no context is bound.
+   *
+   * @param task the callable to wrap
+   * @param <T>  the result type
+   * @return the wrapped callable
+   */
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    Objects.requireNonNull(task, "task cannot be null");
+    final UserContext context = UserContextHolder.current();
+    if (context == null) {
+      return task;
+    }
+    return () -> UserContextHolder.call(context, task::call);
+  }
+
+  /**
+   * Wraps a supplier, for {@link java.util.concurrent.CompletableFuture#supplyAsync(Supplier)}, so it runs with the context bound at the time of this call. Returns the supplier unchanged if no context
+   * is bound.
+   *
+   * @param supplier the supplier to wrap
+   * @param <T>      the result type
+   * @return the wrapped supplier
+   */
+  public static <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+    Objects.requireNonNull(supplier, "supplier cannot be null");
+    final UserContext context = UserContextHolder.current();
+    if (context == null) {
+      return supplier;
+    }
+    return () -> UserContextHolder.call(context, supplier::get);
+  }
+
+  /**
+   * Wraps an executor so every submitted task runs with the context bound in the submitting thread.
+   *
+   * @param executor the executor to wrap
+   * @return the wrapped executor
+   */
+  public static Executor wrap(Executor executor) {
+    Objects.requireNonNull(executor, "executor cannot be null");
+    return task -> executor.execute(wrap(task));
+  }
+}
@@ -0,0 +1,18 @@
+package com.ashishbagdane.lib.core.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * {@link TaskDecorator} that propagates the submitting thread's {@link com.ashishbagdane.lib.core.model.UserContext} to Spring-managed executors, so {@code @Async} methods and application tasks see
+ * the context of the request that started them. Spring Boot applies a {@code TaskDecorator} bean to the executors it builds, and the library's virtual-thread executor applies it as well.
+ *
+ * @see UserContextPropagation
+ * @see com.ashishbagdane.lib.core.config.UserContextConfig
+ */
+public class UserContextTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    return UserContextPropagation.wrap(runnable);
+  }
+}
@@ -0,0 +1,455 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.config.AsyncAuditProperties;
+import com.ashishbagdane.lib.core.context.UserContextHolder;
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.db.id.AuditIdGenerator;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import com.ashishbagdane.lib.core.model.UserContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.Convert;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Asynchronous, batched writer for audit entities. Callers hand records to {@link #submit(BaseAuditEntity)} and return immediately; a single writer thread drains the buffer and inserts the rows in
+ * JDBC batches, one transaction per flush.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Bounded, lock-free buffer (a {@link ConcurrentLinkedQueue} guarded by an atomic slot counter)</li>
+ *     <li>Flush on size ({@code flush-size}) or on time ({@code flush-interval}), whichever comes first</li>
+ *     <li>Backpressure: producers wait up to {@code offer-timeout} for space, then the {@link OverflowPolicy} applies</li>
+ *     <li>Drain on shutdown through {@link SmartLifecycle}</li>
+ *     <li>Failed flushes are retried with exponential backoff within a budget of one {@code flush-interval}; a batch rejected by a non-retryable error is written row by row so one bad record
+ *     cannot sink the others</li>
+ *     <li>Micrometer metrics for queue depth, flush latency, written, dropped and failed records</li>
+ * </ul>
+ *
+ * <h2>Durability:</h2>
+ * <p>Records are only held in memory between {@link #submit(BaseAuditEntity)} and the end of the flush that writes them. Retries run on the writer thread, and while a batch is being
+ * written the next one keeps buffering, so retries are capped at one {@code flush-interval} per batch: a retry whose backoff would end after the budget is not attempted. A crash therefore loses
+ * at most the records submitted within about two flush intervals plus the duration of one write attempt, and never more than {@code capacity} buffered records plus the batch being written.
+ * Records that cannot be written within {@code flush-retries} retries or the budget are handed to the {@link AuditFailureHandler}, if one is configured, for example to spill them to disk, and
+ * are otherwise logged at ERROR and dropped; both cases are counted by {@code ash.audit.async.failed}. Use the synchronous JPA path for audit rows that must commit atomically with the business
+ * change.</p>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Every submitted entity type needs a registered {@link AuditRowBinder}. Entity types that store user context columns through converters or column overrides are rejected at
+ *     registration unless their binder declares {@link AuditRowBinder#bindsEncodedUserContext()}; with the dictionary mapping of all audit tables, {@code AsyncAuditConfig} requires this of
+ *     every binder</li>
+ *     <li>Missing ids, timestamps and operation types are filled in the same way the JPA callbacks of {@link BaseAuditEntity} would</li>
+ *     <li>After {@link #stop()} further submissions are written synchronously</li>
+ * </ul>
+ *
+ * @see AuditRowBinder
+ * @see AsyncAuditProperties
+ */
+@Slf4j
+public class AsyncAuditSink implements SmartLifecycle {
+
+  private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final AsyncAuditProperties properties;
+
+  private final AuditFailureHandler failureHandler;
+
+  private final Map<Class<?>, AuditRowBinder<?>> binders = new ConcurrentHashMap<>();
+
+  private final ConcurrentLinkedQueue<BaseAuditEntity> buffer = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger depth = new AtomicInteger();
+
+  private final AtomicLong written = new AtomicLong();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  private final AtomicLong failed = new AtomicLong();
+
+  private final Timer flushTimer;
+
+  private final Counter droppedCounter;
+
+  private final Counter failedCounter;
+
+  private volatile boolean running;
+
+  private volatile Thread writer;
+
+  /**
+   * Creates a new sink.
+   *
+   * @param jdbcTemplate        template used for batch inserts
+   * @param transactionTemplate template wrapping each flush in a transaction
+   * @param binders             row binders, one per audit entity type
+   * @param properties          sink configuration
+   * @param meterRegistry       registry for metrics, or {@code null} to disable them
+   */
+  public AsyncAuditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Collection<AuditRowBinder<?>> binders, AsyncAuditProperties properties,
+      MeterRegistry meterRegistry) {
+    this(jdbcTemplate, transactionTemplate, binders, properties, null, meterRegistry);
+  }
+
+  /**
+   * Creates a new sink with a handler for records that cannot be written.
+   *
+   * @param jdbcTemplate        template used for batch inserts
+   * @param transactionTemplate template wrapping each flush in a transaction
+   * @param binders             row binders, one per audit entity type
+   * @param properties          sink configuration
+   * @param failureHandler      receives records whose write failed permanently, or {@code null} to only log them
+   * @param meterRegistry       registry for metrics, or {@code null} to disable them
+   * @throws IllegalArgumentException if a binder cannot write its entity type correctly
+   */
+  public AsyncAuditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Collection<AuditRowBinder<?>> binders, AsyncAuditProperties properties,
+      AuditFailureHandler failureHandler, MeterRegistry meterRegistry) {
+    if (properties.getFlushSize() <= 0 || properties.getCapacity() < properties.getFlushSize()) {
+      throw new IllegalArgumentException("flush-size must be positive and not exceed capacity");
+    }
+    if (properties.getFlushRetries() < 0) {
+      throw new IllegalArgumentException("flush-retries must not be negative");
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.properties = properties;
+    this.failureHandler = failureHandler;
+    binders.forEach(this::register);
+
+    if (meterRegistry != null) {
+      Gauge.builder("ash.audit.async.queue.depth", depth, AtomicInteger::get)
+          .description("Audit records waiting to be flushed")
+          .register(meterRegistry);
+      FunctionCounter.builder("ash.audit.async.written", written, AtomicLong::get)
+          .description("Audit records written by the async sink")
+          .register(meterRegistry);
+      this.flushTimer = Timer.builder("ash.audit.async.flush")
+          .description("Latency of a single audit batch flush")
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+      this.droppedCounter = Counter.builder("ash.audit.async.dropped").register(meterRegistry);
+      this.failedCounter = Counter.builder("ash.audit.async.failed")
+          .description("Audit records that could not be written after all retries")
+          .register(meterRegistry);
+    } else {
+      this.flushTimer = null;
+      this.droppedCounter = null;
+      this.failedCounter = null;
+    }
+  }
+
+  /**
+   * Buffers an audit record for asynchronous insertion.
+   *
+   * @param entity the audit entity to write
+   * @return {@code true} if the record was buffered or written, {@code false} if it was dropped
+   * @throws IllegalArgumentException if no {@link AuditRowBinder} is registered for the entity type
+   * @throws AuditBufferFullException if the buffer is full and the overflow policy is {@link OverflowPolicy#FAIL}
+   */
+  public boolean submit(BaseAuditEntity entity) {
+    binderFor(entity.getClass());
+    prepare(entity);
+
+    if (!running) {
+      writeBatch(List.of(entity));
+      return true;
+    }
+    if (tryReserve() || awaitSlot()) {
+      buffer.offer(entity);
+      if (!running) {
+        // stop() ran after the check above and the writer may already have exited, so drain what it left behind
+        flushAvailable();
+      } else if (depth.get() >= properties.getFlushSize()) {
+        LockSupport.unpark(writer);
+      }
+      return true;
+    }
+
+    return switch (properties.getOverflowPolicy()) {
+      case CALLER_RUNS -> {
+        writeBatch(List.of(entity));
+        yield true;
+      }
+      case DROP -> {
+        dropped.incrementAndGet();
+        if (droppedCounter != null) {
+          droppedCounter.increment();
+        }
+        yield false;
+      }
+      case FAIL -> throw new AuditBufferFullException("Audit buffer is full (capacity " + properties.getCapacity() + ")");
+    };
+  }
+
+  /**
+   * Current number of buffered records.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    return depth.get();
+  }
+
+  /**
+   * Total number of records written since startup.
+   *
+   * @return the written record count
+   */
+  public long getWrittenCount() {
+    return written.get();
+  }
+
+  /**
+   * Total number of records dropped because of {@link OverflowPolicy#DROP}.
+   *
+   * @return the dropped record count
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Total number of records that could not be written after all retries.
+   *
+   * @return the failed record count
+   */
+  public long getFailedCount() {
+    return failed.get();
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    final Thread thread = new Thread(this::drainLoop, "ash-audit-writer");
+    thread.setDaemon(true);
+    writer = thread;
+    thread.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    final Thread thread = writer;
+    if (thread == null) {
+      return;
+    }
+    LockSupport.unpark(thread);
+    try {
+      thread.join(properties.getShutdownTimeout().toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (thread.isAlive()) {
+      log.warn("Audit writer did not drain within {}; {} records remain buffered", properties.getShutdownTimeout(), depth.get());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void drainLoop() {
+    final long intervalNanos = properties.getFlushInterval().toNanos();
+    while (running || depth.get() > 0) {
+      if (running && depth.get() < properties.getFlushSize()) {
+        LockSupport.parkNanos(this, intervalNanos);
+      }
+      flushAvailable();
+    }
+  }
+
+  private void flushAvailable() {
+    while (depth.get() > 0) {
+      final List<BaseAuditEntity> batch = new ArrayList<>(Math.min(depth.get(), properties.getFlushSize()));
+      BaseAuditEntity next;
+      while (batch.size() < properties.getFlushSize() && (next = buffer.poll()) != null) {
+        batch.add(next);
+      }
+      depth.addAndGet(-batch.size());
+      if (batch.isEmpty()) {
+        return;
+      }
+      writeBatch(batch);
+      if (running && depth.get() < properties.getFlushSize()) {
+        return;
+      }
+    }
+  }
+
+  private void writeBatch(List<BaseAuditEntity> batch) {
+    writeBatch(batch, System.nanoTime() + properties.getFlushInterval().toNanos());
+  }
+
+  /**
+   * Writes a batch, retrying retryable failures until {@code flush-retries} is used up or the next retry would end after the deadline.
+   */
+  private void writeBatch(List<BaseAuditEntity> batch, long deadlineNanos) {
+    long backoffNanos = properties.getRetryBackoff().toNanos();
+    for (int attempt = 0; ; attempt++) {
+      final long started = System.nanoTime();
+      try {
+        transactionTemplate.executeWithoutResult(status -> groupByType(batch).forEach((binder, rows) -> insert(binder, rows)));
+        written.addAndGet(batch.size());
+        return;
+      } catch (RuntimeException e) {
+        if (!isRetryable(e)) {
+          if (batch.size() > 1) {
+            log.warn("Failed to write a batch of {} audit records, writing them individually", batch.size(), e);
+            // The rows share the batch's retry budget, so isolating them cannot stall the writer for a budget per row
+            batch.forEach(entity -> writeBatch(List.of(entity), deadlineNanos));
+          } else {
+            fail(batch, e, attempt + 1);
+          }
+          return;
+        }
+        if (attempt >= properties.getFlushRetries() || System.nanoTime() + backoffNanos - deadlineNanos > 0) {
+          fail(batch, e, attempt + 1);
+          return;
+        }
+        log.warn("Failed to write {} audit records, retrying in {} ms", batch.size(), TimeUnit.NANOSECONDS.toMillis(backoffNanos), e);
+      } finally {
+        if (flushTimer != null) {
+          flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+      }
+      LockSupport.parkNanos(this, backoffNanos);
+      backoffNanos *= 2;
+    }
+  }
+
+  private void fail(List<BaseAuditEntity> batch, RuntimeException cause, int attempts) {
+    failed.addAndGet(batch.size());
+    if (failedCounter != null) {
+      failedCounter.increment(batch.size());
+    }
+    if (failureHandler == null) {
+      log.error("Lost {} audit records after {} attempts (first id {})", batch.size(), attempts, batch.get(0).getId(), cause);
+      return;
+    }
+    log.error("Failed to write {} audit records after {} attempts, handing them to the failure handler", batch.size(), attempts, cause);
+    try {
+      failureHandler.onFailure(List.copyOf(batch), cause);
+    } catch (RuntimeException e) {
+      log.error("Audit failure handler failed; {} audit records are lost (first id {})", batch.size(), batch.get(0).getId(), e);
+    }
+  }
+
+  /**
+   * Checks whether retrying a failed flush can succeed. Non-transient errors such as constraint violations fail the same way again, except for resource failures like a lost connection.
+   */
+  private static boolean isRetryable(RuntimeException failure) {
+    return !(failure instanceof NonTransientDataAccessException) || failure instanceof DataAccessResourceFailureException;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends BaseAuditEntity> void insert(AuditRowBinder<T> binder, List<BaseAuditEntity> rows) {
+    jdbcTemplate.batchUpdate(binder.insertSql(), (List<T>) (List<?>) rows, rows.size(), binder::bind);
+  }
+
+  private Map<AuditRowBinder<?>, List<BaseAuditEntity>> groupByType(List<BaseAuditEntity> batch) {
+    final Map<AuditRowBinder<?>, List<BaseAuditEntity>> grouped = new LinkedHashMap<>();
+    for (BaseAuditEntity entity : batch) {
+      grouped.computeIfAbsent(binderFor(entity.getClass()), key -> new ArrayList<>()).add(entity);
+    }
+    return grouped;
+  }
+
+  private void register(AuditRowBinder<?> binder) {
+    if (!binder.bindsEncodedUserContext() && hasEncodedUserContext(binder.entityType())) {
+      throw new IllegalArgumentException(binder.entityType().getName() + " maps user context columns through converters or column overrides, which "
+          + "AuditRowBinder.bindAuditColumns does not apply; bind them in the binder and override bindsEncodedUserContext()");
+    }
+    binders.put(binder.entityType(), binder);
+  }
+
+  private static boolean hasEncodedUserContext(Class<?> type) {
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (Convert convert : current.getAnnotationsByType(Convert.class)) {
+        if (convert.attributeName().startsWith("userContext")) {
+          return true;
+        }
+      }
+      for (AttributeOverride override : current.getAnnotationsByType(AttributeOverride.class)) {
+        if (override.name().startsWith("userContext")) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private AuditRowBinder<?> binderFor(Class<?> type) {
+    final AuditRowBinder<?> binder = binders.get(type);
+    if (binder == null) {
+      throw new IllegalArgumentException("No AuditRowBinder registered for " + type.getName());
+    }
+    return binder;
+  }
+
+  private boolean tryReserve() {
+    int current;
+    do {
+      current = depth.get();
+      if (current >= properties.getCapacity()) {
+        return false;
+      }
+    } while (!depth.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  private boolean awaitSlot() {
+    LockSupport.unpark(writer);
+    final long deadline = System.nanoTime() + properties.getOfferTimeout().toNanos();
+    while (System.nanoTime() < deadline) {
+      LockSupport.parkNanos(BACKOFF_NANOS);
+      if (tryReserve()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void prepare(BaseAuditEntity entity) {
+    if (entity.getId() == null) {
+      entity.setId(AuditIdGenerator.strategyFor(entity.getClass()).generate());
+    }
+    if (entity.getOperationTimestamp() == null) {
+      entity.setOperationTimestamp(ZonedDateTime.now());
+    }
+    if (entity.getOperationType() == null) {
+      entity.setOperationType(OperationType.CREATE);
+    }
+    if (entity.getUserContext() == null) {
+      final UserContext bound = UserContextHolder.current();
+      if (bound != null) {
+        entity.setUserContext(new UserContext(bound.getPrincipalName(), bound.getIpAddress(), bound.getUserAgent(), bound.isSystemOperation()));
+      }
+    }
+  }
+}
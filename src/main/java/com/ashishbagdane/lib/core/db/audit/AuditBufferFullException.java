@@ -0,0 +1,11 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+/**
+ * Exception thrown when an audit record cannot be buffered by {@link AsyncAuditSink} and the overflow policy is {@link OverflowPolicy#FAIL}.
+ */
+public class AuditBufferFullException extends RuntimeException {
+
+  public AuditBufferFullException(String message) {
+    super(message);
+  }
+}
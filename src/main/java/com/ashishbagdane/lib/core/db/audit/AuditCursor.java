@@ -0,0 +1,35 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keyset position in an audit table ordered by {@code (operation_timestamp, id)}. The next page starts strictly after this position.
+ *
+ * @param operationTimestamp the operation timestamp of the last row read
+ * @param id                 the id of the last row read
+ */
+public record AuditCursor(ZonedDateTime operationTimestamp, UUID id) {
+
+  /**
+   * Validates that both components are present.
+   *
+   * @throws NullPointerException if either component is null
+   */
+  public AuditCursor {
+    Objects.requireNonNull(operationTimestamp, "operationTimestamp cannot be null");
+    Objects.requireNonNull(id, "id cannot be null");
+  }
+
+  /**
+   * Creates the cursor positioned after the given row.
+   *
+   * @param row the last row read
+   * @return a cursor pointing after the row
+   */
+  public static AuditCursor after(BaseAuditDTO row) {
+    return new AuditCursor(row.operationTimestamp(), row.id());
+  }
+}
@@ -0,0 +1,24 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import java.util.List;
+
+/**
+ * Receives audit records that {@link AsyncAuditSink} could not write after exhausting its retries, for example to spool them to a file or a message broker. Without a handler such records are logged
+ * and counted as failed, and are otherwise lost.
+ *
+ * <p>The handler runs on the thread that attempted the write, usually the sink's writer thread, and should return quickly.
+ *
+ * @see AsyncAuditSink
+ */
+@FunctionalInterface
+public interface AuditFailureHandler {
+
+  /**
+   * Handles records whose write failed permanently.
+   *
+   * @param records the records that were not written
+   * @param cause   the failure of the last attempt
+   */
+  void onFailure(List<BaseAuditEntity> records, RuntimeException cause);
+}
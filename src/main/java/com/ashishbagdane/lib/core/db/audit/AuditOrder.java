@@ -0,0 +1,90 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * The {@code (operation_timestamp, id)} order used by audit keyset pagination, evaluated in Java the same way the database evaluates {@code ORDER BY operation_timestamp, id}. Ids compare as unsigned
+ * 128-bit values, matching PostgreSQL's and H2's {@code uuid} ordering rather than {@link UUID#compareTo(UUID)}.
+ */
+public final class AuditOrder {
+
+  /**
+   * Orders audit rows by operation timestamp instant, then id.
+   */
+  public static final Comparator<BaseAuditDTO> ROWS = (left, right) -> compare(left.operationTimestamp(), left.id(), right.operationTimestamp(), right.id());
+
+  private AuditOrder() {
+  }
+
+  /**
+   * Compares two keyset positions.
+   *
+   * @param leftTimestamp  the first timestamp
+   * @param leftId         the first id
+   * @param rightTimestamp the second timestamp
+   * @param rightId        the second id
+   * @return a negative number, zero or a positive number as the first position sorts before, equal to or after the second
+   */
+  public static int compare(ZonedDateTime leftTimestamp, UUID leftId, ZonedDateTime rightTimestamp, UUID rightId) {
+    final int byTime = leftTimestamp.toInstant().compareTo(rightTimestamp.toInstant());
+    if (byTime != 0) {
+      return byTime;
+    }
+    final int byHigh = Long.compareUnsigned(leftId.getMostSignificantBits(), rightId.getMostSignificantBits());
+    return byHigh != 0 ? byHigh : Long.compareUnsigned(leftId.getLeastSignificantBits(), rightId.getLeastSignificantBits());
+  }
+
+  /**
+   * Whether a row sorts strictly after a cursor.
+   *
+   * @param row    the row
+   * @param cursor the cursor, or {@code null} for the beginning
+   * @return true if the row follows the cursor
+   */
+  public static boolean isAfter(BaseAuditDTO row, AuditCursor cursor) {
+    return cursor == null || compare(row.operationTimestamp(), row.id(), cursor.operationTimestamp(), cursor.id()) > 0;
+  }
+
+  /**
+   * Merges two iterators that are each sorted by {@link #ROWS} into one sorted iterator. Elements are pulled lazily. A row present in both sources, such as a row read from the archive and from
+   * the hot table while it is being archived, is returned once, taken from the first source.
+   *
+   * @param left  the first sorted source
+   * @param right the second sorted source
+   * @return the merged iterator
+   */
+  public static Iterator<BaseAuditDTO> merge(Iterator<BaseAuditDTO> left, Iterator<BaseAuditDTO> right) {
+    return new Iterator<>() {
+
+      private BaseAuditDTO nextLeft = left.hasNext() ? left.next() : null;
+
+      private BaseAuditDTO nextRight = right.hasNext() ? right.next() : null;
+
+      @Override
+      public boolean hasNext() {
+        return nextLeft != null || nextRight != null;
+      }
+
+      @Override
+      public BaseAuditDTO next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final int order = nextLeft == null ? 1 : nextRight == null ? -1 : ROWS.compare(nextLeft, nextRight);
+        final BaseAuditDTO result = order <= 0 ? nextLeft : nextRight;
+        if (order <= 0) {
+          nextLeft = left.hasNext() ? left.next() : null;
+        }
+        if (order >= 0) {
+          nextRight = right.hasNext() ? right.next() : null;
+        }
+        return result;
+      }
+    };
+  }
+}
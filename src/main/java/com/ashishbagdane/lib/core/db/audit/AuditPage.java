@@ -0,0 +1,22 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import java.util.List;
+
+/**
+ * A page of audit rows read with keyset pagination.
+ *
+ * @param items      the rows of this page, ordered by {@code (operationTimestamp, id)}
+ * @param nextCursor the cursor for the following page, or {@code null} if this is the last page
+ */
+public record AuditPage(List<BaseAuditDTO> items, AuditCursor nextCursor) {
+
+  /**
+   * Whether another page follows this one.
+   *
+   * @return true if {@link #nextCursor()} is present
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
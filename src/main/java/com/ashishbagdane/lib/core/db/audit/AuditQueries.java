@@ -0,0 +1,176 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.db.audit.archive.AuditArchive;
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read API for audit history that projects rows straight into {@link BaseAuditDTO} with a JPQL constructor expression, so no entity graphs are loaded or tracked by the persistence context.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Keyset (seek) pagination on {@code (operation_timestamp, id)}: every page costs the same, however deep</li>
+ *     <li>Streaming over a server-side cursor with a bounded fetch size</li>
+ *     <li>Read-through into the {@link AuditArchive}, when one is configured: archived and hot rows are merged in keyset order</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>
+ * {@code
+ * AuditPage page = auditQueries.page(PaymentAudit.class, null, 100);
+ * while (page.hasNext()) {
+ *     page = auditQueries.page(PaymentAudit.class, page.nextCursor(), 100);
+ * }
+ * }
+ * </pre>
+ *
+ * <h2>Database Considerations:</h2>
+ * <ul>
+ *     <li>Each audit table needs an index on {@code (operation_timestamp, id)} for seeks to be a range scan</li>
+ *     <li>Time-ordered ids ({@code @IdStrategy(UuidStrategy.TIME_ORDERED)}) keep that index compact</li>
+ * </ul>
+ *
+ * @see AuditCursor
+ * @see AuditPage
+ */
+public class AuditQueries {
+
+  private static final String PROJECTION = "select new " + BaseAuditDTO.class.getName() + "("
+      + "e.id, e.version, e.endpointPath, e.userContext.principalName, e.userContext.ipAddress, e.userContext.userAgent, "
+      + "coalesce(e.userContext.systemOperation, false), e.operationType, e.httpMethod, e.operationTimestamp) from ";
+
+  /**
+   * Seek predicate. The row-value comparison matches the {@code (operation_timestamp, id)} index directly; the redundant leading bound keeps the predicate a range seek on the index even where
+   * Hibernate has to expand the row value into an {@code or} of its parts.
+   */
+  private static final String AFTER_CURSOR = " where e.operationTimestamp >= :timestamp and (e.operationTimestamp, e.id) > (:timestamp, :id)";
+
+  private static final String ORDER = " order by e.operationTimestamp, e.id";
+
+  private final EntityManager entityManager;
+
+  private final AuditArchive archive;
+
+  private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new query API over the hot tables only.
+   *
+   * @param entityManager the shared entity manager
+   */
+  public AuditQueries(EntityManager entityManager) {
+    this(entityManager, null);
+  }
+
+  /**
+   * Creates a new query API.
+   *
+   * @param entityManager the shared entity manager
+   * @param archive       the archive to read through into, or {@code null} to read hot tables only
+   */
+  public AuditQueries(EntityManager entityManager, AuditArchive archive) {
+    this.entityManager = entityManager;
+    this.archive = archive;
+  }
+
+  /**
+   * Reads one page of audit rows.
+   *
+   * @param entityType the audit entity type to read
+   * @param after      the position to continue from, or {@code null} for the first page
+   * @param limit      the maximum number of rows to return, at least one
+   * @param <E>        the audit entity type
+   * @return the page, with a cursor for the next one if more rows exist
+   * @throws IllegalArgumentException if the limit is not positive
+   */
+  @Transactional(readOnly = true)
+  public <E extends BaseAuditEntity> AuditPage page(Class<E> entityType, AuditCursor after, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    List<BaseAuditDTO> rows = query(entityType, after)
+        .setMaxResults(limit + 1)
+        .getResultList();
+    if (archive != null) {
+      rows = withArchived(entityType, after, rows, limit + 1);
+    }
+    if (rows.size() <= limit) {
+      return new AuditPage(rows, null);
+    }
+    final List<BaseAuditDTO> items = rows.subList(0, limit);
+    return new AuditPage(items, AuditCursor.after(items.get(limit - 1)));
+  }
+
+  /**
+   * Streams audit rows in {@code (operationTimestamp, id)} order. The caller must consume the stream inside a transaction and close it, preferably with try-with-resources.
+   *
+   * @param entityType the audit entity type to read
+   * @param after      the position to continue from, or {@code null} to start at the beginning
+   * @param fetchSize  number of rows fetched per database round trip
+   * @param <E>        the audit entity type
+   * @return a lazily fetched stream of rows
+   */
+  public <E extends BaseAuditEntity> Stream<BaseAuditDTO> stream(Class<E> entityType, AuditCursor after, int fetchSize) {
+    final Stream<BaseAuditDTO> hot = query(entityType, after)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream();
+    if (archive == null) {
+      return hot;
+    }
+    final Stream<BaseAuditDTO> archived = archive.read(tableName(entityType), after, null);
+    final Iterator<BaseAuditDTO> merged = AuditOrder.merge(archived.iterator(), hot.iterator());
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(archived::close)
+        .onClose(hot::close);
+  }
+
+  private List<BaseAuditDTO> withArchived(Class<?> entityType, AuditCursor after, List<BaseAuditDTO> hot, int limit) {
+    try (Stream<BaseAuditDTO> archived = archive.read(tableName(entityType), after, null, limit)) {
+      final Iterator<BaseAuditDTO> merged = AuditOrder.merge(archived.limit(limit).iterator(), hot.iterator());
+      final List<BaseAuditDTO> rows = new ArrayList<>(limit);
+      while (rows.size() < limit && merged.hasNext()) {
+        rows.add(merged.next());
+      }
+      return rows;
+    }
+  }
+
+  private String tableName(Class<?> entityType) {
+    return tableNames.computeIfAbsent(entityType, type -> {
+      final EntityPersister persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+          .getRuntimeMetamodels().getMappingMetamodel().getEntityDescriptor(type);
+      if (persister instanceof AbstractEntityPersister entityPersister) {
+        return entityPersister.getTableName();
+      }
+      throw new IllegalArgumentException("Cannot resolve the table of " + type.getName());
+    });
+  }
+
+  private <E extends BaseAuditEntity> TypedQuery<BaseAuditDTO> query(Class<E> entityType, AuditCursor after) {
+    final String entityName = entityManager.getMetamodel().entity(entityType).getName();
+    final String jpql = PROJECTION + entityName + " e" + (after == null ? "" : AFTER_CURSOR) + ORDER;
+    final TypedQuery<BaseAuditDTO> query = entityManager.createQuery(jpql, BaseAuditDTO.class);
+    if (after != null) {
+      query.setParameter("timestamp", after.operationTimestamp());
+      query.setParameter("id", after.id());
+    }
+    return query;
+  }
+}
@@ -0,0 +1,109 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.model.UserContext;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Describes how an audit entity type is written by {@link AsyncAuditSink} using plain JDBC batches. One binder is registered per concrete entity class.
+ *
+ * <p>Example implementation:
+ * <pre>
+ * {@code
+ * @Component
+ * public class PaymentAuditBinder implements AuditRowBinder<PaymentAudit> {
+ *
+ *     public Class<PaymentAudit> entityType() {
+ *         return PaymentAudit.class;
+ *     }
+ *
+ *     public String insertSql() {
+ *         return "INSERT INTO payment_audit (" + AUDIT_COLUMNS + ", amount) VALUES (" + AUDIT_PLACEHOLDERS + ", ?)";
+ *     }
+ *
+ *     public void bind(PreparedStatement ps, PaymentAudit row) throws SQLException {
+ *         int index = AuditRowBinder.bindAuditColumns(ps, 1, row);
+ *         ps.setBigDecimal(index, row.getAmount());
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T> the audit entity type
+ */
+public interface AuditRowBinder<T extends BaseAuditEntity> {
+
+  /**
+   * Column list of the fields declared by {@link BaseAuditEntity}, in the order bound by {@link #bindAuditColumns(PreparedStatement, int, BaseAuditEntity)}.
+   */
+  String AUDIT_COLUMNS = "id, version, endpoint_path, principal_name, ip_address, user_agent, is_system_operation, operation_type, http_method, operation_timestamp";
+
+  /**
+   * Placeholders matching {@link #AUDIT_COLUMNS}.
+   */
+  String AUDIT_PLACEHOLDERS = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?";
+
+  /**
+   * The concrete entity class handled by this binder.
+   *
+   * @return the entity class
+   */
+  Class<T> entityType();
+
+  /**
+   * The parameterized INSERT statement for the entity's table.
+   *
+   * @return the insert SQL
+   */
+  String insertSql();
+
+  /**
+   * Binds a single row to the insert statement.
+   *
+   * @param ps  the prepared statement created from {@link #insertSql()}
+   * @param row the entity to bind
+   * @throws SQLException if binding fails
+   */
+  void bind(PreparedStatement ps, T row) throws SQLException;
+
+  /**
+   * Whether {@link #bind(PreparedStatement, BaseAuditEntity)} writes the user context columns in the form the entity maps them, e.g. dictionary ids and binary IP addresses. Entity types that
+   * convert or override their user context columns are rejected by {@link AsyncAuditSink} unless this returns {@code true}, because {@link #bindAuditColumns(PreparedStatement, int, BaseAuditEntity)}
+   * binds the raw strings.
+   *
+   * @return true if the binder handles encoded user context columns itself
+   */
+  default boolean bindsEncodedUserContext() {
+    return false;
+  }
+
+  /**
+   * Binds the columns declared by {@link BaseAuditEntity} starting at the given parameter index. User context values are bound as plain strings, matching the default column mapping.
+   *
+   * @param ps     the prepared statement
+   * @param index  the first parameter index to bind
+   * @param entity the entity to bind
+   * @return the next free parameter index
+   * @throws SQLException if binding fails
+   */
+  static int bindAuditColumns(PreparedStatement ps, int index, BaseAuditEntity entity) throws SQLException {
+    final UserContext userContext = entity.getUserContext();
+    ps.setObject(index++, entity.getId());
+    ps.setLong(index++, entity.getVersion() == null ? 0L : entity.getVersion());
+    ps.setString(index++, entity.getEndpointPath());
+    ps.setString(index++, userContext == null ? null : userContext.getPrincipalName());
+    ps.setString(index++, userContext == null ? null : userContext.getIpAddress());
+    ps.setString(index++, userContext == null ? null : userContext.getUserAgent());
+    ps.setBoolean(index++, userContext != null && userContext.isSystemOperation());
+    ps.setString(index++, entity.getOperationType().name());
+    if (entity.getHttpMethod() == null) {
+      ps.setNull(index++, Types.VARCHAR);
+    } else {
+      ps.setString(index++, entity.getHttpMethod().name());
+    }
+    ps.setObject(index++, entity.getOperationTimestamp().toOffsetDateTime());
+    return index;
+  }
+}
@@ -0,0 +1,19 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+/**
+ * Behaviour of {@link AsyncAuditSink} when its buffer is still full after the configured offer timeout.
+ */
+public enum OverflowPolicy {
+  /**
+   * Write the record synchronously on the calling thread. No record is lost, but the caller pays the insert cost.
+   */
+  CALLER_RUNS,
+  /**
+   * Discard the record and count it as dropped.
+   */
+  DROP,
+  /**
+   * Throw {@link AuditBufferFullException} to the caller.
+   */
+  FAIL
+}
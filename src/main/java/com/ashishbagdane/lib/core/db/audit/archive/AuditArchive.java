@@ -0,0 +1,357 @@
+package com.ashishbagdane.lib.core.db.audit.archive;
+
+import com.ashishbagdane.lib.core.db.audit.AuditCursor;
+import com.ashishbagdane.lib.core.db.audit.AuditOrder;
+import com.ashishbagdane.lib.core.db.audit.export.AuditRowBlock;
+import com.ashishbagdane.lib.core.db.audit.export.ColumnarAuditEncoder;
+import com.ashishbagdane.lib.core.db.audit.export.ColumnarAuditReader;
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Store of immutable, compressed audit segments in {@value #TABLE}. Each segment holds a sorted block of rows in the columnar format of {@link ColumnarAuditEncoder} together with the keyset
+ * bounds of its first and last row.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Segments are located through their bounds, indexed on {@code (source_table, last_timestamp)}; payloads are only loaded for overlapping segments</li>
+ *     <li>{@link #read(String, AuditCursor, ZonedDateTime, int)} decodes one segment at a time and merges overlapping segments, e.g. from rows inserted late, in keyset order</li>
+ *     <li>Bounded reads only list the segments that can contribute to the first rows after the cursor, in keyset-paged batches of {@value #LIST_BATCH_SIZE}</li>
+ *     <li>{@link #segmentsAfter(String, AuditArchiveSegment, int)} pages through all segments of a table by keyset, for incremental scans such as compaction</li>
+ * </ul>
+ *
+ * @see AuditArchiver
+ */
+public class AuditArchive {
+
+  /**
+   * Name of the segment table.
+   */
+  public static final String TABLE = "ash_audit_archive_segment";
+
+  private static final int LIST_BATCH_SIZE = 32;
+
+  private static final String SEGMENT_COLUMNS = "id, source_table, first_timestamp, first_id, last_timestamp, last_id, row_count";
+
+  private static final String INSERT_SQL = "INSERT INTO " + TABLE
+      + " (source_table, first_timestamp, first_id, last_timestamp, last_id, row_count, payload, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final ColumnarAuditEncoder encoder = new ColumnarAuditEncoder(Deflater.BEST_COMPRESSION);
+
+  /**
+   * Creates a new archive.
+   *
+   * @param jdbcTemplate template used for segment reads and writes
+   */
+  public AuditArchive(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Stores a block of rows as a new segment.
+   *
+   * @param sourceTable the hot table the rows came from
+   * @param block       the rows, sorted by {@code (operation_timestamp, id)} and not empty
+   */
+  public void append(String sourceTable, AuditRowBlock block) {
+    if (block.size() == 0) {
+      throw new IllegalArgumentException("block cannot be empty");
+    }
+    final ByteBuffer encoded = encoder.encode(block);
+    final byte[] payload = Arrays.copyOfRange(encoded.array(), encoded.position(), encoded.limit());
+    final int last = block.size() - 1;
+    jdbcTemplate.update(INSERT_SQL, sourceTable, block.operationTimestamp(0), block.id(0), block.operationTimestamp(last), block.id(last), block.size(), payload,
+        OffsetDateTime.now());
+  }
+
+  /**
+   * Lists the segments of a table that may contain rows after a cursor and before a bound, in order of their first row.
+   *
+   * @param sourceTable the hot table
+   * @param after       the cursor, or {@code null} for the beginning
+   * @param before      exclusive upper bound of the operation timestamp, or {@code null} for none
+   * @return the matching segments
+   */
+  public List<AuditArchiveSegment> segments(String sourceTable, AuditCursor after, ZonedDateTime before) {
+    return segments(sourceTable, after, before, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Lists the segments of a table that may contain one of the first {@code limit} rows after a cursor and before a bound, in order of their first row.
+   *
+   * <p>Segments are listed in batches, each continuing after the last segment of the previous one. Once segments lying entirely inside the range hold {@code limit} rows, the
+   * {@code limit}-th row cannot sort after the last row among them, so listing stops at the first segment starting beyond it.</p>
+   *
+   * @param sourceTable the hot table
+   * @param after       the cursor, or {@code null} for the beginning
+   * @param before      exclusive upper bound of the operation timestamp, or {@code null} for none
+   * @param limit       the number of rows the caller needs
+   * @return the segments that may hold those rows
+   */
+  public List<AuditArchiveSegment> segments(String sourceTable, AuditCursor after, ZonedDateTime before, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    final List<Object> parameters = new ArrayList<>(List.of(sourceTable));
+    final StringBuilder where = new StringBuilder("source_table = ?");
+    if (after != null) {
+      // The row-value comparison is the predicate; the range on its leading column lets the planner seek the (source_table, last_timestamp) index
+      where.append(" AND last_timestamp >= ? AND (last_timestamp, last_id) > (?, ?)");
+      parameters.add(after.operationTimestamp().toOffsetDateTime());
+      parameters.add(after.operationTimestamp().toOffsetDateTime());
+      parameters.add(after.id());
+    }
+    if (before != null) {
+      where.append(" AND first_timestamp < ?");
+      parameters.add(before.toOffsetDateTime());
+    }
+    final List<AuditArchiveSegment> found = new ArrayList<>();
+    long covered = 0;
+    AuditArchiveSegment bound = null;
+    AuditArchiveSegment last = null;
+    while (true) {
+      final List<AuditArchiveSegment> batch = page(where, parameters, last, LIST_BATCH_SIZE);
+      for (AuditArchiveSegment segment : batch) {
+        if (covered >= limit && AuditOrder.compare(segment.firstTimestamp(), segment.firstId(), bound.lastTimestamp(), bound.lastId()) > 0) {
+          return found;
+        }
+        found.add(segment);
+        if (covered < limit && liesWithin(segment, after, before)) {
+          covered += segment.rowCount();
+          if (bound == null || AuditOrder.compare(segment.lastTimestamp(), segment.lastId(), bound.lastTimestamp(), bound.lastId()) > 0) {
+            bound = segment;
+          }
+        }
+      }
+      if (batch.size() < LIST_BATCH_SIZE) {
+        return found;
+      }
+      last = batch.get(batch.size() - 1);
+    }
+  }
+
+  /**
+   * Lists up to {@code limit} segments of a table following a segment in order of their first row, continuing by keyset rather than by offset.
+   *
+   * @param sourceTable the hot table
+   * @param after       the segment to continue after, or {@code null} for the beginning; it need not exist any more
+   * @param limit       the maximum number of segments to list
+   * @return the next segments
+   */
+  public List<AuditArchiveSegment> segmentsAfter(String sourceTable, AuditArchiveSegment after, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    return page(new StringBuilder("source_table = ?"), List.of(sourceTable), after, limit);
+  }
+
+  private List<AuditArchiveSegment> page(CharSequence where, List<Object> parameters, AuditArchiveSegment last, int limit) {
+    final List<Object> arguments = new ArrayList<>(parameters);
+    final StringBuilder sql = new StringBuilder("SELECT ").append(SEGMENT_COLUMNS).append(" FROM ").append(TABLE).append(" WHERE ").append(where);
+    if (last != null) {
+      sql.append(" AND first_timestamp >= ? AND (first_timestamp, first_id, id) > (?, ?, ?)");
+      arguments.add(last.firstTimestamp().toOffsetDateTime());
+      arguments.add(last.firstTimestamp().toOffsetDateTime());
+      arguments.add(last.firstId());
+      arguments.add(last.id());
+    }
+    sql.append(" ORDER BY first_timestamp, first_id, id FETCH FIRST ").append(limit).append(" ROWS ONLY");
+    return jdbcTemplate.query(sql.toString(), AuditArchive::mapSegment, arguments.toArray());
+  }
+
+  /**
+   * Loads and decodes the rows of a segment.
+   *
+   * @param segmentId the segment id
+   * @return the rows
+   * @throws DataRetrievalFailureException if the segment does not exist or cannot be decoded
+   */
+  public AuditRowBlock load(long segmentId) {
+    final List<byte[]> payloads = jdbcTemplate.query("SELECT payload FROM " + TABLE + " WHERE id = ?", (rs, rowNum) -> rs.getBytes(1), segmentId);
+    if (payloads.isEmpty()) {
+      throw new DataRetrievalFailureException("Archive segment " + segmentId + " does not exist");
+    }
+    try {
+      return ColumnarAuditReader.decodeBlock(payloads.get(0));
+    } catch (IOException e) {
+      throw new DataRetrievalFailureException("Archive segment " + segmentId + " is corrupt", e);
+    }
+  }
+
+  /**
+   * Deletes segments.
+   *
+   * @param segmentIds the segment ids
+   * @return the number of segments deleted
+   */
+  public int delete(Collection<Long> segmentIds) {
+    int deleted = 0;
+    for (Long segmentId : segmentIds) {
+      deleted += jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id = ?", segmentId);
+    }
+    return deleted;
+  }
+
+  /**
+   * Reads archived rows of a table in {@code (operation_timestamp, id)} order. Segments are loaded lazily, one at a time unless they overlap; close the stream when done.
+   *
+   * @param sourceTable the hot table
+   * @param after       the cursor to continue after, or {@code null} for the beginning
+   * @param before      exclusive upper bound of the operation timestamp, or {@code null} for none
+   * @return the archived rows
+   */
+  public Stream<BaseAuditDTO> read(String sourceTable, AuditCursor after, ZonedDateTime before) {
+    return read(sourceTable, after, before, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Reads up to {@code limit} archived rows of a table in {@code (operation_timestamp, id)} order, listing only the segments that can hold them.
+   *
+   * @param sourceTable the hot table
+   * @param after       the cursor to continue after, or {@code null} for the beginning
+   * @param before      exclusive upper bound of the operation timestamp, or {@code null} for none
+   * @param limit       the maximum number of rows to read
+   * @return the archived rows
+   */
+  public Stream<BaseAuditDTO> read(String sourceTable, AuditCursor after, ZonedDateTime before, int limit) {
+    final List<AuditArchiveSegment> segments = segments(sourceTable, after, before, limit);
+    if (segments.isEmpty()) {
+      return Stream.empty();
+    }
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new SegmentMerge(segments, after, before), Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .limit(limit);
+  }
+
+  private static boolean liesWithin(AuditArchiveSegment segment, AuditCursor after, ZonedDateTime before) {
+    return (after == null || AuditOrder.compare(segment.firstTimestamp(), segment.firstId(), after.operationTimestamp(), after.id()) > 0)
+        && (before == null || segment.lastTimestamp().toInstant().isBefore(before.toInstant()));
+  }
+
+  private static AuditArchiveSegment mapSegment(ResultSet rs, int rowNum) throws SQLException {
+    return new AuditArchiveSegment(rs.getLong(1), rs.getString(2), rs.getObject(3, OffsetDateTime.class).toZonedDateTime(), rs.getObject(4, UUID.class),
+        rs.getObject(5, OffsetDateTime.class).toZonedDateTime(), rs.getObject(6, UUID.class), rs.getInt(7));
+  }
+
+  /**
+   * Lazy k-way merge over segments ordered by their first row. A segment is opened only once the merge reaches its first row. A row held by two segments, which can only happen transiently,
+   * is returned once.
+   */
+  private final class SegmentMerge implements Iterator<BaseAuditDTO> {
+
+    private final List<AuditArchiveSegment> segments;
+
+    private final AuditCursor after;
+
+    private final ZonedDateTime before;
+
+    private final PriorityQueue<SegmentRows> open = new PriorityQueue<>(Comparator.comparing(SegmentRows::current, AuditOrder.ROWS));
+
+    private int nextSegment;
+
+    private SegmentMerge(List<AuditArchiveSegment> segments, AuditCursor after, ZonedDateTime before) {
+      this.segments = segments;
+      this.after = after;
+      this.before = before;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (open.isEmpty() && nextSegment < segments.size()) {
+        openNext();
+      }
+      return !open.isEmpty();
+    }
+
+    @Override
+    public BaseAuditDTO next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      while (nextSegment < segments.size() && startsBefore(segments.get(nextSegment), open.peek().current())) {
+        openNext();
+      }
+      final SegmentRows rows = open.poll();
+      final BaseAuditDTO result = rows.current();
+      if (rows.advance()) {
+        open.add(rows);
+      }
+      while (!open.isEmpty() && AuditOrder.ROWS.compare(open.peek().current(), result) == 0) {
+        final SegmentRows duplicate = open.poll();
+        if (duplicate.advance()) {
+          open.add(duplicate);
+        }
+      }
+      return result;
+    }
+
+    private void openNext() {
+      final SegmentRows rows = new SegmentRows(load(segments.get(nextSegment++).id()), after, before);
+      if (rows.current() != null) {
+        open.add(rows);
+      }
+    }
+
+    private boolean startsBefore(AuditArchiveSegment segment, BaseAuditDTO row) {
+      return AuditOrder.compare(segment.firstTimestamp(), segment.firstId(), row.operationTimestamp(), row.id()) <= 0;
+    }
+  }
+
+  /**
+   * Position within one decoded segment, restricted to rows after the cursor and before the bound.
+   */
+  private static final class SegmentRows {
+
+    private final AuditRowBlock block;
+
+    private final ZonedDateTime before;
+
+    private int row = -1;
+
+    private BaseAuditDTO current;
+
+    private SegmentRows(AuditRowBlock block, AuditCursor after, ZonedDateTime before) {
+      this.block = block;
+      this.before = before;
+      do {
+        advance();
+      } while (current != null && !AuditOrder.isAfter(current, after));
+    }
+
+    BaseAuditDTO current() {
+      return current;
+    }
+
+    boolean advance() {
+      row++;
+      if (row >= block.size() || (before != null && !block.operationTimestamp(row).toInstant().isBefore(before.toInstant()))) {
+        current = null;
+        return false;
+      }
+      current = block.toDto(row);
+      return true;
+    }
+  }
+}
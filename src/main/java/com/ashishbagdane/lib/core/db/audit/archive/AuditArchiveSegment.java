@@ -0,0 +1,19 @@
+package com.ashishbagdane.lib.core.db.audit.archive;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Metadata of one archive segment: the keyset range it covers and its size. The bounds form a sparse index over the archive, so a query only loads the payloads of segments overlapping its range.
+ *
+ * @param id             the segment id
+ * @param sourceTable    the hot table the rows came from
+ * @param firstTimestamp the operation timestamp of the first row
+ * @param firstId        the id of the first row
+ * @param lastTimestamp  the operation timestamp of the last row
+ * @param lastId         the id of the last row
+ * @param rowCount       the number of rows
+ */
+public record AuditArchiveSegment(long id, String sourceTable, ZonedDateTime firstTimestamp, UUID firstId, ZonedDateTime lastTimestamp, UUID lastId,
+                                  int rowCount) {
+}
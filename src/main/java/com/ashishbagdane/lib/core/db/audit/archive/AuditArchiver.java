@@ -0,0 +1,237 @@
+package com.ashishbagdane.lib.core.db.audit.archive;
+
+import com.ashishbagdane.lib.core.config.AuditArchiveProperties;
+import com.ashishbagdane.lib.core.db.audit.AuditOrder;
+import com.ashishbagdane.lib.core.db.audit.export.AuditRowBlock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Scheduled archival of old audit rows. On every run, for each configured table it:
+ * <ol>
+ *     <li>moves rows older than the retention window into {@link AuditArchive} segments, oldest first, one segment per transaction: the segment is inserted and its rows are deleted from the hot
+ *     table in batches of {@code delete-batch-size}</li>
+ *     <li>compacts runs of small segments, such as the tail of each run, into full ones, examining at most {@code max-segments-per-run} segments and resuming where the previous run
+ *     stopped</li>
+ * </ol>
+ *
+ * <p>Every transaction checks that it deleted exactly the rows it archived and rolls back otherwise, so several application instances may run the archiver concurrently without duplicating
+ * rows.</p>
+ *
+ * @see AuditArchive
+ * @see AuditArchiveProperties
+ */
+@Slf4j
+public class AuditArchiver implements SmartLifecycle {
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final AuditArchive archive;
+
+  private final AuditArchiveProperties properties;
+
+  private final Map<String, AuditArchiveSegment> compactionPositions = new ConcurrentHashMap<>();
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Creates a new archiver.
+   *
+   * @param jdbcTemplate        template used to read hot rows
+   * @param transactionTemplate template wrapping each segment move
+   * @param archive             the segment store
+   * @param properties          archival configuration
+   */
+  public AuditArchiver(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, AuditArchive archive, AuditArchiveProperties properties) {
+    if (properties.getSegmentSize() <= 1 || properties.getDeleteBatchSize() <= 0 || properties.getMaxSegmentsPerRun() <= 0) {
+      throw new IllegalArgumentException("segment-size must exceed 1 and delete-batch-size and max-segments-per-run must be positive");
+    }
+    for (String table : properties.getTables()) {
+      if (table == null || !IDENTIFIER.matcher(table).matches()) {
+        throw new IllegalArgumentException("table must be a plain SQL identifier: " + Objects.toString(table));
+      }
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.transactionTemplate = transactionTemplate;
+    this.archive = archive;
+    this.properties = properties;
+  }
+
+  /**
+   * Runs one archival pass over all configured tables.
+   */
+  public void archive() {
+    final ZonedDateTime before = ZonedDateTime.now().minus(properties.getRetention());
+    for (String table : properties.getTables()) {
+      try {
+        final long rows = archive(table, before);
+        final int compacted = compact(table);
+        if (rows > 0 || compacted > 0) {
+          log.info("Archived {} rows of {} older than {}; compacted {} segments", rows, table, before, compacted);
+        }
+      } catch (DataAccessException e) {
+        log.warn("Archival of {} failed; will retry on next run", table, e);
+      } catch (IllegalArgumentException e) {
+        log.error("Audit table {} cannot be archived: {}", table, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Moves rows older than a bound into segments, up to {@code max-segments-per-run} segments.
+   *
+   * @param table  the hot table
+   * @param before exclusive upper bound of the operation timestamp
+   * @return the number of rows archived
+   * @throws IllegalArgumentException if the table lacks a user context column
+   */
+  public long archive(String table, ZonedDateTime before) {
+    final String selectSql = AuditRowBlock.selectFrom(jdbcTemplate, table)
+        + " WHERE a.operation_timestamp < ? ORDER BY a.operation_timestamp, a.id FETCH FIRST " + properties.getSegmentSize() + " ROWS ONLY";
+    final String deleteSql = "DELETE FROM " + table + " WHERE id IN (:ids)";
+    long archived = 0;
+    for (int segment = 0; segment < properties.getMaxSegmentsPerRun(); segment++) {
+      final Integer moved = transactionTemplate.execute(status -> moveSegment(table, selectSql, deleteSql, before, status));
+      archived += moved == null ? 0 : moved;
+      if (moved == null || moved < properties.getSegmentSize()) {
+        break;
+      }
+    }
+    return archived;
+  }
+
+  /**
+   * Merges runs of adjacent segments smaller than half the segment size into segments of up to {@code segment-size} rows. Only segments that follow each other in keyset order are merged, so a
+   * merged segment never spans the range of a larger segment lying between its parts.
+   *
+   * <p>Each call examines at most {@code max-segments-per-run} segments, continuing after the last segment examined by the previous call and starting over once the end is reached, so
+   * the cost of a run does not grow with the size of the archive. The position is kept in memory; after a restart compaction starts from the beginning.</p>
+   *
+   * @param table the hot table whose segments are compacted
+   * @return the number of segments replaced
+   */
+  public int compact(String table) {
+    final List<AuditArchiveSegment> segments = archive.segmentsAfter(table, compactionPositions.get(table), properties.getMaxSegmentsPerRun());
+    if (segments.size() < properties.getMaxSegmentsPerRun()) {
+      compactionPositions.remove(table);
+    } else {
+      compactionPositions.put(table, segments.get(segments.size() - 1));
+    }
+    final int small = properties.getSegmentSize() / 2;
+    int replaced = 0;
+    List<AuditArchiveSegment> group = new ArrayList<>();
+    int groupRows = 0;
+    for (AuditArchiveSegment segment : segments) {
+      if (segment.rowCount() >= small || groupRows + segment.rowCount() > properties.getSegmentSize()) {
+        replaced += merge(table, group, groupRows);
+        group = new ArrayList<>();
+        groupRows = 0;
+      }
+      if (segment.rowCount() < small) {
+        group.add(segment);
+        groupRows += segment.rowCount();
+      }
+    }
+    return replaced + merge(table, group, groupRows);
+  }
+
+  private int moveSegment(String table, String selectSql, String deleteSql, ZonedDateTime before, TransactionStatus status) {
+    final AuditRowBlock block = new AuditRowBlock(properties.getSegmentSize());
+    jdbcTemplate.query(selectSql, (RowCallbackHandler) block::add, before.toOffsetDateTime());
+    if (block.size() == 0) {
+      return 0;
+    }
+    archive.append(table, block);
+    int deleted = 0;
+    final List<Object> ids = new ArrayList<>(block.size());
+    for (int row = 0; row < block.size(); row++) {
+      ids.add(block.id(row));
+    }
+    for (int from = 0; from < ids.size(); from += properties.getDeleteBatchSize()) {
+      final List<Object> chunk = ids.subList(from, Math.min(from + properties.getDeleteBatchSize(), ids.size()));
+      deleted += namedJdbcTemplate.update(deleteSql, Map.of("ids", chunk));
+    }
+    if (deleted != block.size()) {
+      log.info("Rows of {} were archived concurrently; rolling back this segment", table);
+      status.setRollbackOnly();
+      return 0;
+    }
+    return block.size();
+  }
+
+  private int merge(String table, List<AuditArchiveSegment> group, int rows) {
+    if (group.size() < 2) {
+      return 0;
+    }
+    final Integer replaced = transactionTemplate.execute(status -> {
+      final List<AuditRowBlock> blocks = new ArrayList<>(group.size());
+      final List<int[]> positions = new ArrayList<>(rows);
+      for (AuditArchiveSegment segment : group) {
+        final AuditRowBlock block = archive.load(segment.id());
+        for (int row = 0; row < block.size(); row++) {
+          positions.add(new int[] {blocks.size(), row});
+        }
+        blocks.add(block);
+      }
+      positions.sort(Comparator.comparing(position -> blocks.get(position[0]).toDto(position[1]), AuditOrder.ROWS));
+      final AuditRowBlock merged = new AuditRowBlock(positions.size());
+      for (int[] position : positions) {
+        merged.add(blocks.get(position[0]), position[1]);
+      }
+      archive.append(table, merged);
+      if (archive.delete(group.stream().map(AuditArchiveSegment::id).toList()) != group.size()) {
+        status.setRollbackOnly();
+        return 0;
+      }
+      return group.size();
+    });
+    return replaced == null ? 0 : replaced;
+  }
+
+  @Override
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "ash-audit-archiver");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::archive, properties.getCheckInterval().toMillis(), properties.getCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+}
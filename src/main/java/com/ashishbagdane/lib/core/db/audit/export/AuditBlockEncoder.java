@@ -0,0 +1,30 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes blocks of audit rows into an export file format. {@link AuditExporter} calls {@link #encode(AuditRowBlock)} from several threads at once and writes the results in block order, so
+ * implementations must be stateless and every encoded block must be self-contained: a file truncated after any block is a valid file, which is what makes exports resumable.
+ *
+ * @see CsvAuditEncoder
+ * @see ColumnarAuditEncoder
+ */
+public interface AuditBlockEncoder {
+
+  /**
+   * Bytes written once at the start of a new file.
+   *
+   * @return the file header, possibly empty
+   */
+  default ByteBuffer header() {
+    return ByteBuffer.allocate(0);
+  }
+
+  /**
+   * Encodes one block.
+   *
+   * @param block the rows to encode
+   * @return the encoded bytes, positioned for reading
+   */
+  ByteBuffer encode(AuditRowBlock block);
+}
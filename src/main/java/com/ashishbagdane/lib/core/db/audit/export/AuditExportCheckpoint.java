@@ -0,0 +1,73 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import com.ashishbagdane.lib.core.db.audit.AuditCursor;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Progress of an export, stored next to the target file. It pairs the keyset position of the last written row with the file length at that point; a resumed export truncates the file to that length
+ * and continues reading after the position.
+ *
+ * @param cursor the position after the last written row
+ * @param rows   the number of rows written
+ * @param bytes  the file length after the last written block
+ */
+public record AuditExportCheckpoint(AuditCursor cursor, long rows, long bytes) {
+
+  /**
+   * Writes the checkpoint, replacing any previous one atomically where the file system allows it.
+   *
+   * @param file the checkpoint file
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Path file) throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty("timestamp", cursor.operationTimestamp().toString());
+    properties.setProperty("id", cursor.id().toString());
+    properties.setProperty("rows", Long.toString(rows));
+    properties.setProperty("bytes", Long.toString(bytes));
+    final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.ISO_8859_1)) {
+      properties.store(writer, null);
+    }
+    try {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Reads a checkpoint.
+   *
+   * @param file the checkpoint file
+   * @return the checkpoint, or {@code null} if the file does not exist
+   * @throws IOException if the file exists but cannot be read
+   */
+  public static AuditExportCheckpoint read(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return null;
+    }
+    final Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+      properties.load(reader);
+    }
+    try {
+      return new AuditExportCheckpoint(
+          new AuditCursor(ZonedDateTime.parse(properties.getProperty("timestamp")), UUID.fromString(properties.getProperty("id"))),
+          Long.parseLong(properties.getProperty("rows")),
+          Long.parseLong(properties.getProperty("bytes")));
+    } catch (RuntimeException e) {
+      throw new IOException("Invalid export checkpoint " + file, e);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+/**
+ * Exception thrown when an export fails. The checkpoint of the export is kept, so running the same request again resumes after the last checkpointed block.
+ */
+public class AuditExportException extends RuntimeException {
+
+  public AuditExportException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
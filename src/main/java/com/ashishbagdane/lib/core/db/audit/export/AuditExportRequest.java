@@ -0,0 +1,69 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Describes one export: which audit table and time range to read, how to encode it and where to write it.
+ *
+ * @param table   the audit table name
+ * @param from    inclusive lower bound of {@code operation_timestamp}, or {@code null} for no bound
+ * @param to      exclusive upper bound of {@code operation_timestamp}, or {@code null} for no bound
+ * @param encoder the file format
+ * @param target  the file to write
+ */
+public record AuditExportRequest(String table, ZonedDateTime from, ZonedDateTime to, AuditBlockEncoder encoder, Path target) {
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+  /**
+   * Validates the request.
+   *
+   * @throws IllegalArgumentException if the table is not a plain SQL identifier or the range is empty
+   * @throws NullPointerException     if the encoder or target is null
+   */
+  public AuditExportRequest {
+    if (table == null || !IDENTIFIER.matcher(table).matches()) {
+      throw new IllegalArgumentException("table must be a plain SQL identifier: " + Objects.toString(table));
+    }
+    Objects.requireNonNull(encoder, "encoder cannot be null");
+    Objects.requireNonNull(target, "target cannot be null");
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+  }
+
+  /**
+   * Creates a request exporting the whole table.
+   *
+   * @param table   the audit table name
+   * @param encoder the file format
+   * @param target  the file to write
+   * @return a new request
+   */
+  public static AuditExportRequest of(String table, AuditBlockEncoder encoder, Path target) {
+    return new AuditExportRequest(table, null, null, encoder, target);
+  }
+
+  /**
+   * Restricts the export to a time range, e.g. one closed month.
+   *
+   * @param from inclusive lower bound
+   * @param to   exclusive upper bound
+   * @return a new request for the range
+   */
+  public AuditExportRequest between(ZonedDateTime from, ZonedDateTime to) {
+    return new AuditExportRequest(table, from, to, encoder, target);
+  }
+
+  /**
+   * The sidecar file recording the progress of this export.
+   *
+   * @return the checkpoint path next to the target
+   */
+  public Path checkpointFile() {
+    return target.resolveSibling(target.getFileName() + ".checkpoint");
+  }
+}
@@ -0,0 +1,14 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of a completed export.
+ *
+ * @param target  the written file
+ * @param rows    the number of rows in the file, including rows written before a resume
+ * @param bytes   the file length
+ * @param resumed whether the export continued from a checkpoint
+ */
+public record AuditExportResult(Path target, long rows, long bytes, boolean resumed) {
+}
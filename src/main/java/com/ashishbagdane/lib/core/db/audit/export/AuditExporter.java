@@ -0,0 +1,299 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import com.ashishbagdane.lib.core.config.AuditExportProperties;
+import com.ashishbagdane.lib.core.db.audit.AuditCursor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams an audit table into a local file in constant memory. Rows are read from a server-side cursor, grouped into blocks, encoded by a pool of encoder threads and written in order to a
+ * {@link FileChannel} through a reusable direct buffer.
+ *
+ * <h2>Pipeline:</h2>
+ * <ul>
+ *     <li>The calling thread reads rows in {@code (operation_timestamp, id)} order with the configured fetch size inside a read-only transaction</li>
+ *     <li>Every full block is submitted to the encoder pool; its pending result joins a bounded FIFO queue, so at most {@code max-blocks-in-flight} blocks are held and the reader blocks when the
+ *     writer falls behind</li>
+ *     <li>A writer thread takes results in submission order, so the file is ordered however the encoders are scheduled</li>
+ *     <li>Every {@code checkpoint-every} blocks the file is forced to disk and a checkpoint with the last written row and the file length is stored next to it</li>
+ * </ul>
+ *
+ * <h2>Resuming:</h2>
+ * <p>When the checkpoint file of a request exists, the export truncates the target to the checkpointed length and continues after the checkpointed row.
+ * The checkpoint is deleted once the export completes. Resuming relies on no rows being added before the checkpointed position, so export ranges that are no longer written to, such as a
+ * closed month.</p>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Only the columns declared by {@code BaseAuditEntity} are exported, always in plain form: dictionary references are joined with their lookup tables and binary IP addresses are
+ *     decoded, see {@link AuditRowBlock#selectFrom}</li>
+ *     <li>PostgreSQL only streams with a positive fetch size inside a transaction, which this class provides</li>
+ *     <li>Memory is bounded by roughly {@code (max-blocks-in-flight + encoder-threads + 2) * block-size} rows</li>
+ * </ul>
+ *
+ * @see AuditExportRequest
+ * @see AuditExportProperties
+ */
+@Slf4j
+public class AuditExporter {
+
+  private static final long POLL_MILLIS = 100;
+
+  private final JdbcTemplate cursorTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final AuditExportProperties properties;
+
+  /**
+   * Creates a new exporter.
+   *
+   * @param jdbcTemplate        template whose data source is read
+   * @param transactionTemplate read-only template wrapping the cursor
+   * @param properties          exporter configuration
+   */
+  public AuditExporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, AuditExportProperties properties) {
+    if (properties.getBlockSize() <= 0 || properties.getMaxBlocksInFlight() <= 0 || properties.getEncoderThreads() <= 0) {
+      throw new IllegalArgumentException("block-size, max-blocks-in-flight and encoder-threads must be positive");
+    }
+    this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    this.cursorTemplate.setFetchSize(properties.getFetchSize());
+    this.transactionTemplate = transactionTemplate;
+    this.properties = properties;
+  }
+
+  /**
+   * Runs an export, resuming from its checkpoint if one exists.
+   *
+   * @param request the export to run
+   * @return the outcome
+   * @throws AuditExportException    if reading, encoding or writing fails; the checkpoint is kept for a retry
+   * @throws IllegalArgumentException if the table lacks a user context column, checked before the target is touched
+   */
+  public AuditExportResult export(AuditExportRequest request) {
+    final String select = AuditRowBlock.selectFrom(cursorTemplate, request.table());
+    try {
+      final AuditExportCheckpoint checkpoint = AuditExportCheckpoint.read(request.checkpointFile());
+      try (FileChannel channel = FileChannel.open(request.target(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+        final Run run = new Run(request, select, channel, checkpoint);
+        run.execute();
+        channel.force(true);
+        Files.deleteIfExists(request.checkpointFile());
+        log.info("Exported {} audit rows from {} to {}", run.rows, request.table(), request.target());
+        return new AuditExportResult(request.target(), run.rows, channel.size(), checkpoint != null);
+      }
+    } catch (IOException e) {
+      throw new AuditExportException("Audit export to " + request.target() + " failed", e);
+    }
+  }
+
+  private String sql(AuditExportRequest request, String select, AuditCursor after, List<Object> parameters) {
+    final List<String> conditions = new ArrayList<>(3);
+    if (request.from() != null) {
+      conditions.add("a.operation_timestamp >= ?");
+      parameters.add(request.from().toOffsetDateTime());
+    }
+    if (request.to() != null) {
+      conditions.add("a.operation_timestamp < ?");
+      parameters.add(request.to().toOffsetDateTime());
+    }
+    if (after != null) {
+      conditions.add("(a.operation_timestamp > ? OR (a.operation_timestamp = ? AND a.id > ?))");
+      parameters.add(after.operationTimestamp().toOffsetDateTime());
+      parameters.add(after.operationTimestamp().toOffsetDateTime());
+      parameters.add(after.id());
+    }
+    return select
+        + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+        + " ORDER BY a.operation_timestamp, a.id";
+  }
+
+  /**
+   * State of one running export.
+   */
+  private final class Run {
+
+    private final CompletableFuture<EncodedBlock> end = CompletableFuture.completedFuture(null);
+
+    private final AuditExportRequest request;
+
+    private final String select;
+
+    private final FileChannel channel;
+
+    private final AuditExportCheckpoint checkpoint;
+
+    private final BlockingQueue<CompletableFuture<EncodedBlock>> pending;
+
+    private final ByteBuffer writeBuffer;
+
+    private volatile Throwable failure;
+
+    private AuditRowBlock current;
+
+    private volatile long rows;
+
+    private Run(AuditExportRequest request, String select, FileChannel channel, AuditExportCheckpoint checkpoint) {
+      this.request = request;
+      this.select = select;
+      this.channel = channel;
+      this.checkpoint = checkpoint;
+      this.pending = new ArrayBlockingQueue<>(properties.getMaxBlocksInFlight());
+      this.writeBuffer = ByteBuffer.allocateDirect((int) properties.getWriteBufferSize().toBytes());
+      this.rows = checkpoint == null ? 0 : checkpoint.rows();
+    }
+
+    private void execute() throws IOException {
+      if (checkpoint == null) {
+        channel.truncate(0);
+        write(request.encoder().header());
+      } else {
+        channel.truncate(checkpoint.bytes());
+        channel.position(checkpoint.bytes());
+        log.info("Resuming audit export to {} after {} rows", request.target(), checkpoint.rows());
+      }
+      final AtomicInteger threadIndex = new AtomicInteger();
+      final ExecutorService encoders = Executors.newFixedThreadPool(properties.getEncoderThreads(), runnable -> {
+        final Thread thread = new Thread(runnable, "ash-audit-export-" + threadIndex.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+      final Thread writer = new Thread(this::writeLoop, "ash-audit-export-writer");
+      writer.setDaemon(true);
+      writer.start();
+      try {
+        read(encoders);
+        enqueue(end);
+        writer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(e);
+      } catch (RuntimeException e) {
+        fail(e);
+      } finally {
+        writer.interrupt();
+        encoders.shutdownNow();
+      }
+      if (failure != null) {
+        throw new AuditExportException("Audit export of " + request.table() + " failed after " + rows + " rows", failure);
+      }
+    }
+
+    private void read(ExecutorService encoders) {
+      final List<Object> parameters = new ArrayList<>();
+      final String sql = sql(request, select, checkpoint == null ? null : checkpoint.cursor(), parameters);
+      current = new AuditRowBlock(properties.getBlockSize());
+      transactionTemplate.executeWithoutResult(status -> cursorTemplate.query(sql, (RowCallbackHandler) rs -> {
+        current.add(rs);
+        if (current.isFull()) {
+          submit(current, encoders);
+          current = new AuditRowBlock(properties.getBlockSize());
+        }
+      }, parameters.toArray()));
+      if (current.size() > 0) {
+        submit(current, encoders);
+      }
+      current = null;
+    }
+
+    private void submit(AuditRowBlock block, ExecutorService encoders) {
+      enqueue(CompletableFuture.supplyAsync(() -> new EncodedBlock(request.encoder().encode(block), block.lastCursor(), block.size()), encoders));
+    }
+
+    private void enqueue(CompletableFuture<EncodedBlock> block) {
+      try {
+        while (!pending.offer(block, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+          throwIfFailed();
+        }
+        throwIfFailed();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AuditExportException("Audit export interrupted", e);
+      }
+    }
+
+    private void throwIfFailed() {
+      if (failure != null) {
+        throw new AuditExportException("Audit export writer failed", failure);
+      }
+    }
+
+    private void writeLoop() {
+      int blocksSinceCheckpoint = 0;
+      try {
+        while (true) {
+          final CompletableFuture<EncodedBlock> next = pending.take();
+          if (next == end) {
+            return;
+          }
+          final EncodedBlock block = next.get();
+          write(block.bytes());
+          rows += block.rows();
+          if (++blocksSinceCheckpoint >= properties.getCheckpointEvery()) {
+            channel.force(false);
+            new AuditExportCheckpoint(block.last(), rows, channel.position()).write(request.checkpointFile());
+            blocksSinceCheckpoint = 0;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(e);
+      } catch (ExecutionException e) {
+        fail(e.getCause());
+      } catch (IOException | RuntimeException e) {
+        fail(e);
+      }
+    }
+
+    private void write(ByteBuffer bytes) throws IOException {
+      if (bytes.isDirect()) {
+        while (bytes.hasRemaining()) {
+          channel.write(bytes);
+        }
+        return;
+      }
+      while (bytes.hasRemaining()) {
+        final int length = Math.min(writeBuffer.capacity(), bytes.remaining());
+        final ByteBuffer chunk = bytes.slice();
+        chunk.limit(length);
+        writeBuffer.clear();
+        writeBuffer.put(chunk).flip();
+        bytes.position(bytes.position() + length);
+        while (writeBuffer.hasRemaining()) {
+          channel.write(writeBuffer);
+        }
+      }
+    }
+
+    private synchronized void fail(Throwable cause) {
+      if (failure == null) {
+        failure = cause;
+      } else if (failure != cause && failure != cause.getCause()) {
+        failure.addSuppressed(cause);
+      }
+    }
+  }
+
+  /**
+   * An encoded block together with the position of its last row.
+   */
+  private record EncodedBlock(ByteBuffer bytes, AuditCursor last, int rows) {
+  }
+}
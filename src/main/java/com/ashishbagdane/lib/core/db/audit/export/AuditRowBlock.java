@@ -0,0 +1,384 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import com.ashishbagdane.lib.core.db.audit.AuditCursor;
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import com.ashishbagdane.lib.core.model.dictionary.DictionaryKind;
+import com.ashishbagdane.lib.core.model.dictionary.InetAddressConverter;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * A fixed-capacity block of audit rows held column by column. The exporter fills blocks from the JDBC cursor and hands complete blocks to an {@link AuditBlockEncoder}; a block is never modified
+ * after it has been handed over.
+ *
+ * <p>Timestamps are kept as microseconds since the epoch plus the offset in seconds, which is the precision of PostgreSQL's {@code timestamptz}.</p>
+ *
+ * <p>User context values are always held in plain form. Tables storing principal names and user agents as dictionary references, in {@code principal_id} and {@code user_agent_id}, are read
+ * through {@link #selectFrom(JdbcTemplate, String)}, which joins the lookup tables, and an {@code ip_address} stored in binary form is decoded when the row is added.</p>
+ */
+public final class AuditRowBlock {
+
+  /**
+   * Columns read by {@link #add(ResultSet)}, in order.
+   */
+  public static final String COLUMNS = "id, version, endpoint_path, principal_name, ip_address, user_agent, is_system_operation, operation_type, http_method, operation_timestamp";
+
+  private static final String TABLE_ALIAS = "a";
+
+  private static final InetAddressConverter IP_ADDRESS_CONVERTER = new InetAddressConverter();
+
+  private static final long NO_VERSION = Long.MIN_VALUE;
+
+  private final long[] idHigh;
+
+  private final long[] idLow;
+
+  private final long[] versions;
+
+  private final String[] endpointPaths;
+
+  private final String[] principalNames;
+
+  private final String[] ipAddresses;
+
+  private final String[] userAgents;
+
+  private final boolean[] systemOperations;
+
+  private final OperationType[] operationTypes;
+
+  private final HttpMethod[] httpMethods;
+
+  private final long[] timestampMicros;
+
+  private final int[] offsetSeconds;
+
+  private int size;
+
+  /**
+   * Creates an empty block.
+   *
+   * @param capacity the maximum number of rows
+   */
+  public AuditRowBlock(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.idHigh = new long[capacity];
+    this.idLow = new long[capacity];
+    this.versions = new long[capacity];
+    this.endpointPaths = new String[capacity];
+    this.principalNames = new String[capacity];
+    this.ipAddresses = new String[capacity];
+    this.userAgents = new String[capacity];
+    this.systemOperations = new boolean[capacity];
+    this.operationTypes = new OperationType[capacity];
+    this.httpMethods = new HttpMethod[capacity];
+    this.timestampMicros = new long[capacity];
+    this.offsetSeconds = new int[capacity];
+  }
+
+  /**
+   * Appends the current row of a result set selecting {@link #COLUMNS}.
+   *
+   * @param rs the result set, positioned on a row
+   * @throws SQLException if a column cannot be read
+   */
+  public void add(ResultSet rs) throws SQLException {
+    final int row = size;
+    final UUID id = rs.getObject(1, UUID.class);
+    idHigh[row] = id.getMostSignificantBits();
+    idLow[row] = id.getLeastSignificantBits();
+    final long version = rs.getLong(2);
+    versions[row] = rs.wasNull() ? NO_VERSION : version;
+    endpointPaths[row] = rs.getString(3);
+    principalNames[row] = rs.getString(4);
+    final Object ipAddress = rs.getObject(5);
+    ipAddresses[row] = ipAddress instanceof byte[] bytes ? IP_ADDRESS_CONVERTER.convertToEntityAttribute(bytes) : rs.getString(5);
+    userAgents[row] = rs.getString(6);
+    systemOperations[row] = rs.getBoolean(7);
+    final String operationType = rs.getString(8);
+    operationTypes[row] = operationType == null ? null : OperationType.valueOf(operationType);
+    final String httpMethod = rs.getString(9);
+    httpMethods[row] = httpMethod == null ? null : HttpMethod.valueOf(httpMethod);
+    final OffsetDateTime timestamp = rs.getObject(10, OffsetDateTime.class);
+    timestampMicros[row] = ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant());
+    offsetSeconds[row] = timestamp.getOffset().getTotalSeconds();
+    size = row + 1;
+  }
+
+  /**
+   * Builds the select and from clauses reading {@link #COLUMNS} from an audit table, which is aliased {@code a}. Conditions and ordering must qualify their columns with the alias,
+   * since the joined lookup tables have an {@code id} column as well.
+   *
+   * @param jdbcTemplate template used to read the column names of the table
+   * @param table        the audit table
+   * @return the query without conditions
+   * @throws IllegalArgumentException if the table has neither the plain nor the dictionary column of the principal name or the user agent
+   */
+  public static String selectFrom(JdbcTemplate jdbcTemplate, String table) {
+    final Set<String> columns = jdbcTemplate.query("SELECT * FROM " + table + " WHERE 1 = 0", (ResultSetExtractor<Set<String>>) rs -> {
+      final ResultSetMetaData metaData = rs.getMetaData();
+      final Set<String> names = new HashSet<>();
+      for (int column = 1; column <= metaData.getColumnCount(); column++) {
+        names.add(metaData.getColumnLabel(column).toLowerCase(Locale.ROOT));
+      }
+      return names;
+    });
+    final StringBuilder joins = new StringBuilder();
+    final String principalName = userContextColumn(table, columns, "principal_name", "principal_id", DictionaryKind.PRINCIPAL, joins);
+    final String userAgent = userContextColumn(table, columns, "user_agent", "user_agent_id", DictionaryKind.USER_AGENT, joins);
+    final String a = TABLE_ALIAS + ".";
+    return "SELECT " + a + "id, " + a + "version, " + a + "endpoint_path, " + principalName + ", " + a + "ip_address, " + userAgent + ", " + a + "is_system_operation, "
+        + a + "operation_type, " + a + "http_method, " + a + "operation_timestamp FROM " + table + " " + TABLE_ALIAS + joins;
+  }
+
+  private static String userContextColumn(String table, Set<String> columns, String plain, String reference, DictionaryKind kind, StringBuilder joins) {
+    if (columns.contains(plain)) {
+      return TABLE_ALIAS + "." + plain;
+    }
+    if (columns.contains(reference)) {
+      final String alias = "d_" + reference;
+      joins.append(" LEFT JOIN ").append(kind.getTableName()).append(' ').append(alias)
+          .append(" ON ").append(alias).append(".id = ").append(TABLE_ALIAS).append('.').append(reference);
+      return alias + ".dictionary_value";
+    }
+    throw new IllegalArgumentException("Audit table " + table + " has neither a " + plain + " nor a " + reference + " column");
+  }
+
+  /**
+   * Appends a row of another block.
+   *
+   * @param source the block to copy from
+   * @param row    the row index in the source block
+   */
+  public void add(AuditRowBlock source, int row) {
+    add(source.id(row), source.version(row), source.endpointPath(row), source.principalName(row), source.ipAddress(row), source.userAgent(row),
+        source.systemOperation(row), source.operationType(row), source.httpMethod(row), source.operationTimestamp(row));
+  }
+
+  /**
+   * Appends a row. Used by readers and tests; the exporter fills blocks from JDBC.
+   *
+   * @param id                 the row id
+   * @param version            the version, or {@code null}
+   * @param endpointPath       the endpoint path
+   * @param principalName      the principal name
+   * @param ipAddress          the IP address
+   * @param userAgent          the user agent
+   * @param systemOperation    whether the operation was performed by the system
+   * @param operationType      the operation type
+   * @param httpMethod         the HTTP method
+   * @param operationTimestamp the operation timestamp
+   */
+  public void add(UUID id, Long version, String endpointPath, String principalName, String ipAddress, String userAgent, boolean systemOperation,
+      OperationType operationType, HttpMethod httpMethod, OffsetDateTime operationTimestamp) {
+    final int row = size;
+    idHigh[row] = id.getMostSignificantBits();
+    idLow[row] = id.getLeastSignificantBits();
+    versions[row] = version == null ? NO_VERSION : version;
+    endpointPaths[row] = endpointPath;
+    principalNames[row] = principalName;
+    ipAddresses[row] = ipAddress;
+    userAgents[row] = userAgent;
+    systemOperations[row] = systemOperation;
+    operationTypes[row] = operationType;
+    httpMethods[row] = httpMethod;
+    timestampMicros[row] = ChronoUnit.MICROS.between(Instant.EPOCH, operationTimestamp.toInstant());
+    offsetSeconds[row] = operationTimestamp.getOffset().getTotalSeconds();
+    size = row + 1;
+  }
+
+  /**
+   * Number of rows in this block.
+   *
+   * @return the row count
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Whether the block has reached its capacity.
+   *
+   * @return true if no more rows fit
+   */
+  public boolean isFull() {
+    return size == idHigh.length;
+  }
+
+  /**
+   * The keyset position after the last row of this block.
+   *
+   * @return the cursor, or {@code null} if the block is empty
+   */
+  public AuditCursor lastCursor() {
+    return size == 0 ? null : new AuditCursor(operationTimestamp(size - 1).toZonedDateTime(), id(size - 1));
+  }
+
+  /**
+   * The id of a row.
+   *
+   * @param row the row index
+   * @return the id
+   */
+  public UUID id(int row) {
+    return new UUID(idHigh[row], idLow[row]);
+  }
+
+  /**
+   * The most significant bits of a row's id.
+   *
+   * @param row the row index
+   * @return the high bits
+   */
+  public long idHigh(int row) {
+    return idHigh[row];
+  }
+
+  /**
+   * The least significant bits of a row's id.
+   *
+   * @param row the row index
+   * @return the low bits
+   */
+  public long idLow(int row) {
+    return idLow[row];
+  }
+
+  /**
+   * The version of a row.
+   *
+   * @param row the row index
+   * @return the version, or {@code null}
+   */
+  public Long version(int row) {
+    return versions[row] == NO_VERSION ? null : versions[row];
+  }
+
+  /**
+   * The endpoint path of a row.
+   *
+   * @param row the row index
+   * @return the endpoint path
+   */
+  public String endpointPath(int row) {
+    return endpointPaths[row];
+  }
+
+  /**
+   * The principal name of a row.
+   *
+   * @param row the row index
+   * @return the principal name
+   */
+  public String principalName(int row) {
+    return principalNames[row];
+  }
+
+  /**
+   * The IP address of a row.
+   *
+   * @param row the row index
+   * @return the IP address
+   */
+  public String ipAddress(int row) {
+    return ipAddresses[row];
+  }
+
+  /**
+   * The user agent of a row.
+   *
+   * @param row the row index
+   * @return the user agent
+   */
+  public String userAgent(int row) {
+    return userAgents[row];
+  }
+
+  /**
+   * Whether a row was written by a system operation.
+   *
+   * @param row the row index
+   * @return true for system operations
+   */
+  public boolean systemOperation(int row) {
+    return systemOperations[row];
+  }
+
+  /**
+   * The operation type of a row.
+   *
+   * @param row the row index
+   * @return the operation type
+   */
+  public OperationType operationType(int row) {
+    return operationTypes[row];
+  }
+
+  /**
+   * The HTTP method of a row.
+   *
+   * @param row the row index
+   * @return the HTTP method
+   */
+  public HttpMethod httpMethod(int row) {
+    return httpMethods[row];
+  }
+
+  /**
+   * The operation timestamp of a row as microseconds since the epoch.
+   *
+   * @param row the row index
+   * @return the epoch microseconds
+   */
+  public long timestampMicros(int row) {
+    return timestampMicros[row];
+  }
+
+  /**
+   * The offset of a row's operation timestamp.
+   *
+   * @param row the row index
+   * @return the offset in seconds
+   */
+  public int offsetSeconds(int row) {
+    return offsetSeconds[row];
+  }
+
+  /**
+   * The operation timestamp of a row, in the offset it was stored with.
+   *
+   * @param row the row index
+   * @return the timestamp
+   */
+  public OffsetDateTime operationTimestamp(int row) {
+    final long micros = timestampMicros[row];
+    final Instant instant = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    return instant.atOffset(ZoneOffset.ofTotalSeconds(offsetSeconds[row]));
+  }
+
+  /**
+   * Converts a row to the audit DTO.
+   *
+   * @param row the row index
+   * @return the DTO
+   */
+  public BaseAuditDTO toDto(int row) {
+    return new BaseAuditDTO(id(row), version(row), endpointPaths[row], principalNames[row], ipAddresses[row], userAgents[row], systemOperations[row],
+        operationTypes[row], httpMethods[row], operationTimestamp(row).toZonedDateTime());
+  }
+}
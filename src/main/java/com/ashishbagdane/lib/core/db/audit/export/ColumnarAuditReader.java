@@ -0,0 +1,173 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files written with {@link ColumnarAuditEncoder}, one block at a time, so memory use is bounded by the block size rather than the file size.
+ *
+ * <p>Example usage:
+ * <pre>
+ * long rows = ColumnarAuditReader.read(Path.of("audit-2025-01.ashaud"), block -&gt; {
+ *     for (int row = 0; row &lt; block.size(); row++) {
+ *         verify(block.id(row), block.operationTimestamp(row));
+ *     }
+ * });
+ * </pre>
+ */
+public final class ColumnarAuditReader {
+
+  private static final OperationType[] OPERATION_TYPES = OperationType.values();
+
+  private static final HttpMethod[] HTTP_METHODS = HttpMethod.values();
+
+  private ColumnarAuditReader() {
+  }
+
+  /**
+   * Decodes every block of a file.
+   *
+   * @param file     the file to read
+   * @param consumer receives each decoded block
+   * @return the total number of rows read
+   * @throws IOException if the file cannot be read or is not a valid columnar audit file
+   */
+  public static long read(Path file, Consumer<AuditRowBlock> consumer) throws IOException {
+    long rows = 0;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final ByteBuffer fileHeader = readFully(channel, ColumnarAuditEncoder.FILE_HEADER.length);
+      if (!Arrays.equals(fileHeader.array(), ColumnarAuditEncoder.FILE_HEADER)) {
+        throw new IOException("Not a columnar audit file: " + file);
+      }
+      while (channel.position() < channel.size()) {
+        final ByteBuffer blockHeader = readFully(channel, ColumnarAuditEncoder.BLOCK_HEADER_LENGTH);
+        final int count = blockHeader.getInt();
+        final int rawLength = blockHeader.getInt();
+        final int compressedLength = blockHeader.getInt();
+        final ByteBuffer compressed = readFully(channel, compressedLength);
+        consumer.accept(decode(count, inflate(compressed.array(), 0, compressedLength, rawLength)));
+        rows += count;
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Decodes a single block as returned by {@link ColumnarAuditEncoder#encode(AuditRowBlock)}, e.g. one stored outside a file.
+   *
+   * @param encoded the encoded block, including its block header
+   * @return the decoded rows
+   * @throws IOException if the block is truncated or corrupt
+   */
+  public static AuditRowBlock decodeBlock(byte[] encoded) throws IOException {
+    if (encoded.length < ColumnarAuditEncoder.BLOCK_HEADER_LENGTH) {
+      throw new EOFException("Truncated columnar audit block");
+    }
+    final ByteBuffer header = ByteBuffer.wrap(encoded, 0, ColumnarAuditEncoder.BLOCK_HEADER_LENGTH);
+    final int count = header.getInt();
+    final int rawLength = header.getInt();
+    final int compressedLength = header.getInt();
+    if (encoded.length < ColumnarAuditEncoder.BLOCK_HEADER_LENGTH + compressedLength) {
+      throw new EOFException("Truncated columnar audit block");
+    }
+    return decode(count, inflate(encoded, ColumnarAuditEncoder.BLOCK_HEADER_LENGTH, compressedLength, rawLength));
+  }
+
+  private static AuditRowBlock decode(int count, ByteBuffer raw) {
+    final long[] idHigh = longs(raw, count);
+    final long[] idLow = longs(raw, count);
+    final long[] versions = longs(raw, count);
+    final long[] micros = longs(raw, count);
+    final int[] offsets = new int[count];
+    for (int row = 0; row < count; row++) {
+      offsets[row] = raw.getInt();
+    }
+    final byte[] flags = bytes(raw, count);
+    final byte[] operationTypes = bytes(raw, count);
+    final byte[] httpMethods = bytes(raw, count);
+    final String[][] texts = new String[4][];
+    for (int column = 0; column < texts.length; column++) {
+      final int[] lengths = new int[count];
+      for (int row = 0; row < count; row++) {
+        lengths[row] = raw.getInt();
+      }
+      texts[column] = new String[count];
+      for (int row = 0; row < count; row++) {
+        if (lengths[row] >= 0) {
+          texts[column][row] = new String(raw.array(), raw.position(), lengths[row], StandardCharsets.UTF_8);
+          raw.position(raw.position() + lengths[row]);
+        }
+      }
+    }
+    final AuditRowBlock block = new AuditRowBlock(Math.max(count, 1));
+    for (int row = 0; row < count; row++) {
+      final Instant instant = Instant.ofEpochSecond(Math.floorDiv(micros[row], 1_000_000L), Math.floorMod(micros[row], 1_000_000L) * 1_000L);
+      block.add(new UUID(idHigh[row], idLow[row]), versions[row] == Long.MIN_VALUE ? null : versions[row], texts[0][row], texts[1][row], texts[2][row], texts[3][row],
+          (flags[row] & 1) != 0, operationTypes[row] == 0 ? null : OPERATION_TYPES[operationTypes[row] - 1],
+          httpMethods[row] == 0 ? null : HTTP_METHODS[httpMethods[row] - 1], instant.atOffset(ZoneOffset.ofTotalSeconds(offsets[row])));
+    }
+    return block;
+  }
+
+  private static ByteBuffer inflate(byte[] compressed, int offset, int length, int rawLength) throws IOException {
+    final byte[] raw = new byte[rawLength];
+    if (rawLength == 0) {
+      return ByteBuffer.wrap(raw);
+    }
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed, offset, length);
+      int inflated = 0;
+      while (!inflater.finished()) {
+        final int n = inflater.inflate(raw, inflated, rawLength - inflated);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("Truncated columnar audit block");
+        }
+        inflated += n;
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt columnar audit block", e);
+    } finally {
+      inflater.end();
+    }
+    return ByteBuffer.wrap(raw);
+  }
+
+  private static long[] longs(ByteBuffer raw, int count) {
+    final long[] values = new long[count];
+    for (int row = 0; row < count; row++) {
+      values[row] = raw.getLong();
+    }
+    return values;
+  }
+
+  private static byte[] bytes(ByteBuffer raw, int count) {
+    final byte[] values = new byte[count];
+    raw.get(values);
+    return values;
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new EOFException("Unexpected end of columnar audit file");
+      }
+    }
+    return buffer.flip();
+  }
+}
@@ -0,0 +1,84 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Encodes audit rows as RFC 4180 CSV in UTF-8, with a header line naming the database columns. Empty values and values containing a comma, quote or line break are quoted, so {@code null} (an empty, unquoted field) stays distinguishable and timestamps
+ * use ISO-8601 with offset.
+ */
+public class CsvAuditEncoder implements AuditBlockEncoder {
+
+  private static final byte[] HEADER = (AuditRowBlock.COLUMNS.replace(" ", "") + "\r\n").getBytes(StandardCharsets.UTF_8);
+
+  private static final int ESTIMATED_ROW_LENGTH = 256;
+
+  @Override
+  public ByteBuffer header() {
+    return ByteBuffer.wrap(HEADER);
+  }
+
+  @Override
+  public ByteBuffer encode(AuditRowBlock block) {
+    final StringBuilder csv = new StringBuilder(block.size() * ESTIMATED_ROW_LENGTH);
+    for (int row = 0; row < block.size(); row++) {
+      csv.append(block.id(row)).append(',');
+      if (block.version(row) != null) {
+        csv.append(block.version(row).longValue());
+      }
+      csv.append(',');
+      appendText(csv, block.endpointPath(row));
+      csv.append(',');
+      appendText(csv, block.principalName(row));
+      csv.append(',');
+      appendText(csv, block.ipAddress(row));
+      csv.append(',');
+      appendText(csv, block.userAgent(row));
+      csv.append(',').append(block.systemOperation(row)).append(',');
+      if (block.operationType(row) != null) {
+        csv.append(block.operationType(row).name());
+      }
+      csv.append(',');
+      if (block.httpMethod(row) != null) {
+        csv.append(block.httpMethod(row).name());
+      }
+      csv.append(',');
+      DateTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(block.operationTimestamp(row), csv);
+      csv.append("\r\n");
+    }
+    return StandardCharsets.UTF_8.encode(csv);
+  }
+
+  private static void appendText(StringBuilder csv, String value) {
+    if (value == null) {
+      return;
+    }
+    if (!needsQuoting(value)) {
+      csv.append(value);
+      return;
+    }
+    csv.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"') {
+        csv.append('"');
+      }
+      csv.append(c);
+    }
+    csv.append('"');
+  }
+
+  private static boolean needsQuoting(String value) {
+    if (value.isEmpty()) {
+      return true;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
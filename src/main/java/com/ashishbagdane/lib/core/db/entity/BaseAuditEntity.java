@@ -1,5 +1,8 @@
 package com.ashishbagdane.lib.core.db.entity;
 
+import com.ashishbagdane.lib.core.context.UserContextHolder;
+import com.ashishbagdane.lib.core.db.id.AuditId;
+import com.ashishbagdane.lib.core.db.id.IdStrategy;
 import com.ashishbagdane.lib.core.enums.HttpMethod;
 import com.ashishbagdane.lib.core.enums.OperationType;
 import com.ashishbagdane.lib.core.model.UserContext;
@@ -8,19 +11,21 @@ import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreRemove;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Transient;
 import jakarta.persistence.Version;
 import java.time.ZonedDateTime;
+import java.util.Objects;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.GenericGenerator;
 
 /**
  * Base entity class that provides auditing functionality for all domain entities. This abstract class implements common auditing fields and behaviors that should be inherited by all entities
@@ -28,7 +33,7 @@ import org.hibernate.annotations.GenericGenerator;
  *
  * <h2>Features:</h2>
  * <ul>
- *     <li>Automatic UUID generation</li>
+ *     <li>Automatic UUID generation, random or time-ordered per entity via {@link IdStrategy}</li>
  *     <li>Optimistic locking using version field</li>
  *     <li>Operation tracking (CREATE, UPDATE, DELETE)</li>
  *     <li>User context tracking (user details, IP, user agent)</li>
@@ -54,13 +59,14 @@ import org.hibernate.annotations.GenericGenerator;
  *     <li>The class uses TABLE_PER_CLASS inheritance strategy, meaning each entity will have all audit fields in its own table</li>
  *     <li>Timestamp is automatically updated on all operations through JPA callbacks</li>
  *     <li>Operation type is automatically set based on the performed operation</li>
- *     <li>User context should be set before persisting/updating the entity</li>
+ *     <li>User context is taken from {@link UserContextHolder} when one is bound, for example by the request capture filter; a context set explicitly before
+ *     persisting, or changed since the entity was loaded or last written, is kept</li>
  * </ul>
  *
  * <h2>Best Practices:</h2>
  * <ol>
  *     <li>Always call super() in child entity constructors</li>
- *     <li>Set user context before saving:
+ *     <li>Enable {@code ash.core.audit.user-context.capture.enabled} so the user context is recorded automatically, or set it before saving:
  *         <pre>
  *         {@code
  *         entity.setUserContext(UserContext.createUserContext(
@@ -84,6 +90,7 @@ import org.hibernate.annotations.GenericGenerator;
  * <h2>Database Considerations:</h2>
  * <ul>
  *     <li>UUID is used as primary key for better distribution in distributed systems</li>
+ *     <li>For large, insert-heavy tables annotate the entity with {@code @IdStrategy(UuidStrategy.TIME_ORDERED)} so keys are generated in index order</li>
  *     <li>Version column handles optimistic locking to prevent concurrent modifications</li>
  *     <li>Timestamps are stored with timezone information</li>
  * </ul>
@@ -91,19 +98,17 @@ import org.hibernate.annotations.GenericGenerator;
  * @see UserContext
  * @see OperationType
  * @see HttpMethod
+ * @see IdStrategy
+ * @see Identifiable
  */
 @Entity
 @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 @Getter
 @Setter
-public abstract class BaseAuditEntity {
+public abstract class BaseAuditEntity implements Identifiable<UUID> {
 
   @Id
-  @GeneratedValue(generator = "UUID")
-  @GenericGenerator(
-      name = "UUID",
-      strategy = "org.hibernate.id.UUIDGenerator"
-  )
+  @AuditId
   @Column(name = "id", updatable = false, nullable = false)
   private UUID id;
 
@@ -129,30 +134,76 @@ public abstract class BaseAuditEntity {
   private ZonedDateTime operationTimestamp;
 
   /**
-   * Lifecycle callback that is executed before the entity is persisted. Sets the initial operation timestamp and marks the operation type as CREATE.
+   * Copy of the user context as last loaded or written, used to tell an explicitly set context from a stale one.
+   */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private UserContext storedUserContext;
+
+  /**
+   * Lifecycle callback that is executed before the entity is persisted. Sets the initial operation timestamp, marks the operation type as CREATE and records the bound user context unless one was set
+   * explicitly.
    */
   @PrePersist
   protected void onCreate() {
     operationTimestamp = ZonedDateTime.now();
     operationType = OperationType.CREATE;
+    if (userContext == null) {
+      recordBoundUserContext();
+    }
+    storedUserContext = copyOf(userContext);
   }
 
   /**
-   * Lifecycle callback that is executed before the entity is updated. Updates the operation timestamp and marks the operation type as UPDATE.
+   * Lifecycle callback that is executed before the entity is updated. Updates the operation timestamp, marks the operation type as UPDATE and records the bound user context, if any, unless the
+   * context was changed explicitly since the entity was loaded.
    */
   @PreUpdate
   protected void onUpdate() {
     operationTimestamp = ZonedDateTime.now();
     operationType = OperationType.UPDATE;
+    recordBoundUserContextUnlessChanged();
   }
 
   /**
-   * Lifecycle callback that is executed before the entity is deleted. Updates the operation timestamp and marks the operation type as DELETE.
+   * Lifecycle callback that is executed before the entity is deleted. Updates the operation timestamp, marks the operation type as DELETE and records the bound user context, if any, unless the
+   * context was changed explicitly since the entity was loaded.
    */
   @PreRemove
   protected void onDelete() {
     operationTimestamp = ZonedDateTime.now();
     operationType = OperationType.DELETE;
+    recordBoundUserContextUnlessChanged();
+  }
+
+  /**
+   * Lifecycle callback that is executed after the entity is loaded. Remembers the stored user context, so a context set explicitly before the next update is kept.
+   */
+  @PostLoad
+  protected void onLoad() {
+    storedUserContext = copyOf(userContext);
+  }
+
+  private void recordBoundUserContextUnlessChanged() {
+    if (Objects.equals(userContext, storedUserContext)) {
+      recordBoundUserContext();
+    }
+    storedUserContext = copyOf(userContext);
+  }
+
+  /**
+   * Copies the bound user context into this entity. The copy keeps later changes to this entity's embedded context from leaking into other entities of the same request.
+   */
+  private void recordBoundUserContext() {
+    final UserContext bound = UserContextHolder.current();
+    if (bound != null) {
+      userContext = copyOf(bound);
+    }
+  }
+
+  private static UserContext copyOf(UserContext context) {
+    return context == null ? null : new UserContext(context.getPrincipalName(), context.getIpAddress(), context.getUserAgent(), context.isSystemOperation());
   }
 
   /**
@@ -0,0 +1,60 @@
+package com.ashishbagdane.lib.core.db.entity;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Resolves the ids of entities for infrastructure that records events about them, such as the status history and the outbox. Ids of {@link Identifiable} subjects come from
+ * {@link Identifiable#getId()}; other JPA entities are resolved through the persistence unit, when one is available.
+ *
+ * <p>Events are usually captured before the entity is persisted or flushed, when its id may still be unassigned. Callers therefore keep a reference to the subject and resolve the id just before
+ * commit, after {@link #flush()} has written pending inserts.</p>
+ */
+public class EntityIdResolver {
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  /**
+   * Creates a new resolver.
+   *
+   * @param entityManagerFactory the persistence unit of the subjects, or {@code null} to resolve {@link Identifiable} subjects only
+   */
+  public EntityIdResolver(EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  /**
+   * Gets the id of a subject.
+   *
+   * @param subject the entity
+   * @return the id, or {@code null} if it is not assigned or the subject is neither {@link Identifiable} nor a managed entity type
+   */
+  public Object idOf(Object subject) {
+    if (subject instanceof Identifiable<?> identifiable) {
+      return identifiable.getId();
+    }
+    if (entityManagerFactory == null) {
+      return null;
+    }
+    try {
+      return entityManagerFactory.getPersistenceUnitUtil().getIdentifier(subject);
+    } catch (IllegalArgumentException | PersistenceException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Flushes the persistence context bound to the current transaction, if any, so ids generated on insert are assigned.
+   */
+  public void flush() {
+    if (entityManagerFactory == null) {
+      return;
+    }
+    final EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+    if (holder != null) {
+      holder.getEntityManager().flush();
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.ashishbagdane.lib.core.db.entity;
+
+/**
+ * Entity exposing its identifier. Lets infrastructure such as the outbox and the status history attribute events to a row without knowing the concrete entity type.
+ *
+ * @param <ID> the identifier type
+ */
+public interface Identifiable<ID> {
+
+  /**
+   * Gets the identifier.
+   *
+   * @return the identifier, or {@code null} if not assigned yet
+   */
+  ID getId();
+}
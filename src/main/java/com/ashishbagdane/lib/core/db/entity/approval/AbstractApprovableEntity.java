@@ -1,5 +1,10 @@
 package com.ashishbagdane.lib.core.db.entity.approval;
 
+import com.ashishbagdane.lib.core.db.entity.lifecycle.Lifecycle;
+import jakarta.persistence.Column;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
@@ -7,64 +12,99 @@ import java.util.Optional;
 
 /**
  * Base implementation of Approvable interface.
+ *
+ * <p>Transitions are validated by a {@link Lifecycle} built on {@link ApprovalStatus#transitions()}.
+ * Override {@link #lifecycle()} to add guards or hooks, starting from {@link #lifecycleBuilder()}.</p>
+ *
+ * <p>The approval state is mapped by this class, so the table of every subclass entity needs the columns {@code approval_status} (the {@link ApprovalStatus} name), {@code submitted_at},
+ * {@code submitted_by}, {@code approved_at}, {@code approved_by}, {@code rejected_at}, {@code rejected_by}, {@code rejection_reason}, {@code revoked_at}, {@code revoked_by} and
+ * {@code revocation_reason}. These are the names {@link ApprovableTable#of(String)} and {@link ApprovalCountListener} expect.</p>
  */
 @Getter
+@MappedSuperclass
 public abstract class AbstractApprovableEntity implements Approvable {
 
+    private static final Lifecycle<ApprovalStatus, Approvable> DEFAULT_LIFECYCLE = lifecycleBuilder().build();
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "approval_status", nullable = false, length = 20)
     private ApprovalStatus approvalStatus = ApprovalStatus.PENDING_APPROVAL;
 
+    /**
+     * Time the entity entered the approval queue: its creation, then its last submission for review. Orders the {@link ApprovalInbox}.
+     */
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt = LocalDateTime.now();
+
+    @Column(name = "submitted_by")
+    private String submittedBy;
+
+    @Column(name = "approved_at")
     private LocalDateTime approvedAt;
 
+    @Column(name = "approved_by")
     private String approvedBy;
 
+    @Column(name = "rejected_at")
     private LocalDateTime rejectedAt;
 
+    @Column(name = "rejected_by")
     private String rejectedBy;
 
+    @Column(name = "rejection_reason")
     private String rejectionReason;
 
+    @Column(name = "revoked_at")
     private LocalDateTime revokedAt;
 
+    @Column(name = "revoked_by")
     private String revokedBy;
 
+    @Column(name = "revocation_reason")
     private String revocationReason;
 
     @Override
     public void submitForApproval(String submittedBy) {
-        validateStateTransition(ApprovalStatus.IN_REVIEW);
+        final ApprovalStatus previousStatus = validateStateTransition(ApprovalStatus.IN_REVIEW, submittedBy);
         this.approvalStatus = ApprovalStatus.IN_REVIEW;
+        this.submittedAt = LocalDateTime.now();
+        this.submittedBy = submittedBy;
         onSubmitForApproval(submittedBy);
+        lifecycle().afterTransition(this, previousStatus, ApprovalStatus.IN_REVIEW, submittedBy);
     }
 
     @Override
     public void approve(String approvedBy) {
-        validateStateTransition(ApprovalStatus.APPROVED);
+        final ApprovalStatus previousStatus = validateStateTransition(ApprovalStatus.APPROVED, approvedBy);
         this.approvalStatus = ApprovalStatus.APPROVED;
         this.approvedAt = LocalDateTime.now();
         this.approvedBy = approvedBy;
         clearRejectionDetails();
         onApprove();
+        lifecycle().afterTransition(this, previousStatus, ApprovalStatus.APPROVED, approvedBy);
     }
 
     @Override
     public void reject(String rejectedBy, String reason) {
-        validateStateTransition(ApprovalStatus.REJECTED);
+        final ApprovalStatus previousStatus = validateStateTransition(ApprovalStatus.REJECTED, rejectedBy);
         this.approvalStatus = ApprovalStatus.REJECTED;
         this.rejectedAt = LocalDateTime.now();
         this.rejectedBy = rejectedBy;
         this.rejectionReason = reason;
         clearApprovalDetails();
         onReject();
+        lifecycle().afterTransition(this, previousStatus, ApprovalStatus.REJECTED, rejectedBy);
     }
 
     @Override
     public void revoke(String revokedBy, String reason) {
-        validateStateTransition(ApprovalStatus.REVOKED);
+        final ApprovalStatus previousStatus = validateStateTransition(ApprovalStatus.REVOKED, revokedBy);
         this.approvalStatus = ApprovalStatus.REVOKED;
         this.revokedAt = LocalDateTime.now();
         this.revokedBy = revokedBy;
         this.revocationReason = reason;
         onRevoke();
+        lifecycle().afterTransition(this, previousStatus, ApprovalStatus.REVOKED, revokedBy);
     }
 
     @Override
@@ -92,12 +132,30 @@ public abstract class AbstractApprovableEntity implements Approvable {
         return Optional.ofNullable(rejectedAt);
     }
 
-    private void validateStateTransition(ApprovalStatus targetStatus) {
-        if (!approvalStatus.canTransitionTo(targetStatus)) {
-            throw new IllegalApprovalStateException(
-                String.format("Cannot transition from %s to %s", approvalStatus, targetStatus)
-            );
-        }
+    /**
+     * Lifecycle used to validate approval transitions and run transition hooks. Override to return a lifecycle with additional guards or hooks; the returned instance should be a shared constant.
+     *
+     * @return the approval lifecycle
+     */
+    protected Lifecycle<ApprovalStatus, Approvable> lifecycle() {
+        return DEFAULT_LIFECYCLE;
+    }
+
+    /**
+     * Creates a lifecycle builder preconfigured with the {@link ApprovalStatus} rules and {@link IllegalApprovalStateException} as the rejection.
+     *
+     * @return a new lifecycle builder
+     */
+    protected static Lifecycle.Builder<ApprovalStatus, Approvable> lifecycleBuilder() {
+        return Lifecycle.builder(ApprovalStatus.transitions(), (from, to) -> new IllegalApprovalStateException(
+            String.format("Cannot transition from %s to %s", from, to)
+        ));
+    }
+
+    private ApprovalStatus validateStateTransition(ApprovalStatus targetStatus, String actor) {
+        final ApprovalStatus previousStatus = approvalStatus;
+        lifecycle().validate(this, previousStatus, targetStatus, actor);
+        return previousStatus;
     }
 
     private void clearApprovalDetails() {
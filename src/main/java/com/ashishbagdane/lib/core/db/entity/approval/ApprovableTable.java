@@ -0,0 +1,52 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Describes the table and columns holding the approval state of an {@link Approvable} entity, for queries that work on rows directly instead of loading entities.
+ *
+ * <p>The status column is expected to hold the {@link ApprovalStatus} name, i.e. the entity maps it with {@code @Enumerated(EnumType.STRING)}.</p>
+ *
+ * @param tableName         the table name, optionally schema-qualified
+ * @param idColumn          the primary key column
+ * @param statusColumn      the column holding the {@link ApprovalStatus} name
+ * @param submittedAtColumn the column holding the time the entity entered the approval queue
+ */
+public record ApprovableTable(
+    String tableName,
+    String idColumn,
+    String statusColumn,
+    String submittedAtColumn
+) {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    /**
+     * Validates that all names are plain SQL identifiers, since they are inlined into generated statements.
+     *
+     * @throws IllegalArgumentException if a name is not a plain identifier
+     */
+    public ApprovableTable {
+        requireIdentifier(tableName, "tableName");
+        requireIdentifier(idColumn, "idColumn");
+        requireIdentifier(statusColumn, "statusColumn");
+        requireIdentifier(submittedAtColumn, "submittedAtColumn");
+    }
+
+    /**
+     * Creates a mapping with the default column names {@code id}, {@code approval_status} and {@code submitted_at}.
+     *
+     * @param tableName the table name
+     * @return a new ApprovableTable
+     */
+    public static ApprovableTable of(String tableName) {
+        return new ApprovableTable(tableName, "id", "approval_status", "submitted_at");
+    }
+
+    private static void requireIdentifier(String value, String name) {
+        if (value == null || !IDENTIFIER.matcher(value).matches()) {
+            throw new IllegalArgumentException(name + " must be a plain SQL identifier: " + Objects.toString(value));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener keeping {@link ApprovalStatusCounts} current. It reads the {@code approvalStatus} property from the entity state Hibernate wrote, after the transaction has committed, so rolled
+ * back changes are never counted and every change is counted once, however many transitions happened in between flushes.
+ *
+ * <p>Only entity types registered with {@link #track(Class, ApprovalStatusCounts)} are handled; for all others Hibernate skips the listener entirely. Entities extending
+ * {@link AbstractApprovableEntity} map the property; other {@link Approvable} implementations must map it under the same name.</p>
+ */
+public class ApprovalCountListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    /**
+     * Name of the status property, following the {@link Approvable#getApprovalStatus()} accessor.
+     */
+    static final String STATUS_PROPERTY = "approvalStatus";
+
+    private final Map<Class<?>, ApprovalStatusCounts> tracked = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> statusIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Keeps the counts of an entity type current.
+     *
+     * @param entityType the mapped entity type
+     * @param counts     the counts of its table
+     */
+    public void track(Class<? extends Approvable> entityType, ApprovalStatusCounts counts) {
+        tracked.put(entityType, counts);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        final ApprovalStatusCounts counts = countsFor(event.getPersister());
+        if (counts != null) {
+            counts.move(null, status(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        final ApprovalStatusCounts counts = countsFor(event.getPersister());
+        if (counts == null) {
+            return;
+        }
+        if (event.getOldState() == null) {
+            counts.invalidate();
+        } else {
+            counts.move(status(event.getPersister(), event.getOldState()), status(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        final ApprovalStatusCounts counts = countsFor(event.getPersister());
+        if (counts == null) {
+            return;
+        }
+        if (event.getDeletedState() == null) {
+            counts.invalidate();
+        } else {
+            counts.move(status(event.getPersister(), event.getDeletedState()), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return countsFor(persister) != null;
+    }
+
+    private ApprovalStatusCounts countsFor(EntityPersister persister) {
+        for (Class<?> type = persister.getMappedClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            final ApprovalStatusCounts counts = tracked.get(type);
+            if (counts != null) {
+                return counts;
+            }
+        }
+        return null;
+    }
+
+    private ApprovalStatus status(EntityPersister persister, Object[] state) {
+        final int index = statusIndexes.computeIfAbsent(persister.getEntityName(), name -> indexOf(persister));
+        return (ApprovalStatus) state[index];
+    }
+
+    private static int indexOf(EntityPersister persister) {
+        final String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (STATUS_PROPERTY.equals(names[i])) {
+                return i;
+            }
+        }
+        throw new IllegalStateException(persister.getEntityName() + " has no mapped " + STATUS_PROPERTY + " property; extend AbstractApprovableEntity or map it on the entity");
+    }
+}
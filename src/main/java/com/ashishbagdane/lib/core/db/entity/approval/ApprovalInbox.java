@@ -0,0 +1,104 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * JDBC implementation of {@link ApprovalInboxQueries} for one table. Pages are read with keyset pagination on {@code (submitted_at, id)}, so every page costs the same regardless of its depth:
+ * <pre>
+ * SELECT id, approval_status, submitted_at FROM orders
+ *  WHERE approval_status IN (:statuses) AND (submitted_at, id) &gt; (:submittedAt, :id)
+ *  ORDER BY submitted_at, id
+ *  FETCH FIRST :limit ROWS ONLY
+ * </pre>
+ *
+ * <p>The query is served by the partial index created with {@code db/changelog/ash-core/approval-inbox-index-template.xml}, which only holds rows in a non-final status and therefore stays small
+ * however many entities have been decided. Counts come from an {@link ApprovalStatusCounts} cache instead of {@code COUNT(*)}.</p>
+ *
+ * @see ApprovalInboxFactory
+ */
+public class ApprovalInbox implements ApprovalInboxQueries {
+
+    /**
+     * The non-final statuses, i.e. entities still awaiting a decision.
+     */
+    static final Set<ApprovalStatus> OPEN_STATUSES = Collections.unmodifiableSet(EnumSet.copyOf(
+        Arrays.stream(ApprovalStatus.values()).filter(status -> !status.isFinalState()).toList()));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ApprovalStatusCounts counts;
+
+    private final String firstPageSql;
+
+    private final String nextPageSql;
+
+    private final RowMapper<InboxEntry> entryMapper;
+
+    /**
+     * Creates a new inbox.
+     *
+     * @param jdbcTemplate the template used for the queries
+     * @param table        the table mapping of the approvable entity
+     * @param counts       the status count cache of the same table
+     */
+    public ApprovalInbox(NamedParameterJdbcTemplate jdbcTemplate, ApprovableTable table, ApprovalStatusCounts counts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.counts = counts;
+        final String select = "SELECT " + table.idColumn() + ", " + table.statusColumn() + ", " + table.submittedAtColumn()
+            + " FROM " + table.tableName()
+            + " WHERE " + table.statusColumn() + " IN (:statuses)";
+        final String order = " ORDER BY " + table.submittedAtColumn() + ", " + table.idColumn() + " FETCH FIRST :limit ROWS ONLY";
+        this.firstPageSql = select + order;
+        this.nextPageSql = select + " AND (" + table.submittedAtColumn() + ", " + table.idColumn() + ") > (:submittedAt, :id)" + order;
+        this.entryMapper = (rs, rowNum) -> new InboxEntry(
+            rs.getObject(1),
+            ApprovalStatus.valueOf(rs.getString(2)),
+            rs.getObject(3, LocalDateTime.class));
+    }
+
+    @Override
+    public InboxPage findInbox(Set<ApprovalStatus> statuses, InboxCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (statuses.isEmpty()) {
+            return new InboxPage(List.of(), null);
+        }
+        final MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("statuses", statuses.stream().map(Enum::name).toList())
+            .addValue("limit", limit + 1);
+        if (after != null) {
+            params.addValue("submittedAt", after.submittedAt()).addValue("id", after.id());
+        }
+
+        final List<InboxEntry> rows = jdbcTemplate.query(after == null ? firstPageSql : nextPageSql, params, entryMapper);
+        if (rows.size() <= limit) {
+            return new InboxPage(rows, null);
+        }
+        final List<InboxEntry> entries = rows.subList(0, limit);
+        return new InboxPage(List.copyOf(entries), entries.get(limit - 1).cursor());
+    }
+
+    @Override
+    public Map<ApprovalStatus, Long> countByApprovalStatus() {
+        return counts.counts();
+    }
+
+    /**
+     * Gets the count cache backing this inbox, e.g. to {@link ApprovalStatusCounts#invalidate() invalidate} it after a bulk update.
+     *
+     * @return the count cache
+     */
+    public ApprovalStatusCounts getCounts() {
+        return counts;
+    }
+}
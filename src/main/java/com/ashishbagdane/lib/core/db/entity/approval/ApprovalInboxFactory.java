@@ -0,0 +1,44 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.time.Duration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Creates {@link ApprovalInbox} instances whose count caches are kept current by the shared {@link ApprovalCountListener}.
+ *
+ * @see ApprovalInboxQueries
+ */
+public class ApprovalInboxFactory {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ApprovalCountListener countListener;
+
+    private final Duration countTimeToLive;
+
+    /**
+     * Creates a new factory.
+     *
+     * @param jdbcTemplate    the template used by the inboxes
+     * @param countListener   the listener that applies committed status changes to the counts
+     * @param countTimeToLive maximum age of cached counts
+     */
+    public ApprovalInboxFactory(NamedParameterJdbcTemplate jdbcTemplate, ApprovalCountListener countListener, Duration countTimeToLive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countListener = countListener;
+        this.countTimeToLive = countTimeToLive;
+    }
+
+    /**
+     * Creates the inbox of an entity type.
+     *
+     * @param entityType the mapped entity type
+     * @param table      the table mapping of the entity
+     * @return a new ApprovalInbox
+     */
+    public ApprovalInbox create(Class<? extends Approvable> entityType, ApprovableTable table) {
+        final ApprovalStatusCounts counts = new ApprovalStatusCounts(jdbcTemplate.getJdbcTemplate(), table, countTimeToLive);
+        countListener.track(entityType, counts);
+        return new ApprovalInbox(jdbcTemplate, table, counts);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository fragment for reviewer inboxes over an {@link Approvable} entity. Add it to a Spring Data repository and delegate the implementation to an {@link ApprovalInbox}:
+ * <pre>
+ * public interface OrderRepository extends JpaRepository&lt;Order, UUID&gt;, ApprovalInboxQueries {
+ * }
+ *
+ * class OrderRepositoryImpl implements ApprovalInboxQueries {
+ *
+ *     &#64;Delegate
+ *     private final ApprovalInbox inbox;
+ *
+ *     OrderRepositoryImpl(ApprovalInboxFactory factory) {
+ *         this.inbox = factory.create(Order.class, ApprovableTable.of("orders"));
+ *     }
+ * }
+ * </pre>
+ *
+ * @see ApprovalInbox
+ */
+public interface ApprovalInboxQueries {
+
+    /**
+     * Reads one page of entities in the given statuses, oldest submission first.
+     *
+     * @param statuses the statuses to list
+     * @param after    the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit    the maximum number of entries
+     * @return the page
+     */
+    InboxPage findInbox(Set<ApprovalStatus> statuses, InboxCursor after, int limit);
+
+    /**
+     * Reads one page of entities awaiting a decision, i.e. in any non-final status.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of entries
+     * @return the page
+     */
+    default InboxPage findInbox(InboxCursor after, int limit) {
+        return findInbox(ApprovalInbox.OPEN_STATUSES, after, limit);
+    }
+
+    /**
+     * Counts entities per approval status. Served from a cache; see {@link ApprovalStatusCounts} for its freshness.
+     *
+     * @return the count of every status, including zero counts
+     */
+    Map<ApprovalStatus, Long> countByApprovalStatus();
+
+    /**
+     * Counts the entities in one status.
+     *
+     * @param status the status
+     * @return the count
+     */
+    default long countByApprovalStatus(ApprovalStatus status) {
+        return countByApprovalStatus().get(status);
+    }
+
+    /**
+     * Gets the statuses that are not final.
+     *
+     * @return a new set of the non-final statuses
+     */
+    static Set<ApprovalStatus> openStatuses() {
+        return EnumSet.copyOf(ApprovalInbox.OPEN_STATUSES);
+    }
+}
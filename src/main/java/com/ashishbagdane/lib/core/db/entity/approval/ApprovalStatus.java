@@ -1,11 +1,9 @@
 package com.ashishbagdane.lib.core.db.entity.approval;
 
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionTable;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Objects;
-import java.util.Set;
-
 /**
  * Represents the possible approval states for an entity.
  */
@@ -22,19 +20,28 @@ public enum ApprovalStatus {
 
     private final boolean finalState;
 
+    private static final TransitionTable<ApprovalStatus> TRANSITIONS = TransitionTable.builder(ApprovalStatus.class)
+        .permit(PENDING_APPROVAL, IN_REVIEW, REJECTED)
+        .permit(IN_REVIEW, APPROVED, REJECTED)
+        .permit(APPROVED, REVOKED)
+        .build();
+
+    /**
+     * Checks if transition to target status is allowed.
+     *
+     * @param targetStatus the status to transition to
+     * @return true if transition is allowed
+     */
     public boolean canTransitionTo(ApprovalStatus targetStatus) {
-        if (this == targetStatus) {
-            return false;
-        }
-        if (this.finalState && targetStatus != REVOKED) {
-            return false;
-        }
+        return TRANSITIONS.canTransition(this, targetStatus);
+    }
 
-        return switch (this) {
-            case PENDING_APPROVAL -> Set.of(IN_REVIEW, REJECTED).contains(targetStatus);
-            case IN_REVIEW -> Set.of(APPROVED, REJECTED).contains(targetStatus);
-            case APPROVED -> Objects.equals(REVOKED, targetStatus);
-            case REJECTED, REVOKED -> false;
-        };
+    /**
+     * Gets the compiled transition rules of this enum.
+     *
+     * @return the transition table
+     */
+    public static TransitionTable<ApprovalStatus> transitions() {
+        return TRANSITIONS;
     }
 }
@@ -0,0 +1,121 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Cached per-status row counts of one {@link ApprovableTable}. The counts are loaded with a single {@code GROUP BY} query, then kept current by applying the status changes of committed
+ * transactions reported by {@link ApprovalCountListener}, so reading them does not touch the database.
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>The counts are reloaded once they are older than the time-to-live, which corrects drift from changes the listener cannot see, such as bulk JPQL or SQL updates</li>
+ *     <li>Call {@link #invalidate()} after such an update to reload on the next read</li>
+ *     <li>A transaction committing while the counts are reloaded may be missed until the next reload</li>
+ *     <li>The counts are held per JVM: only transitions committed by this instance are applied. With several instances writing the same table, the transitions of the others are seen after the
+ *     next reload, i.e. up to the time-to-live later, so choose the time-to-live by how stale a count may be shown</li>
+ * </ul>
+ */
+public class ApprovalStatusCounts {
+
+    private static final ApprovalStatus[] STATUSES = ApprovalStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String countSql;
+
+    private final long timeToLiveNanos;
+
+    private volatile Loaded loaded;
+
+    /**
+     * Creates a new, empty cache. The counts are loaded on first read.
+     *
+     * @param jdbcTemplate the template used for the count query
+     * @param table        the table mapping of the approvable entity
+     * @param timeToLive   maximum age of the counts before they are reloaded
+     */
+    public ApprovalStatusCounts(JdbcTemplate jdbcTemplate, ApprovableTable table, Duration timeToLive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countSql = "SELECT " + table.statusColumn() + ", COUNT(*) FROM " + table.tableName() + " GROUP BY " + table.statusColumn();
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * Gets the count of every status.
+     *
+     * @return an unmodifiable map holding every status, including zero counts
+     */
+    public Map<ApprovalStatus, Long> counts() {
+        final AtomicLongArray current = current();
+        final Map<ApprovalStatus, Long> counts = new EnumMap<>(ApprovalStatus.class);
+        for (ApprovalStatus status : STATUSES) {
+            counts.put(status, current.get(status.ordinal()));
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Gets the count of one status.
+     *
+     * @param status the status
+     * @return the count
+     */
+    public long count(ApprovalStatus status) {
+        return current().get(status.ordinal());
+    }
+
+    /**
+     * Records a committed status change. Ignored while the counts are not loaded.
+     *
+     * @param from the previous status, or {@code null} for a new row
+     * @param to   the new status, or {@code null} for a deleted row
+     */
+    public void move(ApprovalStatus from, ApprovalStatus to) {
+        final Loaded snapshot = loaded;
+        if (snapshot == null || from == to) {
+            return;
+        }
+        if (from != null) {
+            snapshot.counts.decrementAndGet(from.ordinal());
+        }
+        if (to != null) {
+            snapshot.counts.incrementAndGet(to.ordinal());
+        }
+    }
+
+    /**
+     * Discards the counts; the next read reloads them.
+     */
+    public void invalidate() {
+        loaded = null;
+    }
+
+    private AtomicLongArray current() {
+        final Loaded snapshot = loaded;
+        if (snapshot != null && System.nanoTime() - snapshot.loadedAt < timeToLiveNanos) {
+            return snapshot.counts;
+        }
+        return reload();
+    }
+
+    private synchronized AtomicLongArray reload() {
+        final Loaded snapshot = loaded;
+        if (snapshot != null && System.nanoTime() - snapshot.loadedAt < timeToLiveNanos) {
+            return snapshot.counts;
+        }
+        final AtomicLongArray counts = new AtomicLongArray(STATUSES.length);
+        jdbcTemplate.query(countSql, rs -> {
+            counts.set(ApprovalStatus.valueOf(rs.getString(1)).ordinal(), rs.getLong(2));
+        });
+        loaded = new Loaded(counts, System.nanoTime());
+        return counts;
+    }
+
+    private record Loaded(AtomicLongArray counts, long loadedAt) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Keyset position in an {@link ApprovalInbox}: the next page starts strictly after the entry with this submission time and id.
+ *
+ * @param submittedAt the submission time of the last entry read
+ * @param id          the id of the last entry read, breaking ties between equal submission times
+ */
+public record InboxCursor(LocalDateTime submittedAt, Object id) {
+
+    /**
+     * Validates that both parts are present.
+     *
+     * @throws NullPointerException if a part is null
+     */
+    public InboxCursor {
+        Objects.requireNonNull(submittedAt, "submittedAt cannot be null");
+        Objects.requireNonNull(id, "id cannot be null");
+    }
+}
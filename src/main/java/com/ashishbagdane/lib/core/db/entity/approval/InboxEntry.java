@@ -0,0 +1,22 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of an {@link ApprovalInbox} page. Load the entities with the repository's {@code findAllById} when more than the id is needed.
+ *
+ * @param id          the entity id
+ * @param status      the approval status
+ * @param submittedAt the time the entity entered the approval queue
+ */
+public record InboxEntry(Object id, ApprovalStatus status, LocalDateTime submittedAt) {
+
+    /**
+     * Gets the cursor continuing after this entry.
+     *
+     * @return the cursor pointing at this entry
+     */
+    public InboxCursor cursor() {
+        return new InboxCursor(submittedAt, id);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of an {@link ApprovalInbox}, ordered by submission time and id.
+ *
+ * @param entries the entries of this page
+ * @param next    the cursor for the following page, or {@code null} if this is the last page
+ */
+public record InboxPage(List<InboxEntry> entries, InboxCursor next) {
+
+    /**
+     * Gets the cursor for the following page.
+     *
+     * @return the cursor, or empty if this is the last page
+     */
+    public Optional<InboxCursor> nextCursor() {
+        return Optional.ofNullable(next);
+    }
+}
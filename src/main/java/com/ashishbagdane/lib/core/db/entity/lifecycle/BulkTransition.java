@@ -0,0 +1,25 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+import java.util.List;
+
+/**
+ * Aggregate notification of one set-based statement that moved rows to a new state without loading them, published by
+ * {@link com.ashishbagdane.lib.core.db.entity.status.BulkStatusTransitioner}.
+ *
+ * @param table     the table whose rows were updated
+ * @param from      the state every moved row was in
+ * @param to        the new state
+ * @param count     the number of rows moved
+ * @param predicate the {@code WHERE} clause of the statement, with {@code :ids} and {@code :from} as parameters
+ * @param ids       the ids bound to {@code :ids}; only {@code count} of them were in state {@code from} and moved
+ * @param actor     the user who performed the transition
+ */
+public record BulkTransition(String table, Enum<?> from, Enum<?> to, int count, String predicate, List<?> ids, String actor) {
+
+    /**
+     * Copies the ids, so observers never see a view of the caller's collection.
+     */
+    public BulkTransition {
+        ids = List.copyOf(ids);
+    }
+}
@@ -0,0 +1,205 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * A compiled state machine: a {@link TransitionTable} combined with optional guards, side-effect hooks and the exception raised for rejected transitions. Guards and hooks are composed per target state
+ * at build time and stored in arrays indexed by ordinal, so validating a transition does not allocate.
+ *
+ * <p>Example usage:
+ * <pre>
+ * private static final Lifecycle&lt;OrderState, Order&gt; LIFECYCLE = Lifecycle
+ *     .builder(TRANSITIONS, (from, to) -&gt; new IllegalStateException(from + " -&gt; " + to))
+ *     .guard(OrderState.SHIPPED, (order, from, to, actor) -&gt; order.hasAddress())
+ *     .onEnter(OrderState.PAID, (order, from, to, actor) -&gt; order.reserveStock())
+ *     .build();
+ *
+ * public void moveTo(OrderState target, String actor) {
+ *     OrderState previous = state;
+ *     LIFECYCLE.validate(this, previous, target, actor);
+ *     state = target;
+ *     LIFECYCLE.afterTransition(this, previous, target, actor);
+ * }
+ * </pre>
+ *
+ * @param <S> the state enum type
+ * @param <T> the subject type
+ * @see TransitionTable
+ */
+public final class Lifecycle<S extends Enum<S>, T> {
+
+    private final TransitionTable<S> table;
+
+    private final BiFunction<S, S, ? extends RuntimeException> rejection;
+
+    private final TransitionGuard<S, T>[] guards;
+
+    private final TransitionHook<S, T>[] hooks;
+
+    private Lifecycle(Builder<S, T> builder) {
+        this.table = builder.table;
+        this.rejection = builder.rejection;
+        this.guards = builder.guards.clone();
+        this.hooks = builder.hooks.clone();
+    }
+
+    /**
+     * Creates a builder for a lifecycle over the given transition table.
+     *
+     * @param table     the permitted transitions
+     * @param rejection factory for the exception thrown when a transition is rejected
+     * @param <S>       the state enum type
+     * @param <T>       the subject type
+     * @return a new builder
+     */
+    public static <S extends Enum<S>, T> Builder<S, T> builder(TransitionTable<S> table, BiFunction<S, S, ? extends RuntimeException> rejection) {
+        return new Builder<>(table, rejection);
+    }
+
+    /**
+     * Checks whether the subject may move from one state to another, evaluating the table and any guards.
+     *
+     * @param subject the object changing state
+     * @param from    the current state
+     * @param to      the target state
+     * @param actor   the user performing the transition
+     * @return true if the transition is permitted
+     */
+    public boolean canTransition(T subject, S from, S to, String actor) {
+        if (!table.canTransition(from, to)) {
+            return false;
+        }
+        final TransitionGuard<S, T> guard = guards[to.ordinal()];
+        return guard == null || guard.permits(subject, from, to, actor);
+    }
+
+    /**
+     * Validates a transition, throwing the configured exception if it is not permitted. Rejections are reported to the {@link TransitionObservers}.
+     *
+     * @param subject the object changing state
+     * @param from    the current state
+     * @param to      the target state
+     * @param actor   the user performing the transition
+     */
+    public void validate(T subject, S from, S to, String actor) {
+        if (!canTransition(subject, from, to, actor)) {
+            TransitionObservers.rejected(subject, from, to, actor);
+            throw rejection.apply(from, to);
+        }
+    }
+
+    /**
+     * Runs the hooks registered for the new state, then notifies the {@link TransitionObservers}. Call this after the subject's state has been updated.
+     *
+     * @param subject the object that changed state
+     * @param from    the previous state
+     * @param to      the new state
+     * @param actor   the user who performed the transition
+     */
+    public void afterTransition(T subject, S from, S to, String actor) {
+        final TransitionHook<S, T> hook = hooks[to.ordinal()];
+        if (hook != null) {
+            hook.afterTransition(subject, from, to, actor);
+        }
+        TransitionObservers.accepted(subject, from, to, actor);
+    }
+
+    /**
+     * Gets the transition table backing this lifecycle.
+     *
+     * @return the transition table
+     */
+    public TransitionTable<S> getTable() {
+        return table;
+    }
+
+    /**
+     * Builder for {@link Lifecycle}.
+     *
+     * @param <S> the state enum type
+     * @param <T> the subject type
+     */
+    public static final class Builder<S extends Enum<S>, T> {
+
+        private final TransitionTable<S> table;
+
+        private final BiFunction<S, S, ? extends RuntimeException> rejection;
+
+        private final S[] states;
+
+        private final TransitionGuard<S, T>[] guards;
+
+        private final TransitionHook<S, T>[] hooks;
+
+        @SuppressWarnings("unchecked")
+        private Builder(TransitionTable<S> table, BiFunction<S, S, ? extends RuntimeException> rejection) {
+            this.table = Objects.requireNonNull(table, "table cannot be null");
+            this.rejection = Objects.requireNonNull(rejection, "rejection cannot be null");
+            this.states = table.getStateType().getEnumConstants();
+            this.guards = new TransitionGuard[states.length];
+            this.hooks = new TransitionHook[states.length];
+        }
+
+        /**
+         * Adds a guard evaluated for every transition into the given state.
+         *
+         * @param to    the target state
+         * @param guard the guard
+         * @return this builder
+         */
+        public Builder<S, T> guard(S to, TransitionGuard<S, ? super T> guard) {
+            final int index = to.ordinal();
+            guards[index] = guards[index] == null ? guard::permits : guards[index].and(guard);
+            return this;
+        }
+
+        /**
+         * Adds a guard evaluated for every transition.
+         *
+         * @param guard the guard
+         * @return this builder
+         */
+        public Builder<S, T> guard(TransitionGuard<S, ? super T> guard) {
+            for (S state : states) {
+                guard(state, guard);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a hook run after every transition into the given state.
+         *
+         * @param to   the new state
+         * @param hook the hook
+         * @return this builder
+         */
+        public Builder<S, T> onEnter(S to, TransitionHook<S, ? super T> hook) {
+            final int index = to.ordinal();
+            hooks[index] = hooks[index] == null ? hook::afterTransition : hooks[index].andThen(hook);
+            return this;
+        }
+
+        /**
+         * Adds a hook run after every transition.
+         *
+         * @param hook the hook
+         * @return this builder
+         */
+        public Builder<S, T> onTransition(TransitionHook<S, ? super T> hook) {
+            for (S state : states) {
+                onEnter(state, hook);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the lifecycle.
+         *
+         * @return the compiled lifecycle
+         */
+        public Lifecycle<S, T> build() {
+            return new Lifecycle<>(this);
+        }
+    }
+}
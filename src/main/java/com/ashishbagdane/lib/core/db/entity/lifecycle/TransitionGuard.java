@@ -0,0 +1,32 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+/**
+ * Additional condition evaluated for a transition that the {@link TransitionTable} already permits.
+ *
+ * @param <S> the state enum type
+ * @param <T> the subject type
+ */
+@FunctionalInterface
+public interface TransitionGuard<S extends Enum<S>, T> {
+
+    /**
+     * Decides whether the subject may perform the transition.
+     *
+     * @param subject the object changing state
+     * @param from    the current state
+     * @param to      the target state
+     * @param actor   the user performing the transition
+     * @return true if the transition may proceed
+     */
+    boolean permits(T subject, S from, S to, String actor);
+
+    /**
+     * Combines this guard with another; both must permit the transition.
+     *
+     * @param other the other guard
+     * @return the combined guard
+     */
+    default TransitionGuard<S, T> and(TransitionGuard<S, ? super T> other) {
+        return (subject, from, to, actor) -> permits(subject, from, to, actor) && other.permits(subject, from, to, actor);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+/**
+ * Side effect executed after a transition has been applied to the subject.
+ *
+ * @param <S> the state enum type
+ * @param <T> the subject type
+ */
+@FunctionalInterface
+public interface TransitionHook<S extends Enum<S>, T> {
+
+    /**
+     * Called after the subject has moved to the new state.
+     *
+     * @param subject the object that changed state
+     * @param from    the previous state
+     * @param to      the new state
+     * @param actor   the user who performed the transition
+     */
+    void afterTransition(T subject, S from, S to, String actor);
+
+    /**
+     * Chains another hook to run after this one.
+     *
+     * @param next the hook to run next
+     * @return the chained hook
+     */
+    default TransitionHook<S, T> andThen(TransitionHook<S, ? super T> next) {
+        return (subject, from, to, actor) -> {
+            afterTransition(subject, from, to, actor);
+            next.afterTransition(subject, from, to, actor);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+/**
+ * Application-wide listener notified of every transition validated by any {@link Lifecycle}, regardless of the state type. Used for cross-cutting concerns such as metrics, history and outbox
+ * events; register instances with {@link TransitionObservers}.
+ *
+ * @see TransitionObservers
+ */
+public interface TransitionObserver {
+
+    /**
+     * Called after a transition has been applied and the lifecycle hooks have run.
+     *
+     * @param subject the object that changed state
+     * @param from    the previous state
+     * @param to      the new state
+     * @param actor   the user who performed the transition
+     */
+    void accepted(Object subject, Enum<?> from, Enum<?> to, String actor);
+
+    /**
+     * Called when a transition is rejected, just before the rejection exception is thrown.
+     *
+     * @param subject the object that attempted the transition
+     * @param from    the current state
+     * @param to      the requested state
+     * @param actor   the user who attempted the transition
+     */
+    default void rejected(Object subject, Enum<?> from, Enum<?> to, String actor) {
+        // Most observers only care about applied transitions
+    }
+
+    /**
+     * Whether this observer handles {@link #bulkAccepted(BulkTransition)}. Set-based transitions refuse to run while an observer that does not handle them is registered, unless the caller
+     * opts out, because such an observer, e.g. one recording per-row history, would silently miss the moved rows.
+     *
+     * @return true if bulk transitions are observed
+     */
+    default boolean handlesBulkTransitions() {
+        return false;
+    }
+
+    /**
+     * Called after a set-based statement moved rows to a new state without loading them. Only called on observers that {@link #handlesBulkTransitions() handle bulk transitions}.
+     *
+     * @param transition the aggregate of the statement
+     */
+    default void bulkAccepted(BulkTransition transition) {
+        // Only observers handling bulk transitions are notified
+    }
+}
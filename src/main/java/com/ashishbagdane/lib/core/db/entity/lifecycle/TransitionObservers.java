@@ -0,0 +1,82 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+import java.util.Arrays;
+
+/**
+ * Global registry of {@link TransitionObserver}s. Observers are held in a copy-on-write array, so notifying them is a volatile read and a loop, and costs nothing beyond that read when no observer
+ * is registered.
+ *
+ * <p>Observers run on the thread performing the transition and must not throw; an exception from an observer propagates to the caller of the transition.</p>
+ */
+public final class TransitionObservers {
+
+    private static final TransitionObserver[] NONE = new TransitionObserver[0];
+
+    private static volatile TransitionObserver[] observers = NONE;
+
+    private TransitionObservers() {
+        // Utility class
+    }
+
+    /**
+     * Registers an observer.
+     *
+     * @param observer the observer
+     */
+    public static synchronized void register(TransitionObserver observer) {
+        final TransitionObserver[] current = observers;
+        final TransitionObserver[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = observer;
+        observers = updated;
+    }
+
+    /**
+     * Removes a previously registered observer.
+     *
+     * @param observer the observer
+     */
+    public static synchronized void unregister(TransitionObserver observer) {
+        observers = Arrays.stream(observers)
+            .filter(registered -> registered != observer)
+            .toArray(TransitionObserver[]::new);
+    }
+
+    /**
+     * Checks whether every registered observer handles bulk transitions.
+     *
+     * @return true if no registered observer would miss a bulk transition
+     */
+    public static boolean handleBulkTransitions() {
+        for (TransitionObserver observer : observers) {
+            if (!observer.handlesBulkTransitions()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Notifies the observers that handle bulk transitions of a set-based statement.
+     *
+     * @param transition the aggregate of the statement
+     */
+    public static void bulkAccepted(BulkTransition transition) {
+        for (TransitionObserver observer : observers) {
+            if (observer.handlesBulkTransitions()) {
+                observer.bulkAccepted(transition);
+            }
+        }
+    }
+
+    static void accepted(Object subject, Enum<?> from, Enum<?> to, String actor) {
+        for (TransitionObserver observer : observers) {
+            observer.accepted(subject, from, to, actor);
+        }
+    }
+
+    static void rejected(Object subject, Enum<?> from, Enum<?> to, String actor) {
+        for (TransitionObserver observer : observers) {
+            observer.rejected(subject, from, to, actor);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable table of permitted transitions between the constants of a state enum. The table is compiled once into one bitmask per state, so
+ * {@link #canTransition(Enum, Enum)} is a shift and a mask with no allocation.
+ *
+ * <p>Example usage:
+ * <pre>
+ * private static final TransitionTable&lt;OrderState&gt; TRANSITIONS = TransitionTable.builder(OrderState.class)
+ *     .permit(OrderState.NEW, OrderState.PAID, OrderState.CANCELLED)
+ *     .permit(OrderState.PAID, OrderState.SHIPPED, OrderState.REFUNDED)
+ *     .build();
+ * </pre>
+ *
+ * <p>Self-transitions are never permitted. State enums may declare at most 64 constants.</p>
+ *
+ * @param <S> the state enum type
+ * @see Lifecycle
+ */
+public final class TransitionTable<S extends Enum<S>> {
+
+    private static final int MAX_STATES = Long.SIZE;
+
+    private final Class<S> stateType;
+
+    private final long[] successors;
+
+    private final long[] predecessors;
+
+    private TransitionTable(Class<S> stateType, long[] successors) {
+        this.stateType = stateType;
+        this.successors = successors;
+        this.predecessors = new long[successors.length];
+        for (int from = 0; from < successors.length; from++) {
+            for (int to = 0; to < successors.length; to++) {
+                if ((successors[from] & (1L << to)) != 0) {
+                    predecessors[to] |= 1L << from;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a builder for a transition table over the given state enum.
+     *
+     * @param stateType the state enum class
+     * @param <S>       the state enum type
+     * @return a new builder
+     * @throws IllegalArgumentException if the enum declares more than 64 constants
+     */
+    public static <S extends Enum<S>> Builder<S> builder(Class<S> stateType) {
+        return new Builder<>(stateType);
+    }
+
+    /**
+     * Checks whether a transition is permitted.
+     *
+     * @param from the current state
+     * @param to   the target state
+     * @return true if the transition is permitted
+     */
+    public boolean canTransition(S from, S to) {
+        return (successors[from.ordinal()] & (1L << to.ordinal())) != 0;
+    }
+
+    /**
+     * Returns the states reachable in one step from the given state.
+     *
+     * @param from the current state
+     * @return a new set of permitted target states
+     */
+    public Set<S> successorsOf(S from) {
+        return toSet(successors[from.ordinal()]);
+    }
+
+    /**
+     * Returns the states from which the given state can be reached in one step.
+     *
+     * @param to the target state
+     * @return a new set of legal predecessor states
+     */
+    public Set<S> predecessorsOf(S to) {
+        return toSet(predecessors[to.ordinal()]);
+    }
+
+    /**
+     * Checks whether a state has no outgoing transitions.
+     *
+     * @param state the state to check
+     * @return true if no transition leaves the state
+     */
+    public boolean isTerminal(S state) {
+        return successors[state.ordinal()] == 0;
+    }
+
+    /**
+     * Gets the state enum class of this table.
+     *
+     * @return the state enum class
+     */
+    public Class<S> getStateType() {
+        return stateType;
+    }
+
+    private Set<S> toSet(long mask) {
+        final EnumSet<S> result = EnumSet.noneOf(stateType);
+        for (S state : stateType.getEnumConstants()) {
+            if ((mask & (1L << state.ordinal())) != 0) {
+                result.add(state);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builder for {@link TransitionTable}.
+     *
+     * @param <S> the state enum type
+     */
+    public static final class Builder<S extends Enum<S>> {
+
+        private final Class<S> stateType;
+
+        private final long[] successors;
+
+        private Builder(Class<S> stateType) {
+            this.stateType = Objects.requireNonNull(stateType, "stateType cannot be null");
+            final int states = stateType.getEnumConstants().length;
+            if (states > MAX_STATES) {
+                throw new IllegalArgumentException(stateType.getName() + " declares more than " + MAX_STATES + " states");
+            }
+            this.successors = new long[states];
+        }
+
+        /**
+         * Permits transitions from one state to each of the given targets.
+         *
+         * @param from    the source state
+         * @param targets the permitted target states
+         * @return this builder
+         * @throws IllegalArgumentException if a target equals the source state
+         */
+        @SafeVarargs
+        public final Builder<S> permit(S from, S... targets) {
+            for (S to : targets) {
+                if (from == to) {
+                    throw new IllegalArgumentException("Self-transition is not allowed: " + from);
+                }
+                successors[from.ordinal()] |= 1L << to.ordinal();
+            }
+            return this;
+        }
+
+        /**
+         * Builds the immutable transition table.
+         *
+         * @return the compiled transition table
+         */
+        public TransitionTable<S> build() {
+            return new TransitionTable<>(stateType, Arrays.copyOf(successors, successors.length));
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.ashishbagdane.lib.core.db.entity.status;
 
+import com.ashishbagdane.lib.core.db.entity.lifecycle.Lifecycle;
+
 import java.time.LocalDateTime;
 
 /**
  * Base implementation of Trackable interface. Provides common status management functionality.
+ *
+ * <p>Transitions are validated by a {@link Lifecycle} built on {@link EntityStatus#transitions()}.
+ * Override {@link #lifecycle()} to add guards or hooks, starting from {@link #lifecycleBuilder()}.</p>
  */
 public abstract class AbstractTrackableEntity implements Trackable {
 
+    private static final Lifecycle<EntityStatus, Trackable> DEFAULT_LIFECYCLE = lifecycleBuilder().build();
+
     private EntityStatus status = EntityStatus.DRAFT;
 
     private LocalDateTime statusChangeDate;
@@ -15,17 +22,36 @@ public abstract class AbstractTrackableEntity implements Trackable {
 
     @Override
     public void updateStatus(EntityStatus newStatus, String changedBy) {
-        if (!status.canTransitionTo(newStatus)) {
-            throw new IllegalStatusTransitionException(
-                String.format("Cannot transition from %s to %s", status, newStatus)
-            );
-        }
+        final EntityStatus previousStatus = status;
+        final Lifecycle<EntityStatus, Trackable> lifecycle = lifecycle();
+        lifecycle.validate(this, previousStatus, newStatus, changedBy);
 
         this.status = newStatus;
         this.statusChangeDate = LocalDateTime.now();
         this.statusChangedBy = changedBy;
 
         onStatusChange(newStatus);
+        lifecycle.afterTransition(this, previousStatus, newStatus, changedBy);
+    }
+
+    /**
+     * Lifecycle used to validate status changes and run transition hooks. Override to return a lifecycle with additional guards or hooks; the returned instance should be a shared constant.
+     *
+     * @return the status lifecycle
+     */
+    protected Lifecycle<EntityStatus, Trackable> lifecycle() {
+        return DEFAULT_LIFECYCLE;
+    }
+
+    /**
+     * Creates a lifecycle builder preconfigured with the {@link EntityStatus} rules and {@link IllegalStatusTransitionException} as the rejection.
+     *
+     * @return a new lifecycle builder
+     */
+    protected static Lifecycle.Builder<EntityStatus, Trackable> lifecycleBuilder() {
+        return Lifecycle.builder(EntityStatus.transitions(), (from, to) -> new IllegalStatusTransitionException(
+            String.format("Cannot transition from %s to %s", from, to)
+        ));
     }
 
     /**
@@ -0,0 +1,122 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+import com.ashishbagdane.lib.core.db.entity.lifecycle.BulkTransition;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObservers;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Moves many {@link Trackable} rows to a new status with set-based {@code UPDATE} statements, without hydrating entities.
+ *
+ * <p>For each chunk of ids, one statement is issued per legal source state of the target according to {@link EntityStatus#transitions()}:
+ * <pre>
+ * UPDATE orders
+ *    SET status = :target, status_change_date = :changedAt, status_changed_by = :changedBy
+ *  WHERE id IN (:ids) AND status = :from
+ * </pre>
+ * Rows whose current status is not a legal predecessor are left untouched and reported as rejected, exactly as {@link AbstractTrackableEntity#updateStatus(EntityStatus, String)} would reject
+ * them.
+ *
+ * <h2>Observers:</h2>
+ * <p>Every statement that moves rows is published to the {@link TransitionObservers} as one {@link BulkTransition} carrying its source state, target, row count, predicate and candidate ids, so
+ * transition metrics and outbox events cover bulk moves. Observers that cannot handle an aggregate, such as {@link StatusHistoryRecorder}, which records each row, would miss the moved rows;
+ * while one is registered, {@link #transition(TrackableTable, Collection, EntityStatus, String)} throws unless the transitioner was created to allow unobserved transitions
+ * ({@code ash.core.status.bulk.allow-unobserved=true}).</p>
+ *
+ * <p>Notes:</p>
+ * <ul>
+ *     <li>Each statement stands alone; run the call inside a transaction to make the whole operation, and the outbox events it produces, atomic</li>
+ *     <li>The statements bypass the persistence context: {@code onStatusChange} hooks and {@link com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionHook}s do not run and loaded entities
+ *     are not refreshed</li>
+ * </ul>
+ */
+public class BulkStatusTransitioner {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final int chunkSize;
+
+    private final boolean allowUnobserved;
+
+    /**
+     * Creates a new transitioner that refuses to run while a registered observer cannot handle bulk transitions.
+     *
+     * @param jdbcTemplate the template used to issue updates
+     * @param chunkSize    maximum number of ids per statement
+     */
+    public BulkStatusTransitioner(NamedParameterJdbcTemplate jdbcTemplate, int chunkSize) {
+        this(jdbcTemplate, chunkSize, false);
+    }
+
+    /**
+     * Creates a new transitioner.
+     *
+     * @param jdbcTemplate    the template used to issue updates
+     * @param chunkSize       maximum number of ids per statement
+     * @param allowUnobserved whether to run even while a registered observer, e.g. a {@link StatusHistoryRecorder}, cannot handle bulk transitions and misses the moved rows
+     */
+    public BulkStatusTransitioner(NamedParameterJdbcTemplate jdbcTemplate, int chunkSize, boolean allowUnobserved) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.allowUnobserved = allowUnobserved;
+    }
+
+    /**
+     * Moves the rows with the given ids to the target status.
+     *
+     * @param table     the table mapping of the trackable entity
+     * @param ids       the ids of the rows to move
+     * @param target    the target status
+     * @param changedBy the user making the change
+     * @return counts of moved and rejected rows
+     * @throws IllegalStateException if a registered observer cannot handle bulk transitions and unobserved transitions are not allowed
+     */
+    public BulkTransitionResult transition(TrackableTable table, Collection<?> ids, EntityStatus target, String changedBy) {
+        final List<Object> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        final Set<EntityStatus> predecessors = EntityStatus.transitions().predecessorsOf(target);
+        if (distinctIds.isEmpty() || predecessors.isEmpty()) {
+            return new BulkTransitionResult(distinctIds.size(), 0, distinctIds.size());
+        }
+        if (!allowUnobserved && !TransitionObservers.handleBulkTransitions()) {
+            throw new IllegalStateException("A registered TransitionObserver, such as StatusHistoryRecorder, cannot observe bulk transitions of " + table.tableName()
+                + "; set ash.core.status.bulk.allow-unobserved=true to move the rows without it");
+        }
+
+        final String predicate = table.idColumn() + " IN (:ids) AND " + table.statusColumn() + " = :from";
+        final String sql = "UPDATE " + table.tableName()
+            + " SET " + table.statusColumn() + " = :target, "
+            + table.statusChangeDateColumn() + " = :changedAt, "
+            + table.statusChangedByColumn() + " = :changedBy"
+            + " WHERE " + predicate;
+        final LocalDateTime changedAt = LocalDateTime.now();
+
+        BulkTransitionResult result = new BulkTransitionResult(0, 0, 0);
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            final List<Object> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            int moved = 0;
+            for (EntityStatus predecessor : predecessors) {
+                final int count = jdbcTemplate.update(sql, new MapSqlParameterSource()
+                    .addValue("target", target.name())
+                    .addValue("changedAt", changedAt)
+                    .addValue("changedBy", changedBy)
+                    .addValue("ids", chunk)
+                    .addValue("from", predecessor.name()));
+                if (count > 0) {
+                    TransitionObservers.bulkAccepted(new BulkTransition(table.tableName(), predecessor, target, count, predicate, chunk, changedBy));
+                    moved += count;
+                }
+            }
+            result = result.plus(new BulkTransitionResult(chunk.size(), moved, chunk.size() - moved));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+/**
+ * Outcome of a bulk status transition.
+ *
+ * @param requested number of distinct ids submitted
+ * @param moved     number of rows moved to the target status
+ * @param rejected  number of ids not moved, because their current status is not a legal predecessor of the target or because no row exists
+ */
+public record BulkTransitionResult(int requested, int moved, int rejected) {
+
+    /**
+     * Combines two results.
+     *
+     * @param other the result to add
+     * @return the combined result
+     */
+    public BulkTransitionResult plus(BulkTransitionResult other) {
+        return new BulkTransitionResult(requested + other.requested, moved + other.moved, rejected + other.rejected);
+    }
+}
@@ -1,23 +1,28 @@
 package com.ashishbagdane.lib.core.db.entity.status;
 
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionTable;
+import com.ashishbagdane.lib.core.dtos.EnumMappable;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Set;
-
 /**
  * Represents the common status states for entities. Each status includes metadata about its properties and allowed
  * transitions.
+ *
+ * <p>The {@link EnumMappable} id is stable and used wherever a status is stored compactly, e.g. in the status history; new
+ * constants must take a new id rather than renumbering existing ones.</p>
  */
 @Getter
 @RequiredArgsConstructor
-public enum EntityStatus {
-    DRAFT(false, false, "Initial draft state"),
-    PENDING(false, false, "Awaiting action or review"),
-    ACTIVE(true, false, "Currently active and valid"),
-    SUSPENDED(false, false, "Temporarily inactive"),
-    ARCHIVED(false, true, "No longer active but preserved"),
-    DELETED(false, true, "Marked for deletion");
+public enum EntityStatus implements EnumMappable {
+    DRAFT(1, false, false, "Initial draft state"),
+    PENDING(2, false, false, "Awaiting action or review"),
+    ACTIVE(3, true, false, "Currently active and valid"),
+    SUSPENDED(4, false, false, "Temporarily inactive"),
+    ARCHIVED(5, false, true, "No longer active but preserved"),
+    DELETED(6, false, true, "Marked for deletion");
+
+    private final Integer id;
 
     private final boolean active;
 
@@ -25,6 +30,13 @@ public enum EntityStatus {
 
     private final String description;
 
+    private static final TransitionTable<EntityStatus> TRANSITIONS = TransitionTable.builder(EntityStatus.class)
+        .permit(DRAFT, PENDING, DELETED)
+        .permit(PENDING, ACTIVE, DRAFT, DELETED)
+        .permit(ACTIVE, SUSPENDED, ARCHIVED, DELETED)
+        .permit(SUSPENDED, ACTIVE, ARCHIVED, DELETED)
+        .build();
+
     /**
      * Checks if transition to target status is allowed.
      *
@@ -32,19 +44,15 @@ public enum EntityStatus {
      * @return true if transition is allowed
      */
     public boolean canTransitionTo(EntityStatus targetStatus) {
-        if (this == targetStatus) {
-            return false;
-        }
-        if (this.finalState) {
-            return false;
-        }
-
-        return switch (this) {
-            case DRAFT -> Set.of(PENDING, DELETED).contains(targetStatus);
-            case PENDING -> Set.of(ACTIVE, DRAFT, DELETED).contains(targetStatus);
-            case ACTIVE -> Set.of(SUSPENDED, ARCHIVED, DELETED).contains(targetStatus);
-            case SUSPENDED -> Set.of(ACTIVE, ARCHIVED, DELETED).contains(targetStatus);
-            case ARCHIVED, DELETED -> false;
-        };
+        return TRANSITIONS.canTransition(this, targetStatus);
+    }
+
+    /**
+     * Gets the compiled transition rules of this enum.
+     *
+     * @return the transition table
+     */
+    public static TransitionTable<EntityStatus> transitions() {
+        return TRANSITIONS;
     }
 }
@@ -0,0 +1,15 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a status history: a {@link Trackable} entity moving from one {@link EntityStatus} to another.
+ *
+ * @param entityId  the id of the entity
+ * @param from      the previous status
+ * @param to        the new status
+ * @param changedAt the time of the change, as recorded in the entity's status change date
+ * @param changedBy the user who made the change
+ */
+public record StatusChange(Object entityId, EntityStatus from, EntityStatus to, LocalDateTime changedAt, String changedBy) {
+}
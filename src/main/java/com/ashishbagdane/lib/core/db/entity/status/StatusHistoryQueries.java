@@ -0,0 +1,105 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+import com.ashishbagdane.lib.core.dtos.EnumRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Point-in-time queries over a status history table written by {@link StatusHistoryRecorder}. Both queries are answered from the indexes of the history table instead of replaying it:
+ * <ul>
+ *     <li>{@link #statusAt(Object, LocalDateTime)} reads the last change of the entity up to the given time from the {@code (entity_id, changed_at)} index</li>
+ *     <li>{@link #entityIdsInStatusAt(EntityStatus, LocalDateTime)} range-scans the {@code (to_status, changed_at)} index for changes into the status up to the given time and keeps those not
+ *     superseded by a later change of the same entity, probed through the {@code (entity_id, changed_at)} index</li>
+ * </ul>
+ *
+ * <p>An entity whose first recorded change lies after the given time has no known status at that time; neither query reports it.</p>
+ *
+ * @see StatusHistoryRecorder
+ */
+public class StatusHistoryQueries {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private static final RowMapper<StatusChange> CHANGE_MAPPER = (rs, rowNum) -> new StatusChange(
+        rs.getObject("entity_id"),
+        EnumRegistry.fromId(EntityStatus.class, rs.getInt("from_status")),
+        EnumRegistry.fromId(EntityStatus.class, rs.getInt("to_status")),
+        rs.getTimestamp("changed_at").toLocalDateTime(),
+        rs.getString("changed_by"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String statusAtSql;
+
+    private final String inStatusAtSql;
+
+    private final String historySql;
+
+    /**
+     * Creates queries over a history table.
+     *
+     * @param jdbcTemplate the template used for the queries
+     * @param historyTable the history table, optionally schema-qualified
+     */
+    public StatusHistoryQueries(JdbcTemplate jdbcTemplate, String historyTable) {
+        requireIdentifier(historyTable);
+        this.jdbcTemplate = jdbcTemplate;
+        this.statusAtSql = "SELECT to_status FROM " + historyTable
+            + " WHERE entity_id = ? AND changed_at <= ?"
+            + " ORDER BY changed_at DESC, id DESC FETCH FIRST 1 ROWS ONLY";
+        this.inStatusAtSql = "SELECT h.entity_id FROM " + historyTable + " h"
+            + " WHERE h.to_status = ? AND h.changed_at <= ?"
+            + " AND NOT EXISTS (SELECT 1 FROM " + historyTable + " later"
+            + " WHERE later.entity_id = h.entity_id AND later.changed_at <= ?"
+            + " AND (later.changed_at > h.changed_at OR (later.changed_at = h.changed_at AND later.id > h.id)))";
+        this.historySql = "SELECT entity_id, from_status, to_status, changed_at, changed_by FROM " + historyTable
+            + " WHERE entity_id = ? ORDER BY changed_at, id";
+    }
+
+    /**
+     * Gets the status an entity had at a point in time.
+     *
+     * @param entityId the entity id
+     * @param at       the point in time
+     * @return the status, or empty if no change of the entity was recorded up to that time
+     */
+    public Optional<EntityStatus> statusAt(Object entityId, LocalDateTime at) {
+        return jdbcTemplate.query(statusAtSql, (rs, rowNum) -> rs.getInt(1), entityId, Timestamp.valueOf(at)).stream()
+            .findFirst()
+            .map(id -> EnumRegistry.fromId(EntityStatus.class, id));
+    }
+
+    /**
+     * Gets the ids of all entities that were in a status at a point in time.
+     *
+     * @param status the status
+     * @param at     the point in time
+     * @return the entity ids, in no particular order
+     */
+    public List<Object> entityIdsInStatusAt(EntityStatus status, LocalDateTime at) {
+        final Timestamp timestamp = Timestamp.valueOf(at);
+        return jdbcTemplate.query(inStatusAtSql, (rs, rowNum) -> rs.getObject(1), status.getId().shortValue(), timestamp, timestamp);
+    }
+
+    /**
+     * Gets the full status history of an entity.
+     *
+     * @param entityId the entity id
+     * @return the changes, oldest first
+     */
+    public List<StatusChange> history(Object entityId) {
+        return jdbcTemplate.query(historySql, CHANGE_MAPPER, entityId);
+    }
+
+    static void requireIdentifier(String historyTable) {
+        if (historyTable == null || !IDENTIFIER.matcher(historyTable).matches()) {
+            throw new IllegalArgumentException("historyTable must be a plain SQL identifier: " + Objects.toString(historyTable));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+import com.ashishbagdane.lib.core.db.entity.EntityIdResolver;
+import com.ashishbagdane.lib.core.db.entity.Identifiable;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObserver;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObservers;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Appends every accepted status change of a tracked {@link Trackable} entity type to its history table. Changes are buffered per transaction and inserted in one JDBC batch per table just before
+ * commit, so a transaction changing many entities costs one round trip for its history instead of one per change, and rolled back changes are never recorded.
+ *
+ * <p>History rows are compact: the entity id, the {@link EntityStatus#getId() status ids} as small integers, the change time and the actor. The table layout and its indexes are defined by
+ * {@code db/changelog/ash-core/status-history-template.xml}; see {@link StatusHistoryQueries} for the point-in-time queries they serve.</p>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Tracked entity types must implement {@link Identifiable}; {@link #track(Class, String)} rejects other types</li>
+ *     <li>Ids are read just before commit, after flushing the persistence context, so entities changed before they were persisted are recorded with their final id; a change whose entity still
+ *     has no id is skipped with a warning instead of failing the transaction</li>
+ *     <li>Outside a transaction the change is inserted immediately if the entity has an id</li>
+ *     <li>The buffer follows transaction suspension, so a {@code REQUIRES_NEW} transaction keeps its own changes</li>
+ *     <li>Changes made with {@link BulkStatusTransitioner} bypass the entities and cannot be recorded row by row, so the transitioner refuses to run while a recorder is registered unless
+ *     it is configured to allow unobserved transitions</li>
+ * </ul>
+ *
+ * @see StatusHistoryQueries
+ */
+@Slf4j
+public class StatusHistoryRecorder implements TransitionObserver, AutoCloseable {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityIdResolver idResolver;
+
+    private final Map<Class<?>, String> insertStatements = new ConcurrentHashMap<>();
+
+    /**
+     * Creates and registers a new recorder.
+     *
+     * @param jdbcTemplate the template used for the inserts
+     */
+    public StatusHistoryRecorder(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, new EntityIdResolver(null));
+    }
+
+    /**
+     * Creates and registers a new recorder that flushes the persistence context before resolving ids at commit.
+     *
+     * @param jdbcTemplate the template used for the inserts
+     * @param idResolver   the resolver flushing pending inserts and reading entity ids
+     */
+    public StatusHistoryRecorder(JdbcTemplate jdbcTemplate, EntityIdResolver idResolver) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idResolver = idResolver;
+        TransitionObservers.register(this);
+    }
+
+    /**
+     * Records the status changes of an entity type, including its subclasses.
+     *
+     * @param entityType   the trackable entity type, which must implement {@link Identifiable}
+     * @param historyTable the history table, optionally schema-qualified
+     * @throws IllegalArgumentException if the entity type does not implement {@link Identifiable} or the table name is invalid
+     */
+    public void track(Class<? extends Trackable> entityType, String historyTable) {
+        if (!Identifiable.class.isAssignableFrom(entityType)) {
+            throw new IllegalArgumentException(entityType.getName() + " does not implement Identifiable, so its status history cannot be recorded");
+        }
+        StatusHistoryQueries.requireIdentifier(historyTable);
+        insertStatements.put(entityType, "INSERT INTO " + historyTable + " (entity_id, from_status, to_status, changed_at, changed_by) VALUES (?, ?, ?, ?, ?)");
+    }
+
+    @Override
+    public void accepted(Object subject, Enum<?> from, Enum<?> to, String actor) {
+        if (!(to instanceof EntityStatus target) || !(subject instanceof Identifiable<?> identifiable) || insertStatements.isEmpty()) {
+            return;
+        }
+        final String sql = insertFor(subject.getClass());
+        if (sql == null) {
+            return;
+        }
+        final LocalDateTime changedAt = subject instanceof Trackable trackable && trackable.getStatusChangeDate() != null
+            ? trackable.getStatusChangeDate() : LocalDateTime.now();
+        final PendingChange change = new PendingChange(identifiable, (EntityStatus) from, target, changedAt, actor);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(sql, resolve(List.of(change)));
+            return;
+        }
+        Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new Buffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.changes.computeIfAbsent(sql, key -> new ArrayList<>()).add(change);
+    }
+
+    @Override
+    public void close() {
+        TransitionObservers.unregister(this);
+    }
+
+    private String insertFor(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            final String sql = insertStatements.get(current);
+            if (sql != null) {
+                return sql;
+            }
+        }
+        return null;
+    }
+
+    private List<StatusChange> resolve(List<PendingChange> pending) {
+        final List<StatusChange> changes = new ArrayList<>(pending.size());
+        for (PendingChange change : pending) {
+            final Object id = change.subject().getId();
+            if (id == null) {
+                log.warn("Skipping status history of a {} without an id ({} -> {})", change.subject().getClass().getSimpleName(), change.from(), change.to());
+                continue;
+            }
+            changes.add(new StatusChange(id, change.from(), change.to(), change.changedAt(), change.changedBy()));
+        }
+        return changes;
+    }
+
+    private void insert(String sql, List<StatusChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, changes, changes.size(), (ps, change) -> {
+            ps.setObject(1, change.entityId());
+            ps.setShort(2, change.from().getId().shortValue());
+            ps.setShort(3, change.to().getId().shortValue());
+            ps.setTimestamp(4, Timestamp.valueOf(change.changedAt()));
+            ps.setString(5, change.changedBy());
+        });
+    }
+
+    /**
+     * A status change whose entity id is resolved when it is written.
+     */
+    private record PendingChange(Identifiable<?> subject, EntityStatus from, EntityStatus to, LocalDateTime changedAt, String changedBy) {
+    }
+
+    /**
+     * Status changes of one transaction, grouped by insert statement and flushed before commit.
+     */
+    private final class Buffer implements TransactionSynchronization {
+
+        private final Map<String, List<PendingChange>> changes = new LinkedHashMap<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(StatusHistoryRecorder.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(StatusHistoryRecorder.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (changes.isEmpty()) {
+                return;
+            }
+            if (!readOnly && changes.values().stream().flatMap(List::stream).anyMatch(change -> change.subject().getId() == null)) {
+                idResolver.flush();
+            }
+            changes.forEach((sql, pending) -> insert(sql, resolve(pending)));
+            changes.clear();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(StatusHistoryRecorder.this);
+        }
+    }
+}
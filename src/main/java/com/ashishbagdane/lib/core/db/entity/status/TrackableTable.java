@@ -0,0 +1,55 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Describes the table and columns holding the state of a {@link Trackable} entity, for operations that work on rows directly instead of loading entities.
+ *
+ * <p>The status column is expected to hold the {@link EntityStatus} name, i.e. the entity maps it with {@code @Enumerated(EnumType.STRING)}.</p>
+ *
+ * @param tableName              the table name, optionally schema-qualified
+ * @param idColumn               the primary key column
+ * @param statusColumn           the column holding the {@link EntityStatus} name
+ * @param statusChangeDateColumn the column holding the last status change timestamp
+ * @param statusChangedByColumn  the column holding the user who last changed the status
+ */
+public record TrackableTable(
+    String tableName,
+    String idColumn,
+    String statusColumn,
+    String statusChangeDateColumn,
+    String statusChangedByColumn
+) {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    /**
+     * Validates that all names are plain SQL identifiers, since they are inlined into generated statements.
+     *
+     * @throws IllegalArgumentException if a name is not a plain identifier
+     */
+    public TrackableTable {
+        requireIdentifier(tableName, "tableName");
+        requireIdentifier(idColumn, "idColumn");
+        requireIdentifier(statusColumn, "statusColumn");
+        requireIdentifier(statusChangeDateColumn, "statusChangeDateColumn");
+        requireIdentifier(statusChangedByColumn, "statusChangedByColumn");
+    }
+
+    /**
+     * Creates a mapping with the default column names {@code id}, {@code status}, {@code status_change_date} and {@code status_changed_by}.
+     *
+     * @param tableName the table name
+     * @return a new TrackableTable
+     */
+    public static TrackableTable of(String tableName) {
+        return new TrackableTable(tableName, "id", "status", "status_change_date", "status_changed_by");
+    }
+
+    private static void requireIdentifier(String value, String name) {
+        if (value == null || !IDENTIFIER.matcher(value).matches()) {
+            throw new IllegalArgumentException(name + " must be a plain SQL identifier: " + Objects.toString(value));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ashishbagdane.lib.core.db.id;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks a {@link java.util.UUID} identifier attribute as generated by {@link AuditIdGenerator}. The concrete strategy is chosen per entity through {@link IdStrategy}.
+ *
+ * @see AuditIdGenerator
+ * @see IdStrategy
+ */
+@Documented
+@IdGeneratorType(AuditIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface AuditId {
+
+}
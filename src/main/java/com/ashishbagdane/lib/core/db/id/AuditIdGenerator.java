@@ -0,0 +1,52 @@
+package com.ashishbagdane.lib.core.db.id;
+
+import java.util.EnumSet;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+/**
+ * Hibernate identifier generator used by {@link AuditId}. It resolves the {@link UuidStrategy} of the entity being inserted from its {@link IdStrategy} annotation and delegates to it.
+ *
+ * <p>The strategy lookup is cached per entity class in a {@link ClassValue}, so annotation
+ * reflection happens once per type rather than once per insert.</p>
+ *
+ * @see TimeOrderedUuidGenerator
+ */
+public class AuditIdGenerator implements BeforeExecutionGenerator {
+
+  private static final ClassValue<UuidStrategy> STRATEGIES = new ClassValue<>() {
+    @Override
+    protected UuidStrategy computeValue(Class<?> type) {
+      final IdStrategy idStrategy = type.getAnnotation(IdStrategy.class);
+      return idStrategy == null ? UuidStrategy.RANDOM : idStrategy.value();
+    }
+  };
+
+  /**
+   * Default constructor used by Hibernate when instantiating the generator for an {@link AuditId} attribute.
+   */
+  public AuditIdGenerator() {
+    // Instantiated by Hibernate
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+    return strategyFor(owner.getClass()).generate();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EnumSet.of(EventType.INSERT);
+  }
+
+  /**
+   * Resolves the UUID strategy configured for the given entity class.
+   *
+   * @param entityType the entity class
+   * @return the configured strategy, or {@link UuidStrategy#RANDOM} if none is declared
+   */
+  public static UuidStrategy strategyFor(Class<?> entityType) {
+    return STRATEGIES.get(entityType);
+  }
+}
@@ -0,0 +1,41 @@
+package com.ashishbagdane.lib.core.db.id;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the UUID generation strategy for an entity extending {@code BaseAuditEntity}. Entities without this annotation keep using {@link UuidStrategy#RANDOM}.
+ *
+ * <p>Example usage:
+ * <pre>
+ * {@code
+ * @Entity
+ * @Table(name = "payment_audit")
+ * @IdStrategy(UuidStrategy.TIME_ORDERED)
+ * public class PaymentAudit extends BaseAuditEntity {
+ *     // ...
+ * }
+ * }
+ * </pre>
+ *
+ * <p>The annotation is {@link Inherited}, so it can be placed on an intermediate abstract entity to apply to a whole family of tables.</p>
+ *
+ * @see AuditIdGenerator
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface IdStrategy {
+
+  /**
+   * The strategy used to generate identifiers for the annotated entity.
+   *
+   * @return the UUID strategy
+   */
+  UuidStrategy value();
+}
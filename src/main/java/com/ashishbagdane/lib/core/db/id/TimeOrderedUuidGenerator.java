@@ -0,0 +1,87 @@
+package com.ashishbagdane.lib.core.db.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator for time-ordered, version 7 UUIDs as described in RFC 9562. Identifiers produced by this class sort by creation time, which keeps B-tree primary key inserts appending to the right-most
+ * leaf page instead of scattering them across the whole index the way random version 4 UUIDs do.
+ *
+ * <h2>Layout:</h2>
+ * <ul>
+ *     <li>48 bits of Unix epoch milliseconds</li>
+ *     <li>4 bits of version ({@code 0111})</li>
+ *     <li>12 bits of sub-millisecond sequence counter (RFC 9562 method 1)</li>
+ *     <li>2 bits of variant ({@code 10})</li>
+ *     <li>62 random bits</li>
+ * </ul>
+ *
+ * <h2>Ordering Guarantees:</h2>
+ * <ul>
+ *     <li>Identifiers are strictly increasing within a JVM, across all threads</li>
+ *     <li>Up to 4096 identifiers per millisecond are issued with the real timestamp; beyond that the timestamp is advanced by one millisecond so that ordering is preserved</li>
+ *     <li>A clock moving backwards never produces an identifier lower than one already issued</li>
+ * </ul>
+ *
+ * <p>The timestamp and counter are kept in a single {@link AtomicLong} and advanced with a compare-and-set loop, so generation is lock-free. The random tail comes from
+ * {@link ThreadLocalRandom}; identifiers are unique and ordered but are not meant to be unguessable.</p>
+ *
+ * @see AuditIdGenerator
+ */
+public final class TimeOrderedUuidGenerator {
+
+  private static final int COUNTER_BITS = 12;
+
+  private static final long VERSION_7 = 0x7000L;
+
+  private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+
+  private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+  private static final AtomicLong LAST_TICK = new AtomicLong();
+
+  private TimeOrderedUuidGenerator() {
+    // Utility class
+  }
+
+  /**
+   * Generates the next time-ordered UUID.
+   *
+   * @return a new version 7 UUID, greater than every UUID previously returned by this JVM
+   */
+  public static UUID next() {
+    final long tick = nextTick(System.currentTimeMillis());
+    final long mostSigBits = ((tick >>> COUNTER_BITS) << 16) | VERSION_7 | (tick & 0xFFFL);
+    final long leastSigBits = VARIANT_RFC_9562 | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * Extracts the creation timestamp embedded in a version 7 UUID.
+   *
+   * @param uuid the UUID to inspect
+   * @return milliseconds since the Unix epoch
+   * @throws IllegalArgumentException if the UUID is not version 7
+   */
+  public static long timestampOf(UUID uuid) {
+    if (uuid.version() != 7) {
+      throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+    }
+    return uuid.getMostSignificantBits() >>> 16;
+  }
+
+  /**
+   * Advances the combined timestamp/counter value. The value is {@code millis << 12 | counter}, so it is monotonic as a plain long.
+   */
+  private static long nextTick(long nowMillis) {
+    final long candidate = nowMillis << COUNTER_BITS;
+    while (true) {
+      final long last = LAST_TICK.get();
+      final long next = candidate > last ? candidate : last + 1;
+      if (LAST_TICK.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.ashishbagdane.lib.core.db.id;
+
+import java.util.UUID;
+
+/**
+ * Strategies available for generating {@link UUID} primary keys of audited entities.
+ *
+ * @see IdStrategy
+ * @see AuditIdGenerator
+ */
+public enum UuidStrategy {
+  /**
+   * Random version 4 UUIDs. This is the historical behaviour of {@code BaseAuditEntity} and remains the default.
+   */
+  RANDOM {
+    @Override
+    public UUID generate() {
+      return UUID.randomUUID();
+    }
+  },
+  /**
+   * Time-ordered version 7 UUIDs produced by {@link TimeOrderedUuidGenerator}. Recommended for large, insert-heavy tables.
+   */
+  TIME_ORDERED {
+    @Override
+    public UUID generate() {
+      return TimeOrderedUuidGenerator.next();
+    }
+  };
+
+  /**
+   * Generates a new identifier using this strategy.
+   *
+   * @return a new UUID
+   */
+  public abstract UUID generate();
+}
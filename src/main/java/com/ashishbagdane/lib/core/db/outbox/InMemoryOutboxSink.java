@@ -0,0 +1,55 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link OutboxSink} collecting events in memory. Intended for tests.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+  private final List<OutboxEvent> events = new ArrayList<>();
+
+  @Override
+  public synchronized void publish(List<OutboxEvent> batch) {
+    events.addAll(batch);
+    notifyAll();
+  }
+
+  /**
+   * Gets the events received so far.
+   *
+   * @return a copy of the received events, in arrival order
+   */
+  public synchronized List<OutboxEvent> events() {
+    return List.copyOf(events);
+  }
+
+  /**
+   * Waits until at least the given number of events has been received.
+   *
+   * @param count   the expected event count
+   * @param timeout maximum time to wait
+   * @return true if the count was reached
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public synchronized boolean await(int count, Duration timeout) throws InterruptedException {
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    while (events.size() < count) {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      wait(Math.max(1, remaining / 1_000_000));
+    }
+    return true;
+  }
+
+  /**
+   * Discards all received events.
+   */
+  public synchronized void clear() {
+    events.clear();
+  }
+}
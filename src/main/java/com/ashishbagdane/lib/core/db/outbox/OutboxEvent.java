@@ -0,0 +1,25 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import java.time.Instant;
+
+/**
+ * A lifecycle event stored in the outbox table.
+ *
+ * @param sequence      outbox row id, increasing in insertion order; {@code 0} before the event is stored
+ * @param aggregateType simple name of the entity class that changed state
+ * @param aggregateId   identifier of the entity, or {@code null} if it does not implement {@link com.ashishbagdane.lib.core.db.entity.Identifiable}
+ * @param eventType     {@code <StateType>.<NEW_STATE>}, e.g. {@code ApprovalStatus.APPROVED}
+ * @param payload       JSON object with {@code from}, {@code to} and {@code actor}
+ * @param createdAt     when the transition happened
+ */
+public record OutboxEvent(long sequence, String aggregateType, String aggregateId, String eventType, String payload, Instant createdAt) {
+
+  /**
+   * Partition key used for sharding; events of one aggregate always share it.
+   *
+   * @return the aggregate id, or the aggregate type for events without an id
+   */
+  public String partitionKey() {
+    return aggregateId != null ? aggregateId : aggregateType;
+  }
+}
@@ -0,0 +1,206 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import com.ashishbagdane.lib.core.config.OutboxProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes outbox events to an {@link OutboxSink} in ordered batches, using several concurrent worker threads that may run on any number of application instances.
+ *
+ * <h2>Ordering:</h2>
+ * <p>Every event is assigned to one of {@code shards} shards by its {@link OutboxEvent#partitionKey() partition key}. A worker claims a shard by locking its row in {@code ash_outbox_shard} with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, then publishes and deletes the oldest events of that shard in the same transaction. At most one worker holds a shard at a time and workers never wait
+ * for each other, so events of one aggregate are published in insertion order while different shards are relayed in parallel.</p>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Delivery is at least once: if the sink throws, or the delete fails after publishing, the batch is published again</li>
+ *     <li>Events are deleted by id, never by range, so an event whose transaction commits late is not lost</li>
+ *     <li>Workers start from different shards and sleep for {@code poll-interval} only after a pass over all shards found nothing</li>
+ *     <li>{@code SKIP LOCKED} requires PostgreSQL 9.5+, MySQL 8+, Oracle or H2 2.2+</li>
+ * </ul>
+ *
+ * @see OutboxTransitionObserver
+ * @see OutboxProperties
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+  private static final String SHARD_TABLE = "ash_outbox_shard";
+
+  private static final String LOCK_SQL = "SELECT shard FROM " + SHARD_TABLE + " WHERE shard = ? FOR UPDATE SKIP LOCKED";
+
+  private static final String SELECT_SQL = "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at FROM " + OutboxWriter.TABLE
+      + " WHERE shard = ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+
+  private static final String DELETE_SQL = "DELETE FROM " + OutboxWriter.TABLE + " WHERE id = ?";
+
+  private static final RowMapper<OutboxEvent> EVENT_MAPPER = (rs, rowNum) -> new OutboxEvent(
+      rs.getLong("id"),
+      rs.getString("aggregate_type"),
+      rs.getString("aggregate_id"),
+      rs.getString("event_type"),
+      rs.getString("payload"),
+      rs.getTimestamp("created_at").toInstant());
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final OutboxSink sink;
+
+  private final OutboxProperties properties;
+
+  private final AtomicLong published = new AtomicLong();
+
+  private final AtomicLong failed = new AtomicLong();
+
+  private final List<Thread> workers = new ArrayList<>();
+
+  private volatile boolean running;
+
+  /**
+   * Creates a new relay.
+   *
+   * @param jdbcTemplate        template used to read and delete events
+   * @param transactionTemplate template wrapping each shard batch in a transaction
+   * @param sink                destination of the events, or {@code null} to leave the relay stopped
+   * @param properties          outbox configuration
+   */
+  public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, OutboxSink sink, OutboxProperties properties) {
+    if (properties.getRelay().getWorkers() <= 0 || properties.getRelay().getBatchSize() <= 0) {
+      throw new IllegalArgumentException("workers and batch-size must be positive");
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.sink = sink;
+    this.properties = properties;
+  }
+
+  /**
+   * Publishes the next batch of one shard, unless another worker holds it.
+   *
+   * @param shard the shard to relay
+   * @return the number of events published
+   */
+  public int relayShard(int shard) {
+    final Integer count = transactionTemplate.execute(status -> {
+      if (jdbcTemplate.queryForList(LOCK_SQL, Integer.class, shard).isEmpty()) {
+        return 0;
+      }
+      final List<OutboxEvent> events = jdbcTemplate.query(SELECT_SQL, EVENT_MAPPER, shard, properties.getRelay().getBatchSize());
+      if (events.isEmpty()) {
+        return 0;
+      }
+      try {
+        sink.publish(events);
+      } catch (Exception e) {
+        status.setRollbackOnly();
+        failed.addAndGet(events.size());
+        log.warn("Failed to publish {} outbox events of shard {}; will retry", events.size(), shard, e);
+        return 0;
+      }
+      jdbcTemplate.batchUpdate(DELETE_SQL, events, events.size(), (ps, event) -> ps.setLong(1, event.sequence()));
+      return events.size();
+    });
+    final int relayed = count == null ? 0 : count;
+    published.addAndGet(relayed);
+    return relayed;
+  }
+
+  /**
+   * Total number of events published since startup.
+   *
+   * @return the published event count
+   */
+  public long getPublishedCount() {
+    return published.get();
+  }
+
+  /**
+   * Total number of events whose publication failed. Failed events are retried, so they may also be counted as published later.
+   *
+   * @return the failed event count
+   */
+  public long getFailedCount() {
+    return failed.get();
+  }
+
+  @Override
+  public void start() {
+    if (sink == null) {
+      log.warn("No OutboxSink bean found; outbox events will accumulate until one is configured");
+      return;
+    }
+    ensureShards();
+    running = true;
+    final int count = properties.getRelay().getWorkers();
+    for (int i = 0; i < count; i++) {
+      final int firstShard = i * properties.getShards() / count;
+      final Thread thread = new Thread(() -> relayLoop(firstShard), "ash-outbox-relay-" + i);
+      thread.setDaemon(true);
+      workers.add(thread);
+      thread.start();
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    for (Thread thread : workers) {
+      LockSupport.unpark(thread);
+      try {
+        thread.join(properties.getRelay().getPollInterval().toMillis() * 2 + 5_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    workers.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void relayLoop(int firstShard) {
+    final int shards = properties.getShards();
+    final long pollNanos = properties.getRelay().getPollInterval().toNanos();
+    while (running) {
+      int relayed = 0;
+      for (int i = 0; i < shards && running; i++) {
+        try {
+          relayed += relayShard((firstShard + i) % shards);
+        } catch (DataAccessException e) {
+          log.warn("Outbox relay pass failed; will retry", e);
+        }
+      }
+      if (relayed == 0 && running) {
+        LockSupport.parkNanos(this, pollNanos);
+      }
+    }
+  }
+
+  private void ensureShards() {
+    final List<Integer> existing = jdbcTemplate.queryForList("SELECT shard FROM " + SHARD_TABLE, Integer.class);
+    for (int shard = 0; shard < properties.getShards(); shard++) {
+      if (!existing.contains(shard)) {
+        try {
+          jdbcTemplate.update("INSERT INTO " + SHARD_TABLE + " (shard) VALUES (?)", shard);
+        } catch (DuplicateKeyException e) {
+          log.debug("Outbox shard {} was created concurrently", shard);
+        }
+      }
+    }
+  }
+}
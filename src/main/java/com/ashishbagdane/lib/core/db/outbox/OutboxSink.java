@@ -0,0 +1,22 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events, e.g. a message broker. Called inside the relay transaction; if it throws, the batch stays in the outbox and is retried, so delivery is at least once and
+ * sinks should be idempotent on {@link OutboxEvent#sequence()}.
+ *
+ * @see OutboxRelay
+ * @see InMemoryOutboxSink
+ */
+@FunctionalInterface
+public interface OutboxSink {
+
+  /**
+   * Publishes a batch of events of one shard, in outbox order.
+   *
+   * @param events the events
+   * @throws Exception if the batch could not be published
+   */
+  void publish(List<OutboxEvent> events) throws Exception;
+}
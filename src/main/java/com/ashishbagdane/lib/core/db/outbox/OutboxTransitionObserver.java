@@ -0,0 +1,169 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import com.ashishbagdane.lib.core.db.entity.EntityIdResolver;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.BulkTransition;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObserver;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObservers;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records every accepted state transition of {@link com.ashishbagdane.lib.core.db.entity.status.Trackable} and {@link com.ashishbagdane.lib.core.db.entity.approval.Approvable} subjects as an
+ * {@link OutboxEvent}. Events are buffered per transaction and written in one batch just before commit, so they are part of the same transaction as the state change and are discarded on rollback.
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>The aggregate id is read just before commit, after flushing the persistence context, so a subject that changed state before it was persisted is recorded with its final
+ *     id; subjects that are not {@link com.ashishbagdane.lib.core.db.entity.Identifiable} are resolved through the persistence unit</li>
+ *     <li>Outside a transaction the event is written immediately</li>
+ *     <li>A bulk transition is recorded as one event per statement, carrying the row count, the predicate and the candidate ids</li>
+ *     <li>The buffer follows transaction suspension, so a {@code REQUIRES_NEW} transaction keeps its own events</li>
+ *     <li>The observer registers itself with {@link TransitionObservers} on construction; {@link #close()} removes it</li>
+ * </ul>
+ *
+ * @see OutboxWriter
+ * @see OutboxRelay
+ */
+public class OutboxTransitionObserver implements TransitionObserver, AutoCloseable {
+
+  private final OutboxWriter writer;
+
+  private final EntityIdResolver idResolver;
+
+  /**
+   * Creates and registers a new observer that reads aggregate ids of {@link com.ashishbagdane.lib.core.db.entity.Identifiable} subjects only.
+   *
+   * @param writer the writer used to store events
+   */
+  public OutboxTransitionObserver(OutboxWriter writer) {
+    this(writer, new EntityIdResolver(null));
+  }
+
+  /**
+   * Creates and registers a new observer that flushes the persistence context before resolving aggregate ids at commit.
+   *
+   * @param writer     the writer used to store events
+   * @param idResolver the resolver flushing pending inserts and reading aggregate ids
+   */
+  public OutboxTransitionObserver(OutboxWriter writer, EntityIdResolver idResolver) {
+    this.writer = writer;
+    this.idResolver = idResolver;
+    TransitionObservers.register(this);
+  }
+
+  @Override
+  public void accepted(Object subject, Enum<?> from, Enum<?> to, String actor) {
+    final PendingEvent event = new PendingEvent(subject, from, to, actor, Instant.now());
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      writer.write(List.of(toEvent(event)));
+      return;
+    }
+    Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+    if (buffer == null) {
+      buffer = new Buffer();
+      TransactionSynchronizationManager.bindResource(this, buffer);
+      TransactionSynchronizationManager.registerSynchronization(buffer);
+    }
+    buffer.events.add(event);
+  }
+
+  @Override
+  public boolean handlesBulkTransitions() {
+    return true;
+  }
+
+  /**
+   * Writes one event for the whole statement, with the table as aggregate type and no aggregate id. The event is written right away, in the transaction of the statement if there is one.
+   */
+  @Override
+  public void bulkAccepted(BulkTransition transition) {
+    final StringBuilder ids = new StringBuilder("[");
+    for (Object id : transition.ids()) {
+      ids.append(ids.length() > 1 ? "," : "").append(quote(String.valueOf(id)));
+    }
+    final String payload = "{\"from\":" + quote(transition.from().name()) + ",\"to\":" + quote(transition.to().name()) + ",\"actor\":"
+        + (transition.actor() == null ? "null" : quote(transition.actor())) + ",\"count\":" + transition.count() + ",\"predicate\":" + quote(transition.predicate())
+        + ",\"ids\":" + ids.append(']') + "}";
+    writer.write(List.of(new OutboxEvent(0, transition.table(), null, transition.to().getDeclaringClass().getSimpleName() + "." + transition.to().name(), payload,
+        Instant.now())));
+  }
+
+  @Override
+  public void close() {
+    TransitionObservers.unregister(this);
+  }
+
+  private OutboxEvent toEvent(PendingEvent event) {
+    final Object id = idResolver.idOf(event.subject());
+    final String payload = "{\"from\":" + quote(event.from().name()) + ",\"to\":" + quote(event.to().name()) + ",\"actor\":"
+        + (event.actor() == null ? "null" : quote(event.actor())) + "}";
+    return new OutboxEvent(0, event.subject().getClass().getSimpleName(), id == null ? null : id.toString(),
+        event.to().getDeclaringClass().getSimpleName() + "." + event.to().name(), payload, event.occurredAt());
+  }
+
+  private static String quote(String value) {
+    final StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    return json.append('"').toString();
+  }
+
+  /**
+   * A transition whose aggregate id is resolved when it is written.
+   */
+  private record PendingEvent(Object subject, Enum<?> from, Enum<?> to, String actor, Instant occurredAt) {
+  }
+
+  /**
+   * Events of one transaction, flushed before commit.
+   */
+  private final class Buffer implements TransactionSynchronization {
+
+    private final List<PendingEvent> events = new ArrayList<>();
+
+    @Override
+    public void suspend() {
+      TransactionSynchronizationManager.unbindResource(OutboxTransitionObserver.this);
+    }
+
+    @Override
+    public void resume() {
+      TransactionSynchronizationManager.bindResource(OutboxTransitionObserver.this, this);
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      if (events.isEmpty()) {
+        return;
+      }
+      if (!readOnly && events.stream().anyMatch(event -> idResolver.idOf(event.subject()) == null)) {
+        idResolver.flush();
+      }
+      writer.write(events.stream().map(OutboxTransitionObserver.this::toEvent).toList());
+      events.clear();
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(OutboxTransitionObserver.this);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts outbox events with JDBC batches. Uses the connection bound to the current transaction, so the events commit or roll back together with the business change.
+ *
+ * @see OutboxTransitionObserver
+ */
+public class OutboxWriter {
+
+  static final String TABLE = "ash_outbox";
+
+  private static final String INSERT_SQL = "INSERT INTO " + TABLE
+      + " (aggregate_type, aggregate_id, event_type, payload, shard, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final int shards;
+
+  /**
+   * Creates a new writer.
+   *
+   * @param jdbcTemplate template used for the inserts
+   * @param shards       number of relay shards; must match the relay configuration
+   */
+  public OutboxWriter(JdbcTemplate jdbcTemplate, int shards) {
+    if (shards <= 0) {
+      throw new IllegalArgumentException("shards must be positive");
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.shards = shards;
+  }
+
+  /**
+   * Inserts events.
+   *
+   * @param events the events to store
+   */
+  public void write(List<OutboxEvent> events) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+      ps.setString(1, event.aggregateType());
+      ps.setString(2, event.aggregateId());
+      ps.setString(3, event.eventType());
+      ps.setString(4, event.payload());
+      ps.setInt(5, shardOf(event));
+      ps.setTimestamp(6, Timestamp.from(event.createdAt()));
+    });
+  }
+
+  /**
+   * Computes the shard of an event from its partition key.
+   *
+   * @param event the event
+   * @return the shard, between 0 and {@code shards - 1}
+   */
+  public int shardOf(OutboxEvent event) {
+    return Math.floorMod(event.partitionKey().hashCode(), shards);
+  }
+}
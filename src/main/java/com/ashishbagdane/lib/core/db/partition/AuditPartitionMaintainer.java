@@ -0,0 +1,172 @@
+package com.ashishbagdane.lib.core.db.partition;
+
+import com.ashishbagdane.lib.core.config.AuditPartitionProperties;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Scheduled maintenance of partitioned audit tables. On every run, for each configured table it:
+ * <ol>
+ *     <li>unless {@code default-partition} is off, creates the default partition if it is missing and warns if it holds rows, which means inserts fell outside every range partition; they
+ *     stay queryable but should be moved into a range partition, because PostgreSQL refuses to create a range partition overlapping rows in the default one</li>
+ *     <li>pre-creates partitions for the current period and the next {@code premake} periods</li>
+ *     <li>completes concurrent detaches interrupted by an earlier run and, with {@code retention-action: DROP}, drops expired partitions that an earlier run detached but failed to drop</li>
+ *     <li>detaches, or detaches and drops, partitions whose whole range is older than the retention window; on PostgreSQL 14 and later, for a table without a default partition, the detach
+ *     runs {@code CONCURRENTLY} and does not block queries on the table</li>
+ * </ol>
+ *
+ * <p>Retention thereby becomes a catalog operation on whole partitions instead of a large {@code DELETE}. Each step runs on its own, so a failing step, e.g. a partition that cannot be
+ * created because of rows in the default partition, never holds back retention. All statements are idempotent, so several application instances may run the maintainer concurrently; a
+ * statement that loses a race is logged and retried on the next run.</p>
+ *
+ * @see AuditPartitionSql
+ * @see AuditPartitionProperties
+ */
+@Slf4j
+public class AuditPartitionMaintainer implements SmartLifecycle {
+
+  private static final int CONCURRENT_DETACH_VERSION = 14;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final AuditPartitionProperties properties;
+
+  private volatile Integer serverMajorVersion;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Creates a new maintainer.
+   *
+   * @param jdbcTemplate template used for DDL statements
+   * @param properties   partitioning configuration
+   */
+  public AuditPartitionMaintainer(JdbcTemplate jdbcTemplate, AuditPartitionProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.properties = properties;
+  }
+
+  /**
+   * Runs one maintenance pass over all configured tables.
+   */
+  public void maintain() {
+    final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    for (String table : properties.getTables()) {
+      if (properties.isDefaultPartition()) {
+        runStep("Default partition check", table, () -> checkDefaultPartition(table));
+      }
+      runStep("Partition creation", table, () -> createFuturePartitions(table, today));
+      runStep("Cleanup of detached partitions", table, () -> cleanUpDetachedPartitions(table, today));
+      runStep("Partition retention", table, () -> retireExpiredPartitions(table, today));
+    }
+  }
+
+  private void runStep(String step, String table, Runnable action) {
+    try {
+      action.run();
+    } catch (DataAccessException e) {
+      log.warn("{} of {} failed; will retry on next run", step, table, e);
+    }
+  }
+
+  private void createFuturePartitions(String table, LocalDate today) {
+    final PartitionInterval interval = properties.getInterval();
+    LocalDate start = interval.startOf(today);
+    for (int i = 0; i <= properties.getPremake(); i++) {
+      jdbcTemplate.execute(AuditPartitionSql.createPartition(table, start, interval));
+      start = interval.next(start);
+    }
+  }
+
+  private void checkDefaultPartition(String table) {
+    jdbcTemplate.execute(AuditPartitionSql.createDefaultPartition(table));
+    if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(AuditPartitionSql.defaultPartitionHasRows(table), Boolean.class))) {
+      log.warn("Default partition {} holds rows outside every range partition of {}", AuditPartitionSql.defaultPartitionName(table), table);
+    }
+  }
+
+  /**
+   * Completes interrupted concurrent detaches and, in {@code DROP} mode, drops expired partitions already detached from the table, which a failed drop would otherwise leave behind for good.
+   */
+  private void cleanUpDetachedPartitions(String table, LocalDate today) {
+    if (serverMajorVersion() >= CONCURRENT_DETACH_VERSION) {
+      for (String partition : jdbcTemplate.queryForList(AuditPartitionSql.listPendingDetaches(), String.class, table)) {
+        jdbcTemplate.execute(AuditPartitionSql.finalizeDetach(table, partition));
+        log.info("Completed interrupted detach of audit partition {}", partition);
+      }
+    }
+    if (properties.getRetentionAction() != AuditPartitionProperties.RetentionAction.DROP) {
+      return;
+    }
+    final List<String> detached = jdbcTemplate.queryForList(AuditPartitionSql.listDetachedPartitions(), String.class, table, AuditPartitionSql.detachedPartitionPattern(table));
+    for (String partition : detached) {
+      if (isExpired(table, partition, today)) {
+        jdbcTemplate.execute(AuditPartitionSql.dropPartition(partition));
+        log.info("Dropped detached audit partition {}", partition);
+      }
+    }
+  }
+
+  private void retireExpiredPartitions(String table, LocalDate today) {
+    final boolean concurrently = serverMajorVersion() >= CONCURRENT_DETACH_VERSION
+        && !Boolean.TRUE.equals(jdbcTemplate.queryForObject(AuditPartitionSql.hasDefaultPartition(), Boolean.class, table));
+    final List<String> partitions = jdbcTemplate.queryForList(AuditPartitionSql.listPartitions(), String.class, table);
+    for (String partition : partitions) {
+      if (!isExpired(table, partition, today)) {
+        continue;
+      }
+      jdbcTemplate.execute(concurrently ? AuditPartitionSql.detachPartitionConcurrently(table, partition) : AuditPartitionSql.detachPartition(table, partition));
+      if (properties.getRetentionAction() == AuditPartitionProperties.RetentionAction.DROP) {
+        jdbcTemplate.execute(AuditPartitionSql.dropPartition(partition));
+      }
+      log.info("Retired audit partition {} ({})", partition, properties.getRetentionAction());
+    }
+  }
+
+  private boolean isExpired(String table, String partition, LocalDate today) {
+    final Optional<LocalDate> start = AuditPartitionSql.partitionStart(table, partition);
+    return start.isPresent() && !properties.getInterval().next(start.get()).isAfter(today.minus(properties.getRetention()));
+  }
+
+  private int serverMajorVersion() {
+    Integer version = serverMajorVersion;
+    if (version == null) {
+      version = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> connection.getMetaData().getDatabaseMajorVersion());
+      serverMajorVersion = version;
+    }
+    return version == null ? 0 : version;
+  }
+
+  @Override
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "ash-audit-partitions");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::maintain, 0, properties.getCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+}
@@ -0,0 +1,201 @@
+package com.ashishbagdane.lib.core.db.partition;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * SQL generation for PostgreSQL declarative range partitions of an audit table on {@code operation_timestamp}. Shared by the Liquibase change {@link CreateAuditPartitionsChange} and the runtime
+ * {@link AuditPartitionMaintainer}, so both agree on partition names and bounds.
+ *
+ * <p>Partitions are named {@code <table>_p<yyyyMMdd>} after the first day they cover, e.g. {@code payment_audit_p20261001}. Each table also has a default partition, {@code <table>_default},
+ * that catches rows outside every range partition, e.g. from clock skew or a maintainer that stopped running, instead of failing their inserts.</p>
+ */
+public final class AuditPartitionSql {
+
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+  private AuditPartitionSql() {
+    // Utility class
+  }
+
+  /**
+   * Gets the name of the partition starting at the given date.
+   *
+   * @param table the parent table name
+   * @param start the first day covered by the partition
+   * @return the partition table name
+   */
+  public static String partitionName(String table, LocalDate start) {
+    return requireIdentifier(table) + "_p" + SUFFIX.format(start);
+  }
+
+  /**
+   * Extracts the start date from a partition name produced by {@link #partitionName(String, LocalDate)}.
+   *
+   * @param table     the parent table name
+   * @param partition the partition table name
+   * @return the start date, or empty if the name does not follow the convention
+   */
+  public static Optional<LocalDate> partitionStart(String table, String partition) {
+    final String prefix = table + "_p";
+    if (!partition.startsWith(prefix) || partition.length() != prefix.length() + 8) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(LocalDate.parse(partition.substring(prefix.length()), SUFFIX));
+    } catch (RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Creates the partition covering {@code [start, interval.next(start))}, if it does not exist yet.
+   *
+   * @param table    the parent table name
+   * @param start    the first day covered by the partition
+   * @param interval the partition width
+   * @return the CREATE TABLE statement
+   */
+  public static String createPartition(String table, LocalDate start, PartitionInterval interval) {
+    return "CREATE TABLE IF NOT EXISTS " + partitionName(table, start)
+        + " PARTITION OF " + table
+        + " FOR VALUES FROM ('" + start + " 00:00:00+00') TO ('" + interval.next(start) + " 00:00:00+00')";
+  }
+
+  /**
+   * Gets the name of the default partition of a table.
+   *
+   * @param table the parent table name
+   * @return the default partition table name
+   */
+  public static String defaultPartitionName(String table) {
+    return requireIdentifier(table) + "_default";
+  }
+
+  /**
+   * Creates the default partition of a table, if it does not exist yet.
+   *
+   * @param table the parent table name
+   * @return the CREATE TABLE statement
+   */
+  public static String createDefaultPartition(String table) {
+    return "CREATE TABLE IF NOT EXISTS " + defaultPartitionName(table) + " PARTITION OF " + table + " DEFAULT";
+  }
+
+  /**
+   * Checks whether the default partition of a table holds any rows.
+   *
+   * @param table the parent table name
+   * @return the query, returning a single boolean
+   */
+  public static String defaultPartitionHasRows(String table) {
+    return "SELECT EXISTS (SELECT 1 FROM " + defaultPartitionName(table) + ")";
+  }
+
+  /**
+   * Detaches a partition from its parent, turning it into a standalone table.
+   *
+   * @param table     the parent table name
+   * @param partition the partition table name
+   * @return the ALTER TABLE statement
+   */
+  public static String detachPartition(String table, String partition) {
+    return "ALTER TABLE " + requireIdentifier(table) + " DETACH PARTITION " + requireIdentifier(partition);
+  }
+
+  /**
+   * Detaches a partition without blocking queries on the parent table, in two transactions. Requires PostgreSQL 14 or later, must run outside a transaction block, and is refused for a parent
+   * table with a default partition. A detach interrupted between its transactions is completed by {@link #finalizeDetach(String, String)}.
+   *
+   * @param table     the parent table name
+   * @param partition the partition table name
+   * @return the ALTER TABLE statement
+   */
+  public static String detachPartitionConcurrently(String table, String partition) {
+    return detachPartition(table, partition) + " CONCURRENTLY";
+  }
+
+  /**
+   * Completes a concurrent detach that was interrupted.
+   *
+   * @param table     the parent table name
+   * @param partition the partition table name, listed by {@link #listPendingDetaches()}
+   * @return the ALTER TABLE statement
+   */
+  public static String finalizeDetach(String table, String partition) {
+    return detachPartition(table, partition) + " FINALIZE";
+  }
+
+  /**
+   * Drops a partition or a previously detached partition table.
+   *
+   * @param partition the partition table name
+   * @return the DROP TABLE statement
+   */
+  public static String dropPartition(String partition) {
+    return "DROP TABLE IF EXISTS " + requireIdentifier(partition);
+  }
+
+  /**
+   * Lists the partitions attached to a parent table. The query takes the parent table name as its single parameter and resolves it through the {@code search_path}, like the unqualified DDL
+   * statements above, so a table of the same name in another schema is never matched.
+   *
+   * @return the catalog query
+   */
+  public static String listPartitions() {
+    return "SELECT c.relname FROM pg_inherits i"
+        + " JOIN pg_class c ON c.oid = i.inhrelid"
+        + " WHERE i.inhparent = to_regclass(?)";
+  }
+
+  /**
+   * Lists the partitions of a parent table whose concurrent detach was interrupted, taking the parent table name as its single parameter. Requires PostgreSQL 14 or later.
+   *
+   * @return the catalog query
+   */
+  public static String listPendingDetaches() {
+    return listPartitions() + " AND i.inhdetachpending";
+  }
+
+  /**
+   * Checks whether a parent table has a default partition, taking the parent table name as its single parameter.
+   *
+   * @return the query, returning a single boolean
+   */
+  public static String hasDefaultPartition() {
+    return "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?) AND partdefid <> 0)";
+  }
+
+  /**
+   * Lists standalone tables in the schema of a parent table that may be detached partitions of it, e.g. left behind by a detach whose drop failed. The query takes the parent table name and
+   * {@link #detachedPartitionPattern(String)} as parameters; the pattern over-matches, so names must still be checked with {@link #partitionStart(String, String)}.
+   *
+   * @return the catalog query
+   */
+  public static String listDetachedPartitions() {
+    return "SELECT c.relname FROM pg_class c"
+        + " WHERE c.relnamespace = (SELECT p.relnamespace FROM pg_class p WHERE p.oid = to_regclass(?))"
+        + " AND c.relkind = 'r' AND NOT c.relispartition AND c.relname LIKE ?";
+  }
+
+  /**
+   * Gets the {@code LIKE} pattern for {@link #listDetachedPartitions()}.
+   *
+   * @param table the parent table name
+   * @return the pattern
+   */
+  public static String detachedPartitionPattern(String table) {
+    return requireIdentifier(table) + "_p%";
+  }
+
+  static String requireIdentifier(String name) {
+    if (name == null || !IDENTIFIER.matcher(name).matches()) {
+      throw new IllegalArgumentException("Not a plain lower-case SQL identifier: " + name);
+    }
+    return name;
+  }
+}
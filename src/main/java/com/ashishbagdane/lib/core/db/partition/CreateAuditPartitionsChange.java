@@ -0,0 +1,121 @@
+package com.ashishbagdane.lib.core.db.partition;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import liquibase.change.custom.CustomSqlChange;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Liquibase custom change that creates range partitions of a partitioned audit table, from a start date up to a number of future periods, and its default partition unless
+ * {@code defaultPartition} is {@code false}.
+ *
+ * <p>The parent table must already be declared as partitioned on {@code operation_timestamp}, with a primary key that includes the partition key. See
+ * {@code db/changelog/ash-core/audit-partitioning-template.xml} for a complete example:
+ * <pre>
+ * &lt;customChange class="com.ashishbagdane.lib.core.db.partition.CreateAuditPartitionsChange"&gt;
+ *   &lt;param name="tableName" value="payment_audit"/&gt;
+ *   &lt;param name="interval" value="MONTHLY"/&gt;
+ *   &lt;param name="startDate" value="2025-01-01"/&gt;
+ *   &lt;param name="premake" value="3"/&gt;
+ * &lt;/customChange&gt;
+ * </pre>
+ *
+ * <p>Later partitions are created at runtime by {@link AuditPartitionMaintainer}; the statements are idempotent, so both may run against the same table.</p>
+ */
+@Getter
+@Setter
+public class CreateAuditPartitionsChange implements CustomSqlChange {
+
+  /**
+   * The partitioned parent table.
+   */
+  private String tableName;
+
+  /**
+   * The partition width, {@code DAILY} or {@code MONTHLY}.
+   */
+  private String interval = PartitionInterval.MONTHLY.name();
+
+  /**
+   * First day to cover, ISO formatted. Defaults to the start of the current period.
+   */
+  private String startDate;
+
+  /**
+   * Number of periods to create after the current one.
+   */
+  private Integer premake = 3;
+
+  /**
+   * Whether to create the default partition; see {@code ash.core.audit.partitioning.default-partition}.
+   */
+  private Boolean defaultPartition = Boolean.TRUE;
+
+  @Override
+  public SqlStatement[] generateStatements(Database database) {
+    final PartitionInterval partitionInterval = PartitionInterval.valueOf(interval);
+    final LocalDate current = partitionInterval.startOf(LocalDate.now(ZoneOffset.UTC));
+    final LocalDate end = partitionInterval.next(addPeriods(partitionInterval, current, premake));
+
+    final List<SqlStatement> statements = new ArrayList<>();
+    LocalDate start = startDate == null ? current : partitionInterval.startOf(LocalDate.parse(startDate));
+    while (start.isBefore(end)) {
+      statements.add(new RawSqlStatement(AuditPartitionSql.createPartition(tableName, start, partitionInterval)));
+      start = partitionInterval.next(start);
+    }
+    if (!Boolean.FALSE.equals(defaultPartition)) {
+      statements.add(new RawSqlStatement(AuditPartitionSql.createDefaultPartition(tableName)));
+    }
+    return statements.toArray(new SqlStatement[0]);
+  }
+
+  @Override
+  public String getConfirmationMessage() {
+    return "Audit partitions created for " + tableName;
+  }
+
+  @Override
+  public void setUp() {
+    // No setup required
+  }
+
+  @Override
+  public void setFileOpener(ResourceAccessor resourceAccessor) {
+    // No resources required
+  }
+
+  @Override
+  public ValidationErrors validate(Database database) {
+    final ValidationErrors errors = new ValidationErrors();
+    if (!(database instanceof PostgresDatabase)) {
+      errors.addError("Audit partitioning requires PostgreSQL");
+    }
+    try {
+      AuditPartitionSql.requireIdentifier(tableName);
+      PartitionInterval.valueOf(interval);
+    } catch (IllegalArgumentException e) {
+      errors.addError(e.getMessage());
+    }
+    if (premake == null || premake < 0) {
+      errors.addError("premake must not be negative");
+    }
+    return errors;
+  }
+
+  private static LocalDate addPeriods(PartitionInterval interval, LocalDate start, int periods) {
+    LocalDate date = start;
+    for (int i = 0; i < periods; i++) {
+      date = interval.next(date);
+    }
+    return date;
+  }
+}
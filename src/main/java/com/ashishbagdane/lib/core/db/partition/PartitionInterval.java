@@ -0,0 +1,54 @@
+package com.ashishbagdane.lib.core.db.partition;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Width of the time ranges covered by a single audit table partition. Partition boundaries are aligned to UTC calendar days or months.
+ */
+public enum PartitionInterval {
+  /**
+   * One partition per UTC day.
+   */
+  DAILY {
+    @Override
+    public LocalDate startOf(LocalDate date) {
+      return date;
+    }
+
+    @Override
+    public LocalDate next(LocalDate start) {
+      return start.plusDays(1);
+    }
+  },
+  /**
+   * One partition per UTC calendar month.
+   */
+  MONTHLY {
+    @Override
+    public LocalDate startOf(LocalDate date) {
+      return date.with(TemporalAdjusters.firstDayOfMonth());
+    }
+
+    @Override
+    public LocalDate next(LocalDate start) {
+      return start.plusMonths(1);
+    }
+  };
+
+  /**
+   * Aligns a date to the start of the partition containing it.
+   *
+   * @param date any date
+   * @return the first day of the partition containing the date
+   */
+  public abstract LocalDate startOf(LocalDate date);
+
+  /**
+   * Gets the start of the partition following the one starting at the given date.
+   *
+   * @param start the start of a partition
+   * @return the start of the next partition
+   */
+  public abstract LocalDate next(LocalDate start);
+}
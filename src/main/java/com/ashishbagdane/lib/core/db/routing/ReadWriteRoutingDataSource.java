@@ -0,0 +1,143 @@
+package com.ashishbagdane.lib.core.db.routing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Data source sending connections for read-only transactions to a replica and everything else to the primary.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Routing follows {@code @Transactional(readOnly = true)} via {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}</li>
+ *     <li>Replicas are chosen by least outstanding connections, skipping replicas over the lag ceiling ({@link ReplicaPool})</li>
+ *     <li>Falls back to the primary when no replica is eligible or the chosen replica fails to hand out a connection</li>
+ * </ul>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Transaction managers fetch a connection before the read-only flag is bound to the thread, so this data source must be wrapped in a
+ *     {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; the proxy defers the physical connection to the first statement</li>
+ *     <li>{@link #unwrap(Class)} delegates to the primary so pool metadata (e.g. the maximum pool size) reflects the primary pool</li>
+ * </ul>
+ *
+ * @see ReplicaPool
+ * @see ReplicationLagProbe
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private final DataSource primary;
+
+  private final ReplicaPool replicas;
+
+  /**
+   * Creates a new routing data source.
+   *
+   * @param primary  the read-write primary
+   * @param replicas the read replicas
+   */
+  public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicas) {
+    this.primary = primary;
+    this.replicas = replicas;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return primary.getConnection();
+    }
+    final Replica replica = replicas.select();
+    if (replica == null) {
+      return primary.getConnection();
+    }
+    try {
+      final Connection connection = replica.getDataSource().getConnection();
+      replica.borrowed();
+      return track(connection, replica);
+    } catch (SQLException e) {
+      replica.markUnavailable();
+      log.warn("Replica {} failed to provide a connection; falling back to the primary", replica.getName(), e);
+      return primary.getConnection();
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || primary.isWrapperFor(iface);
+  }
+
+  /**
+   * Gets the primary data source.
+   *
+   * @return the primary
+   */
+  public DataSource getPrimary() {
+    return primary;
+  }
+
+  /**
+   * Gets the replica pool.
+   *
+   * @return the replicas
+   */
+  public ReplicaPool getReplicas() {
+    return replicas;
+  }
+
+  /**
+   * Closes the primary and replica data sources that are closeable, e.g. connection pools created by {@code DataSourceRoutingConfig}.
+   */
+  @Override
+  public void close() {
+    closeQuietly(primary);
+    replicas.getReplicas().forEach(replica -> closeQuietly(replica.getDataSource()));
+  }
+
+  private static void closeQuietly(DataSource dataSource) {
+    if (dataSource instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        log.warn("Failed to close data source {}", dataSource, e);
+      }
+    }
+  }
+
+  private static Connection track(Connection connection, Replica replica) {
+    final AtomicBoolean closed = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(ReadWriteRoutingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+      // Identity semantics: forwarded, the target would compare itself against the proxy and never match
+      if ("equals".equals(method.getName())) {
+        return proxy == args[0];
+      }
+      if ("hashCode".equals(method.getName())) {
+        return System.identityHashCode(proxy);
+      }
+      if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+        replica.returned();
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    });
+  }
+}
@@ -0,0 +1,72 @@
+package com.ashishbagdane.lib.core.db.routing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.Getter;
+
+/**
+ * A read replica together with its routing state: the number of connections currently borrowed through the router, the last measured replication lag and whether the last probe succeeded.
+ *
+ * @see ReplicaPool
+ */
+public final class Replica {
+
+  @Getter
+  private final String name;
+
+  @Getter
+  private final DataSource dataSource;
+
+  private final AtomicInteger outstanding = new AtomicInteger();
+
+  @Getter
+  private volatile long lagMillis;
+
+  @Getter
+  private volatile boolean available = true;
+
+  /**
+   * Creates a new replica.
+   *
+   * @param name       the replica name, used in logs and metrics
+   * @param dataSource the replica data source
+   */
+  public Replica(String name, DataSource dataSource) {
+    this.name = name;
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Number of connections currently borrowed from this replica through the router.
+   *
+   * @return the outstanding connection count
+   */
+  public int getOutstanding() {
+    return outstanding.get();
+  }
+
+  /**
+   * Records the outcome of a lag probe.
+   *
+   * @param lagMillis the measured replication lag
+   */
+  public void reportLag(long lagMillis) {
+    this.lagMillis = lagMillis;
+    this.available = true;
+  }
+
+  /**
+   * Marks the replica unavailable until the next successful probe.
+   */
+  public void markUnavailable() {
+    this.available = false;
+  }
+
+  void borrowed() {
+    outstanding.incrementAndGet();
+  }
+
+  void returned() {
+    outstanding.decrementAndGet();
+  }
+}
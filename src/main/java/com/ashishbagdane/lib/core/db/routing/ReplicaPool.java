@@ -0,0 +1,64 @@
+package com.ashishbagdane.lib.core.db.routing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the replica serving the next read-only connection using least-outstanding-requests: among replicas that are available and within the lag ceiling, the one with the fewest borrowed
+ * connections wins. The scan starts at a rotating offset so that ties are spread evenly instead of always favouring the first replica.
+ *
+ * @see ReadWriteRoutingDataSource
+ */
+public class ReplicaPool {
+
+  private final List<Replica> replicas;
+
+  private final long maxLagMillis;
+
+  private final AtomicInteger offset = new AtomicInteger();
+
+  /**
+   * Creates a new pool.
+   *
+   * @param replicas the replicas
+   * @param maxLag   replicas lagging further behind the primary are skipped
+   */
+  public ReplicaPool(List<Replica> replicas, Duration maxLag) {
+    this.replicas = List.copyOf(replicas);
+    this.maxLagMillis = maxLag.toMillis();
+  }
+
+  /**
+   * Selects the replica for the next read-only connection.
+   *
+   * @return the least loaded eligible replica, or {@code null} if none is eligible
+   */
+  public Replica select() {
+    final int size = replicas.size();
+    if (size == 0) {
+      return null;
+    }
+    final int start = Math.floorMod(offset.getAndIncrement(), size);
+    Replica best = null;
+    for (int i = 0; i < size; i++) {
+      final Replica candidate = replicas.get((start + i) % size);
+      if (!candidate.isAvailable() || candidate.getLagMillis() > maxLagMillis) {
+        continue;
+      }
+      if (best == null || candidate.getOutstanding() < best.getOutstanding()) {
+        best = candidate;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Gets all replicas.
+   *
+   * @return an unmodifiable list of replicas
+   */
+  public List<Replica> getReplicas() {
+    return replicas;
+  }
+}
@@ -0,0 +1,93 @@
+package com.ashishbagdane.lib.core.db.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Periodically measures the replication lag of every replica and marks replicas that cannot be reached as unavailable. The lag query must return a single number of milliseconds; without one,
+ * replicas are only checked for reachability and reported with zero lag.
+ *
+ * <p>Example lag query for PostgreSQL streaming replicas:
+ * <pre>
+ * SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+ * </pre>
+ *
+ * @see ReplicaPool
+ */
+@Slf4j
+public class ReplicationLagProbe implements SmartLifecycle {
+
+  private final ReplicaPool replicas;
+
+  private final String lagQuery;
+
+  private final Duration interval;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Creates a new probe.
+   *
+   * @param replicas the replicas to probe
+   * @param lagQuery query returning the lag in milliseconds, or {@code null} to check reachability only
+   * @param interval time between probes
+   */
+  public ReplicationLagProbe(ReplicaPool replicas, String lagQuery, Duration interval) {
+    this.replicas = replicas;
+    this.lagQuery = lagQuery;
+    this.interval = interval;
+  }
+
+  /**
+   * Probes every replica once.
+   */
+  public void probe() {
+    for (Replica replica : replicas.getReplicas()) {
+      try (Connection connection = replica.getDataSource().getConnection()) {
+        replica.reportLag(lagQuery == null ? 0 : measure(connection));
+      } catch (SQLException | RuntimeException e) {
+        if (replica.isAvailable()) {
+          log.warn("Replica {} is unavailable; read-only work falls back to other replicas or the primary", replica.getName(), e);
+        }
+        replica.markUnavailable();
+      }
+    }
+  }
+
+  private long measure(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(lagQuery)) {
+      return resultSet.next() ? Math.round(resultSet.getDouble(1)) : 0;
+    }
+  }
+
+  @Override
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "ash-replica-probe");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+}
@@ -0,0 +1,85 @@
+package com.ashishbagdane.lib.core.dtos;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Immutable, pre-built catalog of an {@link EnumMappable} enum: the {@link EnumDTO} list in declaration order and its JSON encoding. Catalogs are created once per enum type by {@link EnumRegistry}
+ * and shared, so lookup and dropdown endpoints can return them without mapping or serializing on each request.
+ *
+ * <p>Example usage in a REST controller:
+ * <pre>
+ * {@code
+ * @GetMapping(value = "/statuses", produces = MediaType.APPLICATION_JSON_VALUE)
+ * public void statuses(HttpServletResponse response) throws IOException {
+ *     EnumRegistry.catalog(Status.class).writeJson(response.getOutputStream());
+ * }
+ * }
+ * </pre>
+ *
+ * @see EnumRegistry#catalog(Class)
+ */
+public final class EnumCatalog {
+
+  private final List<EnumDTO> entries;
+
+  private final byte[] json;
+
+  EnumCatalog(List<EnumDTO> entries) {
+    this.entries = List.copyOf(entries);
+    this.json = encode(this.entries);
+  }
+
+  /**
+   * Gets the catalog entries in enum declaration order.
+   *
+   * @return an unmodifiable list of entries
+   */
+  public List<EnumDTO> entries() {
+    return entries;
+  }
+
+  /**
+   * Gets a read-only view of the catalog's JSON encoding, identical to what Jackson produces for {@link #entries()}.
+   *
+   * @return a read-only buffer positioned at the start of the JSON array
+   */
+  public ByteBuffer json() {
+    return ByteBuffer.wrap(json).asReadOnlyBuffer();
+  }
+
+  /**
+   * Writes the catalog's JSON encoding to the given stream.
+   *
+   * @param out the target stream
+   * @throws IOException if writing fails
+   */
+  public void writeJson(OutputStream out) throws IOException {
+    out.write(json);
+  }
+
+  /**
+   * Gets the length of the JSON encoding in bytes, for use as a {@code Content-Length}.
+   *
+   * @return the encoded length
+   */
+  public int jsonLength() {
+    return json.length;
+  }
+
+  private static byte[] encode(List<EnumDTO> entries) {
+    final StringBuilder builder = new StringBuilder(entries.size() * 32).append('[');
+    for (int i = 0; i < entries.size(); i++) {
+      final EnumDTO entry = entries.get(i);
+      if (i > 0) {
+        builder.append(',');
+      }
+      // Enum constant names are Java identifiers and never need JSON escaping
+      builder.append("{\"id\":").append(entry.id()).append(",\"value\":\"").append(entry.value()).append("\"}");
+    }
+    return builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -11,4 +11,18 @@ public interface EnumMappable {
    * @return the id associated with this enum value
    */
   Integer getId();
+
+  /**
+   * Resolves an enum constant from its id in constant time.
+   *
+   * @param type the enum class
+   * @param id   the id to resolve
+   * @param <E>  the enum type
+   * @return the matching enum constant
+   * @throws IllegalArgumentException if no constant has the given id
+   * @see EnumRegistry
+   */
+  static <E extends Enum<E> & EnumMappable> E fromId(Class<E> type, Integer id) {
+    return EnumRegistry.fromId(type, id);
+  }
 }
@@ -0,0 +1,147 @@
+package com.ashishbagdane.lib.core.dtos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of constant-time id lookups and cached catalogs for enums implementing {@link EnumMappable}. The index for an enum type is built on first use and cached in a {@link ClassValue}, so
+ * repeated lookups neither scan nor clone {@code values()}.
+ *
+ * <h2>Index Layout:</h2>
+ * <ul>
+ *     <li>Dense array offset by the smallest id when ids are reasonably contiguous (the common case)</li>
+ *     <li>Hash map fallback for sparse ids</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>
+ * Status status = EnumRegistry.fromId(Status.class, 2);
+ * Optional&lt;Status&gt; maybe = EnumRegistry.findById(Status.class, requestedId);
+ * List&lt;EnumDTO&gt; dropdown = EnumRegistry.catalog(Status.class).entries();
+ * </pre>
+ *
+ * @see EnumMappable
+ * @see EnumCatalog
+ */
+public final class EnumRegistry {
+
+  private static final ClassValue<EnumIndex> INDEXES = new ClassValue<>() {
+    @Override
+    protected EnumIndex computeValue(Class<?> type) {
+      return new EnumIndex(type);
+    }
+  };
+
+  private EnumRegistry() {
+    // Utility class
+  }
+
+  /**
+   * Resolves an enum constant from its id.
+   *
+   * @param type the enum class
+   * @param id   the id to resolve
+   * @param <E>  the enum type
+   * @return the matching enum constant
+   * @throws IllegalArgumentException if no constant has the given id
+   */
+  public static <E extends Enum<E> & EnumMappable> E fromId(Class<E> type, Integer id) {
+    final E value = lookup(type, id);
+    if (value == null) {
+      throw new IllegalArgumentException("Invalid " + type.getSimpleName() + " id: " + id);
+    }
+    return value;
+  }
+
+  /**
+   * Resolves an enum constant from its id, if present.
+   *
+   * @param type the enum class
+   * @param id   the id to resolve
+   * @param <E>  the enum type
+   * @return the matching enum constant, or empty if none matches
+   */
+  public static <E extends Enum<E> & EnumMappable> Optional<E> findById(Class<E> type, Integer id) {
+    return Optional.ofNullable(lookup(type, id));
+  }
+
+  /**
+   * Gets the cached catalog of an enum type.
+   *
+   * @param type the enum class
+   * @param <E>  the enum type
+   * @return the shared catalog
+   */
+  public static <E extends Enum<E> & EnumMappable> EnumCatalog catalog(Class<E> type) {
+    return INDEXES.get(type).catalog;
+  }
+
+  private static <E extends Enum<E> & EnumMappable> E lookup(Class<E> type, Integer id) {
+    return id == null ? null : type.cast(INDEXES.get(type).get(id));
+  }
+
+  /**
+   * Per-type index. Built once and never mutated afterwards.
+   */
+  private static final class EnumIndex {
+
+    private final int minId;
+
+    private final Object[] dense;
+
+    private final Map<Integer, Object> sparse;
+
+    private final EnumCatalog catalog;
+
+    EnumIndex(Class<?> type) {
+      final Object[] constants = type.getEnumConstants();
+      if (constants == null || !EnumMappable.class.isAssignableFrom(type)) {
+        throw new IllegalArgumentException(type.getName() + " is not an EnumMappable enum");
+      }
+
+      final Map<Integer, Object> byId = new HashMap<>();
+      final List<EnumDTO> entries = new ArrayList<>(constants.length);
+      int min = Integer.MAX_VALUE;
+      int max = Integer.MIN_VALUE;
+      for (Object constant : constants) {
+        final Integer id = ((EnumMappable) constant).getId();
+        if (id == null) {
+          throw new IllegalStateException(type.getName() + "." + constant + " has a null id");
+        }
+        if (byId.putIfAbsent(id, constant) != null) {
+          throw new IllegalStateException(type.getName() + " declares duplicate id " + id);
+        }
+        entries.add(new EnumDTO(id, ((Enum<?>) constant).name()));
+        min = Math.min(min, id);
+        max = Math.max(max, id);
+      }
+
+      this.catalog = new EnumCatalog(entries);
+      final long span = constants.length == 0 ? 0 : (long) max - min + 1;
+      if (span <= 4L * constants.length + 8) {
+        final Object[] slots = new Object[(int) span];
+        for (Map.Entry<Integer, Object> entry : byId.entrySet()) {
+          slots[entry.getKey() - min] = entry.getValue();
+        }
+        this.minId = min;
+        this.dense = slots;
+        this.sparse = null;
+      } else {
+        this.minId = 0;
+        this.dense = null;
+        this.sparse = Map.copyOf(byId);
+      }
+    }
+
+    Object get(int id) {
+      if (dense == null) {
+        return sparse.get(id);
+      }
+      final long slot = (long) id - minId;
+      return slot < 0 || slot >= dense.length ? null : dense[(int) slot];
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.ashishbagdane.lib.core.dtos.example;
 
 import com.ashishbagdane.lib.core.dtos.EnumDTO;
 import com.ashishbagdane.lib.core.dtos.EnumMappable;
+import com.ashishbagdane.lib.core.dtos.EnumRegistry;
 
 /**
  * Represents the various states an entity can be in within the system. This enum implements {@link EnumMappable} to allow for standardized conversion to {@link EnumDTO} format.
@@ -28,21 +29,16 @@ import com.ashishbagdane.lib.core.dtos.EnumMappable;
  * // Usage in REST Controller
  * &#64;GetMapping("/status/{id}")
  * public EnumDTO getStatus(@PathVariable Integer id) {
- *     Status status = Arrays.stream(Status.values())
- *             .filter(s -> s.getId().equals(id))
- *             .findFirst()
- *             .orElseThrow(() -> new IllegalArgumentException("Invalid status ID"));
- *     return EnumDTO.fromEnum(status);
+ *     return EnumDTO.fromEnum(Status.fromId(id));
  * }
  *
- * // Usage with Stream API
- * List&lt;{@link EnumDTO}&gt; allStatuses = Arrays.stream(Status.values())
- *         .map({@link EnumDTO}::fromEnum)
- *         .collect(Collectors.toList());
+ * // All values as a cached catalog
+ * List&lt;{@link EnumDTO}&gt; allStatuses = {@link EnumRegistry}.catalog(Status.class).entries();
  * </pre>
  *
  * @see EnumMappable
  * @see EnumDTO
+ * @see EnumRegistry
  * @since 1.0
  */
 public enum Status implements EnumMappable {
@@ -69,4 +65,15 @@ public enum Status implements EnumMappable {
   public Integer getId() {
     return id;
   }
+
+  /**
+   * Resolves a status from its numeric ID.
+   *
+   * @param id the status ID
+   * @return the matching status
+   * @throws IllegalArgumentException if no status has the given ID
+   */
+  public static Status fromId(Integer id) {
+    return EnumRegistry.fromId(Status.class, id);
+  }
 }
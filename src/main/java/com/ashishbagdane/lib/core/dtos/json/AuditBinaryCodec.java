@@ -0,0 +1,123 @@
+package com.ashishbagdane.lib.core.dtos.json;
+
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * CBOR encoding of {@link BaseAuditDTO} streams for bulk transfer. A stream is a single CBOR array of audit maps, written with {@link BaseAuditDTOSerializer}; ids travel as 16-byte strings
+ * instead of 36-char text. Any CBOR reader can decode it, and {@link #read(InputStream)} maps it back to DTOs.
+ *
+ * <p>Example usage:
+ * <pre>
+ * try (OutputStream out = response.getOutputStream()) {
+ *     codec.write(auditDtos, out);
+ * }
+ * </pre>
+ *
+ * <p>Requires {@code com.fasterxml.jackson.dataformat:jackson-dataformat-cbor} on the classpath.</p>
+ *
+ * @see AuditJsonModule
+ */
+public class AuditBinaryCodec {
+
+  /**
+   * Media type of the encoded streams.
+   */
+  public static final String MEDIA_TYPE = "application/cbor";
+
+  private final ObjectWriter writer;
+
+  private final ObjectReader reader;
+
+  /**
+   * Creates a codec writing ids as raw bytes.
+   */
+  public AuditBinaryCodec() {
+    this(true);
+  }
+
+  /**
+   * Creates a new codec.
+   *
+   * @param binaryIds whether ids are written as 16 raw bytes rather than strings
+   */
+  public AuditBinaryCodec(boolean binaryIds) {
+    final ObjectMapper mapper = CBORMapper.builder()
+        .addModule(new JavaTimeModule())
+        .addModule(new AuditJsonModule(binaryIds))
+        .build();
+    this.writer = mapper.writerFor(BaseAuditDTO.class);
+    this.reader = mapper.readerFor(BaseAuditDTO.class);
+  }
+
+  /**
+   * Writes the DTOs as one CBOR array. The stream is not closed.
+   *
+   * @param dtos the DTOs, consumed once
+   * @param out  the target stream
+   * @throws IOException if writing fails
+   */
+  public void write(Iterable<BaseAuditDTO> dtos, OutputStream out) throws IOException {
+    try (JsonGenerator generator = writer.createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.writeStartArray();
+      for (BaseAuditDTO dto : dtos) {
+        writer.writeValue(generator, dto);
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  /**
+   * Encodes the DTOs as one CBOR array.
+   *
+   * @param dtos the DTOs
+   * @return the encoded bytes
+   */
+  public byte[] encode(List<BaseAuditDTO> dtos) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(dtos.size() * 128);
+    try {
+      write(dtos, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Reads a CBOR array written by {@link #write(Iterable, OutputStream)}. Elements are decoded lazily; close the iterator when done.
+   *
+   * @param in the source stream
+   * @return an iterator over the decoded DTOs
+   * @throws IOException if the stream cannot be read
+   */
+  public MappingIterator<BaseAuditDTO> read(InputStream in) throws IOException {
+    return reader.readValues(in);
+  }
+
+  /**
+   * Decodes a CBOR array produced by {@link #encode(List)}.
+   *
+   * @param bytes the encoded bytes
+   * @return the decoded DTOs
+   */
+  public List<BaseAuditDTO> decode(byte[] bytes) {
+    try (MappingIterator<BaseAuditDTO> iterator = reader.readValues(bytes)) {
+      return iterator.readAll();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.ashishbagdane.lib.core.dtos.json;
+
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module registering {@link BaseAuditDTOSerializer}. Spring Boot adds every {@link com.fasterxml.jackson.databind.Module} bean to the application's {@code ObjectMapper}; other mappers
+ * register it explicitly.
+ *
+ * <p>Example usage:
+ * <pre>
+ * ObjectMapper mapper = JsonMapper.builder()
+ *     .addModule(new JavaTimeModule())
+ *     .addModule(new AuditJsonModule())
+ *     .build();
+ * </pre>
+ *
+ * @see BaseAuditDTOSerializer
+ */
+public class AuditJsonModule extends SimpleModule {
+
+  /**
+   * Creates a module whose serializer writes ids as raw bytes to binary generators.
+   */
+  public AuditJsonModule() {
+    this(true);
+  }
+
+  /**
+   * Creates a new module.
+   *
+   * @param binaryIds whether ids are written as 16 raw bytes when the generator supports native binary
+   */
+  public AuditJsonModule(boolean binaryIds) {
+    super(AuditJsonModule.class.getSimpleName());
+    addSerializer(BaseAuditDTO.class, new BaseAuditDTOSerializer(binaryIds));
+  }
+}
@@ -0,0 +1,229 @@
+package com.ashishbagdane.lib.core.dtos.json;
+
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Hand-written Jackson serializer for {@link BaseAuditDTO}. It produces the same JSON as the annotation-driven bean serializer, i.e. properties in declaration order, {@code null} properties omitted
+ * and {@code operationTimestamp} formatted as {@code yyyy-MM-dd'T'HH:mm:ss.SSSXXX}, without reflective property access.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>Property names and enum constants are pre-encoded {@link SerializedString}s, so they are quoted and UTF-8 encoded once per JVM</li>
+ *     <li>Timestamps are formatted into a char buffer instead of through {@link DateTimeFormatter}; only years outside 1-9999 and offsets with seconds take the formatter path</li>
+ *     <li>Generators that write binary natively (CBOR, Smile) receive the id as 16 raw bytes, which Jackson's {@code UUIDDeserializer} reads back</li>
+ * </ul>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Mapper-level naming strategies and mix-ins do not apply to this type</li>
+ *     <li>{@link SerializationFeature#WRITE_ENUMS_USING_INDEX} and {@link SerializationFeature#WRITE_ENUMS_USING_TO_STRING} are honoured by delegating enums to the provider</li>
+ *     <li>As with {@code @JsonFormat}, timestamps keep their own offset unless the mapper has an explicit time zone and
+ *     {@link SerializationFeature#WRITE_DATES_WITH_CONTEXT_TIME_ZONE} is enabled</li>
+ * </ul>
+ *
+ * @see AuditJsonModule
+ */
+public class BaseAuditDTOSerializer extends StdSerializer<BaseAuditDTO> {
+
+  /**
+   * Pattern of {@code operationTimestamp}, identical to the {@code @JsonFormat} pattern on {@link BaseAuditDTO}.
+   */
+  public static final String TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
+
+  private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern(TIMESTAMP_PATTERN);
+
+  private static final SerializedString ID = new SerializedString("id");
+
+  private static final SerializedString VERSION = new SerializedString("version");
+
+  private static final SerializedString ENDPOINT_PATH = new SerializedString("endpointPath");
+
+  private static final SerializedString USER_PRINCIPAL = new SerializedString("userPrincipal");
+
+  private static final SerializedString IP_ADDRESS = new SerializedString("ipAddress");
+
+  private static final SerializedString USER_AGENT = new SerializedString("userAgent");
+
+  private static final SerializedString SYSTEM_OPERATION = new SerializedString("systemOperation");
+
+  private static final SerializedString OPERATION_TYPE = new SerializedString("operationType");
+
+  private static final SerializedString HTTP_METHOD = new SerializedString("httpMethod");
+
+  private static final SerializedString OPERATION_TIMESTAMP = new SerializedString("operationTimestamp");
+
+  private static final int TIMESTAMP_LENGTH_UTC = 24;
+
+  private static final int TIMESTAMP_LENGTH_OFFSET = 29;
+
+  private final boolean binaryIds;
+
+  private final SerializedString[] operationTypes;
+
+  private final SerializedString[] httpMethods;
+
+  /**
+   * Creates a serializer that writes ids as raw bytes to binary generators.
+   */
+  public BaseAuditDTOSerializer() {
+    this(true);
+  }
+
+  /**
+   * Creates a new serializer.
+   *
+   * @param binaryIds whether ids are written as 16 raw bytes when the generator supports native binary; otherwise they are always strings
+   */
+  public BaseAuditDTOSerializer(boolean binaryIds) {
+    super(BaseAuditDTO.class);
+    this.binaryIds = binaryIds;
+    this.operationTypes = encode(OperationType.values());
+    this.httpMethods = encode(HttpMethod.values());
+  }
+
+  @Override
+  public void serialize(BaseAuditDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    gen.writeStartObject(value);
+    if (value.id() != null) {
+      gen.writeFieldName(ID);
+      writeId(value.id(), gen);
+    }
+    if (value.version() != null) {
+      gen.writeFieldName(VERSION);
+      gen.writeNumber(value.version());
+    }
+    writeString(ENDPOINT_PATH, value.endpointPath(), gen);
+    writeString(USER_PRINCIPAL, value.userPrincipal(), gen);
+    writeString(IP_ADDRESS, value.ipAddress(), gen);
+    writeString(USER_AGENT, value.userAgent(), gen);
+    gen.writeFieldName(SYSTEM_OPERATION);
+    gen.writeBoolean(value.systemOperation());
+    writeEnum(OPERATION_TYPE, value.operationType(), operationTypes, gen, provider);
+    writeEnum(HTTP_METHOD, value.httpMethod(), httpMethods, gen, provider);
+    if (value.operationTimestamp() != null) {
+      gen.writeFieldName(OPERATION_TIMESTAMP);
+      writeTimestamp(value.operationTimestamp(), gen, provider);
+    }
+    gen.writeEndObject();
+  }
+
+  private void writeId(UUID id, JsonGenerator gen) throws IOException {
+    if (binaryIds && gen.canWriteBinaryNatively()) {
+      final byte[] bytes = new byte[16];
+      putLong(bytes, 0, id.getMostSignificantBits());
+      putLong(bytes, 8, id.getLeastSignificantBits());
+      gen.writeBinary(bytes);
+    } else {
+      gen.writeString(id.toString());
+    }
+  }
+
+  private static void writeString(SerializedString name, String value, JsonGenerator gen) throws IOException {
+    if (value != null) {
+      gen.writeFieldName(name);
+      gen.writeString(value);
+    }
+  }
+
+  private static void writeEnum(SerializedString name, Enum<?> value, SerializedString[] constants, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    if (value == null) {
+      return;
+    }
+    gen.writeFieldName(name);
+    if (provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX) || provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)) {
+      provider.defaultSerializeValue(value, gen);
+    } else {
+      gen.writeString(constants[value.ordinal()]);
+    }
+  }
+
+  private static void writeTimestamp(ZonedDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    ZonedDateTime timestamp = value;
+    if (provider.getConfig().hasExplicitTimeZone() && provider.isEnabled(SerializationFeature.WRITE_DATES_WITH_CONTEXT_TIME_ZONE)) {
+      timestamp = value.withZoneSameInstant(provider.getTimeZone().toZoneId());
+    }
+    final char[] buffer = new char[TIMESTAMP_LENGTH_OFFSET];
+    final int length = formatTimestamp(timestamp, buffer);
+    if (length < 0) {
+      gen.writeString(TIMESTAMP_FORMATTER.format(timestamp));
+    } else {
+      gen.writeString(buffer, 0, length);
+    }
+  }
+
+  /**
+   * Formats a timestamp as {@link #TIMESTAMP_PATTERN} into the given buffer.
+   *
+   * @param timestamp the timestamp
+   * @param buffer    a buffer of at least 29 chars
+   * @return the number of chars written, or -1 if the timestamp needs {@link DateTimeFormatter}
+   */
+  static int formatTimestamp(ZonedDateTime timestamp, char[] buffer) {
+    final int year = timestamp.getYear();
+    final int offsetSeconds = timestamp.getOffset().getTotalSeconds();
+    if (year < 1 || year > 9999 || offsetSeconds % 60 != 0) {
+      return -1;
+    }
+    put4(buffer, 0, year);
+    buffer[4] = '-';
+    put2(buffer, 5, timestamp.getMonthValue());
+    buffer[7] = '-';
+    put2(buffer, 8, timestamp.getDayOfMonth());
+    buffer[10] = 'T';
+    put2(buffer, 11, timestamp.getHour());
+    buffer[13] = ':';
+    put2(buffer, 14, timestamp.getMinute());
+    buffer[16] = ':';
+    put2(buffer, 17, timestamp.getSecond());
+    buffer[19] = '.';
+    final int millis = timestamp.getNano() / 1_000_000;
+    buffer[20] = (char) ('0' + millis / 100);
+    put2(buffer, 21, millis % 100);
+    if (offsetSeconds == 0) {
+      buffer[23] = 'Z';
+      return TIMESTAMP_LENGTH_UTC;
+    }
+    final int offsetMinutes = Math.abs(offsetSeconds) / 60;
+    buffer[23] = offsetSeconds < 0 ? '-' : '+';
+    put2(buffer, 24, offsetMinutes / 60);
+    buffer[26] = ':';
+    put2(buffer, 27, offsetMinutes % 60);
+    return TIMESTAMP_LENGTH_OFFSET;
+  }
+
+  private static void put4(char[] buffer, int index, int value) {
+    put2(buffer, index, value / 100);
+    put2(buffer, index + 2, value % 100);
+  }
+
+  private static void put2(char[] buffer, int index, int value) {
+    buffer[index] = (char) ('0' + value / 10);
+    buffer[index + 1] = (char) ('0' + value % 10);
+  }
+
+  private static void putLong(byte[] bytes, int index, long value) {
+    for (int i = 7; i >= 0; i--) {
+      bytes[index + i] = (byte) value;
+      value >>>= 8;
+    }
+  }
+
+  private static SerializedString[] encode(Enum<?>[] constants) {
+    final SerializedString[] encoded = new SerializedString[constants.length];
+    for (Enum<?> constant : constants) {
+      encoded[constant.ordinal()] = new SerializedString(constant.name());
+    }
+    return encoded;
+  }
+}
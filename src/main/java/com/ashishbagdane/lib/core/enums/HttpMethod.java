@@ -1,9 +1,15 @@
 package com.ashishbagdane.lib.core.enums;
 
+import com.ashishbagdane.lib.core.dtos.EnumMappable;
+import com.ashishbagdane.lib.core.dtos.EnumRegistry;
+
 /**
  * Enumeration of standard HTTP methods as defined in RFC 7231 and RFC 5789. Each method has an associated numeric value for potential ordering or mapping purposes.
+ *
+ * <p>The numeric value doubles as the {@link EnumMappable} id, so methods can be decoded with
+ * {@link #fromValue(int)} or listed through {@link EnumRegistry#catalog(Class)}.</p>
  */
-public enum HttpMethod {
+public enum HttpMethod implements EnumMappable {
   /**
    * The GET method requests a representation of the specified resource. Requests using GET should only retrieve data and should have no other effect.
    */
@@ -63,4 +69,25 @@ public enum HttpMethod {
   public int getValue() {
     return value;
   }
+
+  /**
+   * Gets the numeric value as the {@link EnumMappable} id.
+   *
+   * @return the numeric value of the HTTP method
+   */
+  @Override
+  public Integer getId() {
+    return value;
+  }
+
+  /**
+   * Resolves an HTTP method from its numeric value.
+   *
+   * @param value the numeric value
+   * @return the matching HTTP method
+   * @throws IllegalArgumentException if no method has the given value
+   */
+  public static HttpMethod fromValue(int value) {
+    return EnumRegistry.fromId(HttpMethod.class, value);
+  }
 }
@@ -0,0 +1,65 @@
+package com.ashishbagdane.lib.core.metrics;
+
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate insert listener timing the persistence of {@link BaseAuditEntity} rows as {@code ash.audit.insert}, tagged with the entity type. Hibernate runs the pre- and post-insert events of one
+ * entity back to back on the same thread, so a single per-thread start time is enough.
+ *
+ * <p>With JDBC batching enabled the measured time covers adding the row to the batch rather than the round trip; the asynchronous sink reports its batch latency separately as
+ * {@code ash.audit.async.flush}.</p>
+ */
+public class AuditInsertMetrics implements PreInsertEventListener, PostInsertEventListener {
+
+  static final String METER_NAME = "ash.audit.insert";
+
+  private static final ThreadLocal<long[]> STARTED = ThreadLocal.withInitial(() -> new long[1]);
+
+  private final transient ClassValue<Timer> timers;
+
+  /**
+   * Creates a new listener.
+   *
+   * @param meterRegistry registry the timers are registered with
+   */
+  public AuditInsertMetrics(MeterRegistry meterRegistry) {
+    this.timers = new ClassValue<>() {
+      @Override
+      protected Timer computeValue(Class<?> type) {
+        return Timer.builder(METER_NAME)
+            .description("Latency of persisting an audit row")
+            .tag("entity", type.getSimpleName())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+      }
+    };
+  }
+
+  @Override
+  public boolean onPreInsert(PreInsertEvent event) {
+    if (event.getEntity() instanceof BaseAuditEntity) {
+      STARTED.get()[0] = System.nanoTime();
+    }
+    return false;
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof BaseAuditEntity) {
+      timers.get(event.getEntity().getClass()).record(System.nanoTime() - STARTED.get()[0], TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+}
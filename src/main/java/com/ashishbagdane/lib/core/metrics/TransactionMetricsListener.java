@@ -0,0 +1,123 @@
+package com.ashishbagdane.lib.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Records the duration of every physical transaction, from begin to commit or rollback, as the {@code ash.transaction.duration} timer tagged with {@code outcome} and {@code read-only}.
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Start times are kept in a per-thread stack, so suspended and {@code REQUIRES_NEW} transactions are timed independently</li>
+ *     <li>The four timers are created once; recording a transaction does not allocate</li>
+ *     <li>The meter registry is resolved on the first transaction. Without a registry the listener does nothing beyond one field read per callback</li>
+ * </ul>
+ */
+public class TransactionMetricsListener implements TransactionExecutionListener {
+
+  static final String METER_NAME = "ash.transaction.duration";
+
+  private static final ThreadLocal<StartTimes> START_TIMES = ThreadLocal.withInitial(StartTimes::new);
+
+  private final Supplier<Timers> timers;
+
+  /**
+   * Creates a new listener.
+   *
+   * @param meterRegistry supplier of the meter registry, may supply {@code null}
+   */
+  public TransactionMetricsListener(Supplier<MeterRegistry> meterRegistry) {
+    this.timers = SingletonSupplier.of(() -> Timers.create(meterRegistry.get()));
+  }
+
+  @Override
+  public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+    if (beginFailure == null && timers.get().enabled()) {
+      START_TIMES.get().push(System.nanoTime());
+    }
+  }
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+    record(transaction, commitFailure == null);
+  }
+
+  @Override
+  public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+    record(transaction, false);
+  }
+
+  private void record(TransactionExecution transaction, boolean committed) {
+    final Timers current = timers.get();
+    if (!current.enabled()) {
+      return;
+    }
+    final StartTimes startTimes = START_TIMES.get();
+    if (startTimes.isEmpty()) {
+      return;
+    }
+    final long elapsed = System.nanoTime() - startTimes.pop();
+    current.select(committed, transaction.isReadOnly()).record(elapsed, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Precomputed timers indexed by outcome and read-only flag.
+   */
+  private record Timers(Timer[] timers) {
+
+    static Timers create(MeterRegistry meterRegistry) {
+      if (meterRegistry == null) {
+        return new Timers(null);
+      }
+      final Timer[] timers = new Timer[4];
+      for (int i = 0; i < timers.length; i++) {
+        timers[i] = Timer.builder(METER_NAME)
+            .description("Duration of physical transactions")
+            .tag("outcome", (i & 1) == 0 ? "commit" : "rollback")
+            .tag("read-only", String.valueOf((i & 2) != 0))
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+      }
+      return new Timers(timers);
+    }
+
+    boolean enabled() {
+      return timers != null;
+    }
+
+    Timer select(boolean committed, boolean readOnly) {
+      return timers[(committed ? 0 : 1) | (readOnly ? 2 : 0)];
+    }
+  }
+
+  /**
+   * Growable stack of primitive start times.
+   */
+  private static final class StartTimes {
+
+    private long[] values = new long[4];
+
+    private int size;
+
+    void push(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    long pop() {
+      return values[--size];
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+  }
+}
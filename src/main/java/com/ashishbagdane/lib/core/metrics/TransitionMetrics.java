@@ -0,0 +1,78 @@
+package com.ashishbagdane.lib.core.metrics;
+
+import com.ashishbagdane.lib.core.db.entity.lifecycle.BulkTransition;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts state transitions per state type, state pair and outcome as {@code ash.lifecycle.transitions}. Tags are the enum type, the from and to states and {@code accepted}/{@code rejected}, so
+ * cardinality is bounded by the number of state pairs. A bulk transition adds its row count to the counter of its state pair. Counters are kept in arrays indexed by ordinal and registered on first use, so counting a transition is an array lookup and an increment.
+ *
+ * @see TransitionObserver
+ */
+public class TransitionMetrics implements TransitionObserver {
+
+  static final String METER_NAME = "ash.lifecycle.transitions";
+
+  private static final int ACCEPTED = 0;
+
+  private static final int REJECTED = 1;
+
+  private final MeterRegistry meterRegistry;
+
+  private final ClassValue<Counter[][][]> counters = new ClassValue<>() {
+    @Override
+    protected Counter[][][] computeValue(Class<?> type) {
+      final int states = type.getEnumConstants().length;
+      return new Counter[2][states][states];
+    }
+  };
+
+  /**
+   * Creates a new observer.
+   *
+   * @param meterRegistry registry the counters are registered with
+   */
+  public TransitionMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void accepted(Object subject, Enum<?> from, Enum<?> to, String actor) {
+    counter(ACCEPTED, from, to).increment();
+  }
+
+  @Override
+  public boolean handlesBulkTransitions() {
+    return true;
+  }
+
+  @Override
+  public void bulkAccepted(BulkTransition transition) {
+    counter(ACCEPTED, transition.from(), transition.to()).increment(transition.count());
+  }
+
+  @Override
+  public void rejected(Object subject, Enum<?> from, Enum<?> to, String actor) {
+    counter(REJECTED, from, to).increment();
+  }
+
+  private Counter counter(int outcome, Enum<?> from, Enum<?> to) {
+    final Class<?> type = to.getDeclaringClass();
+    final Counter[][] cells = counters.get(type)[outcome];
+    Counter counter = cells[from.ordinal()][to.ordinal()];
+    if (counter == null) {
+      // Registration is idempotent, so a racing thread simply gets the same counter back
+      counter = Counter.builder(METER_NAME)
+          .description("State transitions by state pair and outcome")
+          .tag("type", type.getSimpleName())
+          .tag("from", from.name())
+          .tag("to", to.name())
+          .tag("outcome", outcome == ACCEPTED ? "accepted" : "rejected")
+          .register(meterRegistry);
+      cells[from.ordinal()][to.ordinal()] = counter;
+    }
+    return counter;
+  }
+}
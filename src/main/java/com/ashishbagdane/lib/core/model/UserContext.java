@@ -24,6 +24,9 @@ import lombok.NoArgsConstructor;
  * <p>This class provides both a no-args constructor (required for JPA) and
  * a builder pattern for convenient object creation. The no-args constructor creates an empty instance which should be populated using setters or builder methods.
  *
+ * <p>Audit tables with high row counts can store the principal and user agent as dictionary
+ * references and the IP address in binary form, without changing this class; see {@link com.ashishbagdane.lib.core.model.dictionary.UserAgentDictionaryConverter}.
+ *
  * @see #createSystemContext()
  * @see #createUserContext(String, String, String)
  */
@@ -0,0 +1,28 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Base JPA converter storing a string attribute as an integer reference into a {@link UserContextDictionary} lookup table.
+ */
+abstract class AbstractDictionaryConverter implements AttributeConverter<String, Integer> {
+
+  private final UserContextDictionary dictionary;
+
+  private final DictionaryKind kind;
+
+  AbstractDictionaryConverter(UserContextDictionary dictionary, DictionaryKind kind) {
+    this.dictionary = dictionary;
+    this.kind = kind;
+  }
+
+  @Override
+  public Integer convertToDatabaseColumn(String attribute) {
+    return attribute == null ? null : dictionary.idFor(kind, attribute);
+  }
+
+  @Override
+  public String convertToEntityAttribute(Integer dbData) {
+    return dbData == null ? null : dictionary.valueFor(kind, dbData);
+  }
+}
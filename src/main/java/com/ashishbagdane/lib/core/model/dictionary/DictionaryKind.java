@@ -0,0 +1,30 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+/**
+ * The repetitive {@link com.ashishbagdane.lib.core.model.UserContext} values that can be stored as dictionary references, each with its own lookup table.
+ */
+public enum DictionaryKind {
+  /**
+   * Principal names, stored in {@code ash_principal_dictionary}.
+   */
+  PRINCIPAL("ash_principal_dictionary"),
+  /**
+   * User agent strings, stored in {@code ash_user_agent_dictionary}.
+   */
+  USER_AGENT("ash_user_agent_dictionary");
+
+  private final String tableName;
+
+  DictionaryKind(String tableName) {
+    this.tableName = tableName;
+  }
+
+  /**
+   * Gets the lookup table of this kind.
+   *
+   * @return the table name
+   */
+  public String getTableName() {
+    return tableName;
+  }
+}
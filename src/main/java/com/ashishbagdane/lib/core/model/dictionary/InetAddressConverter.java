@@ -0,0 +1,80 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Stores {@code UserContext.ipAddress} in binary form: 4 bytes for IPv4 and 16 bytes for IPv6, instead of up to 45 characters.
+ *
+ * <p>Only address literals are accepted, so conversion never triggers a DNS lookup: IPv4 literals are parsed here, and a string containing {@code :} is always parsed by {@link InetAddress} as an
+ * IPv6 literal. An IPv6 zone id such as {@code %eth0} is accepted and dropped, since the binary form cannot hold it. Values that are not IP literals, for example a malformed forwarded header, are
+ * rejected. Addresses read back are in canonical form, e.g. {@code ::1} reads as {@code 0:0:0:0:0:0:0:1}.</p>
+ */
+@Converter
+public class InetAddressConverter implements AttributeConverter<String, byte[]> {
+
+  private static final int IPV4_LENGTH = 4;
+
+  @Override
+  public byte[] convertToDatabaseColumn(String attribute) {
+    if (attribute == null) {
+      return null;
+    }
+    String literal = attribute.trim();
+    if (literal.startsWith("[") && literal.endsWith("]")) {
+      literal = literal.substring(1, literal.length() - 1);
+    }
+    if (literal.indexOf(':') < 0) {
+      return parseIpv4(literal, attribute);
+    }
+    final int zone = literal.indexOf('%');
+    if (zone >= 0) {
+      literal = literal.substring(0, zone);
+    }
+    try {
+      return InetAddress.getByName(literal).getAddress();
+    } catch (UnknownHostException e) {
+      throw new IllegalArgumentException("Not an IP address literal: " + attribute, e);
+    }
+  }
+
+  @Override
+  public String convertToEntityAttribute(byte[] dbData) {
+    if (dbData == null) {
+      return null;
+    }
+    try {
+      return InetAddress.getByAddress(dbData).getHostAddress();
+    } catch (UnknownHostException e) {
+      throw new IllegalStateException("Invalid stored IP address of length " + dbData.length, e);
+    }
+  }
+
+  private static byte[] parseIpv4(String literal, String attribute) {
+    final byte[] address = new byte[IPV4_LENGTH];
+    int octet = 0;
+    int value = 0;
+    int digits = 0;
+    for (int i = 0; i <= literal.length(); i++) {
+      final char c = i < literal.length() ? literal.charAt(i) : '.';
+      if (c >= '0' && c <= '9') {
+        value = value * 10 + (c - '0');
+        if (++digits > 3 || value > 255) {
+          throw new IllegalArgumentException("Not an IP address literal: " + attribute);
+        }
+      } else if (c == '.' && digits > 0 && octet < IPV4_LENGTH) {
+        address[octet++] = (byte) value;
+        value = 0;
+        digits = 0;
+      } else {
+        throw new IllegalArgumentException("Not an IP address literal: " + attribute);
+      }
+    }
+    if (octet != IPV4_LENGTH) {
+      throw new IllegalArgumentException("Not an IP address literal: " + attribute);
+    }
+    return address;
+  }
+}
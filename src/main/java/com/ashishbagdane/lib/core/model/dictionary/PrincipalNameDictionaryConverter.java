@@ -0,0 +1,20 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@code UserContext.principalName} as an integer reference into {@code ash_principal_dictionary}. Applied to all audit tables by
+ * {@value UserContextDictionary#AUDIT_ENTITY_MAPPING}; see {@link UserAgentDictionaryConverter} for how to enable it.
+ */
+@Converter
+public class PrincipalNameDictionaryConverter extends AbstractDictionaryConverter {
+
+  /**
+   * Creates the converter. Instantiated by Hibernate through Spring's bean container.
+   *
+   * @param dictionary the user context dictionary
+   */
+  public PrincipalNameDictionaryConverter(UserContextDictionary dictionary) {
+    super(dictionary, DictionaryKind.PRINCIPAL);
+  }
+}
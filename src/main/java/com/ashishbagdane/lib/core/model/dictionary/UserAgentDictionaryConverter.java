@@ -0,0 +1,34 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@code UserContext.userAgent} as an integer reference into {@code ash_user_agent_dictionary}.
+ *
+ * <p>Dictionary encoding leaves the {@code UserContext} API unchanged and applies to all audit tables at once: with
+ * {@code ash.core.audit.user-context.dictionary.map-audit-entities=true} the mapping file {@value UserContextDictionary#AUDIT_ENTITY_MAPPING} is added to the persistence unit and maps the user context
+ * of {@code BaseAuditEntity} to {@code principal_id}, {@code user_agent_id} and a binary {@code ip_address}:
+ * <pre>
+ * ash:
+ *   core:
+ *     audit:
+ *       user-context:
+ *         dictionary:
+ *           enabled: true
+ *           map-audit-entities: true
+ * </pre>
+ *
+ * <p>Class-level {@code @Convert} and {@code @AttributeOverride} on a subclass are not a portable alternative, because {@code BaseAuditEntity} is an entity rather than a mapped superclass.</p>
+ */
+@Converter
+public class UserAgentDictionaryConverter extends AbstractDictionaryConverter {
+
+  /**
+   * Creates the converter. Instantiated by Hibernate through Spring's bean container.
+   *
+   * @param dictionary the user context dictionary
+   */
+  public UserAgentDictionaryConverter(UserContextDictionary dictionary) {
+    super(dictionary, DictionaryKind.USER_AGENT);
+  }
+}
@@ -0,0 +1,224 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Savepoint;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Dictionary that maps repetitive user context strings (principal names, user agents) to small integer ids stored in lookup tables.
+ *
+ * <h2>Write Path:</h2>
+ * <p>{@link #idFor(DictionaryKind, String)} first consults a bounded in-memory cache. On a miss it
+ * reads the lookup table and inserts the value if it is absent. Races between threads and JVMs are resolved by the unique constraint on the value column: the losing insert is rolled back to a savepoint
+ * and the winner's row is read instead.</p>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Lookups and inserts run on the caller's connection and transaction, so the converters called during a Hibernate flush never need a second pooled connection or transaction permit</li>
+ *     <li>An id inserted by the current transaction is only cached once that transaction commits, so a cached id never refers to a rolled back row</li>
+ *     <li>Dictionary rows are never deleted, so ids stay valid for the lifetime of the audit data</li>
+ * </ul>
+ *
+ * @see PrincipalNameDictionaryConverter
+ * @see UserAgentDictionaryConverter
+ */
+public class UserContextDictionary {
+
+  /**
+   * JPA mapping file storing the user context of every {@code BaseAuditEntity} table in dictionary form.
+   */
+  public static final String AUDIT_ENTITY_MAPPING = "META-INF/ash-core/user-context-dictionary-orm.xml";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final Map<DictionaryKind, Cache<String, Integer>> ids = new EnumMap<>(DictionaryKind.class);
+
+  private final Map<DictionaryKind, Cache<Integer, String>> values = new EnumMap<>(DictionaryKind.class);
+
+  /**
+   * Creates a new dictionary.
+   *
+   * @param jdbcTemplate template used for lookup table access
+   * @param cacheSize    maximum number of cached entries per kind and direction
+   */
+  public UserContextDictionary(JdbcTemplate jdbcTemplate, long cacheSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    for (DictionaryKind kind : DictionaryKind.values()) {
+      ids.put(kind, Caffeine.newBuilder().maximumSize(cacheSize).build());
+      values.put(kind, Caffeine.newBuilder().maximumSize(cacheSize).build());
+    }
+  }
+
+  /**
+   * Resolves the id of a value, inserting it into the lookup table if necessary.
+   *
+   * @param kind  the dictionary kind
+   * @param value the value to encode
+   * @return the id of the value
+   */
+  public int idFor(DictionaryKind kind, String value) {
+    final Integer cached = ids.get(kind).getIfPresent(value);
+    if (cached != null) {
+      return cached;
+    }
+    final Uncommitted uncommitted = (Uncommitted) TransactionSynchronizationManager.getResource(this);
+    if (uncommitted != null) {
+      final Integer pending = uncommitted.ids.get(kind).get(value);
+      if (pending != null) {
+        return pending;
+      }
+    }
+    final Integer existing = select(kind, value);
+    if (existing != null) {
+      remember(kind, value, existing);
+      return existing;
+    }
+    final boolean inserted = insert(kind, value);
+    final Integer id = select(kind, value);
+    if (id == null) {
+      throw new IllegalStateException("Failed to resolve " + kind + " dictionary entry");
+    }
+    if (inserted && TransactionSynchronizationManager.isSynchronizationActive()) {
+      final Uncommitted holder = uncommitted != null ? uncommitted : bindUncommitted();
+      holder.ids.get(kind).put(value, id);
+      holder.values.get(kind).put(id, value);
+    } else {
+      remember(kind, value, id);
+    }
+    return id;
+  }
+
+  /**
+   * Resolves the value of an id.
+   *
+   * @param kind the dictionary kind
+   * @param id   the id to decode
+   * @return the value
+   * @throws IllegalStateException if the id is unknown
+   */
+  public String valueFor(DictionaryKind kind, int id) {
+    final String cached = values.get(kind).getIfPresent(id);
+    if (cached != null) {
+      return cached;
+    }
+    final Uncommitted uncommitted = (Uncommitted) TransactionSynchronizationManager.getResource(this);
+    if (uncommitted != null) {
+      final String pending = uncommitted.values.get(kind).get(id);
+      if (pending != null) {
+        return pending;
+      }
+    }
+    final List<String> found = jdbcTemplate.queryForList("SELECT dictionary_value FROM " + kind.getTableName() + " WHERE id = ?", String.class, id);
+    if (found.isEmpty()) {
+      throw new IllegalStateException("Unknown " + kind + " dictionary id " + id);
+    }
+    final String value = found.get(0);
+    remember(kind, value, id);
+    return value;
+  }
+
+  private void remember(DictionaryKind kind, String value, int id) {
+    ids.get(kind).put(value, id);
+    values.get(kind).put(id, value);
+  }
+
+  private Integer select(DictionaryKind kind, String value) {
+    final List<Integer> found = jdbcTemplate.queryForList("SELECT id FROM " + kind.getTableName() + " WHERE dictionary_value = ?", Integer.class, value);
+    return found.isEmpty() ? null : found.get(0);
+  }
+
+  /**
+   * Inserts a value, tolerating a concurrent insert of the same value. Inside a transaction the insert is protected by a savepoint, because a failed statement aborts the whole transaction on some
+   * databases.
+   *
+   * @return true if this call inserted the row
+   */
+  private boolean insert(DictionaryKind kind, String value) {
+    final String sql = "INSERT INTO " + kind.getTableName() + " (dictionary_value) VALUES (?)";
+    return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+      final Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+      try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        ps.setString(1, value);
+        ps.executeUpdate();
+      } catch (SQLException e) {
+        if (savepoint != null) {
+          connection.rollback(savepoint);
+        }
+        if (jdbcTemplate.getExceptionTranslator().translate("dictionary insert", sql, e) instanceof DuplicateKeyException) {
+          return false;
+        }
+        throw e;
+      }
+      release(connection, savepoint);
+      return true;
+    }));
+  }
+
+  private static void release(Connection connection, Savepoint savepoint) throws SQLException {
+    if (savepoint == null) {
+      return;
+    }
+    try {
+      connection.releaseSavepoint(savepoint);
+    } catch (SQLFeatureNotSupportedException e) {
+      // Released implicitly at the end of the transaction
+    }
+  }
+
+  private Uncommitted bindUncommitted() {
+    final Uncommitted uncommitted = new Uncommitted();
+    TransactionSynchronizationManager.bindResource(this, uncommitted);
+    TransactionSynchronizationManager.registerSynchronization(uncommitted);
+    return uncommitted;
+  }
+
+  /**
+   * Entries inserted by one transaction, moved into the caches when it commits and discarded when it rolls back.
+   */
+  private final class Uncommitted implements TransactionSynchronization {
+
+    private final Map<DictionaryKind, Map<String, Integer>> ids = new EnumMap<>(DictionaryKind.class);
+
+    private final Map<DictionaryKind, Map<Integer, String>> values = new EnumMap<>(DictionaryKind.class);
+
+    Uncommitted() {
+      for (DictionaryKind kind : DictionaryKind.values()) {
+        ids.put(kind, new HashMap<>());
+        values.put(kind, new HashMap<>());
+      }
+    }
+
+    @Override
+    public void suspend() {
+      TransactionSynchronizationManager.unbindResource(UserContextDictionary.this);
+    }
+
+    @Override
+    public void resume() {
+      TransactionSynchronizationManager.bindResource(UserContextDictionary.this, this);
+    }
+
+    @Override
+    public void afterCommit() {
+      ids.forEach((kind, entries) -> entries.forEach((value, id) -> remember(kind, value, id)));
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(UserContextDictionary.this);
+    }
+  }
+}
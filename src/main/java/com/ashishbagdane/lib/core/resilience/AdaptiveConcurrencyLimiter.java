@@ -0,0 +1,182 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter that adapts the number of permitted in-flight calls to observed latency, following the gradient approach popularised by TCP Vegas and Netflix's concurrency-limits.
+ *
+ * <h2>Algorithm:</h2>
+ * <ul>
+ *     <li>A short-term and a long-term exponentially weighted average of call latency are tracked</li>
+ *     <li>The gradient {@code tolerance * longRtt / shortRtt}, clamped to {@code [0.5, 1.0]}, shrinks the limit as soon as latency rises above its long-term baseline</li>
+ *     <li>A headroom of {@code sqrt(limit)} lets the limit probe upwards while latency is stable</li>
+ *     <li>Dropped calls (timeouts, connection failures) cut the limit multiplicatively</li>
+ *     <li>The limit only grows while at least half of it is in use, so idle periods do not inflate it</li>
+ * </ul>
+ *
+ * <p>Acquiring and releasing permits is lock-free; the limit is recomputed under a short lock once per sample.</p>
+ *
+ * <p>Usage:
+ * <pre>
+ * if (!limiter.tryAcquire()) {
+ *     throw new ConcurrencyLimitExceededException(...);
+ * }
+ * long start = System.nanoTime();
+ * try {
+ *     result = call();
+ *     limiter.onSuccess(System.nanoTime() - start);
+ * } catch (QueryTimeoutException e) {
+ *     limiter.onDropped();
+ *     throw e;
+ * }
+ * </pre>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double SHORT_WEIGHT = 0.1;
+
+  private static final double LONG_WEIGHT = 1.0 / 600;
+
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final String name;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final double smoothing;
+
+  private final double tolerance;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile int limit;
+
+  private double estimatedLimit;
+
+  private double shortRtt;
+
+  private double longRtt;
+
+  /**
+   * Creates a new limiter.
+   *
+   * @param name         name used in metrics and messages
+   * @param initialLimit starting limit
+   * @param minLimit     lower bound of the limit
+   * @param maxLimit     upper bound of the limit
+   * @param smoothing    weight of each new estimate, between 0 and 1
+   * @param tolerance    latency increase over the baseline tolerated before the limit shrinks, at least 1
+   */
+  public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+    }
+    if (smoothing <= 0 || smoothing > 1 || tolerance < 1) {
+      throw new IllegalArgumentException("smoothing must be in (0, 1] and tolerance at least 1");
+    }
+    this.name = name;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.smoothing = smoothing;
+    this.tolerance = tolerance;
+    this.limit = initialLimit;
+    this.estimatedLimit = initialLimit;
+  }
+
+  /**
+   * Tries to acquire a permit.
+   *
+   * @return true if the call may proceed; the caller must then report its outcome exactly once
+   */
+  public boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Releases a permit after a successful call and feeds its latency into the limit.
+   *
+   * @param rttNanos the call latency in nanoseconds
+   */
+  public void onSuccess(long rttNanos) {
+    final int inFlightAtCompletion = inFlight.getAndDecrement();
+    sample(rttNanos, inFlightAtCompletion);
+  }
+
+  /**
+   * Releases a permit after a call that failed because of overload, and backs the limit off.
+   */
+  public void onDropped() {
+    inFlight.decrementAndGet();
+    synchronized (this) {
+      estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+      limit = (int) estimatedLimit;
+    }
+  }
+
+  /**
+   * Releases a permit without affecting the limit, e.g. for calls that failed for reasons unrelated to load.
+   */
+  public void onIgnore() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Gets the current limit.
+   *
+   * @return the number of permitted in-flight calls
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Gets the number of calls currently in flight.
+   *
+   * @return the in-flight count
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Gets the limiter name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  private synchronized void sample(long rttNanos, int inFlightAtCompletion) {
+    final double rtt = rttNanos;
+    if (longRtt == 0) {
+      shortRtt = rtt;
+      longRtt = rtt;
+      return;
+    }
+    shortRtt += (rtt - shortRtt) * SHORT_WEIGHT;
+    longRtt += (rtt - longRtt) * LONG_WEIGHT;
+    if (longRtt > 2 * shortRtt) {
+      // Latency dropped sharply (e.g. after a brownout); let the baseline catch up faster
+      longRtt *= 0.95;
+    }
+
+    final boolean appLimited = inFlightAtCompletion < estimatedLimit / 2;
+    final double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+    double candidate = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    if (appLimited) {
+      candidate = Math.min(candidate, estimatedLimit);
+    }
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, (1 - smoothing) * estimatedLimit + smoothing * candidate));
+    limit = (int) estimatedLimit;
+  }
+}
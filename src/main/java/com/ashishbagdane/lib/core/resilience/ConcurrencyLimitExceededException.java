@@ -0,0 +1,14 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * Exception thrown when a data access call is rejected by an {@link AdaptiveConcurrencyLimiter}. It is a transient data access exception, so callers can treat it like any other temporary database
+ * unavailability.
+ */
+public class ConcurrencyLimitExceededException extends TransientDataAccessResourceException {
+
+  public ConcurrencyLimitExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,147 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks optimistic locking conflicts per entity type as an exponentially decaying score: every conflict adds one and the score halves every {@code halfLife}. An entity type whose score reaches the
+ * threshold is considered hot and is escalated to pessimistic locking by {@link PessimisticEscalationListener} until the score decays below the threshold again.
+ *
+ * <p>Metrics (when a registry is given): {@code ash.optimistic-lock.conflicts} and {@code ash.optimistic-lock.exhausted} counters tagged {@code entity}, and the
+ * {@code ash.optimistic-lock.escalated} gauge counting hot entity types.</p>
+ */
+@Slf4j
+public class ContentionTracker {
+
+  private final double threshold;
+
+  private final double decayPerNano;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Contention> contentions = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new tracker.
+   *
+   * @param threshold     decayed conflict score at which an entity type is escalated; zero or less disables escalation
+   * @param halfLife      time in which the score halves
+   * @param meterRegistry registry for metrics, or {@code null} to disable them
+   */
+  public ContentionTracker(double threshold, Duration halfLife, MeterRegistry meterRegistry) {
+    this.threshold = threshold;
+    this.decayPerNano = Math.log(2) / halfLife.toNanos();
+    this.meterRegistry = meterRegistry;
+    if (meterRegistry != null) {
+      Gauge.builder("ash.optimistic-lock.escalated", this, ContentionTracker::escalatedCount)
+          .description("Entity types currently escalated to pessimistic locking")
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * Records an optimistic locking conflict.
+   *
+   * @param entityName the entity name, usually the fully qualified class name
+   */
+  public void recordConflict(String entityName) {
+    final Contention contention = contentions.computeIfAbsent(entityName, this::newContention);
+    final boolean escalated = contention.add(System.nanoTime());
+    if (contention.conflicts != null) {
+      contention.conflicts.increment();
+    }
+    if (escalated) {
+      log.info("Escalating {} to pessimistic locking after repeated optimistic locking conflicts", entityName);
+    }
+  }
+
+  /**
+   * Records a call that still conflicted after its last attempt.
+   *
+   * @param entityName the entity name
+   */
+  public void recordExhausted(String entityName) {
+    final Contention contention = contentions.computeIfAbsent(entityName, this::newContention);
+    if (contention.exhausted != null) {
+      contention.exhausted.increment();
+    }
+  }
+
+  /**
+   * Checks whether an entity type currently conflicts often enough to be loaded with a pessimistic lock.
+   *
+   * @param entityName the entity name
+   * @return true if the entity type is escalated
+   */
+  public boolean isEscalated(String entityName) {
+    if (threshold <= 0 || contentions.isEmpty()) {
+      return false;
+    }
+    final Contention contention = contentions.get(entityName);
+    return contention != null && contention.score(System.nanoTime()) >= threshold;
+  }
+
+  /**
+   * Gets the current decayed conflict score of an entity type.
+   *
+   * @param entityName the entity name
+   * @return the score, zero if no conflict was recorded
+   */
+  public double getScore(String entityName) {
+    final Contention contention = contentions.get(entityName);
+    return contention == null ? 0 : contention.score(System.nanoTime());
+  }
+
+  private double escalatedCount() {
+    return contentions.keySet().stream().filter(this::isEscalated).count();
+  }
+
+  private Contention newContention(String entityName) {
+    if (meterRegistry == null) {
+      return new Contention(null, null);
+    }
+    return new Contention(
+        Counter.builder("ash.optimistic-lock.conflicts").tag("entity", entityName).register(meterRegistry),
+        Counter.builder("ash.optimistic-lock.exhausted").tag("entity", entityName).register(meterRegistry));
+  }
+
+  /**
+   * Decaying conflict score of one entity type.
+   */
+  private final class Contention {
+
+    private final Counter conflicts;
+
+    private final Counter exhausted;
+
+    private double score;
+
+    private long updatedAt = System.nanoTime();
+
+    private Contention(Counter conflicts, Counter exhausted) {
+      this.conflicts = conflicts;
+      this.exhausted = exhausted;
+    }
+
+    synchronized boolean add(long now) {
+      final boolean wasHot = threshold > 0 && decay(now) >= threshold;
+      score += 1;
+      return !wasHot && threshold > 0 && score >= threshold;
+    }
+
+    synchronized double score(long now) {
+      return decay(now);
+    }
+
+    private double decay(long now) {
+      score *= Math.exp(-decayPerNano * (now - updatedAt));
+      updatedAt = now;
+      return score;
+    }
+  }
+}
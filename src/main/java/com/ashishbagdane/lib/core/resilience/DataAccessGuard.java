@@ -0,0 +1,190 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Protects one data source with a named resilience4j {@link Bulkhead} (a hard cap on concurrent calls) and an optional {@link AdaptiveConcurrencyLimiter} (a soft cap that follows observed
+ * latency).
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *     <li>The bulkhead is checked first and may wait up to its {@code max-wait}; the limiter never waits</li>
+ *     <li>Overload signals back the limiter off: query and lock timeouts, transient resource failures, and failures to obtain a pooled connection or begin a transaction</li>
+ *     <li>Optimistic locking conflicts, other concurrency failures and business exceptions release the permit without affecting the limit</li>
+ *     <li>Micrometer gauges for the current limit, in-flight calls and free bulkhead slots, and a rejection counter per reason</li>
+ * </ul>
+ *
+ * @see DataAccessGuardRegistry
+ */
+public class DataAccessGuard {
+
+  private final String name;
+
+  private final Bulkhead bulkhead;
+
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  private final Counter bulkheadRejections;
+
+  private final Counter limiterRejections;
+
+  /**
+   * Creates a new guard.
+   *
+   * @param name          the data source name
+   * @param bulkhead      the bulkhead
+   * @param limiter       the adaptive limiter, or {@code null} to rely on the bulkhead alone
+   * @param meterRegistry registry for metrics, or {@code null} to disable them
+   */
+  public DataAccessGuard(String name, Bulkhead bulkhead, AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.bulkhead = bulkhead;
+    this.limiter = limiter;
+
+    if (meterRegistry != null) {
+      if (limiter != null) {
+        Gauge.builder("ash.datasource.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current adaptive concurrency limit")
+            .tag("datasource", name)
+            .register(meterRegistry);
+        Gauge.builder("ash.datasource.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Data access calls currently in flight")
+            .tag("datasource", name)
+            .register(meterRegistry);
+      }
+      Gauge.builder("ash.datasource.bulkhead.available", bulkhead, b -> b.getMetrics().getAvailableConcurrentCalls())
+          .description("Free bulkhead slots")
+          .tag("datasource", name)
+          .register(meterRegistry);
+      this.bulkheadRejections = rejectionCounter(meterRegistry, name, "bulkhead");
+      this.limiterRejections = rejectionCounter(meterRegistry, name, "limit");
+    } else {
+      this.bulkheadRejections = null;
+      this.limiterRejections = null;
+    }
+  }
+
+  /**
+   * Runs a call under this guard.
+   *
+   * @param call the call to run
+   * @param <T>  the result type
+   * @return the call result
+   * @throws BulkheadFullException             if no bulkhead slot became free in time
+   * @throws ConcurrencyLimitExceededException if the adaptive limit is reached
+   * @throws Throwable                         whatever the call throws
+   */
+  public <T> T execute(GuardedCall<T> call) throws Throwable {
+    try {
+      bulkhead.acquirePermission();
+    } catch (BulkheadFullException e) {
+      increment(bulkheadRejections);
+      throw e;
+    }
+    try {
+      if (limiter == null) {
+        return call.call();
+      }
+      return executeLimited(call);
+    } finally {
+      bulkhead.onComplete();
+    }
+  }
+
+  /**
+   * Gets the data source name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the bulkhead.
+   *
+   * @return the bulkhead
+   */
+  public Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  /**
+   * Gets the adaptive limiter.
+   *
+   * @return the limiter, or {@code null} if disabled
+   */
+  public AdaptiveConcurrencyLimiter getLimiter() {
+    return limiter;
+  }
+
+  private <T> T executeLimited(GuardedCall<T> call) throws Throwable {
+    if (!limiter.tryAcquire()) {
+      increment(limiterRejections);
+      throw new ConcurrencyLimitExceededException("Concurrency limit of " + limiter.getLimit() + " reached for data source '" + name + "'");
+    }
+    final long started = System.nanoTime();
+    final T result;
+    try {
+      result = call.call();
+    } catch (Throwable e) {
+      if (isOverload(e)) {
+        limiter.onDropped();
+      } else {
+        limiter.onIgnore();
+      }
+      throw e;
+    }
+    limiter.onSuccess(System.nanoTime() - started);
+    return result;
+  }
+
+  /**
+   * Checks whether a failure indicates that the database or its connection pool is overloaded. {@link CannotAcquireLockException} is a {@code ConcurrencyFailureException} but signals lock wait
+   * timeouts, so it counts; optimistic locking and deadlock-loser failures are ordinary contention on individual rows and do not.
+   *
+   * @param failure the failure thrown by a guarded call
+   * @return true if the limit should back off
+   */
+  static boolean isOverload(Throwable failure) {
+    return failure instanceof QueryTimeoutException
+        || failure instanceof CannotAcquireLockException
+        || failure instanceof TransientDataAccessResourceException
+        || failure instanceof CannotGetJdbcConnectionException
+        || failure instanceof CannotCreateTransactionException;
+  }
+
+  private static Counter rejectionCounter(MeterRegistry meterRegistry, String name, String reason) {
+    return Counter.builder("ash.datasource.rejected")
+        .description("Data access calls rejected by the data source guard")
+        .tag("datasource", name)
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  private static void increment(Counter counter) {
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  /**
+   * A call run under a guard.
+   *
+   * @param <T> the result type
+   */
+  @FunctionalInterface
+  public interface GuardedCall<T> {
+
+    T call() throws Throwable;
+  }
+}
@@ -0,0 +1,88 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+
+/**
+ * Method interceptor running repository and transactional calls under the {@link DataAccessGuard} selected by {@link DataSourceGuard}.
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>The annotation is looked up on the method, the target class and the proxy interfaces (for Spring Data repositories); the result is cached per method and proxy class</li>
+ *     <li>Only the outermost guarded call per data source on a thread takes a permit. A transactional service calling a repository of the same data source holds one permit, so nested
+ *     calls can never deadlock on a saturated bulkhead; a nested call to a different data source takes a permit from that data source's guard</li>
+ * </ul>
+ *
+ * @see DataAccessGuardPostProcessor
+ */
+public class DataAccessGuardInterceptor implements MethodInterceptor {
+
+  private static final ThreadLocal<Set<String>> GUARDED = ThreadLocal.withInitial(HashSet::new);
+
+  private final Supplier<DataAccessGuardRegistry> registry;
+
+  private final Map<MethodClassKey, String> names = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new interceptor.
+   *
+   * @param registry supplier of the guard registry, resolved on first use
+   */
+  public DataAccessGuardInterceptor(Supplier<DataAccessGuardRegistry> registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    final String name = resolveName(invocation);
+    final DataAccessGuard guard = name == null ? registry.get().defaultGuard() : registry.get().guard(name);
+    final Set<String> guarded = GUARDED.get();
+    if (!guarded.add(guard.getName())) {
+      return invocation.proceed();
+    }
+    try {
+      return guard.execute(invocation::proceed);
+    } finally {
+      guarded.remove(guard.getName());
+      if (guarded.isEmpty()) {
+        GUARDED.remove();
+      }
+    }
+  }
+
+  private String resolveName(MethodInvocation invocation) {
+    final Class<?> proxyClass = invocation instanceof ProxyMethodInvocation proxyInvocation ? proxyInvocation.getProxy().getClass() : null;
+    final MethodClassKey key = new MethodClassKey(invocation.getMethod(), proxyClass);
+    final String cached = names.get(key);
+    if (cached != null) {
+      return cached.isEmpty() ? null : cached;
+    }
+    final String resolved = findName(invocation, proxyClass);
+    names.put(key, resolved == null ? "" : resolved);
+    return resolved;
+  }
+
+  private static String findName(MethodInvocation invocation, Class<?> proxyClass) {
+    final Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+    final Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+    DataSourceGuard annotation = AnnotatedElementUtils.findMergedAnnotation(method, DataSourceGuard.class);
+    if (annotation == null && targetClass != null) {
+      annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, DataSourceGuard.class);
+    }
+    if (annotation == null && proxyClass != null) {
+      annotation = AnnotationUtils.findAnnotation(proxyClass, DataSourceGuard.class);
+    }
+    return annotation == null ? null : annotation.value();
+  }
+}
@@ -0,0 +1,46 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import java.util.function.Supplier;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Bean post processor that applies the {@link DataAccessGuardInterceptor} to every Spring Data repository, every {@link Transactional} bean and every bean annotated with {@link DataSourceGuard}.
+ *
+ * <p>The advisor is placed in front of existing advisors, so the guard is entered before a transaction is opened and a rejected call never borrows a connection.</p>
+ *
+ * @see DataAccessGuardInterceptor
+ */
+public class DataAccessGuardPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+  private static final String REPOSITORY_CLASS = "org.springframework.data.repository.Repository";
+
+  /**
+   * Creates a new post processor.
+   *
+   * @param registry supplier of the guard registry, resolved on first guarded call
+   */
+  public DataAccessGuardPostProcessor(Supplier<DataAccessGuardRegistry> registry) {
+    setBeforeExistingAdvisors(true);
+    this.advisor = new DefaultPointcutAdvisor(guardedPointcut(), new DataAccessGuardInterceptor(registry));
+  }
+
+  private static Pointcut guardedPointcut() {
+    final ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Transactional.class, true))
+        .union(new AnnotationMatchingPointcut(null, Transactional.class, true))
+        .union(new AnnotationMatchingPointcut(DataSourceGuard.class, true))
+        .union(new AnnotationMatchingPointcut(null, DataSourceGuard.class, true));
+    final ClassLoader classLoader = DataAccessGuardPostProcessor.class.getClassLoader();
+    if (ClassUtils.isPresent(REPOSITORY_CLASS, classLoader)) {
+      final Class<?> repositoryType = ClassUtils.resolveClassName(REPOSITORY_CLASS, classLoader);
+      pointcut.union((ClassFilter) repositoryType::isAssignableFrom);
+    }
+    return pointcut;
+  }
+}
@@ -0,0 +1,75 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import com.ashishbagdane.lib.core.config.DataAccessGuardProperties;
+import com.ashishbagdane.lib.core.config.DataAccessGuardProperties.DataSourceSettings;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lazily creates and holds one {@link DataAccessGuard} per data source name.
+ *
+ * @see DataAccessGuardProperties
+ */
+public class DataAccessGuardRegistry {
+
+  private final DataAccessGuardProperties properties;
+
+  private final BulkheadRegistry bulkheadRegistry;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, DataAccessGuard> guards = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new registry.
+   *
+   * @param properties       the guard configuration
+   * @param bulkheadRegistry registry that owns the named bulkheads
+   * @param meterRegistry    registry for metrics, or {@code null} to disable them
+   */
+  public DataAccessGuardRegistry(DataAccessGuardProperties properties, BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.bulkheadRegistry = bulkheadRegistry;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Gets the guard for a data source, creating it on first use.
+   *
+   * @param name the data source name
+   * @return the guard
+   */
+  public DataAccessGuard guard(String name) {
+    return guards.computeIfAbsent(name, this::create);
+  }
+
+  /**
+   * Gets the guard for the default data source.
+   *
+   * @return the default guard
+   */
+  public DataAccessGuard defaultGuard() {
+    return guard(properties.getDefaultDataSource());
+  }
+
+  private DataAccessGuard create(String name) {
+    final DataSourceSettings settings = properties.settingsFor(name);
+    final Bulkhead bulkhead = settings.getBulkhead().getMaxConcurrentCalls() == null
+        ? bulkheadRegistry.bulkhead(name)
+        : bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+            .maxConcurrentCalls(settings.getBulkhead().getMaxConcurrentCalls())
+            .maxWaitDuration(settings.getBulkhead().getMaxWait())
+            .build());
+
+    final DataAccessGuardProperties.LimiterSettings limiter = settings.getLimiter();
+    final AdaptiveConcurrencyLimiter adaptiveLimiter = limiter.isEnabled()
+        ? new AdaptiveConcurrencyLimiter(name, limiter.getInitialLimit(), limiter.getMinLimit(), limiter.getMaxLimit(), limiter.getSmoothing(),
+            limiter.getTolerance())
+        : null;
+    return new DataAccessGuard(name, bulkhead, adaptiveLimiter, meterRegistry);
+  }
+}
@@ -0,0 +1,36 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the data source guard (bulkhead plus adaptive limiter) applied to a repository or transactional bean. Without this annotation the default data source guard applies.
+ *
+ * <p>Example usage:
+ * <pre>
+ * {@code
+ * @DataSourceGuard("reporting")
+ * public interface AuditReportRepository extends JpaRepository<PaymentAudit, UUID> {
+ * }
+ * }
+ * </pre>
+ *
+ * @see DataAccessGuardInterceptor
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface DataSourceGuard {
+
+  /**
+   * Name of the data source guard, matching a key of {@code ash.core.resilience.data-access.data-sources}.
+   *
+   * @return the guard name
+   */
+  String value();
+}
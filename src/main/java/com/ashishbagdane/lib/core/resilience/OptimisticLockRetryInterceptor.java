@@ -0,0 +1,177 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import jakarta.persistence.OptimisticLockException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.StaleObjectStateException;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Method interceptor implementing {@link RetryOnOptimisticLock}. It runs outside the transaction advice, so every attempt commits or rolls back a complete transaction before the next one starts.
+ *
+ * <h2>Backoff:</h2>
+ * <p>Waits follow decorrelated jitter, {@code sleep = min(maxDelay, random(baseDelay, 3 * previousSleep))}. Competing writers that failed together spread out instead of colliding again in lockstep,
+ * while the expected wait still grows roughly exponentially.</p>
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Conflicts are reported per entity type to the {@link ContentionTracker}; while an attempt runs, {@link PessimisticEscalationListener} loads escalated entity types with a pessimistic
+ *     lock</li>
+ *     <li>Lock timeouts raised by escalated loads are retried like optimistic conflicts</li>
+ *     <li>Inside an already active transaction the call runs once, since only the owner of the transaction can re-run it</li>
+ * </ul>
+ *
+ * @see OptimisticLockRetryPostProcessor
+ */
+@Slf4j
+public class OptimisticLockRetryInterceptor implements MethodInterceptor {
+
+  private static final String UNKNOWN_ENTITY = "unknown";
+
+  private static final ThreadLocal<ContentionTracker> ACTIVE = new ThreadLocal<>();
+
+  private final Supplier<ContentionTracker> tracker;
+
+  private final int defaultMaxAttempts;
+
+  private final long baseDelayNanos;
+
+  private final long maxDelayNanos;
+
+  private final Map<MethodClassKey, Integer> maxAttempts = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new interceptor.
+   *
+   * @param tracker            supplier of the contention tracker, resolved on first use
+   * @param defaultMaxAttempts attempts for annotations that do not set {@code maxAttempts}
+   * @param baseDelay          minimum wait between attempts
+   * @param maxDelay           maximum wait between attempts
+   */
+  public OptimisticLockRetryInterceptor(Supplier<ContentionTracker> tracker, int defaultMaxAttempts, Duration baseDelay, Duration maxDelay) {
+    if (defaultMaxAttempts <= 0 || baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+      throw new IllegalArgumentException("max-attempts must be positive and max-delay not below base-delay");
+    }
+    this.tracker = tracker;
+    this.defaultMaxAttempts = defaultMaxAttempts;
+    this.baseDelayNanos = baseDelay.toNanos();
+    this.maxDelayNanos = maxDelay.toNanos();
+  }
+
+  /**
+   * Gets the tracker of the retried call running on the current thread.
+   *
+   * @return the tracker, or {@code null} outside a retried call
+   */
+  static ContentionTracker activeTracker() {
+    return ACTIVE.get();
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (ACTIVE.get() != null || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return invocation.proceed();
+    }
+    final ContentionTracker contention = tracker.get();
+    final int attempts = resolveMaxAttempts(invocation);
+    long delayNanos = baseDelayNanos;
+    for (int attempt = 1; ; attempt++) {
+      ACTIVE.set(contention);
+      try {
+        return invocation.proceed();
+      } catch (Throwable failure) {
+        if (!isRetryable(failure)) {
+          throw failure;
+        }
+        final String entity = entityName(failure);
+        contention.recordConflict(entity);
+        if (attempt >= attempts) {
+          contention.recordExhausted(entity);
+          throw failure;
+        }
+        delayNanos = nextDelay(delayNanos, baseDelayNanos, maxDelayNanos);
+        log.debug("Optimistic locking conflict on {} in {} (attempt {} of {}); retrying in {} µs", entity, invocation.getMethod().getName(), attempt, attempts,
+            TimeUnit.NANOSECONDS.toMicros(delayNanos));
+        if (!pause(delayNanos)) {
+          throw failure;
+        }
+      } finally {
+        ACTIVE.remove();
+      }
+    }
+  }
+
+  /**
+   * Computes the next decorrelated jitter delay.
+   *
+   * @param previous the previous delay
+   * @param base     the minimum delay
+   * @param cap      the maximum delay
+   * @return a delay between {@code base} and {@code min(cap, 3 * previous)}
+   */
+  static long nextDelay(long previous, long base, long cap) {
+    final long upper = Math.min(cap, Math.max(base, previous) * 3);
+    return upper <= base ? base : ThreadLocalRandom.current().nextLong(base, upper + 1);
+  }
+
+  static boolean isRetryable(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof OptimisticLockingFailureException || cause instanceof PessimisticLockingFailureException
+          || cause instanceof OptimisticLockException || cause instanceof StaleObjectStateException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static String entityName(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ObjectOptimisticLockingFailureException objectFailure && objectFailure.getPersistentClassName() != null) {
+        return objectFailure.getPersistentClassName();
+      }
+      if (cause instanceof OptimisticLockException lockFailure && lockFailure.getEntity() != null) {
+        return lockFailure.getEntity().getClass().getName();
+      }
+      if (cause instanceof StaleObjectStateException staleFailure && staleFailure.getEntityName() != null) {
+        return staleFailure.getEntityName();
+      }
+    }
+    return UNKNOWN_ENTITY;
+  }
+
+  private static boolean pause(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private int resolveMaxAttempts(MethodInvocation invocation) {
+    final Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+    return maxAttempts.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass), key -> {
+      final Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+      RetryOnOptimisticLock annotation = AnnotatedElementUtils.findMergedAnnotation(method, RetryOnOptimisticLock.class);
+      if (annotation == null && targetClass != null) {
+        annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RetryOnOptimisticLock.class);
+      }
+      return annotation == null || annotation.maxAttempts() <= 0 ? defaultMaxAttempts : annotation.maxAttempts();
+    });
+  }
+}
@@ -0,0 +1,29 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+/**
+ * Bean post processor that applies the {@link OptimisticLockRetryInterceptor} to beans and methods annotated with {@link RetryOnOptimisticLock}.
+ *
+ * <p>The advisor is placed in front of existing advisors, so each attempt runs its own transaction.</p>
+ *
+ * @see OptimisticLockRetryInterceptor
+ */
+public class OptimisticLockRetryPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+  /**
+   * Creates a new post processor.
+   *
+   * @param interceptor the retry interceptor
+   */
+  public OptimisticLockRetryPostProcessor(OptimisticLockRetryInterceptor interceptor) {
+    setBeforeExistingAdvisors(true);
+    this.advisor = new DefaultPointcutAdvisor(
+        new ComposablePointcut(new AnnotationMatchingPointcut(RetryOnOptimisticLock.class, true))
+            .union(new AnnotationMatchingPointcut(null, RetryOnOptimisticLock.class, true)),
+        interceptor);
+  }
+}
@@ -0,0 +1,44 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import org.hibernate.LockMode;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+
+/**
+ * Hibernate load listener that upgrades loads of contended entity types to {@link LockMode#PESSIMISTIC_WRITE} with a short lock timeout. It only acts inside a call retried by
+ * {@link OptimisticLockRetryInterceptor} and only for entity types the {@link ContentionTracker} reports as escalated, so writers of a hot row queue on the row lock instead of repeatedly failing
+ * their version check.
+ *
+ * <h2>Important Implementation Notes:</h2>
+ * <ul>
+ *     <li>Must run before Hibernate's default load listener, i.e. be prepended to the {@code LOAD} event</li>
+ *     <li>Covers loads by id ({@code find}, {@code findById}, lazy references); entities read through queries keep their optimistic lock</li>
+ *     <li>The lock timeout is applied where the dialect supports one; on PostgreSQL use {@code lock_timeout} instead</li>
+ * </ul>
+ */
+public class PessimisticEscalationListener implements LoadEventListener {
+
+  private final int lockTimeoutMillis;
+
+  /**
+   * Creates a new listener.
+   *
+   * @param lockTimeoutMillis how long an escalated load waits for the row lock
+   */
+  public PessimisticEscalationListener(int lockTimeoutMillis) {
+    this.lockTimeoutMillis = lockTimeoutMillis;
+  }
+
+  @Override
+  public void onLoad(LoadEvent event, LoadType loadType) {
+    final ContentionTracker tracker = OptimisticLockRetryInterceptor.activeTracker();
+    if (tracker == null || !tracker.isEscalated(event.getEntityClassName())) {
+      return;
+    }
+    final LockMode current = event.getLockMode();
+    if (current == null || current.lessThan(LockMode.PESSIMISTIC_WRITE)) {
+      event.setLockMode(LockMode.PESSIMISTIC_WRITE);
+      event.setLockTimeout(lockTimeoutMillis);
+    }
+  }
+}
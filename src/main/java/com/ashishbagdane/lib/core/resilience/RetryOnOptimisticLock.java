@@ -0,0 +1,44 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated transactional method when it fails with an optimistic locking conflict, waiting a decorrelated jitter backoff between attempts. Each attempt runs in a fresh transaction
+ * and persistence context, so it re-reads the current row versions.
+ *
+ * <p>Example usage:
+ * <pre>
+ * {@code
+ * @Transactional
+ * @RetryOnOptimisticLock(maxAttempts = 8)
+ * public void reserve(UUID productId, int quantity) {
+ *     Product product = products.findById(productId).orElseThrow();
+ *     product.reserve(quantity);
+ * }
+ * }
+ * </pre>
+ *
+ * <p>The retry only applies when the annotated call starts the transaction; called inside an existing transaction it runs once and lets the conflict propagate to the outermost annotated caller.</p>
+ *
+ * <p>The annotation is only applied when {@code ash.core.resilience.optimistic-lock.enabled=true}.</p>
+ *
+ * @see OptimisticLockRetryInterceptor
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RetryOnOptimisticLock {
+
+  /**
+   * Maximum number of attempts including the first one. Zero uses {@code ash.core.resilience.optimistic-lock.max-attempts}.
+   *
+   * @return the maximum number of attempts
+   */
+  int maxAttempts() default 0;
+}
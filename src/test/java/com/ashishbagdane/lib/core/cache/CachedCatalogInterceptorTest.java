@@ -0,0 +1,130 @@
+package com.ashishbagdane.lib.core.cache;
+
+import com.ashishbagdane.lib.core.config.SecondLevelCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("CachedCatalogInterceptor Tests")
+class CachedCatalogInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Catalogs catalogs;
+
+    private CatalogService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SecondLevelCacheProperties properties = new SecondLevelCacheProperties();
+        SecondLevelCacheProperties.RegionSettings small = new SecondLevelCacheProperties.RegionSettings();
+        small.setMaximumSize(1);
+        properties.getRegions().put("small", small);
+        CacheRegions regions = new CacheRegions(properties, meterRegistry);
+
+        catalogs = new Catalogs();
+        ProxyFactory factory = new ProxyFactory(catalogs);
+        factory.addAdvice(new CachedCatalogInterceptor(() -> regions));
+        service = (CatalogService) factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should compute a catalog once per argument values")
+    void cachesPerArguments() {
+        assertEquals(List.of("ACTIVE"), service.statuses(false));
+        assertEquals(List.of("ACTIVE"), service.statuses(false));
+        assertEquals(List.of("ACTIVE", "ARCHIVED"), service.statuses(true));
+
+        assertEquals(2, catalogs.calls.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "ash.catalogs").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "ash.catalogs").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should not cache null results")
+    void skipsNull() {
+        assertNull(service.missing());
+        assertNull(service.missing());
+
+        assertEquals(2, catalogs.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should use the annotated region and its bounds")
+    void usesAnnotatedRegion() {
+        service.methods("GET");
+        service.methods("POST");
+        meterRegistry.get("cache.size").tag("cache", "small").gauge();
+
+        assertEquals(2, catalogs.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should return cached collections as unmodifiable copies")
+    void returnsUnmodifiableCopies() {
+        List<String> first = service.mutable();
+        catalogs.last.add("CHANGED");
+
+        assertEquals(List.of("ACTIVE"), service.mutable());
+        assertThrows(UnsupportedOperationException.class, () -> first.add("ARCHIVED"));
+        assertEquals(1, catalogs.calls.get());
+    }
+
+    interface CatalogService {
+
+        List<String> statuses(boolean includeArchived);
+
+        List<String> missing();
+
+        List<String> methods(String prefix);
+
+        List<String> mutable();
+    }
+
+    static class Catalogs implements CatalogService {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        List<String> last;
+
+        @Override
+        @CachedCatalog
+        public List<String> statuses(boolean includeArchived) {
+            calls.incrementAndGet();
+            return includeArchived ? List.of("ACTIVE", "ARCHIVED") : List.of("ACTIVE");
+        }
+
+        @Override
+        @CachedCatalog
+        public List<String> missing() {
+            calls.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        @CachedCatalog(region = "small")
+        public List<String> methods(String prefix) {
+            calls.incrementAndGet();
+            return List.of(prefix);
+        }
+
+        @Override
+        @CachedCatalog
+        public List<String> mutable() {
+            calls.incrementAndGet();
+            last = new ArrayList<>(List.of("ACTIVE"));
+            return last;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.ashishbagdane.lib.core.cache;
+
+import com.ashishbagdane.lib.core.config.SecondLevelCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Second-Level Cache Tests")
+class SecondLevelCacheTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(SecondLevelCacheConfig.class)
+        .withPropertyValues("ash.core.cache.enabled=true", "ash.core.cache.regions.reference.maximum-size=2")
+        .withBean(SimpleMeterRegistry.class, SimpleMeterRegistry::new)
+        .withBean(PersistenceManagedTypes.class, () -> PersistenceManagedTypes.of(Country.class.getName(), Currency.class.getName()));
+
+    @Test
+    @DisplayName("Should register ReadMostly entities with their region and access type")
+    void registersReadMostlyEntities() {
+        contextRunner.run(context -> {
+            Map<String, Object> settings = hibernateProperties(context);
+
+            assertEquals(Boolean.TRUE, settings.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+            assertTrue(settings.get(AvailableSettings.CACHE_REGION_FACTORY) instanceof CaffeineRegionFactory);
+            assertEquals("read-write,reference", settings.get(AvailableSettings.CLASS_CACHE_PREFIX + "." + Country.class.getName()));
+            assertNull(settings.get(AvailableSettings.CLASS_CACHE_PREFIX + "." + Currency.class.getName()));
+        });
+    }
+
+    @Test
+    @DisplayName("Should serve repeated loads from the entity region")
+    void servesLoadsFromRegion() {
+        withEntityManagerFactory((context, factory) -> {
+            SimpleMeterRegistry meterRegistry = context.getBean(SimpleMeterRegistry.class);
+            insert(factory, "NL", "Netherlands");
+            factory.getCache().evictAll();
+
+            double hits = hits(meterRegistry);
+            assertEquals("Netherlands", find(factory, "NL").name);
+            assertEquals(hits, hits(meterRegistry), "the first load reads the database");
+            assertTrue(factory.getCache().contains(Country.class, "NL"));
+            assertEquals("Netherlands", find(factory, "NL").name);
+
+            assertEquals(hits + 1, hits(meterRegistry));
+        });
+    }
+
+    @Test
+    @DisplayName("Should evict entries beyond the region size and on request")
+    void evictsEntries() {
+        withEntityManagerFactory((context, factory) -> {
+            SimpleMeterRegistry meterRegistry = context.getBean(SimpleMeterRegistry.class);
+            insert(factory, "NL", "Netherlands");
+            insert(factory, "BE", "Belgium");
+            insert(factory, "LU", "Luxembourg");
+            factory.getCache().evictAll();
+
+            find(factory, "NL");
+            find(factory, "BE");
+            find(factory, "LU");
+
+            await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("cache.evictions").tag("cache", "reference").functionCounter().count() > 0);
+            assertTrue(meterRegistry.get("cache.size").tag("cache", "reference").gauge().value() <= 2);
+
+            factory.getCache().evict(Country.class, "LU");
+            assertFalse(factory.getCache().contains(Country.class, "LU"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should share one cache and one set of meters between an entity and a catalog region")
+    void sharesRegionWithCatalog() {
+        withEntityManagerFactory((context, factory) -> {
+            SimpleMeterRegistry meterRegistry = context.getBean(SimpleMeterRegistry.class);
+            CacheRegions regions = context.getBean(CacheRegions.class);
+            ProxyFactory proxyFactory = new ProxyFactory(new Countries());
+            proxyFactory.addAdvice(new CachedCatalogInterceptor(() -> regions));
+            CountryCatalog catalog = (CountryCatalog) proxyFactory.getProxy();
+
+            assertEquals(List.of("NL"), catalog.codes());
+            assertSame(regions.build("reference"), regions.build("reference"));
+            assertEquals(1, meterRegistry.find("cache.size").tag("cache", "reference").gauges().size());
+        });
+    }
+
+    private void withEntityManagerFactory(BiConsumer<AssertableApplicationContext, EntityManagerFactory> test) {
+        contextRunner.run(context -> {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:second_level_cache;DB_CLOSE_DELAY=-1");
+            Map<String, Object> settings = hibernateProperties(context);
+            settings.put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+
+            LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+            factoryBean.setDataSource(dataSource);
+            factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factoryBean.setManagedTypes(context.getBean(PersistenceManagedTypes.class));
+            factoryBean.setJpaPropertyMap(settings);
+            factoryBean.afterPropertiesSet();
+            try {
+                test.accept(context, factoryBean.getObject());
+            } finally {
+                factoryBean.destroy();
+            }
+        });
+    }
+
+    private static Map<String, Object> hibernateProperties(AssertableApplicationContext context) {
+        Map<String, Object> settings = new HashMap<>();
+        context.getBean(HibernatePropertiesCustomizer.class).customize(settings);
+        return settings;
+    }
+
+    private static void insert(EntityManagerFactory factory, String code, String name) {
+        EntityManager entityManager = factory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.persist(new Country(code, name));
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static Country find(EntityManagerFactory factory, String code) {
+        EntityManager entityManager = factory.createEntityManager();
+        try {
+            return entityManager.find(Country.class, code);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static double hits(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("cache.gets").tag("cache", "reference").tag("result", "hit").functionCounter().count();
+    }
+
+    @Entity
+    @ReadMostly(region = "reference")
+    static class Country {
+
+        @Id
+        String code;
+
+        String name;
+
+        protected Country() {
+        }
+
+        Country(String code, String name) {
+            this.code = code;
+            this.name = name;
+        }
+    }
+
+    interface CountryCatalog {
+
+        List<String> codes();
+    }
+
+    static class Countries implements CountryCatalog {
+
+        @Override
+        @CachedCatalog(region = "reference")
+        public List<String> codes() {
+            return List.of("NL");
+        }
+    }
+
+    @Entity
+    static class Currency {
+
+        @Id
+        String code;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ashishbagdane.lib.core.concurrent;
+
+import com.ashishbagdane.lib.core.TestApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test comparing a platform thread pool against virtual-thread mode for short transactions that block on I/O while holding a connection. Task count and simulated I/O time can be raised
+ * with {@code -Dash.loadtest.tasks=...} and {@code -Dash.loadtest.io-millis=...}.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(classes = TestApplication.class, properties = {
+    "ash.core.virtual-threads.enabled=true",
+    "ash.core.virtual-threads.acquire-timeout=60s",
+    "spring.datasource.hikari.maximum-pool-size=10",
+    "spring.jpa.show-sql=false"
+})
+@DisplayName("Virtual Thread Load Test")
+class VirtualThreadLoadIT {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadIT.class);
+
+    private static final int TASKS = Integer.getInteger("ash.loadtest.tasks", 5_000);
+
+    private static final long IO_MILLIS = Long.getLong("ash.loadtest.io-millis", 2);
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionPermits transactionPermits;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private SimpleAsyncTaskExecutor virtualExecutor;
+
+    @Autowired
+    private PinningMonitor pinningMonitor;
+
+    @Test
+    @DisplayName("Virtual threads should complete every task without exceeding the transaction permits")
+    void compareWithPlatformThreads() throws InterruptedException {
+        assertInstanceOf(BoundedJpaTransactionManager.class, transactionManager);
+        assertEquals(10, transactionPermits.getPermits());
+
+        ExecutorService platformPool = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        Result platform;
+        try {
+            platform = run(platformPool);
+        } finally {
+            platformPool.shutdown();
+        }
+        Result virtual = run(virtualExecutor);
+
+        report("PLATFORM", platform);
+        report("VIRTUAL", virtual);
+        log.info("Pinning events: {}", pinningMonitor.getPinnedCount());
+
+        assertEquals(TASKS, platform.completed());
+        assertEquals(TASKS, virtual.completed());
+        assertTrue(virtual.peakTransactions() <= transactionPermits.getPermits(), "peak concurrent transactions exceeded the permits");
+        assertEquals(transactionPermits.getPermits(), transactionPermits.getAvailablePermits(), "all permits must be returned");
+    }
+
+    private Result run(Executor executor) throws InterruptedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch done = new CountDownLatch(TASKS);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        long[] latencies = new long[TASKS];
+
+        long started = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            int task = i;
+            executor.execute(() -> {
+                long submitted = System.nanoTime();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        try {
+                            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                            Thread.sleep(IO_MILLIS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            active.decrementAndGet();
+                        }
+                    });
+                    completed.incrementAndGet();
+                } finally {
+                    latencies[task] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES), "load test did not finish");
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        return new Result(completed.get(), TASKS * 1e9 / elapsed, latencies[TASKS / 2] / 1e6, latencies[TASKS * 99 / 100] / 1e6, peak.get());
+    }
+
+    private static void report(String label, Result result) {
+        log.info("{} threads: {} tx/s, p50 {} ms, p99 {} ms, peak {} concurrent transactions", label, Math.round(result.transactionsPerSecond()),
+            String.format("%.1f", result.p50Millis()), String.format("%.1f", result.p99Millis()), result.peakTransactions());
+    }
+
+    private record Result(int completed, double transactionsPerSecond, double p50Millis, double p99Millis, int peakTransactions) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import com.orbitz.consul.Consul;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ConsulKvWatcher Tests")
+class ConsulKvWatcherTest {
+
+    private final StubConsul stub = new StubConsul();
+
+    private HttpServer server;
+
+    private Consul consul;
+
+    private ConsulKvWatcher watcher;
+
+    private final DynamicConfiguration configuration = new DynamicConfiguration();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/kv/", stub::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        consul = Consul.builder()
+            .withUrl("http://127.0.0.1:" + server.getAddress().getPort())
+            .withPing(false)
+            .withReadTimeoutMillis(10_000)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+        consul.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should map watched prefixes to property keys with later prefixes taking precedence")
+    void mapsPrefixes() throws InterruptedException {
+        stub.put(Map.of(
+            "config/application/client/timeout", "5s",
+            "config/application/feature", "off",
+            "config/payments/feature", "on",
+            "config/other/ignored", "x"));
+
+        start(List.of("config/application/", "config/payments/"));
+
+        awaitTrue(() -> configuration.snapshot().getVersion() > 0);
+        assertEquals(Map.of("client.timeout", "5s", "feature", "on"), configuration.snapshot().asMap());
+        assertEquals(Set.of("config/"), stub.requestedPrefixes());
+    }
+
+    @Test
+    @DisplayName("Should deliver changes through blocking queries and coalesce bursts into one snapshot")
+    void coalescesBursts() throws InterruptedException {
+        stub.put(Map.of("config/app/value", "0"));
+        start(List.of("config/app/"));
+        awaitTrue(() -> "0".equals(configuration.get("value")));
+        long version = configuration.snapshot().getVersion();
+
+        for (int i = 1; i <= 5; i++) {
+            stub.put(Map.of("config/app/value", String.valueOf(i)));
+            Thread.sleep(10);
+        }
+
+        awaitTrue(() -> "5".equals(configuration.get("value")));
+        assertEquals(version + 1, configuration.snapshot().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should recover after errors")
+    void recoversFromErrors() throws InterruptedException {
+        stub.put(Map.of("config/app/value", "1"));
+        stub.failNext(3);
+
+        start(List.of("config/app/"));
+
+        awaitTrue(() -> "1".equals(configuration.get("value")));
+    }
+
+    @Test
+    @DisplayName("Should query prefixes in unrelated trees separately instead of their empty common path")
+    void watchesUnrelatedTreesSeparately() throws InterruptedException {
+        stub.put(Map.of("a/value", "1", "b/other", "2", "c/ignored", "3"));
+
+        start(List.of("a/", "b/"));
+
+        awaitTrue(() -> configuration.snapshot().getVersion() > 0);
+        assertEquals(Map.of("value", "1", "other", "2"), configuration.snapshot().asMap());
+        assertEquals(Set.of("a/", "b/"), stub.requestedPrefixes());
+    }
+
+    @Test
+    @DisplayName("Should publish the removal of keys once Consul answers a prefix with 404")
+    void publishesRemovalsOnNotFound() throws InterruptedException {
+        stub.put(Map.of("config/app/value", "1"));
+        start(List.of("config/app/"));
+        awaitTrue(() -> "1".equals(configuration.get("value")));
+
+        stub.remove("config/app/value");
+        awaitTrue(() -> stub.notFoundCount() > 0);
+        awaitTrue(() -> configuration.get("value") == null);
+
+        assertTrue(configuration.snapshot().asMap().isEmpty());
+        stub.put(Map.of("config/app/value", "2"));
+        awaitTrue(() -> "2".equals(configuration.get("value")));
+    }
+
+    @Test
+    @DisplayName("Should back off with equal jitter")
+    void backsOffWithEqualJitter() {
+        ConsulKvWatcher unstarted = new ConsulKvWatcher(consul.keyValueClient(), List.of("config/"), configuration, Duration.ofSeconds(1), Duration.ofMillis(200),
+            Duration.ofSeconds(10));
+
+        for (int i = 0; i < 100; i++) {
+            long delay = unstarted.backoffMillis(3);
+            assertTrue(delay >= 400 && delay <= 800, "delay " + delay + " outside [400, 800]");
+            assertTrue(unstarted.backoffMillis(30) >= 5_000);
+        }
+    }
+
+    private void start(List<String> prefixes) {
+        watcher = new ConsulKvWatcher(consul.keyValueClient(), prefixes, configuration, Duration.ofSeconds(1), Duration.ofMillis(200), Duration.ofMillis(200));
+        watcher.start();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not met within 10s");
+    }
+
+    /**
+     * Minimal emulation of the Consul KV read API with blocking queries.
+     */
+    private static final class StubConsul {
+
+        private final Map<String, String> values = new TreeMap<>();
+
+        private final Set<String> requestedPrefixes = ConcurrentHashMap.newKeySet();
+
+        private final AtomicInteger notFound = new AtomicInteger();
+
+        private long index = 1;
+
+        private int failures;
+
+        synchronized void put(Map<String, String> entries) {
+            values.putAll(entries);
+            index++;
+            notifyAll();
+        }
+
+        synchronized void remove(String key) {
+            values.remove(key);
+            index++;
+            notifyAll();
+        }
+
+        Set<String> requestedPrefixes() {
+            return requestedPrefixes;
+        }
+
+        int notFoundCount() {
+            return notFound.get();
+        }
+
+        synchronized void failNext(int count) {
+            failures = count;
+        }
+
+        void handle(HttpExchange exchange) throws IOException {
+            String prefix = exchange.getRequestURI().getPath().substring("/v1/kv/".length());
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            long requestedIndex = Long.parseLong(query.getOrDefault("index", "0"));
+            requestedPrefixes.add(prefix);
+
+            String body;
+            long responseIndex;
+            synchronized (this) {
+                if (failures > 0) {
+                    failures--;
+                    respond(exchange, 500, "stub failure", index);
+                    return;
+                }
+                long deadline = System.currentTimeMillis() + 1_000;
+                while (requestedIndex >= index && System.currentTimeMillis() < deadline) {
+                    try {
+                        wait(Math.max(1, deadline - System.currentTimeMillis()));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                List<Map.Entry<String, String>> matching = values.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .toList();
+                if (matching.isEmpty()) {
+                    notFound.incrementAndGet();
+                    respond(exchange, 404, "", index);
+                    return;
+                }
+                body = matching.stream()
+                    .map(entry -> String.format("{\"LockIndex\":0,\"Key\":\"%s\",\"Flags\":0,\"Value\":\"%s\",\"CreateIndex\":1,\"ModifyIndex\":%d}",
+                        entry.getKey(), Base64.getEncoder().encodeToString(entry.getValue().getBytes(StandardCharsets.UTF_8)), index))
+                    .collect(Collectors.joining(",", "[", "]"));
+                responseIndex = index;
+            }
+            respond(exchange, 200, body, responseIndex);
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body, long index) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Consul-Index", String.valueOf(index));
+            exchange.getResponseHeaders().add("X-Consul-Knownleader", "true");
+            exchange.getResponseHeaders().add("X-Consul-Lastcontact", "0");
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        private static Map<String, String> parseQuery(String rawQuery) {
+            Map<String, String> query = new HashMap<>();
+            if (rawQuery != null) {
+                for (String pair : rawQuery.split("&")) {
+                    String[] parts = pair.split("=", 2);
+                    query.put(parts[0], parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+                }
+            }
+            return query;
+        }
+    }
+}
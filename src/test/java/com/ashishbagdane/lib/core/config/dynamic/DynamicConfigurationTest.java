@@ -0,0 +1,112 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DynamicConfiguration Tests")
+class DynamicConfigurationTest {
+
+    @Test
+    @DisplayName("Should publish versioned snapshots and compute key-level diffs")
+    void publishesVersionedSnapshots() {
+        DynamicConfiguration configuration = new DynamicConfiguration();
+
+        configuration.publish(Map.of("a", "1", "b", "2"));
+        ConfigSnapshot first = configuration.snapshot();
+        ConfigChange change = configuration.publish(Map.of("a", "1", "b", "3", "c", "4"));
+
+        assertEquals(1, first.getVersion());
+        assertEquals(2, configuration.snapshot().getVersion());
+        assertEquals(Set.of("b", "c"), change.changedKeys());
+        assertEquals("2", first.get("b"), "published snapshots must not change");
+        assertEquals("3", configuration.get("b"));
+
+        change = configuration.publish(Map.of("a", "1", "b", "3"));
+        assertEquals(Set.of("c"), change.changedKeys());
+        assertNull(configuration.get("c"));
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot when nothing changed")
+    void keepsSnapshotWithoutChanges() {
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        configuration.publish(Map.of("a", "1"));
+        ConfigSnapshot snapshot = configuration.snapshot();
+
+        ConfigChange change = configuration.publish(Map.of("a", "1"));
+
+        assertTrue(change.changedKeys().isEmpty());
+        assertSame(snapshot, configuration.snapshot());
+    }
+
+    @Test
+    @DisplayName("Should only notify listeners whose keys changed")
+    void notifiesOnlyAffectedListeners() {
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        List<String> calls = new ArrayList<>();
+        configuration.subscribe(change -> calls.add("exact"), "payments.timeout");
+        configuration.subscribePrefix("flags.", change -> calls.add("prefix"));
+        DynamicConfiguration.Subscription cancelled = configuration.subscribe(change -> calls.add("cancelled"), "payments.timeout");
+        cancelled.cancel();
+
+        configuration.publish(Map.of("payments.timeout", "5s"));
+        configuration.publish(Map.of("payments.timeout", "5s", "flags.beta", "true"));
+        configuration.publish(Map.of("payments.timeout", "5s", "flags.beta", "true", "other", "x"));
+
+        assertEquals(List.of("exact", "prefix"), calls);
+    }
+
+    @Test
+    @DisplayName("Should accept duplicate keys and notify once per change")
+    void acceptsDuplicateKeys() {
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        List<String> calls = new ArrayList<>();
+        configuration.subscribe(change -> calls.add("timeout"), "payments.timeout", "payments.timeout");
+
+        configuration.publish(Map.of("payments.timeout", "5s"));
+
+        assertEquals(List.of("timeout"), calls);
+    }
+
+    @Test
+    @DisplayName("Should reload a watched properties file when it changes")
+    void reloadsWatchedFile(@TempDir Path directory) throws IOException, InterruptedException {
+        Path file = directory.resolve("dynamic.properties");
+        Files.writeString(file, "feature.enabled=false\nlist=a,b\n");
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        try (ConfigReloader reloader = new ConfigReloader(CommonsConfigurationSource.properties(file), configuration)) {
+            reloader.reloadNow();
+            assertEquals("false", configuration.get("feature.enabled"));
+            assertEquals("a,b", configuration.get("list"));
+
+            FileWatchReloadTrigger trigger = new FileWatchReloadTrigger(file, reloader);
+            trigger.start();
+            try {
+                Files.writeString(file, "feature.enabled=true\nlist=a,b\n");
+                long deadline = System.currentTimeMillis() + 15_000;
+                while (!"true".equals(configuration.get("feature.enabled")) && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+            } finally {
+                trigger.stop();
+            }
+        }
+
+        assertEquals("true", configuration.get("feature.enabled"));
+        assertEquals(2, configuration.snapshot().getVersion());
+    }
+}
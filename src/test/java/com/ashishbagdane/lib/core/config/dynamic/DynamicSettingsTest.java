@@ -0,0 +1,64 @@
+package com.ashishbagdane.lib.core.config.dynamic;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DynamicSettings Tests")
+class DynamicSettingsTest {
+
+    @Test
+    @DisplayName("Should parse the current snapshot when a setting is declared")
+    void readsCurrentSnapshot() {
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        configuration.publish(Map.of("flag", "TRUE", "limit", " 42 ", "timeout", "500ms"));
+        DynamicSettings settings = new DynamicSettings(configuration);
+
+        assertTrue(settings.booleanSetting("flag", false).getAsBoolean());
+        assertEquals(42, settings.intSetting("limit", 1).getAsInt());
+        assertEquals(Duration.ofMillis(500), settings.durationSetting("timeout", Duration.ZERO).get());
+        assertEquals(7L, settings.longSetting("missing", 7L).getAsLong());
+    }
+
+    @Test
+    @DisplayName("Should re-parse on change, keep the previous value on parse errors and fall back to the default on removal")
+    void followsChanges() {
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        DynamicSettings settings = new DynamicSettings(configuration);
+        BooleanSetting flag = settings.booleanSetting("flag", false);
+        TypedSetting<String> name = settings.stringSetting("name", "default");
+
+        configuration.publish(Map.of("flag", "true", "name", "first"));
+        assertTrue(flag.getAsBoolean());
+        assertEquals("first", name.get());
+
+        configuration.publish(Map.of("flag", "maybe", "name", "second"));
+        assertTrue(flag.getAsBoolean(), "invalid values must not replace the previous value");
+        assertEquals("second", name.get());
+
+        configuration.publish(Map.of());
+        assertFalse(flag.getAsBoolean());
+        assertEquals("default", name.get());
+    }
+
+    @Test
+    @DisplayName("Should stop following the configuration once closed")
+    void stopsWhenClosed() {
+        DynamicConfiguration configuration = new DynamicConfiguration();
+        DynamicSettings settings = new DynamicSettings(configuration);
+        IntSetting limit = settings.intSetting("limit", 1);
+        configuration.publish(Map.of("limit", "2"));
+
+        limit.close();
+        limit.close();
+        configuration.publish(Map.of("limit", "3"));
+
+        assertEquals(2, limit.getAsInt());
+    }
+}
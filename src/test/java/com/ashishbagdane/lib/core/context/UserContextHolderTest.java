@@ -0,0 +1,167 @@
+package com.ashishbagdane.lib.core.context;
+
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.model.UserContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("UserContextHolder Tests")
+class UserContextHolderTest {
+
+    private final UserContext alice = UserContext.createUserContext("alice", "10.0.0.1", "JUnit");
+
+    private final UserContext bob = UserContext.createUserContext("bob", "10.0.0.2", "JUnit");
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should bind a context only for the duration of the call and restore the outer binding")
+    void scopesBindings() {
+        assertNull(UserContextHolder.current());
+
+        UserContextHolder.run(alice, () -> {
+            assertSame(alice, UserContextHolder.current());
+            UserContextHolder.run(bob, () -> assertSame(bob, UserContextHolder.current()));
+            assertSame(alice, UserContextHolder.current());
+        });
+
+        assertNull(UserContextHolder.current());
+        assertEquals("SYSTEM", UserContextHolder.currentOrSystem().getPrincipalName());
+    }
+
+    @Test
+    @DisplayName("Should return the result of a call and rethrow its checked exception")
+    void callsWithBinding() {
+        assertEquals("alice", UserContextHolder.call(alice, () -> UserContextHolder.current().getPrincipalName()));
+
+        IOException failure = new IOException("boom");
+        assertSame(failure, assertThrows(IOException.class, () -> UserContextHolder.<Void, IOException>call(alice, () -> {
+            throw failure;
+        })));
+        assertNull(UserContextHolder.current());
+    }
+
+    @Test
+    @DisplayName("Should propagate the submitting thread's context to CompletableFuture tasks")
+    void propagatesToCompletableFutures() {
+        Executor executor = UserContextPropagation.wrap(pool);
+
+        String principal = UserContextHolder.call(alice, () -> CompletableFuture
+            .supplyAsync(() -> UserContextHolder.current().getPrincipalName(), executor)
+            .join());
+        UserContext afterwards = CompletableFuture.supplyAsync(UserContextHolder::current, executor).join();
+
+        assertEquals("alice", principal);
+        assertNull(afterwards, "pooled threads must not keep a stale context");
+    }
+
+    @Test
+    @DisplayName("Should propagate the context through the task decorator")
+    void decoratesTasks() throws Exception {
+        AtomicReference<UserContext> seen = new AtomicReference<>();
+        Runnable task = UserContextHolder.call(bob, () -> new UserContextTaskDecorator().decorate(() -> seen.set(UserContextHolder.current())));
+
+        pool.submit(task).get();
+
+        assertSame(bob, seen.get());
+    }
+
+    @Test
+    @DisplayName("Should capture the request's user context for the filter chain")
+    void capturesRequestContext() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setUserPrincipal(() -> "carol");
+        request.setRemoteAddr("192.168.1.7");
+        request.addHeader("User-Agent", "x".repeat(300));
+        AtomicReference<UserContext> seen = new AtomicReference<>();
+
+        new UserContextFilter().doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(UserContextHolder.current()));
+
+        assertEquals("carol", seen.get().getPrincipalName());
+        assertEquals("192.168.1.7", seen.get().getIpAddress());
+        assertEquals(255, seen.get().getUserAgent().length());
+        assertNull(UserContextHolder.current());
+    }
+
+    @Test
+    @DisplayName("Should record the bound context in audit entity callbacks without replacing an explicit one")
+    void populatesAuditEntities() {
+        UserContext explicit = UserContext.createSystemContext();
+        Audited implicit = new Audited();
+        Audited preset = new Audited();
+        preset.setUserContext(explicit);
+
+        UserContextHolder.run(alice, () -> {
+            implicit.create();
+            preset.create();
+        });
+
+        assertEquals(alice, implicit.getUserContext());
+        assertNotSame(alice, implicit.getUserContext());
+        assertSame(explicit, preset.getUserContext());
+
+        UserContextHolder.run(bob, preset::update);
+        assertEquals(bob, preset.getUserContext());
+    }
+
+    @Test
+    @DisplayName("Should keep a user context changed explicitly since the entity was loaded")
+    void keepsExplicitContextOnUpdate() {
+        Audited loaded = new Audited();
+        loaded.setUserContext(UserContext.createUserContext("alice", "10.0.0.1", "JUnit"));
+        loaded.load();
+
+        loaded.getUserContext().setPrincipalName("import-job");
+        UserContextHolder.run(bob, loaded::update);
+        assertEquals("import-job", loaded.getUserContext().getPrincipalName());
+
+        UserContextHolder.run(bob, loaded::delete);
+        assertEquals(bob, loaded.getUserContext());
+    }
+
+    static class Audited extends BaseAuditEntity {
+
+        void create() {
+            onCreate();
+        }
+
+        void update() {
+            onUpdate();
+        }
+
+        void delete() {
+            onDelete();
+        }
+
+        void load() {
+            onLoad();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.config.AsyncAuditProperties;
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.model.dictionary.InetAddressConverter;
+import jakarta.persistence.Convert;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AsyncAuditSink Tests")
+class AsyncAuditSinkTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private AsyncAuditProperties properties;
+
+    private AsyncAuditSink sink;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:async_audit;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS payment_audit");
+        jdbcTemplate.execute("CREATE TABLE payment_audit (id uuid PRIMARY KEY, version bigint, endpoint_path varchar(255), principal_name varchar(255),"
+            + " ip_address varchar(45), user_agent varchar(512), is_system_operation boolean, operation_type varchar(16) NOT NULL, http_method varchar(16),"
+            + " operation_timestamp timestamp with time zone NOT NULL)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        properties = new AsyncAuditProperties();
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setRetryBackoff(Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sink != null) {
+            sink.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should flush as soon as a full batch is buffered")
+    void flushesOnSize() {
+        properties.setFlushSize(10);
+        sink = start(new PaymentAuditBinder());
+
+        submit(10);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> count() == 10);
+        submit(5);
+
+        assertEquals(5, sink.getQueueDepth(), "a partial batch waits for the flush interval");
+        assertEquals(10, sink.getWrittenCount());
+    }
+
+    @Test
+    @DisplayName("Should flush a partial batch when the flush interval elapses")
+    void flushesOnInterval() {
+        properties.setFlushSize(100);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        sink = start(new PaymentAuditBinder());
+
+        submit(3);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> count() == 3);
+    }
+
+    @Test
+    @DisplayName("Should drain the buffer on stop and write later submissions synchronously")
+    void drainsOnStop() {
+        properties.setFlushSize(100);
+        sink = start(new PaymentAuditBinder());
+        submit(7);
+
+        sink.stop();
+
+        assertEquals(7, count());
+        assertFalse(sink.isRunning());
+        submit(1);
+        assertEquals(8, count());
+    }
+
+    @Test
+    @DisplayName("Should retry a flush that failed with a transient error")
+    void retriesTransientFailures() {
+        AtomicInteger failures = new AtomicInteger(2);
+        sink = new AsyncAuditSink(jdbcTemplate, transactionTemplate, List.of(new PaymentAuditBinder() {
+            @Override
+            public void bind(PreparedStatement ps, PaymentAudit row) throws SQLException {
+                if (failures.getAndDecrement() > 0) {
+                    throw new TransientDataAccessResourceException("connection reset");
+                }
+                super.bind(ps, row);
+            }
+        }), properties, null);
+
+        submit(1);
+
+        assertEquals(1, count());
+        assertEquals(0, sink.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Should hand records to the failure handler once retries are exhausted")
+    void handsPermanentFailuresToHandler() {
+        List<BaseAuditEntity> handed = new ArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        sink = new AsyncAuditSink(jdbcTemplate, transactionTemplate, List.of(new PaymentAuditBinder() {
+            @Override
+            public void bind(PreparedStatement ps, PaymentAudit row) {
+                attempts.incrementAndGet();
+                throw new TransientDataAccessResourceException("database down");
+            }
+        }), properties, (records, cause) -> handed.addAll(records), null);
+
+        submit(1);
+
+        assertEquals(1 + properties.getFlushRetries(), attempts.get());
+        assertEquals(1, handed.size());
+        assertEquals(1, sink.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the next backoff would exceed the flush interval")
+    void boundsRetriesByFlushInterval() {
+        List<BaseAuditEntity> handed = new ArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        properties.setFlushInterval(Duration.ofMillis(300));
+        properties.setRetryBackoff(Duration.ofMillis(100));
+        properties.setFlushRetries(10);
+        sink = new AsyncAuditSink(jdbcTemplate, transactionTemplate, List.of(new PaymentAuditBinder() {
+            @Override
+            public void bind(PreparedStatement ps, PaymentAudit row) {
+                attempts.incrementAndGet();
+                throw new TransientDataAccessResourceException("database down");
+            }
+        }), properties, (records, cause) -> handed.addAll(records), null);
+
+        long started = System.nanoTime();
+        submit(1);
+
+        assertEquals(2, attempts.get(), "the second retry would wait until 300 ms after the first attempt");
+        assertTrue(System.nanoTime() - started < Duration.ofMillis(300).toNanos());
+        assertEquals(1, handed.size());
+        assertEquals(1, sink.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Should isolate a record rejected by a non-retryable error from the rest of its batch")
+    void isolatesPoisonRecords() {
+        List<BaseAuditEntity> handed = new ArrayList<>();
+        properties.setFlushSize(100);
+        sink = new AsyncAuditSink(jdbcTemplate, transactionTemplate, List.of(new PaymentAuditBinder() {
+            @Override
+            public void bind(PreparedStatement ps, PaymentAudit row) throws SQLException {
+                if ("/bad".equals(row.getEndpointPath())) {
+                    throw new DataIntegrityViolationException("rejected");
+                }
+                super.bind(ps, row);
+            }
+        }), properties, (records, cause) -> handed.addAll(records), null);
+        sink.start();
+        submit(3);
+        sink.submit(audit("/bad"));
+        submit(3);
+
+        sink.stop();
+
+        assertEquals(6, count());
+        assertEquals(1, handed.size());
+        assertEquals("/bad", handed.get(0).getEndpointPath());
+        assertEquals(1, sink.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Should apply the overflow policy when the buffer stays full")
+    void appliesBackpressure() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        properties.setCapacity(2);
+        properties.setFlushSize(2);
+        properties.setFlushInterval(Duration.ofMillis(5));
+        properties.setOfferTimeout(Duration.ofMillis(20));
+        properties.setOverflowPolicy(OverflowPolicy.DROP);
+        sink = start(new PaymentAuditBinder() {
+            @Override
+            public void bind(PreparedStatement ps, PaymentAudit row) throws SQLException {
+                if ("/slow".equals(row.getEndpointPath())) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.bind(ps, row);
+            }
+        });
+        sink.submit(audit("/slow"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        submit(2);
+        boolean accepted = sink.submit(audit("/dropped"));
+        release.countDown();
+        sink.stop();
+
+        assertFalse(accepted);
+        assertEquals(1, sink.getDroppedCount());
+        assertEquals(3, count());
+    }
+
+    @Test
+    @DisplayName("Should reject entity types whose user context columns are converted")
+    void rejectsEncodedUserContext() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncAuditSink(jdbcTemplate, transactionTemplate, List.of(new EncodedAuditBinder()), properties, null));
+    }
+
+    private AsyncAuditSink start(PaymentAuditBinder binder) {
+        AsyncAuditSink started = new AsyncAuditSink(jdbcTemplate, transactionTemplate, List.of(binder), properties, null);
+        started.start();
+        return started;
+    }
+
+    private void submit(int records) {
+        for (int i = 0; i < records; i++) {
+            sink.submit(audit("/api/payments/" + i));
+        }
+    }
+
+    private static PaymentAudit audit(String endpointPath) {
+        PaymentAudit audit = new PaymentAudit();
+        audit.setEndpointPath(endpointPath);
+        return audit;
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_audit", Integer.class);
+    }
+
+    static class PaymentAudit extends BaseAuditEntity {
+    }
+
+    @Convert(attributeName = "userContext.ipAddress", converter = InetAddressConverter.class)
+    static class EncodedAudit extends BaseAuditEntity {
+    }
+
+    static class PaymentAuditBinder implements AuditRowBinder<PaymentAudit> {
+
+        @Override
+        public Class<PaymentAudit> entityType() {
+            return PaymentAudit.class;
+        }
+
+        @Override
+        public String insertSql() {
+            return "INSERT INTO payment_audit (" + AUDIT_COLUMNS + ") VALUES (" + AUDIT_PLACEHOLDERS + ")";
+        }
+
+        @Override
+        public void bind(PreparedStatement ps, PaymentAudit row) throws SQLException {
+            AuditRowBinder.bindAuditColumns(ps, 1, row);
+        }
+    }
+
+    static class EncodedAuditBinder implements AuditRowBinder<EncodedAudit> {
+
+        @Override
+        public Class<EncodedAudit> entityType() {
+            return EncodedAudit.class;
+        }
+
+        @Override
+        public String insertSql() {
+            return "INSERT INTO payment_audit (" + AUDIT_COLUMNS + ") VALUES (" + AUDIT_PLACEHOLDERS + ")";
+        }
+
+        @Override
+        public void bind(PreparedStatement ps, EncodedAudit row) throws SQLException {
+            AuditRowBinder.bindAuditColumns(ps, 1, row);
+        }
+    }
+}
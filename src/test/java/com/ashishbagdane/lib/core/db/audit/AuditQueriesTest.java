@@ -0,0 +1,243 @@
+package com.ashishbagdane.lib.core.db.audit;
+
+import com.ashishbagdane.lib.core.config.AuditArchiveProperties;
+import com.ashishbagdane.lib.core.db.audit.archive.AuditArchive;
+import com.ashishbagdane.lib.core.db.audit.archive.AuditArchiver;
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AuditQueries Tests")
+class AuditQueriesTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionFactory sessionFactory;
+
+    private EntityManager entityManager;
+
+    private AuditArchive archive;
+
+    private AuditQueries queries;
+
+    private AuditArchiver archiver;
+
+    private final List<String> statements = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit_queries;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS payment_audit");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ash_audit_archive_segment");
+        jdbcTemplate.execute("CREATE TABLE payment_audit (id uuid PRIMARY KEY, version bigint, endpoint_path varchar(255), principal_name varchar(255),"
+            + " ip_address varchar(45), user_agent varchar(512), is_system_operation boolean, operation_type varchar(16) NOT NULL, http_method varchar(16),"
+            + " operation_timestamp timestamp with time zone NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE ash_audit_archive_segment (id bigint AUTO_INCREMENT PRIMARY KEY, source_table varchar(255) NOT NULL,"
+            + " first_timestamp timestamp with time zone NOT NULL, first_id uuid NOT NULL, last_timestamp timestamp with time zone NOT NULL, last_id uuid NOT NULL,"
+            + " row_count int NOT NULL, payload blob NOT NULL, created_at timestamp with time zone NOT NULL)");
+
+        Configuration configuration = new Configuration().addAnnotatedClass(PaymentAudit.class);
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        configuration.getProperties().put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+            statements.add(sql);
+            return sql;
+        });
+        sessionFactory = configuration.buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        archive = new AuditArchive(jdbcTemplate);
+        queries = new AuditQueries(entityManager, archive);
+
+        AuditArchiveProperties properties = new AuditArchiveProperties();
+        properties.setTables(List.of("payment_audit"));
+        properties.setSegmentSize(50);
+        archiver = new AuditArchiver(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)), archive, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should page through rows with tied timestamps and ids with the high bit set exactly once")
+    void pagesThroughTiedTimestamps() {
+        List<UUID> ids = List.of(new UUID(0, 1), new UUID(1, 0), new UUID(0x7fffffffffffffffL, -1L), new UUID(0x8000000000000000L, 0),
+            new UUID(-1L, 0x8000000000000000L), new UUID(-1L, -1L));
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            insert(ids.get(i), START);
+        }
+        insert(new UUID(-1L, -2L), START.minusNanos(1000));
+        AuditQueries hotOnly = new AuditQueries(entityManager);
+
+        List<UUID> read = new ArrayList<>();
+        AuditPage page = hotOnly.page(PaymentAudit.class, null, 2);
+        page.items().forEach(row -> read.add(row.id()));
+        while (page.hasNext()) {
+            page = hotOnly.page(PaymentAudit.class, page.nextCursor(), 2);
+            page.items().forEach(row -> read.add(row.id()));
+        }
+
+        List<UUID> expected = new ArrayList<>(List.of(new UUID(-1L, -2L)));
+        expected.addAll(ids);
+        assertEquals(expected, read);
+    }
+
+    @Test
+    @DisplayName("Should return a full last page without a next cursor")
+    void endsOnExactPage() {
+        insertRows(4);
+        AuditQueries hotOnly = new AuditQueries(entityManager);
+
+        AuditPage first = hotOnly.page(PaymentAudit.class, null, 2);
+        AuditPage second = hotOnly.page(PaymentAudit.class, first.nextCursor(), 2);
+
+        assertEquals(new UUID(0, 1), first.nextCursor().id());
+        assertEquals(2, second.items().size());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should seek the (operation_timestamp, id) index for pages after a cursor")
+    void seeksIndexAfterCursor() {
+        jdbcTemplate.execute("CREATE INDEX payment_audit_seek ON payment_audit (operation_timestamp, id)");
+        insertRows(10);
+        AuditQueries hotOnly = new AuditQueries(entityManager);
+        statements.clear();
+
+        AuditPage page = hotOnly.page(PaymentAudit.class, new AuditCursor(at(4), new UUID(0, 4)), 3);
+
+        assertEquals(List.of(new UUID(0, 5), new UUID(0, 6), new UUID(0, 7)), page.items().stream().map(BaseAuditDTO::id).toList());
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(statements.size() - 1), String.class).toUpperCase(Locale.ROOT);
+        assertTrue(plan.matches("(?s).*PAYMENT_AUDIT_SEEK: [^*]*OPERATION_TIMESTAMP >=.*"), plan);
+    }
+
+    @Test
+    @DisplayName("Should reject a limit below one")
+    void rejectsNonPositiveLimit() {
+        AuditQueries hotOnly = new AuditQueries(entityManager);
+
+        assertThrows(IllegalArgumentException.class, () -> hotOnly.page(PaymentAudit.class, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> hotOnly.page(PaymentAudit.class, null, -1));
+    }
+
+    @Test
+    @DisplayName("Should page across archived and hot rows in keyset order")
+    void pagesAcrossArchiveAndHotTable() {
+        insertRows(250);
+        archiver.archive("payment_audit", at(150));
+
+        List<BaseAuditDTO> rows = new ArrayList<>();
+        AuditPage page = queries.page(PaymentAudit.class, null, 40);
+        rows.addAll(page.items());
+        while (page.hasNext()) {
+            page = queries.page(PaymentAudit.class, page.nextCursor(), 40);
+            rows.addAll(page.items());
+        }
+
+        assertEquals(250, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(new UUID(0, i), rows.get(i).id());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return a row that is both archived and still hot only once")
+    void deduplicatesRowsBeingArchived() {
+        insertRows(100);
+        archiver.archive("payment_audit", at(50));
+        insert(49, START.plusSeconds(49));
+
+        AuditPage page = queries.page(PaymentAudit.class, new AuditCursor(at(47), new UUID(0, 47)), 3);
+
+        assertEquals(List.of(new UUID(0, 48), new UUID(0, 49), new UUID(0, 50)), page.items().stream().map(BaseAuditDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should stream archived and hot rows after a cursor in keyset order")
+    void streamsAcrossArchiveAndHotTable() {
+        insertRows(250);
+        archiver.archive("payment_audit", at(150));
+
+        List<BaseAuditDTO> rows;
+        try (Stream<BaseAuditDTO> stream = queries.stream(PaymentAudit.class, new AuditCursor(at(99), new UUID(0, 99)), 32)) {
+            rows = stream.toList();
+        }
+
+        assertEquals(150, rows.size());
+        assertEquals(new UUID(0, 100), rows.get(0).id());
+        assertEquals(new UUID(0, 249), rows.get(149).id());
+        List<BaseAuditDTO> sorted = new ArrayList<>(rows);
+        sorted.sort(AuditOrder.ROWS);
+        assertEquals(sorted, rows);
+    }
+
+    @Test
+    @DisplayName("Should list only the archive segments that can hold the requested rows")
+    void boundsSegmentListing() {
+        insertRows(250);
+        archiver.archive("payment_audit", at(250));
+
+        assertEquals(5, archive.segments("payment_audit", null, null).size());
+        assertEquals(1, archive.segments("payment_audit", null, null, 41).size());
+        assertEquals(2, archive.segments("payment_audit", new AuditCursor(at(45), new UUID(0, 45)), null, 41).size());
+    }
+
+    private void insertRows(int count) {
+        for (int i = 0; i < count; i++) {
+            insert(i, START.plusSeconds(i));
+        }
+    }
+
+    private void insert(int i, OffsetDateTime timestamp) {
+        insert(new UUID(0, i), timestamp);
+    }
+
+    private void insert(UUID id, OffsetDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO payment_audit VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", id, 0L, "/api/payments/" + id, "user-" + id.hashCode() % 7,
+            "10.0.0.1", "Mozilla/5.0", false, OperationType.CREATE.name(), HttpMethod.POST.name(), timestamp);
+    }
+
+    private static ZonedDateTime at(int seconds) {
+        return START.plusSeconds(seconds).toZonedDateTime();
+    }
+
+    @Entity
+    @Table(name = "payment_audit")
+    static class PaymentAudit extends BaseAuditEntity {
+    }
+}
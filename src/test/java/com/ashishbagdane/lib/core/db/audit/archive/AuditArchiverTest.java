@@ -0,0 +1,171 @@
+package com.ashishbagdane.lib.core.db.audit.archive;
+
+import com.ashishbagdane.lib.core.config.AuditArchiveProperties;
+import com.ashishbagdane.lib.core.db.audit.AuditCursor;
+import com.ashishbagdane.lib.core.db.audit.AuditOrder;
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("AuditArchiver Tests")
+class AuditArchiverTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditArchive archive;
+
+    private AuditArchiveProperties properties;
+
+    private AuditArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit_archive;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS payment_audit");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ash_audit_archive_segment");
+        jdbcTemplate.execute("CREATE TABLE payment_audit (id uuid PRIMARY KEY, version bigint, endpoint_path varchar(255), principal_name varchar(255),"
+            + " ip_address varchar(45), user_agent varchar(512), is_system_operation boolean, operation_type varchar(16) NOT NULL, http_method varchar(16),"
+            + " operation_timestamp timestamp with time zone NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE ash_audit_archive_segment (id bigint AUTO_INCREMENT PRIMARY KEY, source_table varchar(255) NOT NULL,"
+            + " first_timestamp timestamp with time zone NOT NULL, first_id uuid NOT NULL, last_timestamp timestamp with time zone NOT NULL, last_id uuid NOT NULL,"
+            + " row_count int NOT NULL, payload blob NOT NULL, created_at timestamp with time zone NOT NULL)");
+        for (int i = 0; i < 250; i++) {
+            insert(i, START.plusSeconds(i));
+        }
+
+        properties = new AuditArchiveProperties();
+        properties.setTables(List.of("payment_audit"));
+        properties.setSegmentSize(100);
+        properties.setDeleteBatchSize(30);
+        archive = new AuditArchive(jdbcTemplate);
+        archiver = new AuditArchiver(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)), archive, properties);
+    }
+
+    @Test
+    @DisplayName("Should move rows older than the bound into segments and delete them from the hot table")
+    void archivesOldRows() {
+        long archived = archiver.archive("payment_audit", at(200));
+
+        assertEquals(200, archived);
+        assertEquals(50, jdbcTemplate.queryForObject("SELECT count(*) FROM payment_audit", Integer.class));
+        assertEquals(List.of(100, 100), archive.segments("payment_audit", null, null).stream().map(AuditArchiveSegment::rowCount).toList());
+        List<BaseAuditDTO> rows = read(null, null);
+        assertEquals(200, rows.size());
+        assertEquals(new UUID(0, 0), rows.get(0).id());
+        assertEquals(new UUID(0, 199), rows.get(199).id());
+        assertEquals("/api/payments/7", rows.get(7).endpointPath());
+        assertEquals(OperationType.values()[7 % 3], rows.get(7).operationType());
+    }
+
+    @Test
+    @DisplayName("Should merge consecutive small segments into one")
+    void compactsSmallSegments() {
+        archiver.archive("payment_audit", at(30));
+        archiver.archive("payment_audit", at(60));
+        archiver.archive("payment_audit", at(90));
+
+        int replaced = archiver.compact("payment_audit");
+
+        assertEquals(3, replaced);
+        assertEquals(List.of(90), archive.segments("payment_audit", null, null).stream().map(AuditArchiveSegment::rowCount).toList());
+        List<BaseAuditDTO> rows = read(null, null);
+        assertEquals(90, rows.size());
+        assertSorted(rows);
+    }
+
+    @Test
+    @DisplayName("Should not merge small segments separated by a full one")
+    void compactsOnlyAdjacentSegments() {
+        archiver.archive("payment_audit", at(30));
+        archiver.archive("payment_audit", at(130));
+        archiver.archive("payment_audit", at(160));
+
+        assertEquals(0, archiver.compact("payment_audit"));
+
+        archiver.archive("payment_audit", at(190));
+
+        assertEquals(2, archiver.compact("payment_audit"));
+        assertEquals(List.of(30, 100, 60), archive.segments("payment_audit", null, null).stream().map(AuditArchiveSegment::rowCount).toList());
+        assertSorted(read(null, null));
+    }
+
+    @Test
+    @DisplayName("Should examine a bounded number of segments per run and resume after them")
+    void resumesCompaction() {
+        archiver.archive("payment_audit", at(30));
+        archiver.archive("payment_audit", at(60));
+        archiver.archive("payment_audit", at(90));
+        archiver.archive("payment_audit", at(120));
+        properties.setMaxSegmentsPerRun(2);
+
+        assertEquals(2, archiver.compact("payment_audit"));
+        assertEquals(List.of(60, 30, 30), archive.segments("payment_audit", null, null).stream().map(AuditArchiveSegment::rowCount).toList());
+
+        assertEquals(2, archiver.compact("payment_audit"));
+        assertEquals(List.of(60, 60), archive.segments("payment_audit", null, null).stream().map(AuditArchiveSegment::rowCount).toList());
+
+        assertEquals(0, archiver.compact("payment_audit"));
+        assertEquals(0, archiver.compact("payment_audit"));
+        assertEquals(List.of(new UUID(0, 60)), archive.segmentsAfter("payment_audit", archive.segments("payment_audit", null, null).get(0), 2).stream()
+            .map(AuditArchiveSegment::firstId).toList());
+        assertSorted(read(null, null));
+    }
+
+    @Test
+    @DisplayName("Should read overlapping segments in keyset order after a cursor and before a bound")
+    void readsRangeAcrossOverlappingSegments() {
+        archiver.archive("payment_audit", at(150));
+        insert(1_000, START.plusSeconds(10).plusNanos(500_000_000));
+        archiver.archive("payment_audit", at(150));
+
+        List<BaseAuditDTO> rows = read(new AuditCursor(at(5), new UUID(0, 5)), at(20));
+
+        assertEquals(15, rows.size());
+        assertSorted(rows);
+        assertEquals(new UUID(0, 6), rows.get(0).id());
+        assertEquals(new UUID(0, 1_000), rows.get(5).id());
+    }
+
+    private List<BaseAuditDTO> read(AuditCursor after, ZonedDateTime before) {
+        try (Stream<BaseAuditDTO> rows = archive.read("payment_audit", after, before)) {
+            return rows.toList();
+        }
+    }
+
+    private void insert(int i, OffsetDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO payment_audit VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", new UUID(0, i), (long) i, "/api/payments/" + i, "user-" + i % 7,
+            "10.0.0.1", "Mozilla/5.0", false, OperationType.values()[i % 3].name(), HttpMethod.POST.name(), timestamp);
+    }
+
+    private static ZonedDateTime at(int seconds) {
+        return START.plusSeconds(seconds).toZonedDateTime();
+    }
+
+    private static void assertSorted(List<BaseAuditDTO> rows) {
+        List<BaseAuditDTO> sorted = new ArrayList<>(rows);
+        sorted.sort(AuditOrder.ROWS);
+        assertEquals(sorted, rows);
+        assertEquals(rows.size(), rows.stream().map(BaseAuditDTO::id).distinct().count());
+    }
+}
@@ -0,0 +1,192 @@
+package com.ashishbagdane.lib.core.db.audit.export;
+
+import com.ashishbagdane.lib.core.config.AuditExportProperties;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AuditExporter Tests")
+class AuditExporterTest {
+
+    private static final int ROWS = 2_500;
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit_export;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS payment_audit");
+        jdbcTemplate.execute("CREATE TABLE payment_audit (id uuid PRIMARY KEY, version bigint, endpoint_path varchar(255), principal_name varchar(255),"
+            + " ip_address varchar(45), user_agent varchar(512), is_system_operation boolean, operation_type varchar(16) NOT NULL, http_method varchar(16),"
+            + " operation_timestamp timestamp with time zone NOT NULL)");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {new UUID(i % 7, i), i % 5 == 0 ? null : (long) i, "/api/payments/" + i, "user-" + i % 13, "10.0.0." + i % 250,
+                i % 11 == 0 ? "agent, \"quoted\"\nline" : "Mozilla/5.0", i % 3 == 0, OperationType.values()[i % 3].name(), i % 4 == 0 ? null : HttpMethod.POST.name(),
+                START.plusSeconds(i / 2)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO payment_audit VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        AuditExportProperties properties = new AuditExportProperties();
+        properties.setFetchSize(200);
+        properties.setBlockSize(100);
+        properties.setEncoderThreads(3);
+        properties.setMaxBlocksInFlight(2);
+        properties.setCheckpointEvery(2);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+        exporter = new AuditExporter(jdbcTemplate, transactionTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("Should write every row in keyset order to a columnar file")
+    void exportsColumnar() throws Exception {
+        Path target = directory.resolve("audit.ashaud");
+
+        AuditExportResult result = exporter.export(AuditExportRequest.of("payment_audit", new ColumnarAuditEncoder(), target));
+
+        List<String> keys = new ArrayList<>();
+        long read = ColumnarAuditReader.read(target, block -> {
+            for (int row = 0; row < block.size(); row++) {
+                keys.add(block.operationTimestamp(row).toEpochSecond() + "/" + block.id(row));
+                int i = (int) block.id(row).getLeastSignificantBits();
+                assertEquals(i % 5 == 0 ? null : (long) i, block.version(row));
+                assertEquals("/api/payments/" + i, block.endpointPath(row));
+                assertEquals(i % 4 == 0 ? null : HttpMethod.POST, block.httpMethod(row));
+                assertTrue(START.plusSeconds(i / 2).isEqual(block.operationTimestamp(row)));
+            }
+        });
+
+        assertEquals(ROWS, read);
+        assertEquals(ROWS, result.rows());
+        assertFalse(result.resumed());
+        List<String> sorted = new ArrayList<>(keys);
+        sorted.sort(null);
+        assertEquals(sorted, keys);
+        assertFalse(Files.exists(target.resolveSibling("audit.ashaud.checkpoint")));
+    }
+
+    @Test
+    @DisplayName("Should write quoted CSV restricted to the requested range")
+    void exportsCsvRange() throws Exception {
+        Path target = directory.resolve("audit.csv");
+
+        AuditExportResult result = exporter.export(AuditExportRequest.of("payment_audit", new CsvAuditEncoder(), target)
+            .between(START.toZonedDateTime(), START.plusSeconds(50).toZonedDateTime()));
+
+        String csv = Files.readString(target, StandardCharsets.UTF_8);
+        assertEquals(100, result.rows());
+        assertTrue(csv.startsWith("id,version,endpoint_path,principal_name,ip_address,user_agent,is_system_operation,operation_type,http_method,operation_timestamp\r\n"));
+        assertTrue(csv.contains(",\"agent, \"\"quoted\"\"\nline\","));
+        assertEquals(101, csv.split("\r\n", -1).length - 1, "header and one line per row; embedded line feeds stay quoted");
+    }
+
+    @Test
+    @DisplayName("Should export dictionary references and binary IP addresses in plain form")
+    void decodesEncodedUserContext() throws Exception {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS encoded_audit");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ash_principal_dictionary");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ash_user_agent_dictionary");
+        jdbcTemplate.execute("CREATE TABLE ash_principal_dictionary (id int PRIMARY KEY, dictionary_value varchar(255) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE ash_user_agent_dictionary (id int PRIMARY KEY, dictionary_value varchar(512) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE encoded_audit (id uuid PRIMARY KEY, version bigint, endpoint_path varchar(255), principal_id int, ip_address varbinary(16),"
+            + " user_agent_id int, is_system_operation boolean, operation_type varchar(16) NOT NULL, http_method varchar(16), operation_timestamp timestamp with time zone NOT NULL)");
+        jdbcTemplate.update("INSERT INTO ash_principal_dictionary VALUES (1, 'alice')");
+        jdbcTemplate.update("INSERT INTO ash_user_agent_dictionary VALUES (7, 'Mozilla/5.0')");
+        jdbcTemplate.update("INSERT INTO encoded_audit VALUES (?, 1, '/api/payments', 1, ?, 7, false, 'CREATE', 'POST', ?)",
+            new UUID(0, 1), new byte[] {10, 0, 0, 1}, START);
+        jdbcTemplate.update("INSERT INTO encoded_audit VALUES (?, 1, '/api/payments', NULL, NULL, NULL, true, 'CREATE', NULL, ?)", new UUID(0, 2), START.plusSeconds(1));
+        Path target = directory.resolve("encoded.csv");
+
+        exporter.export(AuditExportRequest.of("encoded_audit", new CsvAuditEncoder(), target));
+
+        List<String> lines = Files.readAllLines(target, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).contains(",/api/payments,alice,10.0.0.1,Mozilla/5.0,false,"), lines.get(1));
+        assertTrue(lines.get(2).contains(",/api/payments,,,,true,"), lines.get(2));
+    }
+
+    @Test
+    @DisplayName("Should reject a table without user context columns before touching the target")
+    void rejectsUnknownLayout() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bare_audit");
+        jdbcTemplate.execute("CREATE TABLE bare_audit (id uuid PRIMARY KEY, operation_timestamp timestamp with time zone NOT NULL)");
+        Path target = directory.resolve("bare.csv");
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> exporter.export(AuditExportRequest.of("bare_audit", new CsvAuditEncoder(), target)));
+
+        assertTrue(error.getMessage().contains("principal_id"));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    @DisplayName("Should resume after the last checkpoint and produce the same file")
+    void resumesFromCheckpoint() throws Exception {
+        Path reference = directory.resolve("reference.ashaud");
+        exporter.export(AuditExportRequest.of("payment_audit", new ColumnarAuditEncoder(), reference));
+
+        Path target = directory.resolve("resumed.ashaud");
+        AtomicInteger blocks = new AtomicInteger();
+        ColumnarAuditEncoder columnar = new ColumnarAuditEncoder();
+        AuditBlockEncoder failing = new AuditBlockEncoder() {
+            @Override
+            public ByteBuffer header() {
+                return columnar.header();
+            }
+
+            @Override
+            public ByteBuffer encode(AuditRowBlock block) {
+                if (blocks.incrementAndGet() > 9) {
+                    throw new IllegalStateException("disk full");
+                }
+                return columnar.encode(block);
+            }
+        };
+
+        assertThrows(AuditExportException.class, () -> exporter.export(AuditExportRequest.of("payment_audit", failing, target)));
+        AuditExportCheckpoint checkpoint = AuditExportCheckpoint.read(target.resolveSibling("resumed.ashaud.checkpoint"));
+        assertTrue(checkpoint.rows() > 0 && checkpoint.rows() < ROWS);
+
+        AuditExportResult result = exporter.export(AuditExportRequest.of("payment_audit", columnar, target));
+
+        assertTrue(result.resumed());
+        assertEquals(ROWS, result.rows());
+        assertArrayEquals(Files.readAllBytes(reference), Files.readAllBytes(target));
+        assertNull(AuditExportCheckpoint.read(target.resolveSibling("resumed.ashaud.checkpoint")));
+    }
+}
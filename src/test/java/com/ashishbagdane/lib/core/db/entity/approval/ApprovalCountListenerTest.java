@@ -0,0 +1,139 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ApprovalCountListener Tests")
+class ApprovalCountListenerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionFactory sessionFactory;
+
+    private ApprovalStatusCounts counts;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:approval_counts;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Configuration configuration = new Configuration().addAnnotatedClass(PurchaseOrder.class);
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        configuration.getProperties().put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        sessionFactory = configuration.buildSessionFactory();
+
+        ApprovalCountListener listener = new ApprovalCountListener();
+        counts = new ApprovalStatusCounts(jdbcTemplate, ApprovableTable.of("purchase_orders"), Duration.ofHours(1));
+        listener.track(PurchaseOrder.class, counts);
+        EventListenerRegistry listeners = sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should map the approval state of subclasses")
+    void mapsApprovalColumns() {
+        inTransaction(session -> session.persist(new PurchaseOrder(1L)));
+
+        inTransaction(session -> session.get(PurchaseOrder.class, 1L).submitForApproval("alice"));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT approval_status, submitted_by, submitted_at FROM purchase_orders WHERE id = 1");
+        assertEquals("IN_REVIEW", row.get("APPROVAL_STATUS"));
+        assertEquals("alice", row.get("SUBMITTED_BY"));
+        assertNotNull(row.get("SUBMITTED_AT"));
+    }
+
+    @Test
+    @DisplayName("Should apply committed inserts, transitions and deletes to the counts")
+    void appliesCommittedChanges() {
+        assertEquals(0L, counts.count(ApprovalStatus.PENDING_APPROVAL));
+
+        inTransaction(session -> {
+            session.persist(new PurchaseOrder(1L));
+            session.persist(new PurchaseOrder(2L));
+        });
+        assertEquals(2L, counts.count(ApprovalStatus.PENDING_APPROVAL));
+
+        inTransaction(session -> session.get(PurchaseOrder.class, 1L).submitForApproval("alice"));
+        inTransaction(session -> session.get(PurchaseOrder.class, 1L).approve("bob"));
+        assertEquals(1L, counts.count(ApprovalStatus.PENDING_APPROVAL));
+        assertEquals(0L, counts.count(ApprovalStatus.IN_REVIEW));
+        assertEquals(1L, counts.count(ApprovalStatus.APPROVED));
+
+        inTransaction(session -> session.remove(session.get(PurchaseOrder.class, 2L)));
+        assertEquals(0L, counts.count(ApprovalStatus.PENDING_APPROVAL));
+    }
+
+    @Test
+    @DisplayName("Should ignore rolled back transitions")
+    void ignoresRollbacks() {
+        inTransaction(session -> session.persist(new PurchaseOrder(1L)));
+        assertEquals(1L, counts.count(ApprovalStatus.PENDING_APPROVAL));
+
+        assertThrows(IllegalStateException.class, () -> inTransaction(session -> {
+            session.get(PurchaseOrder.class, 1L).submitForApproval("alice");
+            session.flush();
+            throw new IllegalStateException("rolled back");
+        }));
+
+        assertEquals(1L, counts.count(ApprovalStatus.PENDING_APPROVAL));
+        assertEquals(0L, counts.count(ApprovalStatus.IN_REVIEW));
+    }
+
+    private void inTransaction(Consumer<Session> work) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            try {
+                work.accept(session);
+                session.getTransaction().commit();
+            } catch (RuntimeException e) {
+                session.getTransaction().rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Entity
+    @Table(name = "purchase_orders")
+    static class PurchaseOrder extends AbstractApprovableEntity {
+
+        @Id
+        private Long id;
+
+        protected PurchaseOrder() {
+        }
+
+        PurchaseOrder(Long id) {
+            this.id = id;
+        }
+    }
+}
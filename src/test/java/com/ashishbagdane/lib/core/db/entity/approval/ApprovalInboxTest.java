@@ -0,0 +1,88 @@
+package com.ashishbagdane.lib.core.db.entity.approval;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisplayName("ApprovalInbox Tests")
+class ApprovalInboxTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ApprovalInbox inbox;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:approval_inbox;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS orders");
+        jdbcTemplate.execute("CREATE TABLE orders (id bigint PRIMARY KEY, approval_status varchar(20) NOT NULL, submitted_at timestamp NOT NULL)");
+        ApprovableTable table = ApprovableTable.of("orders");
+        inbox = new ApprovalInbox(new NamedParameterJdbcTemplate(jdbcTemplate), table, new ApprovalStatusCounts(jdbcTemplate, table, Duration.ofHours(1)));
+
+        // ids 1..10 share two submission times to exercise the id tie-breaker; every third row is already approved
+        for (int id = 1; id <= 10; id++) {
+            ApprovalStatus status = id % 3 == 0 ? ApprovalStatus.APPROVED : id % 2 == 0 ? ApprovalStatus.IN_REVIEW : ApprovalStatus.PENDING_APPROVAL;
+            jdbcTemplate.update("INSERT INTO orders VALUES (?, ?, ?)", id, status.name(), START.plusMinutes(id <= 5 ? 0 : 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through open entities in submission order without gaps or duplicates")
+    void pagesThroughOpenEntities() {
+        List<Object> ids = new ArrayList<>();
+        InboxCursor cursor = null;
+        int pages = 0;
+        do {
+            InboxPage page = inbox.findInbox(cursor, 3);
+            page.entries().forEach(entry -> ids.add(entry.id()));
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(1L, 2L, 4L, 5L, 7L, 8L, 10L), ids);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("Should filter by the requested statuses")
+    void filtersByStatus() {
+        InboxPage page = inbox.findInbox(EnumSet.of(ApprovalStatus.IN_REVIEW), null, 10);
+
+        assertEquals(List.of(2L, 4L, 8L, 10L), page.entries().stream().map(InboxEntry::id).toList());
+        assertFalse(page.nextCursor().isPresent());
+    }
+
+    @Test
+    @DisplayName("Should serve counts from the cache and apply committed moves")
+    void cachesCounts() {
+        assertEquals(3L, inbox.countByApprovalStatus(ApprovalStatus.APPROVED));
+        assertEquals(0L, inbox.countByApprovalStatus(ApprovalStatus.REJECTED));
+
+        jdbcTemplate.update("UPDATE orders SET approval_status = 'APPROVED' WHERE id = 2");
+        inbox.getCounts().move(ApprovalStatus.IN_REVIEW, ApprovalStatus.APPROVED);
+        jdbcTemplate.update("DELETE FROM orders WHERE id = 1");
+
+        assertEquals(4L, inbox.countByApprovalStatus(ApprovalStatus.APPROVED));
+        assertEquals(3L, inbox.countByApprovalStatus(ApprovalStatus.PENDING_APPROVAL), "unreported changes are not seen until a reload");
+
+        inbox.getCounts().invalidate();
+        assertEquals(2L, inbox.countByApprovalStatus(ApprovalStatus.PENDING_APPROVAL));
+        assertEquals(9L, inbox.countByApprovalStatus().values().stream().mapToLong(Long::longValue).sum());
+    }
+}
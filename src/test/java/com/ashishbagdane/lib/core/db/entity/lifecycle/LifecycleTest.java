@@ -0,0 +1,93 @@
+package com.ashishbagdane.lib.core.db.entity.lifecycle;
+
+import com.ashishbagdane.lib.core.db.entity.approval.ApprovalStatus;
+import com.ashishbagdane.lib.core.db.entity.status.EntityStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Lifecycle Tests")
+class LifecycleTest {
+
+    private enum Door {
+        OPEN, CLOSED, LOCKED
+    }
+
+    private static final TransitionTable<Door> DOOR_TRANSITIONS = TransitionTable.builder(Door.class)
+        .permit(Door.OPEN, Door.CLOSED)
+        .permit(Door.CLOSED, Door.OPEN, Door.LOCKED)
+        .permit(Door.LOCKED, Door.CLOSED)
+        .build();
+
+    @Test
+    @DisplayName("EntityStatus transitions should match the documented rules")
+    void entityStatusRules() {
+        assertEquals(EnumSet.of(EntityStatus.PENDING, EntityStatus.DELETED), EntityStatus.transitions().successorsOf(EntityStatus.DRAFT));
+        assertEquals(EnumSet.of(EntityStatus.ACTIVE, EntityStatus.DRAFT, EntityStatus.DELETED), EntityStatus.transitions().successorsOf(EntityStatus.PENDING));
+        assertEquals(EnumSet.of(EntityStatus.SUSPENDED, EntityStatus.ARCHIVED, EntityStatus.DELETED), EntityStatus.transitions().successorsOf(EntityStatus.ACTIVE));
+        assertEquals(EnumSet.of(EntityStatus.ACTIVE, EntityStatus.ARCHIVED, EntityStatus.DELETED), EntityStatus.transitions().successorsOf(EntityStatus.SUSPENDED));
+        for (EntityStatus status : EntityStatus.values()) {
+            assertFalse(status.canTransitionTo(status), "self-transition must be rejected");
+            assertEquals(status.isFinalState(), EntityStatus.transitions().isTerminal(status));
+        }
+    }
+
+    @Test
+    @DisplayName("ApprovalStatus transitions should match the documented rules")
+    void approvalStatusRules() {
+        assertEquals(EnumSet.of(ApprovalStatus.IN_REVIEW, ApprovalStatus.REJECTED), ApprovalStatus.transitions().successorsOf(ApprovalStatus.PENDING_APPROVAL));
+        assertEquals(EnumSet.of(ApprovalStatus.APPROVED, ApprovalStatus.REJECTED), ApprovalStatus.transitions().successorsOf(ApprovalStatus.IN_REVIEW));
+        assertEquals(EnumSet.of(ApprovalStatus.REVOKED), ApprovalStatus.transitions().successorsOf(ApprovalStatus.APPROVED));
+        assertTrue(ApprovalStatus.transitions().isTerminal(ApprovalStatus.REJECTED));
+        assertTrue(ApprovalStatus.transitions().isTerminal(ApprovalStatus.REVOKED));
+    }
+
+    @Test
+    @DisplayName("Should derive legal predecessors from the transition rules")
+    void predecessors() {
+        assertEquals(EnumSet.of(EntityStatus.ACTIVE, EntityStatus.SUSPENDED), EntityStatus.transitions().predecessorsOf(EntityStatus.ARCHIVED));
+        assertEquals(EnumSet.of(EntityStatus.PENDING), EntityStatus.transitions().predecessorsOf(EntityStatus.DRAFT));
+        assertEquals(EnumSet.of(Door.CLOSED), DOOR_TRANSITIONS.predecessorsOf(Door.LOCKED));
+    }
+
+    @Test
+    @DisplayName("Should reject self-transitions when building a table")
+    void rejectSelfTransition() {
+        assertThrows(IllegalArgumentException.class, () -> TransitionTable.builder(Door.class).permit(Door.OPEN, Door.OPEN));
+    }
+
+    @Test
+    @DisplayName("Should evaluate guards and throw the configured exception")
+    void guards() {
+        Lifecycle<Door, StringBuilder> lifecycle = Lifecycle.<Door, StringBuilder>builder(DOOR_TRANSITIONS, (from, to) -> new IllegalStateException(from + "->" + to))
+            .guard(Door.LOCKED, (subject, from, to, actor) -> "janitor".equals(actor))
+            .build();
+
+        assertTrue(lifecycle.canTransition(new StringBuilder(), Door.CLOSED, Door.LOCKED, "janitor"));
+        assertFalse(lifecycle.canTransition(new StringBuilder(), Door.CLOSED, Door.LOCKED, "visitor"));
+        assertThrows(IllegalStateException.class, () -> lifecycle.validate(new StringBuilder(), Door.OPEN, Door.LOCKED, "janitor"));
+    }
+
+    @Test
+    @DisplayName("Should run hooks in registration order for the entered state")
+    void hooks() {
+        List<String> calls = new ArrayList<>();
+        Lifecycle<Door, StringBuilder> lifecycle = Lifecycle.<Door, StringBuilder>builder(DOOR_TRANSITIONS, (from, to) -> new IllegalStateException())
+            .onEnter(Door.CLOSED, (subject, from, to, actor) -> calls.add("closed"))
+            .onTransition((subject, from, to, actor) -> calls.add(from + "->" + to))
+            .build();
+
+        lifecycle.afterTransition(new StringBuilder(), Door.OPEN, Door.CLOSED, "janitor");
+        lifecycle.afterTransition(new StringBuilder(), Door.CLOSED, Door.OPEN, "janitor");
+
+        assertEquals(List.of("closed", "OPEN->CLOSED", "CLOSED->OPEN"), calls);
+    }
+}
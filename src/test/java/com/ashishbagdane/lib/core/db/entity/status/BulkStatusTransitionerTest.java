@@ -0,0 +1,135 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+import com.ashishbagdane.lib.core.db.entity.lifecycle.BulkTransition;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObserver;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObservers;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("BulkStatusTransitioner Tests")
+class BulkStatusTransitionerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private BulkStatusTransitioner transitioner;
+
+    private final List<TransitionObserver> observers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulk_status;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS orders");
+        jdbcTemplate.execute("CREATE TABLE orders (id bigint PRIMARY KEY, status varchar(16) NOT NULL, status_change_date timestamp, status_changed_by varchar(255))");
+        insert(1, EntityStatus.PENDING);
+        insert(2, EntityStatus.PENDING);
+        insert(3, EntityStatus.DRAFT);
+        insert(4, EntityStatus.PENDING);
+        insert(5, EntityStatus.ARCHIVED);
+        transitioner = new BulkStatusTransitioner(new NamedParameterJdbcTemplate(jdbcTemplate), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        observers.forEach(TransitionObservers::unregister);
+    }
+
+    @Test
+    @DisplayName("Should move rows in a legal predecessor state and reject the others")
+    void movesLegalPredecessors() {
+        BulkTransitionResult result = transitioner.transition(TrackableTable.of("orders"), List.of(1L, 2L, 3L, 4L, 5L), EntityStatus.ACTIVE, "alice");
+
+        assertEquals(new BulkTransitionResult(5, 3, 2), result);
+        assertEquals(List.of("ACTIVE", "ACTIVE", "DRAFT", "ACTIVE", "ARCHIVED"), jdbcTemplate.queryForList("SELECT status FROM orders ORDER BY id", String.class));
+        assertEquals("alice", jdbcTemplate.queryForObject("SELECT status_changed_by FROM orders WHERE id = 4", String.class));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT status_change_date FROM orders WHERE id = 4", Object.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT status_changed_by FROM orders WHERE id = 3", String.class));
+    }
+
+    @Test
+    @DisplayName("Should publish one aggregate transition per statement that moved rows")
+    void publishesBulkTransitions() {
+        List<BulkTransition> published = new ArrayList<>();
+        register(new TransitionObserver() {
+            @Override
+            public void accepted(Object subject, Enum<?> from, Enum<?> to, String actor) {
+            }
+
+            @Override
+            public boolean handlesBulkTransitions() {
+                return true;
+            }
+
+            @Override
+            public void bulkAccepted(BulkTransition transition) {
+                published.add(transition);
+            }
+        });
+
+        transitioner.transition(TrackableTable.of("orders"), List.of(1L, 2L, 3L, 4L, 5L), EntityStatus.ACTIVE, "alice");
+
+        String predicate = "id IN (:ids) AND status = :from";
+        assertEquals(List.of(
+            new BulkTransition("orders", EntityStatus.PENDING, EntityStatus.ACTIVE, 2, predicate, List.of(1L, 2L), "alice"),
+            new BulkTransition("orders", EntityStatus.PENDING, EntityStatus.ACTIVE, 1, predicate, List.of(3L, 4L), "alice")), published);
+    }
+
+    @Test
+    @DisplayName("Should refuse to run while an observer cannot handle bulk transitions unless allowed")
+    void refusesUnobservedTransitions() {
+        register((subject, from, to, actor) -> {
+        });
+
+        assertThrows(IllegalStateException.class, () -> transitioner.transition(TrackableTable.of("orders"), List.of(1L), EntityStatus.ACTIVE, "alice"));
+        assertEquals("PENDING", jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = 1", String.class));
+
+        BulkStatusTransitioner unobserved = new BulkStatusTransitioner(new NamedParameterJdbcTemplate(jdbcTemplate), 2, true);
+        assertEquals(new BulkTransitionResult(1, 1, 0), unobserved.transition(TrackableTable.of("orders"), List.of(1L), EntityStatus.ACTIVE, "alice"));
+    }
+
+    @Test
+    @DisplayName("Should count duplicate ids once")
+    void deduplicatesIds() {
+        BulkTransitionResult result = transitioner.transition(TrackableTable.of("orders"), List.of(1L, 1L, 2L, 1L), EntityStatus.ACTIVE, "alice");
+
+        assertEquals(new BulkTransitionResult(2, 2, 0), result);
+    }
+
+    @Test
+    @DisplayName("Should return an empty result for no ids")
+    void handlesNoIds() {
+        assertEquals(new BulkTransitionResult(0, 0, 0), transitioner.transition(TrackableTable.of("orders"), List.of(), EntityStatus.ACTIVE, "alice"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid chunk sizes and table names")
+    void validatesArguments() {
+        NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        assertThrows(IllegalArgumentException.class, () -> new BulkStatusTransitioner(template, 0));
+        assertThrows(IllegalArgumentException.class, () -> TrackableTable.of("orders; DROP TABLE orders"));
+    }
+
+    private void register(TransitionObserver observer) {
+        TransitionObservers.register(observer);
+        observers.add(observer);
+    }
+
+    private void insert(long id, EntityStatus status) {
+        jdbcTemplate.update("INSERT INTO orders (id, status) VALUES (?, ?)", id, status.name());
+    }
+}
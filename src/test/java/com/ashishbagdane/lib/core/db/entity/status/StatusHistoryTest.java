@@ -0,0 +1,142 @@
+package com.ashishbagdane.lib.core.db.entity.status;
+
+import com.ashishbagdane.lib.core.db.entity.Identifiable;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Status History Tests")
+class StatusHistoryTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private StatusHistoryRecorder recorder;
+
+    private StatusHistoryQueries queries;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:status_history;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS product_status_history");
+        jdbcTemplate.execute("CREATE TABLE product_status_history (id bigint AUTO_INCREMENT PRIMARY KEY, entity_id bigint NOT NULL, from_status smallint NOT NULL,"
+            + " to_status smallint NOT NULL, changed_at timestamp NOT NULL, changed_by varchar(255))");
+        recorder = new StatusHistoryRecorder(jdbcTemplate);
+        recorder.track(Product.class, "product_status_history");
+        queries = new StatusHistoryQueries(jdbcTemplate, "product_status_history");
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    @DisplayName("Should append the changes of a transaction in one batch at commit and skip rolled back ones")
+    void recordsOnCommit() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        Product product = new Product(1L);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            product.updateStatus(EntityStatus.PENDING, "alice");
+            product.updateStatus(EntityStatus.ACTIVE, "bob");
+            assertEquals(0, count(), "changes are written just before commit");
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            product.updateStatus(EntityStatus.SUSPENDED, "carol");
+            status.setRollbackOnly();
+        });
+
+        List<StatusChange> history = queries.history(1L);
+        assertEquals(2, history.size());
+        assertEquals(EntityStatus.DRAFT, history.get(0).from());
+        assertEquals(EntityStatus.ACTIVE, history.get(1).to());
+        assertEquals("bob", history.get(1).changedBy());
+    }
+
+    @Test
+    @DisplayName("Should resolve ids assigned after the transition and skip entities that never get one")
+    void resolvesIdsAtCommit() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        Product persistedLater = new Product(null);
+        Product neverPersisted = new Product(null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            persistedLater.updateStatus(EntityStatus.PENDING, "alice");
+            neverPersisted.updateStatus(EntityStatus.PENDING, "alice");
+            persistedLater.id = 7L;
+        });
+
+        assertEquals(1, count());
+        assertEquals(EntityStatus.PENDING, queries.history(7L).get(0).to());
+    }
+
+    @Test
+    @DisplayName("Should reject tracked types that do not expose an id")
+    void rejectsTypesWithoutIds() {
+        assertThrows(IllegalArgumentException.class, () -> recorder.track(Anonymous.class, "product_status_history"));
+    }
+
+    @Test
+    @DisplayName("Should answer point-in-time queries")
+    void answersPointInTimeQueries() {
+        // product 1: ACTIVE on day 2, SUSPENDED on day 4; product 2: ACTIVE on day 3; product 3: ACTIVE on day 5
+        insert(1, EntityStatus.PENDING, EntityStatus.ACTIVE, 2);
+        insert(1, EntityStatus.ACTIVE, EntityStatus.SUSPENDED, 4);
+        insert(2, EntityStatus.PENDING, EntityStatus.ACTIVE, 3);
+        insert(3, EntityStatus.PENDING, EntityStatus.ACTIVE, 5);
+
+        assertEquals(Optional.empty(), queries.statusAt(1L, DAY_1));
+        assertEquals(Optional.of(EntityStatus.ACTIVE), queries.statusAt(1L, DAY_1.plusDays(3)));
+        assertEquals(Optional.of(EntityStatus.SUSPENDED), queries.statusAt(1L, DAY_1.plusDays(4)));
+
+        List<Object> activeOnDay3 = queries.entityIdsInStatusAt(EntityStatus.ACTIVE, DAY_1.plusDays(3));
+        assertEquals(2, activeOnDay3.size());
+        assertTrue(activeOnDay3.containsAll(List.of(1L, 2L)));
+        assertEquals(List.of(2L), queries.entityIdsInStatusAt(EntityStatus.ACTIVE, DAY_1.plusDays(4)));
+        assertEquals(List.of(1L), queries.entityIdsInStatusAt(EntityStatus.SUSPENDED, DAY_1.plusDays(6)));
+    }
+
+    private void insert(long entityId, EntityStatus from, EntityStatus to, int day) {
+        jdbcTemplate.update("INSERT INTO product_status_history (entity_id, from_status, to_status, changed_at, changed_by) VALUES (?, ?, ?, ?, ?)",
+            entityId, from.getId(), to.getId(), Timestamp.valueOf(DAY_1.plusDays(day)), "test");
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_status_history", Integer.class);
+    }
+
+    static class Product extends AbstractTrackableEntity implements Identifiable<Long> {
+
+        private Long id;
+
+        Product(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    static class Anonymous extends AbstractTrackableEntity {
+    }
+}
@@ -0,0 +1,100 @@
+package com.ashishbagdane.lib.core.db.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("TimeOrderedUuidGenerator Tests")
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs with RFC 9562 variant")
+    void shouldGenerateVersion7() {
+        UUID uuid = TimeOrderedUuidGenerator.next();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    @DisplayName("Should embed the current time in the UUID")
+    void shouldEmbedTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuidGenerator.next();
+        long timestamp = TimeOrderedUuidGenerator.timestampOf(uuid);
+        assertTrue(timestamp >= before, "timestamp should not precede generation");
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing UUIDs on a single thread")
+    void shouldBeMonotonic() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = TimeOrderedUuidGenerator.next();
+            assertTrue(compareUnsigned(previous, current) < 0, "UUIDs must be strictly increasing");
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique UUIDs across threads")
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<List<UUID>>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(TimeOrderedUuidGenerator.next());
+                    }
+                    return ids;
+                });
+            }
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : executor.invokeAll(tasks)) {
+                all.addAll(future.get());
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject timestamp extraction from non version 7 UUIDs")
+    void shouldRejectOtherVersions() {
+        UUID random = UUID.randomUUID();
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuidGenerator.timestampOf(random));
+    }
+
+    @Test
+    @DisplayName("Should resolve strategy from entity annotation")
+    void shouldResolveStrategy() {
+        assertEquals(UuidStrategy.TIME_ORDERED, AuditIdGenerator.strategyFor(TimeOrderedEntity.class));
+        assertEquals(UuidStrategy.RANDOM, AuditIdGenerator.strategyFor(Object.class));
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    @IdStrategy(UuidStrategy.TIME_ORDERED)
+    private static class TimeOrderedEntity {
+    }
+}
@@ -0,0 +1,101 @@
+package com.ashishbagdane.lib.core.db.id;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares insert throughput and primary key index size of random (v4) and time-ordered (v7) UUID keys on PostgreSQL. Row count can be raised with {@code -Dash.benchmark.rows=...}; the default keeps
+ * the run short enough for a regular {@code verify}.
+ */
+@DisplayName("UUID Insert Benchmark")
+class UuidInsertBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidInsertBenchmarkIT.class);
+
+    private static final int ROWS = Integer.getInteger("ash.benchmark.rows", 200_000);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @BeforeAll
+    static void startDatabase() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this benchmark");
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Time-ordered UUIDs should build a primary key index no larger than random UUIDs, logging insert throughput for comparison")
+    void comparesIndexSize() throws SQLException {
+        Result random = run("audit_random", UuidStrategy.RANDOM::generate);
+        Result ordered = run("audit_ordered", UuidStrategy.TIME_ORDERED::generate);
+
+        log.info("RANDOM keys: {} rows/s, {} bytes of primary key index", Math.round(random.rowsPerSecond()), random.indexBytes());
+        log.info("TIME_ORDERED keys: {} rows/s, {} bytes of primary key index", Math.round(ordered.rowsPerSecond()), ordered.indexBytes());
+
+        assertTrue(ordered.indexBytes() <= random.indexBytes(), "time-ordered keys should not produce a larger index");
+    }
+
+    private Result run(String table, Supplier<UUID> ids) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, operation_timestamp timestamptz NOT NULL, endpoint_path varchar(255))");
+            }
+            connection.setAutoCommit(false);
+            long started = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, operation_timestamp, endpoint_path) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setTimestamp(2, Timestamp.from(Instant.now()));
+                    insert.setString(3, "/api/v1/benchmark");
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000d;
+            connection.setAutoCommit(true);
+            try (Statement size = connection.createStatement();
+                ResultSet rs = size.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+                rs.next();
+                return new Result(ROWS / seconds, rs.getLong(1));
+            }
+        }
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {
+    }
+}
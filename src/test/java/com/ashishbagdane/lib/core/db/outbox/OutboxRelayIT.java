@@ -0,0 +1,94 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import com.ashishbagdane.lib.core.config.OutboxProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs several relay workers against PostgreSQL and checks that every event is published exactly once and in order per aggregate.
+ */
+@DisplayName("OutboxRelay Integration Tests")
+class OutboxRelayIT {
+
+    private static final int AGGREGATES = 50;
+
+    private static final int EVENTS_PER_AGGREGATE = 40;
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @BeforeAll
+    static void startDatabase() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for this test");
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent workers should publish every event once, in order per aggregate")
+    void relaysInOrder() throws InterruptedException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE ash_outbox (id bigserial PRIMARY KEY, aggregate_type varchar(255) NOT NULL, aggregate_id varchar(255),"
+            + " event_type varchar(255) NOT NULL, payload varchar(4000) NOT NULL, shard int NOT NULL, created_at timestamptz NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE ash_outbox_shard (shard int PRIMARY KEY)");
+
+        OutboxProperties properties = new OutboxProperties();
+        properties.setShards(8);
+        properties.getRelay().setWorkers(4);
+        properties.getRelay().setBatchSize(25);
+        properties.getRelay().setPollInterval(Duration.ofMillis(20));
+
+        OutboxWriter writer = new OutboxWriter(jdbcTemplate, properties.getShards());
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS_PER_AGGREGATE; i++) {
+            for (int aggregate = 0; aggregate < AGGREGATES; aggregate++) {
+                events.add(new OutboxEvent(0, "Order", "order-" + aggregate, "State.STEP", "{\"step\":" + i + "}", Instant.now()));
+            }
+        }
+        writer.write(events);
+
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)), sink, properties);
+        relay.start();
+        try {
+            assertTrue(sink.await(events.size(), Duration.ofSeconds(60)), "all events should be relayed");
+        } finally {
+            relay.stop();
+        }
+
+        List<OutboxEvent> published = sink.events();
+        assertEquals(events.size(), published.size(), "no event should be published twice");
+        Map<String, Long> lastSequence = new HashMap<>();
+        for (OutboxEvent event : published) {
+            Long previous = lastSequence.put(event.aggregateId(), event.sequence());
+            assertTrue(previous == null || previous < event.sequence(), "events of " + event.aggregateId() + " out of order");
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ash_outbox", Integer.class));
+    }
+}
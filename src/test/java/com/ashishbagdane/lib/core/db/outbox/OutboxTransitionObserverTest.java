@@ -0,0 +1,154 @@
+package com.ashishbagdane.lib.core.db.outbox;
+
+import com.ashishbagdane.lib.core.db.entity.EntityIdResolver;
+import com.ashishbagdane.lib.core.db.entity.Identifiable;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("OutboxTransitionObserver Tests")
+class OutboxTransitionObserverTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxTransitionObserver observer;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ash_outbox");
+        jdbcTemplate.execute("CREATE TABLE ash_outbox (id bigint AUTO_INCREMENT PRIMARY KEY, aggregate_type varchar(255) NOT NULL, aggregate_id varchar(255),"
+            + " event_type varchar(255) NOT NULL, payload varchar(4000) NOT NULL, shard int NOT NULL, created_at timestamp with time zone NOT NULL)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        observer = new OutboxTransitionObserver(new OutboxWriter(jdbcTemplate, 4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        observer.close();
+    }
+
+    @Test
+    @DisplayName("Should write buffered events when the transaction commits")
+    void writesOnCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            observer.accepted(new Order("o-1"), State.DRAFT, State.SUBMITTED, "alice");
+            observer.accepted(new Order("o-1"), State.SUBMITTED, State.APPROVED, "bob \"the approver\"");
+            assertEquals(0, count(), "events are written just before commit");
+        });
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT aggregate_type, aggregate_id, event_type, payload FROM ash_outbox ORDER BY id");
+        assertEquals(2, rows.size());
+        assertEquals("Order", rows.get(0).get("AGGREGATE_TYPE"));
+        assertEquals("o-1", rows.get(0).get("AGGREGATE_ID"));
+        assertEquals("State.SUBMITTED", rows.get(0).get("EVENT_TYPE"));
+        assertEquals("{\"from\":\"SUBMITTED\",\"to\":\"APPROVED\",\"actor\":\"bob \\\"the approver\\\"\"}", rows.get(1).get("PAYLOAD"));
+    }
+
+    @Test
+    @DisplayName("Should discard buffered events when the transaction rolls back")
+    void discardsOnRollback() {
+        transactionTemplate.executeWithoutResult(status -> {
+            observer.accepted(new Order("o-2"), State.DRAFT, State.SUBMITTED, "alice");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, count());
+    }
+
+    @Test
+    @DisplayName("Should keep the events of a suspended transaction separate from an inner REQUIRES_NEW transaction")
+    void separatesSuspendedTransactions() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            observer.accepted(new Order("outer"), State.DRAFT, State.SUBMITTED, "alice");
+            requiresNew.executeWithoutResult(inner -> observer.accepted(new Order("inner"), State.DRAFT, State.SUBMITTED, "alice"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of("inner"), jdbcTemplate.queryForList("SELECT aggregate_id FROM ash_outbox", String.class));
+    }
+
+    @Test
+    @DisplayName("Should read the aggregate id at commit, after it has been assigned")
+    void resolvesIdsAtCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Draft draft = new Draft();
+            observer.accepted(draft, State.DRAFT, State.SUBMITTED, "alice");
+            draft.id = 42L;
+        });
+
+        assertEquals(List.of("42"), jdbcTemplate.queryForList("SELECT aggregate_id FROM ash_outbox", String.class));
+    }
+
+    @Test
+    @DisplayName("Should resolve the aggregate id of entities that are not Identifiable through the persistence unit")
+    void resolvesIdsOfPlainEntities() {
+        Object entity = new Object();
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        PersistenceUnitUtil persistenceUnitUtil = mock(PersistenceUnitUtil.class);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(persistenceUnitUtil.getIdentifier(entity)).thenReturn(7L);
+        observer.close();
+        observer = new OutboxTransitionObserver(new OutboxWriter(jdbcTemplate, 4), new EntityIdResolver(entityManagerFactory));
+
+        transactionTemplate.executeWithoutResult(status -> observer.accepted(entity, State.DRAFT, State.SUBMITTED, "alice"));
+
+        assertEquals(List.of("7"), jdbcTemplate.queryForList("SELECT aggregate_id FROM ash_outbox", String.class));
+    }
+
+    @Test
+    @DisplayName("Should write immediately outside a transaction")
+    void writesWithoutTransaction() {
+        observer.accepted(new Order("o-3"), State.DRAFT, State.SUBMITTED, null);
+
+        assertEquals(1, count());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ash_outbox", Integer.class);
+    }
+
+    enum State {
+        DRAFT, SUBMITTED, APPROVED
+    }
+
+    static class Draft implements Identifiable<Long> {
+
+        private Long id;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    record Order(String id) implements Identifiable<String> {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ashishbagdane.lib.core.db.partition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("AuditPartitionSql Tests")
+class AuditPartitionSqlTest {
+
+    private static final LocalDate OCTOBER = LocalDate.of(2026, 10, 1);
+
+    @Test
+    @DisplayName("Should name partitions after their first day and parse the name back")
+    void namesPartitions() {
+        assertEquals("payment_audit_p20261001", AuditPartitionSql.partitionName("payment_audit", OCTOBER));
+        assertEquals(Optional.of(OCTOBER), AuditPartitionSql.partitionStart("payment_audit", "payment_audit_p20261001"));
+        assertEquals(Optional.empty(), AuditPartitionSql.partitionStart("payment_audit", "payment_audit_default"));
+        assertEquals(Optional.empty(), AuditPartitionSql.partitionStart("payment_audit", "payment_audit_p20261399"));
+        assertEquals(Optional.empty(), AuditPartitionSql.partitionStart("payment_audit", "order_audit_p20261001"));
+    }
+
+    @Test
+    @DisplayName("Should create range partitions covering one interval in UTC")
+    void createsRangePartitions() {
+        assertEquals("CREATE TABLE IF NOT EXISTS payment_audit_p20261001 PARTITION OF payment_audit"
+                + " FOR VALUES FROM ('2026-10-01 00:00:00+00') TO ('2026-11-01 00:00:00+00')",
+            AuditPartitionSql.createPartition("payment_audit", OCTOBER, PartitionInterval.MONTHLY));
+        assertEquals("CREATE TABLE IF NOT EXISTS payment_audit_p20261231 PARTITION OF payment_audit"
+                + " FOR VALUES FROM ('2026-12-31 00:00:00+00') TO ('2027-01-01 00:00:00+00')",
+            AuditPartitionSql.createPartition("payment_audit", LocalDate.of(2026, 12, 31), PartitionInterval.DAILY));
+    }
+
+    @Test
+    @DisplayName("Should create and inspect the default partition")
+    void createsDefaultPartition() {
+        assertEquals("CREATE TABLE IF NOT EXISTS payment_audit_default PARTITION OF payment_audit DEFAULT", AuditPartitionSql.createDefaultPartition("payment_audit"));
+        assertEquals("SELECT EXISTS (SELECT 1 FROM payment_audit_default)", AuditPartitionSql.defaultPartitionHasRows("payment_audit"));
+    }
+
+    @Test
+    @DisplayName("Should detach and drop partitions")
+    void retiresPartitions() {
+        assertEquals("ALTER TABLE payment_audit DETACH PARTITION payment_audit_p20261001", AuditPartitionSql.detachPartition("payment_audit", "payment_audit_p20261001"));
+        assertEquals("DROP TABLE IF EXISTS payment_audit_p20261001", AuditPartitionSql.dropPartition("payment_audit_p20261001"));
+    }
+
+    @Test
+    @DisplayName("Should detach partitions concurrently and complete interrupted detaches")
+    void detachesConcurrently() {
+        assertEquals("ALTER TABLE payment_audit DETACH PARTITION payment_audit_p20261001 CONCURRENTLY",
+            AuditPartitionSql.detachPartitionConcurrently("payment_audit", "payment_audit_p20261001"));
+        assertEquals("ALTER TABLE payment_audit DETACH PARTITION payment_audit_p20261001 FINALIZE", AuditPartitionSql.finalizeDetach("payment_audit", "payment_audit_p20261001"));
+        assertEquals(AuditPartitionSql.listPartitions() + " AND i.inhdetachpending", AuditPartitionSql.listPendingDetaches());
+    }
+
+    @Test
+    @DisplayName("Should find detached partitions in the schema of the parent table")
+    void listsDetachedPartitions() {
+        assertEquals("SELECT c.relname FROM pg_class c WHERE c.relnamespace = (SELECT p.relnamespace FROM pg_class p WHERE p.oid = to_regclass(?))"
+            + " AND c.relkind = 'r' AND NOT c.relispartition AND c.relname LIKE ?", AuditPartitionSql.listDetachedPartitions());
+        assertEquals("payment_audit_p%", AuditPartitionSql.detachedPartitionPattern("payment_audit"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPartitionSql.detachedPartitionPattern("audit%"));
+    }
+
+    @Test
+    @DisplayName("Should resolve the parent table through the search path when listing partitions")
+    void listsPartitionsOfResolvedTable() {
+        assertEquals("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)", AuditPartitionSql.listPartitions());
+    }
+
+    @Test
+    @DisplayName("Should reject names that are not plain lower-case identifiers")
+    void rejectsUnsafeNames() {
+        assertThrows(IllegalArgumentException.class, () -> AuditPartitionSql.partitionName("Payment_Audit", OCTOBER));
+        assertThrows(IllegalArgumentException.class, () -> AuditPartitionSql.createDefaultPartition("audit; DROP TABLE users"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPartitionSql.detachPartition("payment_audit", "p1 CASCADE"));
+        assertThrows(IllegalArgumentException.class, () -> AuditPartitionSql.dropPartition(null));
+    }
+
+    @Test
+    @DisplayName("Should align dates to UTC days and calendar months")
+    void alignsIntervals() {
+        assertEquals(OCTOBER, PartitionInterval.MONTHLY.startOf(LocalDate.of(2026, 10, 16)));
+        assertEquals(LocalDate.of(2027, 1, 1), PartitionInterval.MONTHLY.next(LocalDate.of(2026, 12, 1)));
+        assertEquals(LocalDate.of(2026, 10, 16), PartitionInterval.DAILY.startOf(LocalDate.of(2026, 10, 16)));
+        assertEquals(LocalDate.of(2024, 2, 29), PartitionInterval.DAILY.next(LocalDate.of(2024, 2, 28)));
+    }
+}
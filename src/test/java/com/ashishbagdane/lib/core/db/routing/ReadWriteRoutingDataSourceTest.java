@@ -0,0 +1,168 @@
+package com.ashishbagdane.lib.core.db.routing;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+
+    private Replica replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing_primary", "primary");
+        replica = new Replica("replica", database("routing_replica", "replica"));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+    void routesByReadOnlyFlag() {
+        Routing routing = routing(List.of(replica), Duration.ofSeconds(5));
+
+        assertEquals("primary", routing.read(false));
+        assertEquals("replica", routing.read(true));
+        assertEquals("primary", routing.jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        assertEquals(0, replica.getOutstanding(), "replica connections must be returned");
+    }
+
+    @Test
+    @DisplayName("Should route read-only JPA transactions to the replica")
+    void routesJpaTransactions() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, new ReplicaPool(List.of(replica), Duration.ofSeconds(5))));
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of());
+        factoryBean.afterPropertiesSet();
+        try {
+            EntityManagerFactory factory = factoryBean.getObject();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(new JpaTransactionManager(factory));
+
+            for (boolean readOnly : new boolean[] {false, true, false, true}) {
+                transactionTemplate.setReadOnly(readOnly);
+                Object name = transactionTemplate.execute(status -> EntityManagerFactoryUtils.getTransactionalEntityManager(factory)
+                    .createNativeQuery("SELECT name FROM marker")
+                    .getSingleResult());
+                assertEquals(readOnly ? "replica" : "primary", name);
+            }
+            assertEquals(0, replica.getOutstanding(), "replica connections must be returned");
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should compare tracked replica connections by identity")
+    void comparesTrackedConnectionsByIdentity() throws SQLException {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, new ReplicaPool(List.of(replica), Duration.ofSeconds(5)));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection first = routing.getConnection(); Connection second = routing.getConnection()) {
+            assertEquals(first, first);
+            assertNotEquals(first, second);
+            assertEquals(System.identityHashCode(first), first.hashCode());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+        assertEquals(0, replica.getOutstanding());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags too far behind")
+    void fallsBackOnLag() {
+        Routing routing = routing(List.of(replica), Duration.ofSeconds(5));
+        replica.reportLag(10_000);
+
+        assertEquals("primary", routing.read(true));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica cannot provide a connection")
+    void fallsBackOnFailure() {
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE");
+        Replica broken = new Replica("broken", missing);
+        Routing routing = routing(List.of(broken), Duration.ofSeconds(5));
+
+        assertEquals("primary", routing.read(true));
+        assertFalse(broken.isAvailable());
+    }
+
+    @Test
+    @DisplayName("Should pick the replica with the fewest outstanding connections")
+    void selectsLeastOutstanding() {
+        Replica other = new Replica("other", database("routing_other", "other"));
+        ReplicaPool pool = new ReplicaPool(List.of(replica, other), Duration.ofSeconds(5));
+
+        replica.borrowed();
+        for (int i = 0; i < 10; i++) {
+            assertSame(other, pool.select());
+        }
+        replica.returned();
+    }
+
+    @Test
+    @DisplayName("Lag probe should mark unreachable replicas unavailable and recover reachable ones")
+    void probeUpdatesAvailability() {
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:routing_probe_missing;IFEXISTS=TRUE");
+        Replica broken = new Replica("broken", missing);
+        replica.markUnavailable();
+        ReplicationLagProbe probe = new ReplicationLagProbe(new ReplicaPool(List.of(replica, broken), Duration.ofSeconds(5)), "SELECT 250", Duration.ofSeconds(1));
+
+        probe.probe();
+
+        assertEquals(250, replica.getLagMillis());
+        assertTrue(replica.isAvailable());
+        assertFalse(broken.isAvailable());
+    }
+
+    private Routing routing(List<Replica> replicas, Duration maxLag) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, new ReplicaPool(replicas, maxLag)));
+        return new Routing(new TransactionTemplate(new DataSourceTransactionManager(dataSource)), new JdbcTemplate(dataSource));
+    }
+
+    private static DataSource database(String name, String marker) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", marker);
+        return dataSource;
+    }
+
+    private record Routing(TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate) {
+
+        String read(boolean readOnly) {
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        }
+    }
+}
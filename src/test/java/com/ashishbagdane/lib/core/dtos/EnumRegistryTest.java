@@ -0,0 +1,81 @@
+package com.ashishbagdane.lib.core.dtos;
+
+import com.ashishbagdane.lib.core.dtos.example.Status;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("EnumRegistry Tests")
+class EnumRegistryTest {
+
+    private enum Sparse implements EnumMappable {
+        LOW(1), HIGH(1_000_000);
+
+        private final Integer id;
+
+        Sparse(Integer id) {
+            this.id = id;
+        }
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+    }
+
+    private enum Duplicate implements EnumMappable {
+        FIRST, SECOND;
+
+        @Override
+        public Integer getId() {
+            return 1;
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve enum constants from their ids")
+    void shouldResolveById() {
+        assertSame(Status.INACTIVE, EnumRegistry.fromId(Status.class, 2));
+        assertSame(Status.PENDING, Status.fromId(3));
+        assertSame(HttpMethod.PATCH, HttpMethod.fromValue(5));
+        assertSame(Sparse.HIGH, EnumMappable.fromId(Sparse.class, 1_000_000));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and null ids")
+    void shouldRejectUnknownIds() {
+        assertThrows(IllegalArgumentException.class, () -> EnumRegistry.fromId(Status.class, 99));
+        assertThrows(IllegalArgumentException.class, () -> EnumRegistry.fromId(Status.class, null));
+        assertTrue(EnumRegistry.findById(Sparse.class, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject enums declaring duplicate ids")
+    void shouldRejectDuplicateIds() {
+        assertThrows(IllegalStateException.class, () -> EnumRegistry.fromId(Duplicate.class, 1));
+    }
+
+    @Test
+    @DisplayName("Should serve a cached catalog with pre-encoded JSON")
+    void shouldServeCatalog() throws IOException {
+        EnumCatalog catalog = EnumRegistry.catalog(Status.class);
+        assertSame(catalog, EnumRegistry.catalog(Status.class));
+        assertEquals(List.of(new EnumDTO(1, "ACTIVE"), new EnumDTO(2, "INACTIVE"), new EnumDTO(3, "PENDING")), catalog.entries());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        catalog.writeJson(out);
+        assertEquals("[{\"id\":1,\"value\":\"ACTIVE\"},{\"id\":2,\"value\":\"INACTIVE\"},{\"id\":3,\"value\":\"PENDING\"}]",
+            out.toString(StandardCharsets.UTF_8));
+        assertEquals(out.size(), catalog.jsonLength());
+    }
+}
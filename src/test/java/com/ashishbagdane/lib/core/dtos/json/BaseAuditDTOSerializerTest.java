@@ -0,0 +1,99 @@
+package com.ashishbagdane.lib.core.dtos.json;
+
+import com.ashishbagdane.lib.core.dtos.BaseAuditDTO;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.enums.OperationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("BaseAuditDTOSerializer Tests")
+class BaseAuditDTOSerializerTest {
+
+    private final ObjectMapper defaultMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final ObjectMapper fastMapper = new ObjectMapper().registerModule(new JavaTimeModule()).registerModule(new AuditJsonModule());
+
+    @Test
+    @DisplayName("Should produce the same JSON as the annotation-driven serializer")
+    void matchesDefaultJson() throws Exception {
+        for (BaseAuditDTO dto : samples()) {
+            assertEquals(defaultMapper.writeValueAsString(dto), fastMapper.writeValueAsString(dto));
+        }
+    }
+
+    @Test
+    @DisplayName("Should honour enum and time zone features of the mapper")
+    void honoursMapperFeatures() throws Exception {
+        ObjectMapper indexed = defaultMapper.copy().enable(SerializationFeature.WRITE_ENUMS_USING_INDEX);
+        ObjectMapper fastIndexed = fastMapper.copy().enable(SerializationFeature.WRITE_ENUMS_USING_INDEX);
+        ObjectMapper zoned = defaultMapper.copy().setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        ObjectMapper fastZoned = fastMapper.copy().setTimeZone(TimeZone.getTimeZone("America/New_York"));
+
+        BaseAuditDTO dto = samples().get(0);
+
+        assertEquals(indexed.writeValueAsString(dto), fastIndexed.writeValueAsString(dto));
+        assertEquals(zoned.writeValueAsString(dto), fastZoned.writeValueAsString(dto));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the formatter outside the fast-path range")
+    void formatsEdgeTimestamps() {
+        char[] buffer = new char[29];
+
+        assertEquals(-1, BaseAuditDTOSerializer.formatTimestamp(ZonedDateTime.of(LocalDateTime.of(10_000, 1, 1, 0, 0), ZoneOffset.UTC), buffer));
+        assertEquals(-1, BaseAuditDTOSerializer.formatTimestamp(ZonedDateTime.of(LocalDateTime.of(1900, 1, 1, 0, 0), ZoneOffset.ofHoursMinutesSeconds(0, 19, 32)), buffer));
+        assertEquals(24, BaseAuditDTOSerializer.formatTimestamp(ZonedDateTime.of(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999), ZoneOffset.UTC), buffer));
+        assertEquals("2024-02-29T23:59:59.999Z", new String(buffer, 0, 24));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a CBOR stream with binary ids")
+    void roundTripsCbor() {
+        AuditBinaryCodec codec = new AuditBinaryCodec();
+        List<BaseAuditDTO> dtos = samples();
+
+        byte[] encoded = codec.encode(dtos);
+        List<BaseAuditDTO> decoded = codec.decode(encoded);
+
+        assertEquals(dtos.size(), decoded.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            BaseAuditDTO expected = dtos.get(i);
+            BaseAuditDTO actual = decoded.get(i);
+            assertEquals(expected.id(), actual.id());
+            assertEquals(expected.userAgent(), actual.userAgent());
+            assertEquals(expected.operationType(), actual.operationType());
+            assertEquals(expected.httpMethod(), actual.httpMethod());
+            if (expected.operationTimestamp() != null) {
+                assertTrue(expected.operationTimestamp().withNano(expected.operationTimestamp().getNano() / 1_000_000 * 1_000_000)
+                    .isEqual(actual.operationTimestamp()));
+            }
+        }
+        assertTrue(encoded.length < new AuditBinaryCodec(false).encode(dtos).length);
+    }
+
+    private static List<BaseAuditDTO> samples() {
+        return List.of(
+            new BaseAuditDTO(UUID.randomUUID(), 3L, "/api/v1/orders/42", "john.doe", "192.168.10.24", "Mozilla/5.0 \"quoted\" é",
+                false, OperationType.UPDATE, HttpMethod.PUT, ZonedDateTime.of(LocalDateTime.of(2024, 3, 10, 8, 5, 9, 123_456_789), ZoneId.of("Asia/Kolkata"))),
+            new BaseAuditDTO(UUID.randomUUID(), null, null, "system", null, null,
+                true, OperationType.CREATE, null, ZonedDateTime.of(LocalDateTime.of(2023, 12, 31, 23, 0), ZoneId.of("America/St_Johns"))),
+            new BaseAuditDTO(UUID.randomUUID(), 0L, "/", null, null, null,
+                false, null, HttpMethod.DELETE, ZonedDateTime.of(LocalDateTime.of(1999, 1, 1, 0, 0, 0, 7_000_000), ZoneOffset.UTC)),
+            new BaseAuditDTO(null, null, null, null, null, null, false, null, null, null)
+        );
+    }
+}
@@ -0,0 +1,172 @@
+package com.ashishbagdane.lib.core.metrics;
+
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.db.entity.lifecycle.TransitionObservers;
+import com.ashishbagdane.lib.core.db.entity.status.AbstractTrackableEntity;
+import com.ashishbagdane.lib.core.db.entity.status.EntityStatus;
+import com.ashishbagdane.lib.core.db.entity.status.IllegalStatusTransitionException;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Library Metrics Tests")
+class LibraryMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TransitionMetrics transitionMetrics;
+
+    @AfterEach
+    void tearDown() {
+        if (transitionMetrics != null) {
+            TransitionObservers.unregister(transitionMetrics);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count accepted and rejected transitions per state pair")
+    void countsTransitions() {
+        transitionMetrics = new TransitionMetrics(registry);
+        TransitionObservers.register(transitionMetrics);
+        Document document = new Document();
+
+        document.updateStatus(EntityStatus.PENDING, "alice");
+        document.updateStatus(EntityStatus.ACTIVE, "alice");
+        assertThrows(IllegalStatusTransitionException.class, () -> document.updateStatus(EntityStatus.DRAFT, "bob"));
+
+        assertEquals(1.0, transitions("DRAFT", "PENDING", "accepted"));
+        assertEquals(1.0, transitions("PENDING", "ACTIVE", "accepted"));
+        assertEquals(1.0, transitions("ACTIVE", "DRAFT", "rejected"));
+    }
+
+    @Test
+    @DisplayName("Should time committed and rolled back transactions separately")
+    void timesTransactions() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.setTransactionExecutionListeners(List.of(new TransactionMetricsListener(() -> registry)));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+        });
+        transactionTemplate.executeWithoutResult(status -> status.setRollbackOnly());
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+        });
+
+        assertEquals(1, transactionCount("commit", "false"));
+        assertEquals(1, transactionCount("rollback", "false"));
+        assertEquals(1, transactionCount("commit", "true"));
+    }
+
+    @Test
+    @DisplayName("Should time audit inserts per entity type and ignore other entities")
+    void timesAuditInserts() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit_insert_metrics;DB_CLOSE_DELAY=-1");
+        Configuration configuration = new Configuration()
+            .addAnnotatedClass(BaseAuditEntity.class)
+            .addAnnotatedClass(PaymentAudit.class)
+            .addAnnotatedClass(Invoice.class);
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        configuration.getProperties().put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+
+        try (SessionFactory sessionFactory = configuration.buildSessionFactory()) {
+            AuditInsertMetrics listener = new AuditInsertMetrics(registry);
+            EventListenerRegistry listeners = sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.PRE_INSERT, listener);
+            listeners.appendListeners(EventType.POST_INSERT, listener);
+
+            try (Session session = sessionFactory.openSession()) {
+                session.beginTransaction();
+                session.persist(new PaymentAudit());
+                session.persist(new PaymentAudit());
+                session.persist(new Invoice(1L));
+                session.getTransaction().commit();
+            }
+        }
+
+        Timer timer = registry.get(AuditInsertMetrics.METER_NAME).tag("entity", "PaymentAudit").timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, registry.find(AuditInsertMetrics.METER_NAME).timers().size());
+        assertNull(registry.find(AuditInsertMetrics.METER_NAME).tag("entity", "Invoice").timer());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no registry is available")
+    void noRegistry() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.setTransactionExecutionListeners(List.of(new TransactionMetricsListener(() -> null)));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+        });
+
+        assertEquals(0, registry.getMeters().size());
+    }
+
+    private double transitions(String from, String to, String outcome) {
+        return registry.get(TransitionMetrics.METER_NAME)
+            .tags("type", "EntityStatus", "from", from, "to", to, "outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    private long transactionCount(String outcome, String readOnly) {
+        return registry.get(TransactionMetricsListener.METER_NAME)
+            .tags("outcome", outcome, "read-only", readOnly)
+            .timer()
+            .count();
+    }
+
+    private static class Document extends AbstractTrackableEntity {
+    }
+
+    @Entity
+    @Table(name = "metrics_payment_audit")
+    static class PaymentAudit extends BaseAuditEntity {
+
+        PaymentAudit() {
+            setHttpMethod(HttpMethod.POST);
+        }
+    }
+
+    @Entity
+    @Table(name = "metrics_invoice")
+    static class Invoice {
+
+        @Id
+        private Long id;
+
+        protected Invoice() {
+        }
+
+        Invoice(Long id) {
+            this.id = id;
+        }
+    }
+}
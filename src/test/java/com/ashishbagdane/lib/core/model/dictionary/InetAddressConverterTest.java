@@ -0,0 +1,51 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("InetAddressConverter Tests")
+class InetAddressConverterTest {
+
+    private final InetAddressConverter converter = new InetAddressConverter();
+
+    @Test
+    @DisplayName("Should store IPv4 literals as 4 bytes")
+    void convertsIpv4() {
+        byte[] stored = converter.convertToDatabaseColumn("192.168.0.255");
+
+        assertArrayEquals(new byte[]{(byte) 192, (byte) 168, 0, (byte) 255}, stored);
+        assertEquals("192.168.0.255", converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    @DisplayName("Should store IPv6 literals as 16 bytes, with or without brackets and zone ids")
+    void convertsIpv6() {
+        assertEquals(16, converter.convertToDatabaseColumn("2001:db8::1").length);
+        assertEquals("0:0:0:0:0:0:0:1", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("[::1]")));
+        assertArrayEquals(converter.convertToDatabaseColumn("fe80::1"), converter.convertToDatabaseColumn("fe80::1%eth0"));
+    }
+
+    @Test
+    @DisplayName("Should reject values that are not IP literals without resolving them")
+    void rejectsInvalidLiterals() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("999.1.1.1"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("1.2.3"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("1.2.3.4.5"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("1..2.3"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("0001.2.3.4"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("localhost"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("2001:db8::zz"));
+    }
+
+    @Test
+    @DisplayName("Should pass nulls through")
+    void handlesNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
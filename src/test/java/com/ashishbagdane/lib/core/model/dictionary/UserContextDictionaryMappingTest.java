@@ -0,0 +1,127 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import com.ashishbagdane.lib.core.config.UserContextDictionaryConfig;
+import com.ashishbagdane.lib.core.db.entity.BaseAuditEntity;
+import com.ashishbagdane.lib.core.enums.HttpMethod;
+import com.ashishbagdane.lib.core.model.UserContext;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisplayName("User Context Dictionary Mapping Tests")
+class UserContextDictionaryMappingTest {
+
+    private static final JdbcDataSource DATA_SOURCE = dataSource();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(UserContextDictionaryConfig.class)
+        .withPropertyValues("ash.core.audit.user-context.dictionary.enabled=true")
+        .withBean(JdbcTemplate.class, () -> new JdbcTemplate(DATA_SOURCE))
+        .withBean(JpaProperties.class, JpaProperties::new);
+
+    @Test
+    @DisplayName("Should add the audit entity mapping to the persistence unit only when enabled")
+    void addsMappingWhenEnabled() {
+        contextRunner.run(context -> assertFalse(context.getBean(JpaProperties.class).getMappingResources().contains(UserContextDictionary.AUDIT_ENTITY_MAPPING)));
+
+        contextRunner.withPropertyValues("ash.core.audit.user-context.dictionary.map-audit-entities=true")
+            .run(context -> assertEquals(List.of(UserContextDictionary.AUDIT_ENTITY_MAPPING), context.getBean(JpaProperties.class).getMappingResources()));
+    }
+
+    @Test
+    @DisplayName("Should store the user context of audit entities as dictionary references and read it back")
+    void roundTripsAuditEntities() {
+        withEntityManagerFactory((context, factory) -> {
+            PaymentAudit payment = new PaymentAudit();
+            payment.setHttpMethod(HttpMethod.POST);
+            payment.setUserContext(UserContext.createUserContext("alice", "10.0.0.1", "Mozilla/5.0"));
+            EntityManager writer = factory.createEntityManager();
+            try {
+                writer.getTransaction().begin();
+                writer.persist(payment);
+                writer.getTransaction().commit();
+            } finally {
+                writer.close();
+            }
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Map<String, Object> row = jdbcTemplate.queryForMap("SELECT principal_id, user_agent_id, ip_address FROM payment_audit");
+            assertEquals(jdbcTemplate.queryForObject("SELECT id FROM ash_principal_dictionary WHERE dictionary_value = 'alice'", Integer.class), row.get("PRINCIPAL_ID"));
+            assertEquals(jdbcTemplate.queryForObject("SELECT id FROM ash_user_agent_dictionary WHERE dictionary_value = 'Mozilla/5.0'", Integer.class),
+                row.get("USER_AGENT_ID"));
+            assertArrayEquals(new byte[] {10, 0, 0, 1}, (byte[]) row.get("IP_ADDRESS"));
+
+            EntityManager reader = factory.createEntityManager();
+            try {
+                UserContext loaded = reader.find(PaymentAudit.class, payment.getId()).getUserContext();
+                assertEquals(UserContext.createUserContext("alice", "10.0.0.1", "Mozilla/5.0"), loaded);
+            } finally {
+                reader.close();
+            }
+        });
+    }
+
+    private void withEntityManagerFactory(BiConsumer<AssertableApplicationContext, EntityManagerFactory> test) {
+        contextRunner.withPropertyValues("ash.core.audit.user-context.dictionary.map-audit-entities=true").run(context -> {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            for (DictionaryKind kind : DictionaryKind.values()) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + kind.getTableName());
+                jdbcTemplate.execute("CREATE TABLE " + kind.getTableName()
+                    + " (id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, dictionary_value varchar(512) NOT NULL UNIQUE)");
+            }
+            Map<String, Object> settings = new HashMap<>();
+            settings.put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+            settings.put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer((ConfigurableListableBeanFactory) context.getAutowireCapableBeanFactory()));
+
+            LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+            factoryBean.setDataSource(DATA_SOURCE);
+            factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factoryBean.setManagedTypes(PersistenceManagedTypes.of(BaseAuditEntity.class.getName(), PaymentAudit.class.getName()));
+            factoryBean.setMappingResources(context.getBean(JpaProperties.class).getMappingResources().toArray(String[]::new));
+            factoryBean.setJpaPropertyMap(settings);
+            factoryBean.afterPropertiesSet();
+            try {
+                test.accept(context, factoryBean.getObject());
+            } finally {
+                factoryBean.destroy();
+            }
+        });
+    }
+
+    private static JdbcDataSource dataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:user_context_dictionary_mapping;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    @Entity
+    @Table(name = "payment_audit")
+    static class PaymentAudit extends BaseAuditEntity {
+
+        String reference = UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ashishbagdane.lib.core.model.dictionary;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("UserContextDictionary Tests")
+class UserContextDictionaryTest {
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private UserContextDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:user_context_dictionary;DB_CLOSE_DELAY=-1");
+        DelegatingDataSource dataSource = new DelegatingDataSource(h2) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                connections.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (DictionaryKind kind : DictionaryKind.values()) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + kind.getTableName());
+            jdbcTemplate.execute("CREATE TABLE " + kind.getTableName()
+                + " (id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, dictionary_value varchar(512) NOT NULL UNIQUE)");
+        }
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        dictionary = new UserContextDictionary(jdbcTemplate, 100);
+    }
+
+    @Test
+    @DisplayName("Should assign stable ids and decode them")
+    void roundTrips() {
+        int alice = dictionary.idFor(DictionaryKind.PRINCIPAL, "alice");
+        int bob = dictionary.idFor(DictionaryKind.PRINCIPAL, "bob");
+
+        assertNotEquals(alice, bob);
+        assertEquals(alice, dictionary.idFor(DictionaryKind.PRINCIPAL, "alice"));
+        assertEquals("bob", dictionary.valueFor(DictionaryKind.PRINCIPAL, bob));
+        assertEquals("alice", new UserContextDictionary(jdbcTemplate, 100).valueFor(DictionaryKind.PRINCIPAL, alice));
+    }
+
+    @Test
+    @DisplayName("Should resolve ids on the caller's transactional connection")
+    void usesCallerConnection() {
+        Integer id = transactionTemplate.execute(status -> {
+            int before = connections.get();
+            int assigned = dictionary.idFor(DictionaryKind.USER_AGENT, "curl/8.0");
+            assertEquals(assigned, dictionary.idFor(DictionaryKind.USER_AGENT, "curl/8.0"));
+            assertEquals("curl/8.0", dictionary.valueFor(DictionaryKind.USER_AGENT, assigned));
+            assertEquals(before, connections.get(), "no second connection is borrowed inside the transaction");
+            return assigned;
+        });
+
+        assertEquals(id, dictionary.idFor(DictionaryKind.USER_AGENT, "curl/8.0"));
+    }
+
+    @Test
+    @DisplayName("Should not cache ids inserted by a rolled back transaction")
+    void discardsRolledBackIds() {
+        Integer rolledBack = transactionTemplate.execute(status -> {
+            int assigned = dictionary.idFor(DictionaryKind.PRINCIPAL, "carol");
+            status.setRollbackOnly();
+            return assigned;
+        });
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ash_principal_dictionary", Integer.class));
+        assertThrows(IllegalStateException.class, () -> dictionary.valueFor(DictionaryKind.PRINCIPAL, rolledBack));
+        int id = dictionary.idFor(DictionaryKind.PRINCIPAL, "carol");
+        assertEquals(id, jdbcTemplate.queryForObject("SELECT id FROM ash_principal_dictionary WHERE dictionary_value = 'carol'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should reuse a row inserted by another writer")
+    void reusesExistingRows() {
+        jdbcTemplate.update("INSERT INTO ash_principal_dictionary (dictionary_value) VALUES ('dave')");
+        int existing = jdbcTemplate.queryForObject("SELECT id FROM ash_principal_dictionary WHERE dictionary_value = 'dave'", Integer.class);
+
+        Integer id = transactionTemplate.execute(status -> dictionary.idFor(DictionaryKind.PRINCIPAL, "dave"));
+
+        assertEquals(existing, id);
+    }
+}
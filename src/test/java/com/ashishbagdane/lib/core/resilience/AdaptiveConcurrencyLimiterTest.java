@@ -0,0 +1,101 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_NANOS = 2_000_000;
+
+    @Test
+    @DisplayName("Should reject calls beyond the current limit")
+    void rejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 0.2, 1.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while saturated and latency is stable")
+    void growsUnderStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            saturateAndComplete(limiter, BASELINE_NANOS);
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit should grow, was " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises above the baseline")
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 2, 100, 0.2, 1.5);
+        for (int i = 0; i < 50; i++) {
+            saturateAndComplete(limiter, BASELINE_NANOS);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndComplete(limiter, BASELINE_NANOS * 10);
+        }
+
+        assertTrue(limiter.getLimit() < before, "limit should shrink from " + before + ", was " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while mostly idle")
+    void doesNotGrowWhenIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 2, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(BASELINE_NANOS);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off on dropped calls without going below the minimum")
+    void backsOffOnDrops() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 4, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onDropped();
+        }
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should validate limits")
+    void validatesLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter("test", 1, 2, 10, 0.2, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter("test", 5, 2, 10, 0, 1.5));
+    }
+
+    private static void saturateAndComplete(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(rttNanos);
+        }
+    }
+}
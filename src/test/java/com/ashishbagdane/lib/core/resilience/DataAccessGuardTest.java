@@ -0,0 +1,104 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DataAccessGuard Tests")
+class DataAccessGuardTest {
+
+    @Test
+    @DisplayName("Should not back off on optimistic locking and other concurrency conflicts")
+    void ignoresConcurrencyConflicts() {
+        DataAccessGuard guard = guard("primary");
+
+        for (int i = 0; i < 20; i++) {
+            assertThrows(OptimisticLockingFailureException.class, () -> guard.execute(() -> {
+                throw new OptimisticLockingFailureException("conflict");
+            }));
+            assertThrows(PessimisticLockingFailureException.class, () -> guard.execute(() -> {
+                throw new PessimisticLockingFailureException("deadlock loser");
+            }));
+        }
+
+        assertEquals(20, guard.getLimiter().getLimit());
+        assertEquals(0, guard.getLimiter().getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should back off on query and lock timeouts")
+    void backsOffOnTimeouts() {
+        DataAccessGuard guard = guard("primary");
+
+        assertThrows(QueryTimeoutException.class, () -> guard.execute(() -> {
+            throw new QueryTimeoutException("slow");
+        }));
+        assertEquals(18, guard.getLimiter().getLimit());
+
+        assertThrows(CannotAcquireLockException.class, () -> guard.execute(() -> {
+            throw new CannotAcquireLockException("lock wait timeout");
+        }));
+        assertEquals(16, guard.getLimiter().getLimit());
+        assertEquals(0, guard.getLimiter().getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should take one permit per data source for nested guarded calls")
+    void guardsNestedCallsPerDataSource() throws Throwable {
+        DataAccessGuard primary = guard("primary");
+        DataAccessGuard reporting = guard("reporting");
+        DataAccessGuardRegistry registry = mock(DataAccessGuardRegistry.class);
+        when(registry.defaultGuard()).thenReturn(primary);
+        when(registry.guard("reporting")).thenReturn(reporting);
+        DataAccessGuardInterceptor interceptor = new DataAccessGuardInterceptor(() -> registry);
+        List<Integer> observed = new ArrayList<>();
+
+        interceptor.invoke(invocation(Services.class.getMethod("primary"), () -> {
+            interceptor.invoke(invocation(Services.class.getMethod("primary"), () -> {
+                observed.add(primary.getLimiter().getInFlight());
+                return null;
+            }));
+            return interceptor.invoke(invocation(Services.class.getMethod("reporting"), () -> {
+                observed.add(primary.getLimiter().getInFlight());
+                observed.add(reporting.getLimiter().getInFlight());
+                return null;
+            }));
+        }));
+
+        assertEquals(List.of(1, 1, 1), observed);
+        assertEquals(0, primary.getLimiter().getInFlight());
+        assertEquals(0, reporting.getLimiter().getInFlight());
+    }
+
+    private static DataAccessGuard guard(String name) {
+        return new DataAccessGuard(name, Bulkhead.ofDefaults(name), new AdaptiveConcurrencyLimiter(name, 20, 1, 100, 0.2, 1.5), null);
+    }
+
+    private static MethodInvocation invocation(java.lang.reflect.Method method, DataAccessGuard.GuardedCall<Object> body) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenAnswer(ignored -> body.call());
+        return invocation;
+    }
+
+    interface Services {
+
+        void primary();
+
+        @DataSourceGuard("reporting")
+        void reporting();
+    }
+}
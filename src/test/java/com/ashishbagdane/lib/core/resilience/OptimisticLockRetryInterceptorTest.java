@@ -0,0 +1,127 @@
+package com.ashishbagdane.lib.core.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("OptimisticLockRetryInterceptor Tests")
+class OptimisticLockRetryInterceptorTest {
+
+    private ContentionTracker tracker;
+
+    private Inventory inventory;
+
+    private InventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ContentionTracker(3, Duration.ofMinutes(1), null);
+        inventory = new Inventory();
+        ProxyFactory factory = new ProxyFactory(inventory);
+        factory.addAdvice(new OptimisticLockRetryInterceptor(() -> tracker, 5, Duration.ofMillis(1), Duration.ofMillis(5)));
+        service = (InventoryService) factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should re-run the call until it no longer conflicts")
+    void retriesConflicts() {
+        inventory.conflicts = 2;
+
+        assertEquals("reserved", service.reserve());
+        assertEquals(3, inventory.calls.get());
+        assertEquals(2.0, tracker.getScore(Product.class.getName()), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should give up after the annotated number of attempts")
+    void honoursMaxAttempts() {
+        inventory.conflicts = 10;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, service::reserveOnce);
+        assertEquals(2, inventory.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry inside a transaction it did not start")
+    void skipsInsideTransaction() {
+        inventory.conflicts = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, service::reserve);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(1, inventory.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should escalate an entity type once its conflict score reaches the threshold")
+    void escalatesHotEntities() {
+        inventory.conflicts = 4;
+
+        assertEquals("reserved", service.reserve());
+        assertTrue(tracker.isEscalated(Product.class.getName()));
+        assertSame(tracker, inventory.trackerOnLastCall);
+        assertFalse(tracker.isEscalated("com.example.Other"));
+        assertNull(OptimisticLockRetryInterceptor.activeTracker());
+    }
+
+    @Test
+    @DisplayName("Should keep decorrelated jitter delays between the base and the cap")
+    void boundsDelays() {
+        long delay = 10;
+        for (int i = 0; i < 1_000; i++) {
+            delay = OptimisticLockRetryInterceptor.nextDelay(delay, 10, 500);
+            assertTrue(delay >= 10 && delay <= 500, "delay out of bounds: " + delay);
+        }
+    }
+
+    interface InventoryService {
+
+        String reserve();
+
+        String reserveOnce();
+    }
+
+    static class Product {
+    }
+
+    @RetryOnOptimisticLock
+    static class Inventory implements InventoryService {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private int conflicts;
+
+        private ContentionTracker trackerOnLastCall;
+
+        @Override
+        public String reserve() {
+            calls.incrementAndGet();
+            trackerOnLastCall = OptimisticLockRetryInterceptor.activeTracker();
+            if (conflicts-- > 0) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, 42);
+            }
+            return "reserved";
+        }
+
+        @Override
+        @RetryOnOptimisticLock(maxAttempts = 2)
+        public String reserveOnce() {
+            return reserve();
+        }
+    }
+}